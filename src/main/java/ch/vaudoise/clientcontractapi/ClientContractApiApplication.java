@@ -1,9 +1,21 @@
 package ch.vaudoise.clientcontractapi;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 
 @SpringBootApplication
+@ComponentScan(excludeFilters = {
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+		// The reactive read API (-Preactive) is a separate application
+		@ComponentScan.Filter(type = FilterType.REGEX, pattern = "ch\\.vaudoise\\.clientcontractapi\\.reactive\\..*")
+})
+@ConfigurationPropertiesScan
 public class ClientContractApiApplication {
 
 	public static void main(String[] args) {
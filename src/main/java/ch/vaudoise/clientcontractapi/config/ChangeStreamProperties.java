@@ -0,0 +1,38 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the Server-Sent Events change stream, bound from
+ * {@code app.change-stream.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.change-stream")
+public class ChangeStreamProperties {
+
+    /**
+     * Maximum number of undelivered events buffered per subscriber. A subscriber
+     * whose buffer is full is considered too slow and is disconnected.
+     */
+    private int subscriberBufferSize = 256;
+
+    /**
+     * Number of threads shared by all subscribers to write events to their
+     * connections.
+     */
+    private int dispatchThreads = 4;
+
+    /**
+     * Lifetime of a single SSE connection. Clients are expected to reconnect when
+     * it elapses.
+     */
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval between heartbeat comments, used to detect dead connections.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+}
@@ -0,0 +1,35 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the client fuzzy search, bound from
+ * {@code app.client-search.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.client-search")
+public class ClientSearchProperties {
+
+    /**
+     * Number of results returned when the request does not specify a limit.
+     */
+    private int defaultLimit = 20;
+
+    /**
+     * Maximum number of results returned per page.
+     */
+    private int maxLimit = 100;
+
+    /**
+     * Minimum word similarity (0 to 1) between the query and a name or company
+     * identifier for a fuzzy match.
+     */
+    private double similarityThreshold = 0.5;
+
+    /**
+     * Maximum number of matches ranked per indexed table. Bounds the cost of
+     * very common names; results are ranked exactly among these candidates.
+     */
+    private int maxCandidates = 200;
+}
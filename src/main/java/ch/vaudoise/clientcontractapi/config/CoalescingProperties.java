@@ -0,0 +1,19 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for coalescing concurrent identical reads, bound from
+ * {@code app.coalescing.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.coalescing")
+public class CoalescingProperties {
+
+    /**
+     * Whether concurrent identical reads share one database call. When
+     * disabled, every request runs its own queries.
+     */
+    private boolean enabled = true;
+}
@@ -0,0 +1,47 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import ch.vaudoise.clientcontractapi.controllers.BaseController;
+import ch.vaudoise.clientcontractapi.filters.ConcurrencyLimitFilter;
+import ch.vaudoise.clientcontractapi.services.concurrency.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration class for adaptive concurrency limiting.
+ * It puts a {@link ConcurrencyLimitFilter} in front of the client, contract
+ * and job endpoints, after rate limiting, unless
+ * {@code app.concurrency-limit.enabled} is {@code false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.concurrency-limit", name = "enabled", havingValue = "true",
+        matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    /**
+     * Registers the concurrency limit filter with one limiter for reads and
+     * one for writes.
+     *
+     * @param properties    the concurrency limit settings
+     * @param objectMapper  the application object mapper
+     * @param meterRegistry the registry of the limit metrics
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            ConcurrencyLimitProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                new AdaptiveConcurrencyLimiter("read", properties.getRead(), properties, meterRegistry),
+                new AdaptiveConcurrencyLimiter("write", properties.getWrite(), properties, meterRegistry),
+                objectMapper);
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns(BaseController.API_V1 + "/clients/*", BaseController.API_V1 + "/contracts/*",
+                BaseController.API_V1 + "/jobs/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
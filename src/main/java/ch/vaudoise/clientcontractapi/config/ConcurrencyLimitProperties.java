@@ -0,0 +1,77 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for adaptive concurrency limiting of the client and contract
+ * endpoints, bound from {@code app.concurrency-limit.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Bounds of the number of requests of one kind allowed in flight.
+     */
+    @Data
+    public static class Limit {
+
+        /**
+         * Limit used until latency has been measured.
+         */
+        private int initialLimit = 20;
+
+        /**
+         * Limit never gone below, however slow the requests get.
+         */
+        private int minLimit = 2;
+
+        /**
+         * Limit never gone above, however fast the requests are.
+         */
+        private int maxLimit = 200;
+    }
+
+    /**
+     * Whether requests are limited at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limit of the {@code GET} requests.
+     */
+    private Limit read = new Limit();
+
+    /**
+     * Limit of the other requests.
+     */
+    private Limit write = new Limit();
+
+    /**
+     * How much slower than usual requests may get before the limit is
+     * lowered, e.g. 2.0 tolerates twice the usual latency.
+     */
+    private double rttTolerance = 2.0;
+
+    /**
+     * Number of requests over which the usual latency is averaged.
+     */
+    private int longWindow = 600;
+
+    /**
+     * Number of requests over which the current latency is averaged.
+     */
+    private int shortWindow = 10;
+
+    /**
+     * Weight of each new estimate in the limit, between 0 and 1.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Factor applied to the limit when a request fails for lack of a
+     * database connection.
+     */
+    private double backoffRatio = 0.9;
+}
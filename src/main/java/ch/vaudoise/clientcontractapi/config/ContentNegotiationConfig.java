@@ -0,0 +1,46 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import ch.vaudoise.clientcontractapi.serialization.JacksonProtobufHttpMessageConverter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuration class for the binary representations of the API, for
+ * service-to-service calls: {@code application/cbor},
+ * {@code application/x-jackson-smile} and {@code application/x-protobuf},
+ * chosen through the {@code Accept} header.
+ * <p>
+ * The converters are placed after the JSON one, so JSON remains the default.
+ * CBOR and Smile use mappers built like the JSON one, with the same modules
+ * and settings; Protobuf schemas are derived from the DTO classes by
+ * {@link JacksonProtobufHttpMessageConverter}.
+ */
+@Configuration
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builders;
+
+    public ContentNegotiationConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        this.builders = builders;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(new MappingJackson2CborHttpMessageConverter(
+                builders.getObject().factory(new CBORFactory()).build()));
+        converters.add(new MappingJackson2SmileHttpMessageConverter(
+                builders.getObject().factory(new SmileFactory()).build()));
+        converters.add(new JacksonProtobufHttpMessageConverter());
+    }
+}
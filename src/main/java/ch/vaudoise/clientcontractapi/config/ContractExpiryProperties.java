@@ -0,0 +1,41 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the contract expiry scanner, bound from
+ * {@code app.contract-expiry.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.contract-expiry")
+public class ContractExpiryProperties {
+
+    /**
+     * Whether this instance runs the expiry scanner.
+     */
+    private boolean scannerEnabled = true;
+
+    /**
+     * Number of days before its end date at which a contract is reported as
+     * expiring by the scanner.
+     */
+    private int noticeDays = 30;
+
+    /**
+     * Number of contracts processed per transaction.
+     */
+    private int chunkSize = 200;
+
+    /**
+     * Maximum number of contracts processed per second.
+     */
+    private int maxPerSecond = 500;
+
+    /**
+     * Delay between two scans.
+     */
+    private Duration scanInterval = Duration.ofMinutes(15);
+}
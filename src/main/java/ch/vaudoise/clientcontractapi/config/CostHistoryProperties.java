@@ -0,0 +1,48 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the contract cost history writer, bound from
+ * {@code app.cost-history.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cost-history")
+public class CostHistoryProperties {
+
+    /**
+     * Maximum number of history entries written per insert batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Maximum number of history entries waiting to be written. Entries beyond
+     * this limit are dropped and recovered from the outbox.
+     */
+    private int maxQueueSize = 100_000;
+
+    /**
+     * Delay between two flushes of the pending history entries.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Delay between two reconciliations of the history with the outbox.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    /**
+     * How far back a reconciliation looks into the outbox. Must be shorter than
+     * the outbox retention.
+     */
+    private Duration reconcileWindow = Duration.ofHours(24);
+
+    /**
+     * Age below which outbox events are left to the asynchronous writer rather
+     * than reconciled.
+     */
+    private Duration reconcileGrace = Duration.ofMinutes(1);
+}
@@ -0,0 +1,62 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import ch.vaudoise.clientcontractapi.datasource.JdbcTimingListener;
+import ch.vaudoise.clientcontractapi.datasource.SlowQueryListener;
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQueryLog;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for the JDBC proxy.
+ * It wraps the application data source in a single datasource-proxy
+ * carrying the listeners of the enabled features: the
+ * {@link JdbcTimingListener} of the {@code Server-Timing} breakdown
+ * ({@code app.server-timing.enabled}) and the {@link SlowQueryListener}
+ * ({@code app.slow-query.enabled}). With both disabled the data source is
+ * left as is.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    /**
+     * Wraps the data source used by JPA, JDBC and Flyway.
+     *
+     * @param slowQueryLog           the slow query log, if enabled
+     * @param slowQueryProperties    the slow query settings
+     * @param serverTimingProperties the timing settings
+     * @return the post-processor
+     */
+    @Bean
+    static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<SlowQueryLog> slowQueryLog,
+            ObjectProvider<SlowQueryProperties> slowQueryProperties,
+            ObjectProvider<ServerTimingProperties> serverTimingProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !beanName.equals("dataSource")) {
+                    return bean;
+                }
+                SlowQueryLog log = slowQueryLog.getIfAvailable();
+                boolean timed = serverTimingProperties.getObject().isEnabled();
+                if (log == null && !timed) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                if (timed) {
+                    builder.listener(new JdbcTimingListener());
+                }
+                if (log != null) {
+                    SlowQueryProperties settings = slowQueryProperties.getObject();
+                    builder.listener(new SlowQueryListener(log, dataSource, settings.getThreshold(),
+                            settings.isExplainEnabled(), settings.getExplainTimeout()));
+                }
+                return builder.build();
+            }
+        };
+    }
+}
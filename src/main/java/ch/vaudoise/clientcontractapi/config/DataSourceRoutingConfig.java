@@ -0,0 +1,117 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import ch.vaudoise.clientcontractapi.controllers.BaseController;
+import ch.vaudoise.clientcontractapi.datasource.ReadOnlyRoutingDataSource;
+import ch.vaudoise.clientcontractapi.datasource.ReplicaLagMonitor;
+import ch.vaudoise.clientcontractapi.filters.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuration class for read replicas.
+ * When {@code app.datasource.replica.enabled} is {@code true}, it replaces
+ * the auto-configured data source with one routing read-only transactions to
+ * the replica and everything else, including Flyway and schema updates, to
+ * the primary. Each side has its own Hikari pool.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Creates the pool of the primary from {@code spring.datasource.*}.
+     *
+     * @param properties the primary connection settings
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the pool of the replica from {@code app.datasource.replica.*}.
+     *
+     * @param properties the replica connection settings
+     * @return the replica pool
+     */
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(ReplicaDataSourceProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the data source used by JPA, JDBC and Flyway.
+     *
+     * @param primary the primary pool
+     * @param replica the replica pool
+     * @return the routing data source
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReadOnlyRoutingDataSource(primary, replica));
+    }
+
+    /**
+     * Creates the monitor of the replication lag.
+     *
+     * @param primary       the primary pool
+     * @param replica       the replica pool
+     * @param meterRegistry the registry of the lag metric
+     * @return the lag monitor
+     */
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, meterRegistry);
+    }
+
+    /**
+     * Registers the filter honouring consistency tokens on the API.
+     *
+     * @param lagMonitor    the lag monitor
+     * @param properties    the replica settings
+     * @param meterRegistry the registry of the primary read counter
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaLagMonitor lagMonitor,
+            ReplicaDataSourceProperties properties, MeterRegistry meterRegistry) {
+        Counter primaryReads = Counter.builder("datasource.replica.bypassed")
+                .description("Requests sent to the primary because the replica had not replayed their token")
+                .register(meterRegistry);
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(lagMonitor, properties.getTokenHeader(), primaryReads));
+        registration.addUrlPatterns(BaseController.API_V1 + "/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 3);
+        return registration;
+    }
+}
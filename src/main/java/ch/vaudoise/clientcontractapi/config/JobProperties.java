@@ -0,0 +1,46 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the bulk job subsystem, bound from {@code app.jobs.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.jobs")
+public class JobProperties {
+
+    /**
+     * Number of jobs run concurrently by this instance.
+     */
+    private int workers = 2;
+
+    /**
+     * Number of jobs waiting for a worker beyond which submissions are
+     * rejected with 429.
+     */
+    private int queueCapacity = 20;
+
+    /**
+     * Number of items processed per transaction.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Maximum number of items given inline in the parameters of a job.
+     */
+    private int maxItems = 100_000;
+
+    /**
+     * Time without progress after which a running job is considered
+     * abandoned by its instance and resumed by another one.
+     */
+    private Duration staleAfter = Duration.ofMinutes(5);
+
+    /**
+     * Delay between two scans for queued or abandoned jobs to resume.
+     */
+    private Duration resumeInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,32 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the in-memory client leaderboard, bound from
+ * {@code app.leaderboard.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.leaderboard")
+public class LeaderboardProperties {
+
+    /**
+     * Number of clients kept in memory per client type. The headroom above
+     * {@link #maxSize} absorbs clients dropping out between reconciliations.
+     */
+    private int capacity = 1000;
+
+    /**
+     * Maximum number of clients a caller may request.
+     */
+    private int maxSize = 100;
+
+    /**
+     * Delay between two rebuilds of the leaderboard from the database, which
+     * fix any drift and account for contracts that expired.
+     */
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+}
@@ -0,0 +1,27 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the metrics exported on {@code /actuator/prometheus}.
+ * <p>
+ * Controller methods are timed by Spring as {@code http.server.requests},
+ * tagged with the URI template rather than the actual path. Services annotated
+ * with {@code @Timed(SERVICE_TIMER)} are timed as {@value #SERVICE_TIMER},
+ * tagged with their class and method. Both have percentile histograms (see
+ * {@code management.metrics.distribution} in {@code application.yml}); no
+ * metric is tagged with a client or contract id.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_TIMER = "service.method";
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
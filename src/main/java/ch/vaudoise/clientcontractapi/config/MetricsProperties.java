@@ -0,0 +1,26 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the domain gauges, bound from {@code app.metrics.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.metrics")
+public class MetricsProperties {
+
+    /**
+     * Whether this instance counts clients and active contracts for the
+     * domain gauges.
+     */
+    private boolean gaugesEnabled = true;
+
+    /**
+     * Delay between two counts. Each count scans the contracts, so scrapes
+     * read the last count instead of querying.
+     */
+    private Duration gaugeRefreshInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,36 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import ch.vaudoise.clientcontractapi.services.outbox.FileOutboxSink;
+import ch.vaudoise.clientcontractapi.services.outbox.InMemoryOutboxSink;
+import ch.vaudoise.clientcontractapi.services.outbox.LoggingOutboxSink;
+import ch.vaudoise.clientcontractapi.services.outbox.OutboxSink;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the transactional outbox.
+ * It selects the {@link OutboxSink} from {@code app.outbox.sink}, unless the
+ * application context already defines one.
+ */
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Creates the sink the outbox relay publishes to.
+     *
+     * @param properties   the outbox settings
+     * @param objectMapper the application object mapper
+     * @return the configured sink
+     */
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.getSink()) {
+            case LOG -> new LoggingOutboxSink();
+            case MEMORY -> new InMemoryOutboxSink();
+            case FILE -> new FileOutboxSink(properties.getFile(), objectMapper);
+        };
+    }
+}
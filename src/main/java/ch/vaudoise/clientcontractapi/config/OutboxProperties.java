@@ -0,0 +1,60 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for the transactional outbox and its relay, bound from
+ * {@code app.outbox.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.outbox")
+public class OutboxProperties {
+
+    /**
+     * Sinks the relay can hand events to.
+     */
+    public enum SinkType {
+        LOG,
+        MEMORY,
+        FILE
+    }
+
+    /**
+     * Whether domain events are written to the outbox at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Whether this node relays the outbox. Several nodes may relay in parallel.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * Maximum number of events locked and published per relay transaction.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Delay between the end of one relay run and the start of the next.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Sink the relay publishes to.
+     */
+    private SinkType sink = SinkType.LOG;
+
+    /**
+     * Target file of the {@link SinkType#FILE} sink, one JSON event per line.
+     */
+    private Path file = Path.of("outbox-events.jsonl");
+
+    /**
+     * How long published events are kept before being purged.
+     */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,53 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import ch.vaudoise.clientcontractapi.controllers.BaseController;
+import ch.vaudoise.clientcontractapi.filters.RateLimitFilter;
+import ch.vaudoise.clientcontractapi.services.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration class for rate limiting.
+ * It puts a {@link RateLimitFilter} in front of the client and contract
+ * endpoints, unless {@code app.rate-limit.enabled} is {@code false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    /**
+     * Creates the token buckets of all callers.
+     *
+     * @param properties    the rate limit settings
+     * @param meterRegistry the registry of the rejection metrics
+     * @return the rate limiter
+     */
+    @Bean
+    public RateLimiter rateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimiter(properties, meterRegistry);
+    }
+
+    /**
+     * Registers the rate limit filter ahead of the other filters, so that
+     * rejected requests cost as little as possible.
+     *
+     * @param rateLimiter  the rate limiter
+     * @param properties   the rate limit settings
+     * @param objectMapper the application object mapper
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimiter rateLimiter,
+            RateLimitProperties properties, ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimiter, objectMapper, properties.getKeyHeader()));
+        registration.addUrlPatterns(BaseController.API_V1 + "/clients/*", BaseController.API_V1 + "/contracts/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
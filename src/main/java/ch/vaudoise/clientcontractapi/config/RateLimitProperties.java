@@ -0,0 +1,100 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings for per-caller rate limiting of the client and contract
+ * endpoints, bound from {@code app.rate-limit.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * A token bucket: a caller may send {@link #capacity} requests at once,
+     * then {@link #refillPerSecond} requests per second.
+     */
+    @Data
+    public static class Limit {
+
+        /**
+         * Maximum number of requests accepted in a burst.
+         */
+        private int capacity = 100;
+
+        /**
+         * Sustained number of requests accepted per second.
+         */
+        private double refillPerSecond = 50;
+    }
+
+    /**
+     * A limit applying to the requests matching {@link #method} and
+     * {@link #path}, with buckets of its own.
+     */
+    @Data
+    @EqualsAndHashCode(callSuper = true)
+    public static class EndpointLimit extends Limit {
+
+        /**
+         * Name of the limit, used as metric tag.
+         */
+        private String name;
+
+        /**
+         * HTTP method of the requests, any method if not set.
+         */
+        private String method;
+
+        /**
+         * Path pattern of the requests, e.g.
+         * {@code /api/v1/contracts/{clientId}/sum}.
+         */
+        private String path;
+    }
+
+    /**
+     * Whether requests are rate limited at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request header identifying the caller. Callers without it are
+     * identified by their IP address.
+     */
+    private String keyHeader = "X-Api-Key";
+
+    /**
+     * Limit of each caller on the endpoints not matched by {@link #endpoints}.
+     */
+    private Limit defaultLimit = new Limit();
+
+    /**
+     * Limits of specific endpoints, the first matching one applies.
+     */
+    private List<EndpointLimit> endpoints = new ArrayList<>();
+
+    /**
+     * Maximum number of callers tracked per limit. Beyond it, new API keys
+     * are limited by IP address instead, so that random keys cannot exhaust
+     * memory.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Time after which the bucket of a caller that has not sent any request
+     * is dropped. Its bucket is full by then, so nothing is forgotten.
+     */
+    private Duration idleAfter = Duration.ofMinutes(10);
+
+    /**
+     * Delay between two scans for idle buckets.
+     */
+    private Duration evictionInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,50 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for routing read-only transactions to a Postgres streaming
+ * replica, bound from {@code app.datasource.replica.*}. The pool of the
+ * replica is configured under {@code app.datasource.replica.hikari.*}, that
+ * of the primary under {@code spring.datasource.hikari.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    /**
+     * Whether read-only transactions go to the replica. When disabled, every
+     * transaction uses {@code spring.datasource}.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URL of the replica.
+     */
+    private String url;
+
+    /**
+     * Login username of the replica.
+     */
+    private String username;
+
+    /**
+     * Login password of the replica.
+     */
+    private String password;
+
+    /**
+     * Delay between two reads of the replay position of the replica, used to
+     * decide whether it has caught up with a consistency token.
+     */
+    private Duration lagPollInterval = Duration.ofMillis(200);
+
+    /**
+     * Header carrying the consistency token: returned by writes, and sent
+     * back by callers that must read their own writes.
+     */
+    private String tokenHeader = "X-Consistency-Token";
+}
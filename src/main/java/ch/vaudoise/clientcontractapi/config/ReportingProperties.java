@@ -0,0 +1,36 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the materialized reporting views, bound from
+ * {@code app.reporting.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reporting")
+public class ReportingProperties {
+
+    /**
+     * Whether this instance refreshes the reporting views. Concurrent refreshes
+     * from several instances are serialized by an advisory lock.
+     */
+    private boolean refreshEnabled = true;
+
+    /**
+     * Delay between two refreshes of the reporting views.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(15);
+
+    /**
+     * Age of the last refresh beyond which reports are flagged as stale.
+     */
+    private Duration staleAfter = Duration.ofHours(1);
+
+    /**
+     * Maximum number of months a single report may span.
+     */
+    private int maxMonths = 120;
+}
@@ -0,0 +1,12 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background tasks (e.g. change stream heartbeats).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,77 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import ch.vaudoise.clientcontractapi.controllers.BaseController;
+import ch.vaudoise.clientcontractapi.filters.ServerTimingFilter;
+import ch.vaudoise.clientcontractapi.serialization.SerializationTimingAdvice;
+import ch.vaudoise.clientcontractapi.validators.TimedValidator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class for the per-request timing breakdown returned in the
+ * {@code Server-Timing} header.
+ * Unless {@code app.server-timing.enabled} is {@code false}, it puts a
+ * {@link ServerTimingFilter} in front of the API and times the validation of
+ * request bodies. Statements are timed by the JDBC proxy
+ * ({@link DataSourceProxyConfig}), mappers by
+ * {@link ch.vaudoise.clientcontractapi.mappers.TimedMapping} and
+ * serialization by
+ * {@link ch.vaudoise.clientcontractapi.serialization.SerializationTimingAdvice}.
+ */
+@Configuration
+// Also bound here, for the MVC test slices that pick this configurer up
+@EnableConfigurationProperties(ServerTimingProperties.class)
+@ConditionalOnProperty(prefix = "app.server-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<LocalValidatorFactoryBean> validator;
+    private final ObjectProvider<SerializationTimingAdvice> serializationTiming;
+
+    public ServerTimingConfig(ObjectProvider<LocalValidatorFactoryBean> validator,
+            ObjectProvider<SerializationTimingAdvice> serializationTiming) {
+        this.validator = validator;
+        this.serializationTiming = serializationTiming;
+    }
+
+    /**
+     * Registers the timing filter ahead of all other filters, so that its
+     * total covers the whole request.
+     *
+     * @param properties the timing settings
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(ServerTimingProperties properties) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(
+                new ServerTimingFilter(properties.getRequestHeader()));
+        // The change stream is left out: its responses are never complete
+        registration.addUrlPatterns(BaseController.API_V1 + "/clients/*", BaseController.API_V1 + "/contracts/*",
+                BaseController.API_V1 + "/reports/*", BaseController.API_V1 + "/jobs/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Registers the advice timing serialization as the last interceptor, so
+     * that it closes the phase as soon as the response body is written.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        serializationTiming.ifAvailable(advice -> registry.addInterceptor(advice).order(Ordered.LOWEST_PRECEDENCE));
+    }
+
+    @Override
+    public Validator getValidator() {
+        LocalValidatorFactoryBean delegate = validator.getIfAvailable();
+        return delegate == null ? null : new TimedValidator(delegate);
+    }
+}
@@ -0,0 +1,23 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the per-request timing breakdown, bound from
+ * {@code app.server-timing.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.server-timing")
+public class ServerTimingProperties {
+
+    /**
+     * Whether callers may ask for the timing breakdown of their requests.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Request header asking for the breakdown; its value is ignored.
+     */
+    private String requestHeader = "X-Request-Timing";
+}
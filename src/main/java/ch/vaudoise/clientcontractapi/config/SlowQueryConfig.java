@@ -0,0 +1,46 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import ch.vaudoise.clientcontractapi.datasource.SlowQueryListener;
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQueryEndpoint;
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQueryLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the capture of slow statements.
+ * Unless {@code app.slow-query.enabled} is {@code false}, it creates the log
+ * that the {@link SlowQueryListener} of the JDBC proxy
+ * ({@link DataSourceProxyConfig}) fills with the statements slower than
+ * {@code app.slow-query.threshold}, and its admin endpoint. Plans are sampled
+ * through the unproxied data source, so an EXPLAIN is never captured itself;
+ * with read replicas it runs on the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.slow-query", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryConfig {
+
+    /**
+     * Creates the log of slow statements.
+     *
+     * @param properties    the slow query settings
+     * @param meterRegistry the registry of the slow statement metrics
+     * @return the slow query log
+     */
+    @Bean
+    public SlowQueryLog slowQueryLog(SlowQueryProperties properties, MeterRegistry meterRegistry) {
+        return new SlowQueryLog(properties, meterRegistry);
+    }
+
+    /**
+     * Creates the admin endpoint listing the slow statements.
+     *
+     * @param slowQueryLog the slow query log
+     * @return the endpoint
+     */
+    @Bean
+    public SlowQueryEndpoint slowQueryEndpoint(SlowQueryLog slowQueryLog) {
+        return new SlowQueryEndpoint(slowQueryLog);
+    }
+}
@@ -0,0 +1,51 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the capture of slow statements, bound from
+ * {@code app.slow-query.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.slow-query")
+public class SlowQueryProperties {
+
+    /**
+     * Whether statements are timed at the JDBC level. When disabled the data
+     * source is not proxied at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Execution time from which a statement is recorded.
+     */
+    private Duration threshold = Duration.ofMillis(200);
+
+    /**
+     * Number of slow statements kept for the admin endpoint, at least 1.
+     */
+    private int capacity = 100;
+
+    /**
+     * Whether the plans of slow queries are sampled with
+     * {@code EXPLAIN (ANALYZE, BUFFERS)}. Only successful single
+     * {@code SELECT} and {@code WITH} statements are explained, in a read-only
+     * transaction that is rolled back.
+     */
+    private boolean explainEnabled = true;
+
+    /**
+     * Maximum number of plans sampled per minute, {@code 0} to sample none.
+     * EXPLAIN ANALYZE runs the statement again, so each sample costs as much
+     * as the slow query itself.
+     */
+    private int explainsPerMinute = 6;
+
+    /**
+     * Statement timeout of an EXPLAIN.
+     */
+    private Duration explainTimeout = Duration.ofSeconds(30);
+}
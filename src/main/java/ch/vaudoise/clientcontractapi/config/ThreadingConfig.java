@@ -0,0 +1,47 @@
+package ch.vaudoise.clientcontractapi.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Chooses the threads running HTTP requests.
+ * <p>
+ * By default requests run on the bounded Tomcat thread pool
+ * ({@code server.tomcat.threads.max}). With
+ * {@code spring.threads.virtual.enabled=true} every request gets its own
+ * virtual thread, so a burst of requests blocked on JDBC no longer exhausts a
+ * thread pool. Concurrency towards the database is then bounded by the Hikari
+ * pool alone ({@code spring.datasource.hikari.maximum-pool-size}); callers
+ * waiting longer than {@code connection-timeout} for a connection are
+ * answered with 503.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    /**
+     * Virtual thread executor, enabled by {@code spring.threads.virtual.enabled}.
+     * The executor is a bean so that it is closed on shutdown, after the web
+     * server has stopped handing it requests.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+    static class VirtualThreadConfig {
+
+        @Bean(destroyMethod = "close")
+        ExecutorService virtualThreadRequestExecutor() {
+            return Executors.newVirtualThreadPerTaskExecutor();
+        }
+
+        @Bean
+        TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(
+                @Qualifier("virtualThreadRequestExecutor") ExecutorService executor) {
+            return protocolHandler -> protocolHandler.setExecutor(executor);
+        }
+    }
+}
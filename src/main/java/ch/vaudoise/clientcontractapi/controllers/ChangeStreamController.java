@@ -0,0 +1,49 @@
+package ch.vaudoise.clientcontractapi.controllers;
+
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.services.stream.ChangeStreamFilter;
+import ch.vaudoise.clientcontractapi.services.stream.ChangeStreamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+/**
+ * REST controller exposing client and contract changes as a Server-Sent
+ * Events stream, so that consumers no longer need to poll the API.
+ */
+@RestController
+@RequestMapping(BaseController.API_V1 + "/events")
+@RequiredArgsConstructor
+public class ChangeStreamController extends BaseController {
+
+    private final ChangeStreamService changeStreamService;
+
+    /**
+     * Subscribes to committed create/update/close events.
+     *
+     * @param clientType optional filter on the client type
+     * @param clientId   optional filter on a single client
+     * @return the SSE stream, or 400 Bad Request if the client id is invalid
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) ClientType clientType,
+            @RequestParam(required = false) String clientId) {
+        UUID clientUuid = null;
+        if (clientId != null) {
+            try {
+                clientUuid = UUID.fromString(clientId);
+            } catch (IllegalArgumentException ex) {
+                throw new CustomValidationException("Invalid client id", "clientId", "INVALID_CLIENT_ID");
+            }
+        }
+        return changeStreamService.subscribe(new ChangeStreamFilter(clientType, clientUuid));
+    }
+}
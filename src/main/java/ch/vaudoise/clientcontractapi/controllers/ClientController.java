@@ -1,11 +1,13 @@
 package ch.vaudoise.clientcontractapi.controllers;
 
 import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientSearchPageDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.ClientUpdateDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
 import ch.vaudoise.clientcontractapi.models.enums.ClientType;
 import ch.vaudoise.clientcontractapi.services.client.ClientOrchestrationService;
+import ch.vaudoise.clientcontractapi.services.client.ClientSearchService;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
@@ -21,6 +23,7 @@ import java.util.List;
 public class ClientController extends BaseController {
 
     private final ClientOrchestrationService clientOrchestrationService;
+    private final ClientSearchService clientSearchService;
 
     /**
      * Retrieves all clients of a given {@link ClientType}.
@@ -34,6 +37,23 @@ public class ClientController extends BaseController {
         return ResponseEntity.ok(clients);
     }
 
+    /**
+     * Searches clients of any type by partial name, email or company
+     * identifier, best match first.
+     *
+     * @param q      the search text, at least 3 characters
+     * @param limit  the maximum number of results
+     * @param cursor the cursor of the next page returned by a previous search
+     * @return a page of matching clients
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ClientSearchPageDTO> search(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(clientSearchService.search(q, limit, cursor));
+    }
+
     /**
      * Retrieves a client by ID for a given {@link ClientType}.
      *
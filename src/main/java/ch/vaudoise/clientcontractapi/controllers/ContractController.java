@@ -1,16 +1,25 @@
 package ch.vaudoise.clientcontractapi.controllers;
 
+import ch.vaudoise.clientcontractapi.dtos.ActiveCostTotalDTO;
+import ch.vaudoise.clientcontractapi.dtos.ContractCostHistoryDTO;
 import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import ch.vaudoise.clientcontractapi.dtos.ExpiringContractsPageDTO;
 import ch.vaudoise.clientcontractapi.mappers.ContractMapper;
 import ch.vaudoise.clientcontractapi.models.entities.client.Client;
 import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
 import ch.vaudoise.clientcontractapi.services.ContractService;
 import ch.vaudoise.clientcontractapi.services.client.ClientResolverService;
+import ch.vaudoise.clientcontractapi.services.coalescing.RequestCoalescer;
+import ch.vaudoise.clientcontractapi.utils.CostAmounts;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -20,7 +29,10 @@ import java.util.stream.Collectors;
 /**
  * REST controller for managing contracts of clients (Person or Company).
  * Uses {@link ContractService} for business logic and {@link ContractMapper}
- * for DTO mapping.
+ * for DTO mapping. Concurrent identical reads of the active contracts and
+ * their sum share one client lookup and query through the
+ * {@link RequestCoalescer}; only the mapped DTOs and the {@link Money} total
+ * are shared between requests, never the entities.
  */
 @RestController
 @RequestMapping(BaseController.API_V1 + "/contracts")
@@ -30,6 +42,7 @@ public class ContractController extends BaseController {
         private final ContractService contractService;
         private final ContractMapper contractMapper;
         private final ClientResolverService clientResolverService;
+        private final RequestCoalescer requestCoalescer;
 
         /**
          * Get active contracts for a specific client.
@@ -37,24 +50,50 @@ public class ContractController extends BaseController {
          * @param clientId     the ID of the client
          * @param clientType   the type of client (PERSON or COMPANY)
          * @param updatedAfter optional filter for contracts updated after this date
+         * @param asOf         optional date at which the contracts must be active
+         *                     (defaults to today)
          * @return list of active contract DTOs
          */
         @GetMapping("/{clientId}")
         public ResponseEntity<List<ContractDTO>> getActiveContracts(
                         @PathVariable String clientId,
                         @RequestParam ClientType clientType,
-                        @RequestParam(required = false) OffsetDateTime updatedAfter) {
-                Optional<? extends Client> clientOpt = clientResolverService.resolveClient(clientType, clientId);
-                if (clientOpt.isEmpty())
-                        return ResponseEntity.notFound().build();
+                        @RequestParam(required = false) OffsetDateTime updatedAfter,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+                Optional<List<ContractDTO>> dtos = requestCoalescer.execute("contracts.active",
+                                new ActiveContractsKey(clientType, clientId, updatedAfter, asOf),
+                                () -> clientResolverService.resolveClient(clientType, clientId)
+                                                .map(client -> contractService
+                                                                .getActiveContracts(client, updatedAfter, asOf)
+                                                                .stream()
+                                                                .map(contractMapper::toDTO)
+                                                                .toList()));
+
+                return dtos.map(ResponseEntity::ok)
+                                .orElse(ResponseEntity.notFound().build());
+        }
 
-                List<ContractDTO> dtos = contractService
-                                .getActiveContracts(clientOpt.get(), updatedAfter)
+        /**
+         * Get the contracts of all clients ending within the given number of
+         * days, soonest first.
+         *
+         * @param withinDays the look-ahead in days (at most 365)
+         * @param size       the page size (at most 500)
+         * @param cursor     optional cursor returned with the previous page
+         * @return one page of expiring contracts
+         */
+        @GetMapping("/expiring")
+        public ResponseEntity<ExpiringContractsPageDTO> getExpiringContracts(
+                        @RequestParam int withinDays,
+                        @RequestParam(defaultValue = "100") int size,
+                        @RequestParam(required = false) String cursor) {
+                ContractService.ExpiringContracts page = contractService.getExpiringContracts(withinDays, cursor, size);
+                List<ContractDTO> dtos = page.contracts()
                                 .stream()
                                 .map(contractMapper::toDTO)
                                 .collect(Collectors.toList());
 
-                return ResponseEntity.ok(dtos);
+                return ResponseEntity.ok(new ExpiringContractsPageDTO(dtos, page.nextCursor()));
         }
 
         /**
@@ -93,31 +132,89 @@ public class ContractController extends BaseController {
                         @RequestParam Double cost) {
 
                 UUID contractUUID = contractMapper.map(contractId);
+                Money newCost = CostAmounts.of(cost, "cost");
 
                 Optional<ContractDTO> updated = contractService.findById(contractUUID)
-                                .map(c -> contractMapper.toDTO(contractService.updateContractCost(c, cost)));
+                                .map(c -> contractMapper.toDTO(contractService.updateContractCost(c, newCost)));
 
                 return updated.map(ResponseEntity::ok)
                                 .orElse(ResponseEntity.notFound().build());
         }
 
+        /**
+         * Get the cost history of a contract, newest change first.
+         *
+         * @param contractId the ID of the contract
+         * @param page       the zero-based page index
+         * @param size       the page size (at most 500)
+         * @return list of cost history DTOs
+         */
+        @GetMapping("/{contractId}/cost-history")
+        public ResponseEntity<List<ContractCostHistoryDTO>> getCostHistory(
+                        @PathVariable String contractId,
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "50") int size) {
+                UUID contractUUID = contractMapper.map(contractId);
+                if (contractService.findById(contractUUID).isEmpty())
+                        return ResponseEntity.notFound().build();
+
+                List<ContractCostHistoryDTO> dtos = contractService
+                                .getCostHistory(contractUUID, page, size)
+                                .stream()
+                                .map(contractMapper::toDTO)
+                                .collect(Collectors.toList());
+
+                return ResponseEntity.ok(dtos);
+        }
+
         /**
          * Get total sum of active contracts for a client.
          *
          * @param clientId   the ID of the client
          * @param clientType the type of client
-         * @return total cost of active contracts
+         * @param asOf       optional date at which the contracts must be active
+         *                   (defaults to today)
+         * @return total cost of active contracts, with two decimals
          */
         @GetMapping("/{clientId}/sum")
-        public ResponseEntity<Double> getTotalActiveContractsAmount(
+        public ResponseEntity<BigDecimal> getTotalActiveContractsAmount(
+                        @PathVariable String clientId,
+                        @RequestParam ClientType clientType,
+                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+                Optional<Money> total = requestCoalescer.execute("contracts.sum",
+                                new ActiveContractsKey(clientType, clientId, null, asOf),
+                                () -> clientResolverService.resolveClient(clientType, clientId)
+                                                .map(client -> asOf == null
+                                                                ? contractService.getTotalActiveContractsAmount(client)
+                                                                : contractService.getTotalActiveContractsAmount(client,
+                                                                                asOf)));
+                return total.map(sum -> ResponseEntity.ok(sum.toBigDecimal()))
+                                .orElse(ResponseEntity.notFound().build());
+        }
+
+        /**
+         * Get the total cost of active contracts of a client at several dates,
+         * e.g. for trend charts.
+         *
+         * @param clientId   the ID of the client
+         * @param clientType the type of client
+         * @param dates      the dates at which to compute the totals (at most 1000)
+         * @return the total per date, in ascending date order
+         */
+        @GetMapping("/{clientId}/sum/trend")
+        public ResponseEntity<List<ActiveCostTotalDTO>> getActiveCostTrend(
                         @PathVariable String clientId,
-                        @RequestParam ClientType clientType) {
+                        @RequestParam ClientType clientType,
+                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) List<LocalDate> dates) {
                 Optional<? extends Client> clientOpt = clientResolverService.resolveClient(clientType, clientId);
                 if (clientOpt.isEmpty())
                         return ResponseEntity.notFound().build();
 
-                return ResponseEntity.ok(
-                                contractService.getTotalActiveContractsAmount(clientOpt.get()).doubleValue());
+                return ResponseEntity.ok(contractService.getActiveCostTrend(clientOpt.get(), dates));
+        }
+
+        private record ActiveContractsKey(ClientType clientType, String clientId, OffsetDateTime updatedAfter,
+                        LocalDate asOf) {
         }
 
 }
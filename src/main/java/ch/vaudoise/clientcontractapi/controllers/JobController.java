@@ -0,0 +1,60 @@
+package ch.vaudoise.clientcontractapi.controllers;
+
+import ch.vaudoise.clientcontractapi.dtos.job.JobDTO;
+import ch.vaudoise.clientcontractapi.dtos.job.JobRequestDTO;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.services.job.JobService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * REST controller for bulk jobs such as client imports, contract repricing
+ * and mass closing of contracts. Jobs run in the background; callers poll
+ * their progress.
+ */
+@RestController
+@RequestMapping(BaseController.API_V1 + "/jobs")
+@RequiredArgsConstructor
+public class JobController extends BaseController {
+
+    private final JobService jobService;
+
+    /**
+     * Submits a job.
+     *
+     * @param request the job type and its parameters
+     * @return 202 Accepted with the queued job, or 429 Too Many Requests if
+     *         the job queue is full
+     */
+    @PostMapping
+    public ResponseEntity<JobDTO> submit(@Valid @RequestBody JobRequestDTO request) {
+        JobDTO job = jobService.submit(request.getType(), request.getParameters());
+        return ResponseEntity.accepted()
+                .location(URI.create(API_V1 + "/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    /**
+     * Get the state and progress of a job.
+     *
+     * @param id the ID of the job
+     * @return the job, or 404 Not Found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<JobDTO> getJob(@PathVariable String id) {
+        UUID jobId;
+        try {
+            jobId = UUID.fromString(id);
+        } catch (IllegalArgumentException ex) {
+            throw new CustomValidationException("Invalid job id", "id", "INVALID_JOB_ID");
+        }
+        return jobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,75 @@
+package ch.vaudoise.clientcontractapi.controllers;
+
+import ch.vaudoise.clientcontractapi.dtos.report.ClientLeaderboardEntryDTO;
+import ch.vaudoise.clientcontractapi.dtos.report.MonthlyContractReportDTO;
+import ch.vaudoise.clientcontractapi.dtos.report.ReportDTO;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.services.report.ClientLeaderboardService;
+import ch.vaudoise.clientcontractapi.services.report.ContractReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * REST controller exposing management reports. Contract reports are read
+ * from periodically refreshed views and carry the time of the last refresh;
+ * the client leaderboard is maintained in memory.
+ */
+@RestController
+@RequestMapping(BaseController.API_V1 + "/reports")
+@RequiredArgsConstructor
+public class ReportController extends BaseController {
+
+    private final ContractReportService contractReportService;
+    private final ClientLeaderboardService clientLeaderboardService;
+
+    /**
+     * Get contract counts and costs per client type and month.
+     *
+     * @param clientType optional filter on the client type
+     * @param from       optional first month (yyyy-MM), defaults to eleven
+     *                   months before {@code to}
+     * @param to         optional last month (yyyy-MM), defaults to the current
+     *                   month
+     * @return the monthly report
+     */
+    @GetMapping("/contracts/monthly")
+    public ResponseEntity<ReportDTO<MonthlyContractReportDTO>> getMonthlyContractReport(
+            @RequestParam(required = false) ClientType clientType,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        return ResponseEntity.ok(contractReportService.getMonthlyReport(clientType, from, to));
+    }
+
+    /**
+     * Get the contract counts and costs of the current month per client type.
+     *
+     * @return the summary report
+     */
+    @GetMapping("/contracts/summary")
+    public ResponseEntity<ReportDTO<MonthlyContractReportDTO>> getContractSummary() {
+        return ResponseEntity.ok(contractReportService.getCurrentSummary());
+    }
+
+    /**
+     * Get the clients with the largest total active contract cost. Served
+     * from memory, so the result reflects committed changes without delay.
+     *
+     * @param clientType optional filter on the client type
+     * @param size       the number of clients (at most 100 by default)
+     * @return the largest clients, largest first
+     */
+    @GetMapping("/clients/top")
+    public ResponseEntity<List<ClientLeaderboardEntryDTO>> getTopClients(
+            @RequestParam(required = false) ClientType clientType,
+            @RequestParam(defaultValue = "10") int size) {
+        return ResponseEntity.ok(clientLeaderboardService.getTopClients(clientType, size));
+    }
+}
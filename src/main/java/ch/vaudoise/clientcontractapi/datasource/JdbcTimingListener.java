@@ -0,0 +1,26 @@
+package ch.vaudoise.clientcontractapi.datasource;
+
+import ch.vaudoise.clientcontractapi.utils.RequestTiming;
+import ch.vaudoise.clientcontractapi.utils.RequestTiming.Phase;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener adding the execution time of every statement to
+ * the {@link Phase#DB} phase of the {@link RequestTiming} of its thread.
+ */
+public class JdbcTimingListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        RequestTiming.enter(Phase.DB);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        RequestTiming.exit(Phase.DB);
+    }
+}
@@ -0,0 +1,33 @@
+package ch.vaudoise.clientcontractapi.datasource;
+
+/**
+ * Marks the current request as needing to read from the primary, because
+ * the replica has not yet replayed a write its caller depends on.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    /**
+     * Routes the read-only transactions of the current thread to the primary
+     * until {@link #clear()}.
+     */
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    /**
+     * @return whether read-only transactions of the current thread must use
+     *         the primary
+     */
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
@@ -0,0 +1,89 @@
+package ch.vaudoise.clientcontractapi.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Tracks how far the replica has replayed the write-ahead log of the primary,
+ * and issues consistency tokens: the WAL position of the primary after a
+ * write. A caller presenting a token reads from the replica once the replica
+ * has replayed up to it, and from the primary until then.
+ * <p>
+ * The replay position is polled every {@code app.datasource.replica.lag-poll-interval},
+ * so checking a token costs no query; the polled position only lags behind
+ * the real one, which errs towards the primary. A replica that is not in
+ * recovery has no replay position and never satisfies a token.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private volatile long replayedPosition = -1;
+    private volatile long lagBytes = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagBytes)
+                .description("Bytes of write-ahead log the replica has not replayed yet, -1 if unknown")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return a token for the writes committed so far on the primary
+     */
+    public String currentToken() {
+        return primary.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+    }
+
+    /**
+     * @param token a token from {@link #currentToken()}
+     * @return whether the replica has replayed the writes of the token;
+     *         {@code false} for a malformed token
+     */
+    public boolean hasReplayed(String token) {
+        long position = parse(token);
+        return position >= 0 && replayedPosition >= position;
+    }
+
+    /**
+     * Reads the replay position of the replica and its lag behind the
+     * primary.
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-poll-interval:PT0.2S}")
+    public void poll() {
+        try {
+            long replayed = parse(replica.queryForObject("SELECT pg_last_wal_replay_lsn()::text", String.class));
+            replayedPosition = replayed;
+            lagBytes = replayed < 0 ? -1 : Math.max(0, parse(currentToken()) - replayed);
+        } catch (RuntimeException ex) {
+            log.warn("Could not read the replay position of the replica: {}", ex.getMessage());
+            lagBytes = -1;
+        }
+    }
+
+    /**
+     * Parses a WAL position written as two hexadecimal halves, e.g.
+     * {@code 16/B374D848}.
+     *
+     * @return the position, or -1 if it is missing or malformed
+     */
+    static long parse(String lsn) {
+        int slash = lsn == null ? -1 : lsn.indexOf('/');
+        if (slash <= 0 || slash == lsn.length() - 1 || lsn.length() > 17) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lsn, 0, slash, 16) << 32 | Long.parseLong(lsn, slash + 1, lsn.length(), 16);
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
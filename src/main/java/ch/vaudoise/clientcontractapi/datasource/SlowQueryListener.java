@@ -0,0 +1,186 @@
+package ch.vaudoise.clientcontractapi.datasource;
+
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQuery;
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQueryLog;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.Callable;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * datasource-proxy listener recording the statements that run longer than a
+ * threshold in a {@link SlowQueryLog}.
+ * <p>
+ * A statement under the threshold costs one comparison. A slow one is
+ * recorded with its normalized SQL and the types of its bind parameters; if
+ * it is a successful single query that takes no row locks, the log may
+ * explain it later on a connection of the unproxied data source, replaying
+ * the same parameters in a read-only transaction that is always rolled back.
+ * The plan prints the parameters as constants, so they are redacted from it
+ * like the literals of the SQL.
+ */
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\?(?: ?, ?\\?)+\\)");
+    private static final Pattern PLAN_CONDITION = Pattern.compile(
+            "^(\\s*(?:[A-Z][A-Za-z-]+ )?(?:Cond|Filter): )(.*)$", Pattern.MULTILINE);
+    private static final Pattern LOCKING_CLAUSE = Pattern.compile(
+            "\\bfor (?:no key )?(?:key )?(?:update|share)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final SlowQueryLog slowQueryLog;
+    private final DataSource target;
+    private final long thresholdMillis;
+    private final boolean explainEnabled;
+    private final Duration explainTimeout;
+
+    /**
+     * @param slowQueryLog    the log of slow statements
+     * @param target          the unproxied data source, used for EXPLAIN
+     * @param threshold       the execution time from which a statement is slow
+     * @param explainEnabled  whether slow queries may be explained
+     * @param explainTimeout  the statement timeout of an EXPLAIN
+     */
+    public SlowQueryListener(SlowQueryLog slowQueryLog, DataSource target, Duration threshold,
+            boolean explainEnabled, Duration explainTimeout) {
+        this.slowQueryLog = slowQueryLog;
+        this.target = target;
+        this.thresholdMillis = threshold.toMillis();
+        this.explainEnabled = explainEnabled;
+        this.explainTimeout = explainTimeout;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        if (execution.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        record(execution, queries);
+    }
+
+    private void record(ExecutionInfo execution, List<QueryInfo> queries) {
+        QueryInfo query = queries.get(0);
+        List<ParameterSetOperation> parameters = new ArrayList<>();
+        if (!query.getParametersList().isEmpty()) {
+            parameters.addAll(query.getParametersList().get(0));
+        }
+        parameters.sort(Comparator.comparingInt(SlowQueryListener::parameterIndex));
+        String sql = normalize(query.getQuery());
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), execution.getElapsedTime(), sql,
+                parameters.stream().map(SlowQueryListener::parameterType).toList(),
+                execution.isBatch() ? execution.getBatchSize() : 1);
+
+        Callable<String> explain = null;
+        if (explainEnabled && isSingleQuery(execution, queries) && isReadOnly(sql)) {
+            explain = () -> explain(query.getQuery(), parameters);
+        }
+        slowQueryLog.record(slowQuery, explain);
+    }
+
+    /**
+     * Runs {@code EXPLAIN (ANALYZE, BUFFERS)} on the statement with its
+     * original parameters, and redacts them from the plan.
+     */
+    private String explain(String sql, List<ParameterSetOperation> parameters)
+            throws SQLException, ReflectiveOperationException {
+        try (Connection connection = target.getConnection()) {
+            connection.setReadOnly(true);
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL statement_timeout = " + explainTimeout.toMillis());
+                }
+                try (PreparedStatement statement = connection.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + sql)) {
+                    for (ParameterSetOperation parameter : parameters) {
+                        parameter.getMethod().invoke(statement, parameter.getArgs());
+                    }
+                    StringJoiner plan = new StringJoiner("\n");
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            plan.add(rows.getString(1));
+                        }
+                    }
+                    return redactPlan(plan.toString());
+                }
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    /**
+     * Replaces literals by placeholders, collapses whitespace and lists of
+     * placeholders, so that the same statement always reads the same.
+     *
+     * @param sql the statement as sent to the driver
+     * @return the normalized statement
+     */
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return PLACEHOLDER_LIST.matcher(normalized).replaceAll("(?, ...)");
+    }
+
+    /**
+     * Replaces the string literals of a plan by placeholders, and its numbers
+     * too on condition and filter lines, where the bound values of the
+     * statement appear as constants. Costs, row counts and timings are kept.
+     *
+     * @param plan the plan printed by EXPLAIN
+     * @return the plan without the values of the statement
+     */
+    public static String redactPlan(String plan) {
+        String redacted = STRING_LITERAL.matcher(plan).replaceAll("?");
+        return PLAN_CONDITION.matcher(redacted).replaceAll(line -> Matcher.quoteReplacement(
+                line.group(1) + NUMBER_LITERAL.matcher(line.group(2)).replaceAll("?")));
+    }
+
+    private static boolean isSingleQuery(ExecutionInfo execution, List<QueryInfo> queries) {
+        return execution.isSuccess()
+                && !execution.isBatch()
+                && execution.getStatementType() != StatementType.CALLABLE
+                && queries.size() == 1;
+    }
+
+    private static boolean isReadOnly(String sql) {
+        String start = sql.length() > 7 ? sql.substring(0, 7).toLowerCase() : sql.toLowerCase();
+        return (start.startsWith("select ") || start.startsWith("with "))
+                && !LOCKING_CLAUSE.matcher(sql).find();
+    }
+
+    private static int parameterIndex(ParameterSetOperation parameter) {
+        return parameter.getArgs()[0] instanceof Integer index ? index : Integer.MAX_VALUE;
+    }
+
+    private static String parameterType(ParameterSetOperation parameter) {
+        Object[] args = parameter.getArgs();
+        if (ParameterSetOperation.isSetNullParameterOperation(parameter) || args.length < 2 || args[1] == null) {
+            return "null";
+        }
+        return args[1].getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,17 @@
+package ch.vaudoise.clientcontractapi.dtos;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActiveCostTotalDTO {
+
+    private LocalDate asOf;
+
+    private BigDecimal total;
+}
@@ -0,0 +1,20 @@
+package ch.vaudoise.clientcontractapi.dtos;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContractCostHistoryDTO {
+
+    private Double oldCost;
+
+    private Double newCost;
+
+    private LocalDateTime changedAt;
+
+    private String actor;
+}
@@ -0,0 +1,23 @@
+package ch.vaudoise.clientcontractapi.dtos;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of contracts ending soon, in end date order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExpiringContractsPageDTO {
+
+    private List<ContractDTO> contracts;
+
+    /**
+     * Opaque cursor to pass to get the next page, {@code null} on the last
+     * page.
+     */
+    private String nextCursor;
+}
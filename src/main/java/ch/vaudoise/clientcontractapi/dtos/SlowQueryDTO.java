@@ -0,0 +1,28 @@
+package ch.vaudoise.clientcontractapi.dtos;
+
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQuery.ExplainStatus;
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlowQueryDTO {
+
+    private Instant capturedAt;
+
+    private long elapsedMillis;
+
+    private String sql;
+
+    private List<String> parameterTypes;
+
+    private int batchSize;
+
+    private ExplainStatus explainStatus;
+
+    private String plan;
+}
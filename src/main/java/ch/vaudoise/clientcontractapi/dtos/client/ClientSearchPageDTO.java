@@ -0,0 +1,23 @@
+package ch.vaudoise.clientcontractapi.dtos.client;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * One page of fuzzy search results, best match first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientSearchPageDTO {
+
+    private List<ClientSearchResultDTO> results;
+
+    /**
+     * Opaque cursor to pass as {@code cursor} to fetch the next page, or
+     * {@code null} if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,33 @@
+package ch.vaudoise.clientcontractapi.dtos.client;
+
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import lombok.*;
+
+/**
+ * A client matching a fuzzy search, with its similarity to the query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientSearchResultDTO {
+
+    private String id;
+
+    private ClientType type;
+
+    private String name;
+
+    private String email;
+
+    /**
+     * The company identifier, {@code null} for persons.
+     */
+    private String companyIdentifier;
+
+    /**
+     * The best word similarity between the query and the name, email or
+     * company identifier, between 0 and 1.
+     */
+    private float score;
+}
@@ -0,0 +1,50 @@
+package ch.vaudoise.clientcontractapi.dtos.job;
+
+import ch.vaudoise.clientcontractapi.models.enums.JobStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * State and progress of a bulk job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobDTO {
+
+    private String id;
+
+    private String type;
+
+    private JobStatus status;
+
+    /**
+     * The number of items of the job, {@code null} until the job has started.
+     */
+    private Long totalItems;
+
+    private long processed;
+
+    private long failed;
+
+    /**
+     * Items (processed or failed) per second since the job started, until it
+     * finished or now.
+     */
+    private double rowsPerSecond;
+
+    /**
+     * The reason of the last failed item, or of the failure of the job.
+     */
+    private String lastError;
+
+    private String createdBy;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
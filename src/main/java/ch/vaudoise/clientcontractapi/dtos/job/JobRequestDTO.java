@@ -0,0 +1,32 @@
+package ch.vaudoise.clientcontractapi.dtos.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+/**
+ * Submission of a bulk job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobRequestDTO {
+
+    /**
+     * The job type, e.g. {@code CONTRACT_REPRICING}, {@code CONTRACT_CLOSING}
+     * or {@code CLIENT_IMPORT}.
+     */
+    @Schema(example = "CONTRACT_REPRICING")
+    @NotBlank(message = "Job type is required")
+    private String type;
+
+    /**
+     * The parameters of the job, specific to its type.
+     */
+    @Schema(example = "{\"factor\": 1.05, \"clientType\": \"COMPANY\"}")
+    @NotNull(message = "Job parameters are required")
+    private JsonNode parameters;
+}
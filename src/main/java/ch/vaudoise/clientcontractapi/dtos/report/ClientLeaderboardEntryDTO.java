@@ -0,0 +1,23 @@
+package ch.vaudoise.clientcontractapi.dtos.report;
+
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClientLeaderboardEntryDTO {
+
+    private int rank;
+
+    private String clientId;
+
+    private ClientType clientType;
+
+    private String name;
+
+    private BigDecimal totalActiveCost;
+}
@@ -0,0 +1,30 @@
+package ch.vaudoise.clientcontractapi.dtos.report;
+
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MonthlyContractReportDTO {
+
+    private ClientType clientType;
+
+    private YearMonth month;
+
+    private long startedCount;
+
+    private BigDecimal startedCost;
+
+    private long endedCount;
+
+    private BigDecimal endedCost;
+
+    private long activeCount;
+
+    private BigDecimal activeCost;
+}
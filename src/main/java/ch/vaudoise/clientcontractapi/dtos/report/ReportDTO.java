@@ -0,0 +1,27 @@
+package ch.vaudoise.clientcontractapi.dtos.report;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rows of a report together with the freshness of the view they were read
+ * from.
+ *
+ * @param <T> the type of the report rows
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportDTO<T> {
+
+    private LocalDateTime refreshedAt;
+
+    private long refreshDurationMs;
+
+    private boolean stale;
+
+    private List<T> rows;
+}
@@ -0,0 +1,91 @@
+package ch.vaudoise.clientcontractapi.events;
+
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.entities.client.Client;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.utils.RequestActor;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Immutable description of a change to a client or a contract.
+ * <p>
+ * Events are published by the service layer through Spring's
+ * {@link org.springframework.context.ApplicationEventPublisher} and carry
+ * enough state for listeners to act without reloading the entities.
+ * Contract-related fields are {@code null} for client events. The id is
+ * unique per event and lets consumers deduplicate redeliveries.
+ */
+@Value
+@Builder
+public class DomainEvent {
+
+    @Builder.Default
+    UUID id = UUID.randomUUID();
+
+    DomainEventType type;
+
+    UUID clientId;
+
+    ClientType clientType;
+
+    UUID contractId;
+
+    Money costAmount;
+
+    Money previousCostAmount;
+
+    LocalDate startDate;
+
+    LocalDate endDate;
+
+    @Builder.Default
+    LocalDateTime occurredAt = LocalDateTime.now();
+
+    @Builder.Default
+    String actor = RequestActor.current();
+
+    /**
+     * Builds a client event of the given type.
+     *
+     * @param type   the event type
+     * @param client the client that changed
+     * @return the event
+     */
+    public static DomainEvent ofClient(DomainEventType type, Client client) {
+        return DomainEvent.builder()
+                .type(type)
+                .clientId(client.getId())
+                .clientType(client.getType())
+                .build();
+    }
+
+    /**
+     * Builds a contract event of the given type.
+     *
+     * @param type         the event type
+     * @param contract     the contract that changed
+     * @param previousCost the cost before the change, or {@code null} if not
+     *                     applicable
+     * @return the event
+     */
+    public static DomainEvent ofContract(DomainEventType type, Contract contract, Money previousCost) {
+        Client client = contract.getClient();
+        return DomainEvent.builder()
+                .type(type)
+                .clientId(client != null ? client.getId() : null)
+                .clientType(client != null ? client.getType() : null)
+                .contractId(contract.getId())
+                .costAmount(contract.getCostAmount())
+                .previousCostAmount(previousCost)
+                .startDate(contract.getStartDate())
+                .endDate(contract.getEndDate())
+                .build();
+    }
+}
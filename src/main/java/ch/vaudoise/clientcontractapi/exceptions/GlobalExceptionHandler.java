@@ -1,8 +1,11 @@
 package ch.vaudoise.clientcontractapi.exceptions;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -71,6 +74,47 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles job submissions rejected because the job queue is full.
+     * Returns 429 so that callers back off and retry.
+     *
+     * @param ex the {@link JobQueueFullException} that was thrown
+     * @return a {@link ResponseEntity} containing the error response
+     */
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ErrorResponseDTO> handleJobQueueFull(JobQueueFullException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "TOO_MANY_REQUESTS",
+                "The service is overloaded, please retry later",
+                ex.getMessage(),
+                null,
+                "JOB_QUEUE_FULL");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "10")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles requests that could not get a database connection within the
+     * Hikari connection timeout, i.e. the connection pool is saturated or the
+     * database is unreachable. Returns 503 so that callers back off and retry.
+     *
+     * @param ex the exception that was thrown
+     * @return a {@link ResponseEntity} containing the error response
+     */
+    @ExceptionHandler({ CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class })
+    public ResponseEntity<ErrorResponseDTO> handleConnectionUnavailable(Exception ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "SERVICE_UNAVAILABLE",
+                "The service is overloaded, please retry later",
+                "No database connection available",
+                null,
+                "DATABASE_BUSY");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
     /**
      * Handles any other generic exception (e.g., internal server errors).
      * Returns a generic error message with status 500.
@@ -0,0 +1,12 @@
+package ch.vaudoise.clientcontractapi.exceptions;
+
+/**
+ * Thrown when a bulk job cannot be accepted because every worker is busy and
+ * the job queue is full. Mapped to {@code 429 Too Many Requests}.
+ */
+public class JobQueueFullException extends RuntimeException {
+
+    public JobQueueFullException(String message) {
+        super(message);
+    }
+}
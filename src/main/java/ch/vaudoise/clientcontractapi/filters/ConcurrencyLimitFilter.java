@@ -0,0 +1,69 @@
+package ch.vaudoise.clientcontractapi.filters;
+
+import ch.vaudoise.clientcontractapi.dtos.ErrorResponseDTO;
+import ch.vaudoise.clientcontractapi.services.concurrency.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Rejects requests with {@code 503 Service Unavailable} and a
+ * {@code Retry-After} header while the adaptive concurrency limit of their
+ * kind is reached, so that a slow database makes a few requests fail fast
+ * instead of every request queueing in Tomcat.
+ * <p>
+ * Reads ({@code GET} and {@code HEAD}) and writes have separate limits, so
+ * that a burst of one kind does not starve the other. A request answered
+ * with 503 by the application itself (no database connection within the
+ * Hikari timeout) is reported as dropped.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        AdaptiveConcurrencyLimiter limiter = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            reject(response);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            chain.doFilter(request, response);
+            dropped = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "SERVICE_UNAVAILABLE",
+                "The service is overloaded, please retry later",
+                "Too many requests in progress",
+                null,
+                "CONCURRENCY_LIMIT");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+}
@@ -0,0 +1,76 @@
+package ch.vaudoise.clientcontractapi.filters;
+
+import ch.vaudoise.clientcontractapi.dtos.ErrorResponseDTO;
+import ch.vaudoise.clientcontractapi.services.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects the requests of callers that exceeded their rate limit with
+ * {@code 429 Too Many Requests} and a {@code Retry-After} header, before they
+ * reach a controller or take a database connection.
+ * <p>
+ * Callers are identified by the API key header, or by their IP address when
+ * they send none. The API has no authentication yet, so the key is trusted
+ * as sent.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final String keyHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = rateLimiter.acquire(request.getMethod(), path(request), apiKey(request), request.getRemoteAddr());
+        if (wait == 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "TOO_MANY_REQUESTS",
+                "Too many requests, please retry later",
+                "Rate limit exceeded, retry in " + retryAfter + " s",
+                null,
+                "RATE_LIMITED");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    /**
+     * @return the decoded and normalized path of the request, unlike
+     *         {@link HttpServletRequest#getRequestURI()} which could bypass an
+     *         endpoint limit with {@code //} or {@code ;} parameters
+     */
+    private static String path(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo == null ? request.getServletPath() : request.getServletPath() + pathInfo;
+    }
+
+    private String apiKey(HttpServletRequest request) {
+        String key = request.getHeader(keyHeader);
+        if (!StringUtils.hasText(key)) {
+            return null;
+        }
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+}
@@ -0,0 +1,49 @@
+package ch.vaudoise.clientcontractapi.filters;
+
+import ch.vaudoise.clientcontractapi.datasource.ReadYourWritesContext;
+import ch.vaudoise.clientcontractapi.datasource.ReplicaLagMonitor;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Routes the reads of a request to the primary when they must see the
+ * latest writes: reads of a write request, which check the state they
+ * change, and reads of a request carrying a consistency token the replica
+ * has not replayed yet.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final String tokenHeader;
+    private final Counter primaryReads;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String method = request.getMethod();
+        boolean read = HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+        String token = read ? request.getHeader(tokenHeader) : null;
+        if (read && (token == null || lagMonitor.hasReplayed(token))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (read) {
+            primaryReads.increment();
+        }
+        ReadYourWritesContext.requirePrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.clear();
+        }
+    }
+}
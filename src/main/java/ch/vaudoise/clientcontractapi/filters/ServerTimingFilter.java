@@ -0,0 +1,82 @@
+package ch.vaudoise.clientcontractapi.filters;
+
+import ch.vaudoise.clientcontractapi.utils.RequestTiming;
+import ch.vaudoise.clientcontractapi.utils.RequestTiming.Phase;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Reports where the time of a request went, when the caller asks for it
+ * with the configured request header.
+ * <p>
+ * The time spent in JDBC statements, mappers, bean validation and response
+ * serialization is returned in a {@code Server-Timing} header, together with
+ * the total, and logged with one {@code timing.*} MDC field per phase, in
+ * milliseconds. The body of a timed request is buffered, so that the header
+ * can include its serialization. Requests without the header are only
+ * checked for it.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final String requestHeader;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (request.getHeader(requestHeader) == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ContentCachingResponseWrapper bufferedResponse = new ContentCachingResponseWrapper(response);
+        RequestTiming timing = RequestTiming.begin();
+        try {
+            chain.doFilter(request, bufferedResponse);
+        } finally {
+            RequestTiming.end();
+            bufferedResponse.setHeader(SERVER_TIMING_HEADER, serverTiming(timing));
+            log(request, bufferedResponse.getStatus(), timing);
+            bufferedResponse.copyBodyToResponse();
+        }
+    }
+
+    private static String serverTiming(RequestTiming timing) {
+        StringBuilder header = new StringBuilder();
+        for (Phase phase : Phase.values()) {
+            header.append(phase.getMetricName()).append(";dur=").append(millis(timing.nanos(phase))).append(", ");
+        }
+        return header.append("total;dur=").append(millis(timing.totalNanos())).toString();
+    }
+
+    private static void log(HttpServletRequest request, int status, RequestTiming timing) {
+        try {
+            for (Phase phase : Phase.values()) {
+                MDC.put("timing." + phase.getMetricName(), millis(timing.nanos(phase)));
+            }
+            MDC.put("timing.total", millis(timing.totalNanos()));
+            log.info("Timed {} {} {}: {}", request.getMethod(), request.getRequestURI(), status, serverTiming(timing));
+        } finally {
+            for (Phase phase : Phase.values()) {
+                MDC.remove("timing." + phase.getMetricName());
+            }
+            MDC.remove("timing.total");
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -9,7 +9,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
-public interface CompanyMapper {
+public interface CompanyMapper extends TimedMapping {
 
     @Mapping(target = "type", source = "type")
     @Mapping(target = "name", source = "name")
@@ -1,16 +1,20 @@
 package ch.vaudoise.clientcontractapi.mappers;
 
+import ch.vaudoise.clientcontractapi.dtos.ContractCostHistoryDTO;
 import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
 import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.entities.ContractCostHistory;
 import ch.vaudoise.clientcontractapi.models.entities.client.Client;
 import ch.vaudoise.clientcontractapi.models.entities.client.Person;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.utils.CostAmounts;
 
 import org.mapstruct.*;
 
 import java.util.UUID;
 
 @Mapper(componentModel = "spring")
-public interface ContractMapper {
+public interface ContractMapper extends TimedMapping {
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
@@ -26,10 +30,20 @@ public interface ContractMapper {
     @Mapping(source = "costAmount", target = "costAmount")
     ContractDTO toDTO(Contract entity);
 
+    ContractCostHistoryDTO toDTO(ContractCostHistory entity);
+
     default UUID map(String id) {
         return id == null ? null : UUID.fromString(id);
     }
 
+    default Money map(Double amount) {
+        return CostAmounts.of(amount, "costAmount");
+    }
+
+    default Double map(Money amount) {
+        return amount == null ? null : amount.toDouble();
+    }
+
     default Client map(UUID clientId) {
         if (clientId == null) {
             return null;
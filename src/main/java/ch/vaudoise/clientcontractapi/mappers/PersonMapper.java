@@ -9,7 +9,7 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
-public interface PersonMapper {
+public interface PersonMapper extends TimedMapping {
 
     @Mapping(target = "id", source = "id")
     @Mapping(target = "type", source = "type")
@@ -0,0 +1,28 @@
+package ch.vaudoise.clientcontractapi.mappers;
+
+import ch.vaudoise.clientcontractapi.utils.RequestTiming;
+import ch.vaudoise.clientcontractapi.utils.RequestTiming.Phase;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.BeforeMapping;
+
+/**
+ * Times the mapping methods of the mappers extending it for
+ * {@link RequestTiming}. MapStruct calls these methods from the generated
+ * code, so mapping is timed without a proxy. A {@code null} source is
+ * ignored, since the generated code returns it before the after-mapping
+ * callback.
+ */
+public interface TimedMapping {
+
+    @BeforeMapping
+    default void beforeMapping(Object source) {
+        if (source != null) {
+            RequestTiming.enter(Phase.MAPPING);
+        }
+    }
+
+    @AfterMapping
+    default void afterMapping(Object source) {
+        RequestTiming.exit(Phase.MAPPING);
+    }
+}
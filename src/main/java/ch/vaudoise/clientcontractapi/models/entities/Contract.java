@@ -1,7 +1,6 @@
 package ch.vaudoise.clientcontractapi.models.entities;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import java.time.LocalDate;
@@ -11,6 +10,8 @@ import java.util.UUID;
 import org.hibernate.annotations.GenericGenerator;
 
 import ch.vaudoise.clientcontractapi.models.entities.client.Client;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.validators.NonNegativeMoney;
 
 @Entity
 @Table(name = "contract")
@@ -41,8 +42,9 @@ public class Contract {
     private LocalDate endDate;
 
     @NotNull
-    @DecimalMin(value = "0.0", message = "Cost amount must be positive")
-    private Double costAmount;
+    @NonNegativeMoney(message = "Cost amount must be positive")
+    @Column(precision = Money.PRECISION, scale = Money.SCALE)
+    private Money costAmount;
 
     @Builder.Default
     @Column(name = "last_modified", nullable = false)
@@ -0,0 +1,46 @@
+package ch.vaudoise.clientcontractapi.models.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import ch.vaudoise.clientcontractapi.models.values.Money;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One change of a contract's cost. Rows are append-only and written by
+ * {@link ch.vaudoise.clientcontractapi.services.history.CostHistoryRecorder}.
+ */
+@Entity
+@Immutable
+@Table(name = "contract_cost_history")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContractCostHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false, unique = true)
+    private UUID eventId;
+
+    @Column(name = "contract_id", nullable = false)
+    private UUID contractId;
+
+    @Column(name = "old_cost", precision = 10, scale = 2)
+    private Money oldCost;
+
+    @Column(name = "new_cost", nullable = false, precision = 10, scale = 2)
+    private Money newCost;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(name = "actor", nullable = false)
+    private String actor;
+}
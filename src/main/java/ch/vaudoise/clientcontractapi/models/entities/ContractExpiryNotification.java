@@ -0,0 +1,34 @@
+package ch.vaudoise.clientcontractapi.models.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A contract reported as expiring, for the end date it was reported for.
+ * Rows are written by
+ * {@link ch.vaudoise.clientcontractapi.repositories.ContractExpiryNotificationRepository}
+ * and only mapped to be queried.
+ */
+@Entity
+@Immutable
+@Table(name = "contract_expiry_notification")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContractExpiryNotification {
+
+    @Id
+    @Column(name = "contract_id")
+    private UUID contractId;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "notified_at", nullable = false)
+    private LocalDateTime notifiedAt;
+}
@@ -5,14 +5,15 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.*;
 
 @Entity
-@Table(name = "company_client")
+@Table(name = "company_client", uniqueConstraints = @UniqueConstraint(
+        name = "uk_company_client_identifier", columnNames = "company_identifier"))
 @EqualsAndHashCode(callSuper = true)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Company extends Client {
 
-    @Column(name = "company_identifier", unique = true, nullable = false)
+    @Column(name = "company_identifier", nullable = false)
     @NotBlank(message = "Company identifier is required")
     private String companyIdentifier;
 }
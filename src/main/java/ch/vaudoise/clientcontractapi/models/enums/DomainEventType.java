@@ -0,0 +1,16 @@
+package ch.vaudoise.clientcontractapi.models.enums;
+
+/**
+ * Types of domain events emitted by the service layer when clients or
+ * contracts change. {@link #CONTRACT_EXPIRING} is emitted once per contract
+ * by the expiry scanner when the contract enters its notice period.
+ */
+public enum DomainEventType {
+    CLIENT_CREATED,
+    CLIENT_UPDATED,
+    CLIENT_DELETED,
+    CONTRACT_CREATED,
+    CONTRACT_COST_CHANGED,
+    CONTRACT_CLOSED,
+    CONTRACT_EXPIRING
+}
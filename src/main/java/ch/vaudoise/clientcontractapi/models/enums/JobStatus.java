@@ -0,0 +1,14 @@
+package ch.vaudoise.clientcontractapi.models.enums;
+
+/**
+ * Lifecycle of a bulk job. A job is {@link #QUEUED} until a worker claims it,
+ * {@link #RUNNING} while its chunks are processed, and ends in
+ * {@link #SUCCEEDED} or {@link #FAILED}. Items that fail individually are
+ * counted without failing the job.
+ */
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+}
@@ -0,0 +1,131 @@
+package ch.vaudoise.clientcontractapi.models.values;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money in Swiss francs, held as a whole number of centimes so
+ * that sums are exact and cost nothing but a {@code long} addition.
+ * <p>
+ * Amounts are stored as {@code NUMERIC(10,2)} through
+ * {@link ch.vaudoise.clientcontractapi.utils.MoneyConverter} and written in
+ * JSON as a plain number, e.g. {@code 1234.50}. Conversions from decimal
+ * amounts round half up to the centime, like the database column does.
+ * Aggregations over many amounts should add {@link #minorUnits()} in a
+ * {@code long} and wrap the result once.
+ *
+ * @param minorUnits the amount in centimes
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    /**
+     * Number of decimal digits of an amount.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Total number of digits of a stored amount.
+     */
+    public static final int PRECISION = 10;
+
+    /**
+     * Largest amount a {@code NUMERIC(10,2)} column can hold.
+     */
+    public static final Money MAX_STORABLE = new Money(9_999_999_999L);
+
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * @param minorUnits an amount in centimes
+     * @return the amount
+     */
+    public static Money ofMinorUnits(long minorUnits) {
+        return minorUnits == 0 ? ZERO : new Money(minorUnits);
+    }
+
+    /**
+     * @param amount an amount in francs, or {@code null}
+     * @return the amount rounded to the centime, or {@code null}
+     * @throws ArithmeticException if the amount does not fit in a {@code long}
+     *                             of centimes
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return amount == null ? null : ofMinorUnits(minorUnitsOf(amount));
+    }
+
+    /**
+     * @param amount an amount in francs, or {@code null}
+     * @return the amount rounded to the centime, or {@code null}
+     * @throws IllegalArgumentException if the amount is NaN or infinite
+     * @throws ArithmeticException      if the amount does not fit in a
+     *                                  {@code long} of centimes
+     */
+    public static Money of(Double amount) {
+        if (amount == null) {
+            return null;
+        }
+        if (!Double.isFinite(amount)) {
+            throw new IllegalArgumentException("Amount must be a finite number: " + amount);
+        }
+        return of(BigDecimal.valueOf(amount));
+    }
+
+    /**
+     * @param amount an amount in francs
+     * @return the amount in centimes, rounded half up
+     * @throws ArithmeticException if the result does not fit in a {@code long}
+     */
+    public static long minorUnitsOf(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public Money plus(Money other) {
+        return ofMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return ofMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    /**
+     * @param factor the factor to apply
+     * @return this amount multiplied by {@code factor}, rounded half up to
+     *         the centime
+     */
+    public Money times(BigDecimal factor) {
+        return of(toBigDecimal().multiply(factor));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    /**
+     * @return the amount in francs, with a scale of {@value #SCALE}
+     */
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * @return the {@code double} closest to the amount in francs
+     */
+    public double toDouble() {
+        return minorUnits / 100.0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -0,0 +1,60 @@
+package ch.vaudoise.clientcontractapi.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ch.vaudoise.clientcontractapi.models.entities.ContractCostHistory;
+
+/**
+ * Repository interface for {@link ContractCostHistory} entity.
+ * Rows are inserted in batches by the cost history writer; this repository
+ * serves the reads and the reconciliation from the outbox.
+ */
+@Repository
+public interface ContractCostHistoryRepository extends JpaRepository<ContractCostHistory, Long> {
+
+  /**
+   * Finds one page of the cost history of a contract, newest change first.
+   *
+   * @param contractId the contract identifier
+   * @param pageable   the requested page
+   * @return the history entries of the page
+   */
+  List<ContractCostHistory> findByContractIdOrderByChangedAtDescIdDesc(UUID contractId, Pageable pageable);
+
+  /**
+   * Copies the cost changes recorded in the outbox between the given
+   * timestamps into the history, skipping changes that are already there.
+   *
+   * @param since only outbox events created at or after this timestamp are
+   *              considered
+   * @param until only outbox events created before this timestamp are
+   *              considered
+   * @return the number of recovered history entries
+   */
+  @Modifying
+  @Query(value = """
+          INSERT INTO contract_cost_history (event_id, contract_id, old_cost, new_cost, changed_at, actor)
+          SELECT CAST(payload->>'id' AS uuid),
+                 aggregate_id,
+                 CAST(payload->>'previousCostAmount' AS numeric),
+                 CAST(payload->>'costAmount' AS numeric),
+                 CAST(payload->>'occurredAt' AS timestamp),
+                 COALESCE(payload->>'actor', 'system')
+          FROM outbox_event
+          WHERE event_type = 'CONTRACT_COST_CHANGED'
+            AND created_at >= :since
+            AND created_at < :until
+            AND payload->>'id' IS NOT NULL
+          ON CONFLICT (event_id) DO NOTHING
+      """, nativeQuery = true)
+  int recoverFromOutbox(@Param("since") LocalDateTime since, @Param("until") LocalDateTime until);
+}
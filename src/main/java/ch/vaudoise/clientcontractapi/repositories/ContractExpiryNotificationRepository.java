@@ -0,0 +1,63 @@
+package ch.vaudoise.clientcontractapi.repositories;
+
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Contracts already reported by the contract expiry scanner, stored in the
+ * {@code contract_expiry_notification} table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContractExpiryNotificationRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Tries to take the transaction-scoped lock guarding a scanner, so that
+     * only one instance reports contracts at a time. Must be called within a
+     * transaction.
+     *
+     * @param scanner the name of the scanner
+     * @return {@code true} if the lock was taken
+     */
+    public boolean tryLock(String scanner) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, scanner));
+    }
+
+    /**
+     * Records contracts as reported for their current end date.
+     *
+     * @param contracts  the reported contracts
+     * @param notifiedAt the time they were reported
+     */
+    public void saveAll(List<Contract> contracts, LocalDateTime notifiedAt) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO contract_expiry_notification (contract_id, end_date, notified_at) VALUES (?, ?, ?)
+                ON CONFLICT (contract_id) DO UPDATE
+                SET end_date = EXCLUDED.end_date, notified_at = EXCLUDED.notified_at
+                """, contracts, contracts.size(), (ps, contract) -> {
+                    ps.setObject(1, contract.getId());
+                    ps.setObject(2, contract.getEndDate());
+                    ps.setObject(3, notifiedAt);
+                });
+    }
+
+    /**
+     * Forgets the contracts that ended before a given date, which can no
+     * longer be reported.
+     *
+     * @param date the first end date to keep
+     * @return the number of rows deleted
+     */
+    public int deleteEndedBefore(LocalDate date) {
+        return jdbcTemplate.update("DELETE FROM contract_expiry_notification WHERE end_date < ?", date);
+    }
+}
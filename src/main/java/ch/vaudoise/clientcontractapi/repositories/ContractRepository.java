@@ -6,6 +6,7 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Repository;
 
 import ch.vaudoise.clientcontractapi.models.entities.Contract;
 import ch.vaudoise.clientcontractapi.models.entities.client.Client;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
 
 /**
  * Repository interface for {@link Contract} entity.
@@ -93,18 +95,195 @@ public interface ContractRepository extends JpaRepository<Contract, UUID> {
    * Calculates the total cost of all active contracts for a given client.
    * A contract is considered active if its end date is either null or after
    * today's date.
-   * The result is returned as a {@link BigDecimal} for precision.
+   * The result is returned as a {@link BigDecimal} for precision. The query
+   * is native since Hibernate cannot type a sum of converted attributes.
    *
-   * @param client the {@link Client} for whom to calculate the total active
-   *               contract cost
-   * @param today  the current date used for filtering active contracts
+   * @param clientId the id of the client for whom to calculate the total
+   *                 active contract cost
+   * @param today    the current date used for filtering active contracts
    * @return the total sum of cost amounts for all active contracts for the client
    */
+  @Query(value = """
+          SELECT COALESCE(SUM(cost_amount), 0) FROM contract
+          WHERE client_id = :clientId
+            AND (end_date IS NULL OR end_date > :today)
+      """, nativeQuery = true)
+  BigDecimal sumActiveCostByClient(@Param("clientId") UUID clientId, @Param("today") LocalDate today);
+
+  /**
+   * Finds the contracts of a client that were active on the given date, i.e.
+   * whose period {@code [startDate, endDate)} contains it. Unlike
+   * {@link #findActiveContracts(Client, LocalDate)}, contracts starting after
+   * the date are left out. Served by the GiST index on
+   * {@code (client_id, period)}.
+   *
+   * @param clientId the id of the client
+   * @param asOf     the date at which the contracts must be active
+   * @return the contracts active on {@code asOf}
+   */
+  @Query(value = """
+          SELECT * FROM contract
+          WHERE client_id = :clientId
+            AND period @> CAST(:asOf AS date)
+      """, nativeQuery = true)
+  List<Contract> findActiveAsOf(@Param("clientId") UUID clientId, @Param("asOf") LocalDate asOf);
+
+  /**
+   * Finds the contracts of a client that were active on the given date and
+   * were last modified after the given timestamp.
+   *
+   * @param clientId     the id of the client
+   * @param asOf         the date at which the contracts must be active
+   * @param updatedAfter the cutoff for the last modification timestamp
+   * @return the matching contracts
+   */
+  @Query(value = """
+          SELECT * FROM contract
+          WHERE client_id = :clientId
+            AND period @> CAST(:asOf AS date)
+            AND last_modified > :updatedAfter
+      """, nativeQuery = true)
+  List<Contract> findActiveAsOfUpdatedAfter(
+      @Param("clientId") UUID clientId,
+      @Param("asOf") LocalDate asOf,
+      @Param("updatedAfter") OffsetDateTime updatedAfter);
+
+  /**
+   * Calculates the total cost of the contracts of a client that were active
+   * on the given date.
+   *
+   * @param clientId the id of the client
+   * @param asOf     the date at which the contracts must be active
+   * @return the total cost, zero if there is no active contract
+   */
+  @Query(value = """
+          SELECT COALESCE(SUM(cost_amount), 0) FROM contract
+          WHERE client_id = :clientId
+            AND period @> CAST(:asOf AS date)
+      """, nativeQuery = true)
+  BigDecimal sumActiveCostAsOf(@Param("clientId") UUID clientId, @Param("asOf") LocalDate asOf);
+
+  /**
+   * Lists the period and cost of every contract of a client that was active
+   * at some point between two dates, both inclusive. A single index scan
+   * yields everything needed to compute the active total at any date of the
+   * window.
+   *
+   * @param clientId the id of the client
+   * @param from     the first date of the window
+   * @param to       the last date of the window
+   * @return the periods overlapping the window
+   */
+  @Query(value = """
+          SELECT start_date AS startDate, end_date AS endDate, cost_amount AS costAmount
+          FROM contract
+          WHERE client_id = :clientId
+            AND NOT isempty(period)
+            AND period && daterange(CAST(:from AS date), CAST(:to AS date), '[]')
+      """, nativeQuery = true)
+  List<CostPeriod> findCostPeriodsOverlapping(
+      @Param("clientId") UUID clientId,
+      @Param("from") LocalDate from,
+      @Param("to") LocalDate to);
+
+  /**
+   * Finds, in (end date, id) order, the contracts ending up to a given date
+   * that come after a given position. Served by the partial index on
+   * {@code (end_date, id)}; the client is fetched in the same query.
+   *
+   * @param afterEndDate the end date of the last contract already seen
+   * @param afterId      the id of the last contract already seen
+   * @param until        the last end date to include
+   * @param pageable     the maximum number of contracts to return
+   * @return the next contracts in (end date, id) order
+   */
   @Query("""
-          SELECT COALESCE(SUM(c.costAmount), 0)
-          FROM Contract c
-          WHERE c.client = :client
-            AND (c.endDate IS NULL OR c.endDate > :today)
+          SELECT c FROM Contract c JOIN FETCH c.client
+          WHERE c.endDate >= :afterEndDate
+            AND c.endDate <= :until
+            AND (c.endDate > :afterEndDate OR c.id > :afterId)
+          ORDER BY c.endDate, c.id
       """)
-  BigDecimal sumActiveCostByClient(@Param("client") Client client, @Param("today") LocalDate today);
+  List<Contract> findEndingAfter(
+      @Param("afterEndDate") LocalDate afterEndDate,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDate until,
+      Pageable pageable);
+
+  /**
+   * Finds, in (end date, id) order, the contracts ending up to a given date
+   * that come after a given position and were not yet reported as expiring
+   * for their current end date.
+   *
+   * @param afterEndDate the end date of the last contract already seen
+   * @param afterId      the id of the last contract already seen
+   * @param until        the last end date to include
+   * @param pageable     the maximum number of contracts to return
+   * @return the next unreported contracts in (end date, id) order
+   */
+  @Query("""
+          SELECT c FROM Contract c JOIN FETCH c.client
+          WHERE c.endDate >= :afterEndDate
+            AND c.endDate <= :until
+            AND (c.endDate > :afterEndDate OR c.id > :afterId)
+            AND NOT EXISTS (
+                SELECT 1 FROM ContractExpiryNotification n
+                WHERE n.contractId = c.id AND n.endDate = c.endDate)
+          ORDER BY c.endDate, c.id
+      """)
+  List<Contract> findUnnotifiedEndingAfter(
+      @Param("afterEndDate") LocalDate afterEndDate,
+      @Param("afterId") UUID afterId,
+      @Param("until") LocalDate until,
+      Pageable pageable);
+
+  /**
+   * Finds, in id order, the active contracts that come after a given id,
+   * optionally restricted to one client type. The client is fetched in the
+   * same query.
+   *
+   * @param today      the current date used for filtering active contracts
+   * @param afterId    the id of the last contract already seen
+   * @param clientType the client type, or {@code null} for all clients
+   * @param pageable   the maximum number of contracts to return
+   * @return the next active contracts in id order
+   */
+  @Query("""
+          SELECT c FROM Contract c JOIN FETCH c.client cl
+          WHERE (c.endDate IS NULL OR c.endDate > :today)
+            AND c.id > :afterId
+            AND (:clientType IS NULL OR cl.type = :clientType)
+          ORDER BY c.id
+      """)
+  List<Contract> findActiveAfterId(
+      @Param("today") LocalDate today,
+      @Param("afterId") UUID afterId,
+      @Param("clientType") ClientType clientType,
+      Pageable pageable);
+
+  /**
+   * Counts the active contracts, optionally restricted to one client type.
+   *
+   * @param today      the current date used for filtering active contracts
+   * @param clientType the client type, or {@code null} for all clients
+   * @return the number of active contracts
+   */
+  @Query("""
+          SELECT COUNT(c) FROM Contract c
+          WHERE (c.endDate IS NULL OR c.endDate > :today)
+            AND (:clientType IS NULL OR c.client.type = :clientType)
+      """)
+  long countActive(@Param("today") LocalDate today, @Param("clientType") ClientType clientType);
+
+  /**
+   * Period and cost of a contract, as needed by trend aggregations.
+   */
+  interface CostPeriod {
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+
+    BigDecimal getCostAmount();
+  }
 }
@@ -0,0 +1,177 @@
+package ch.vaudoise.clientcontractapi.repositories;
+
+import ch.vaudoise.clientcontractapi.models.enums.JobStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bulk jobs and their progress, stored in the {@code job} table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JobRepository {
+
+    private static final RowMapper<Job> JOB_MAPPER = (rs, rowNum) -> new Job(
+            rs.getObject("id", UUID.class),
+            rs.getString("type"),
+            JobStatus.valueOf(rs.getString("status")),
+            rs.getString("parameters"),
+            rs.getObject("total_items", Long.class),
+            rs.getLong("processed"),
+            rs.getLong("failed"),
+            rs.getString("checkpoint"),
+            rs.getString("last_error"),
+            rs.getString("created_by"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("started_at", LocalDateTime.class),
+            rs.getObject("finished_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts a new {@link JobStatus#QUEUED} job.
+     *
+     * @param job the job to insert
+     */
+    public void insert(Job job) {
+        jdbcTemplate.update("""
+                INSERT INTO job (id, type, status, parameters, created_by, created_at)
+                VALUES (?, ?, ?, CAST(? AS jsonb), ?, ?)
+                """, job.id(), job.type(), job.status().name(), job.parameters(), job.createdBy(), job.createdAt());
+    }
+
+    /**
+     * Deletes a job, e.g. one that could not be queued.
+     *
+     * @param id the job id
+     */
+    public void delete(UUID id) {
+        jdbcTemplate.update("DELETE FROM job WHERE id = ?", id);
+    }
+
+    /**
+     * @param id the job id
+     * @return the job, if it exists
+     */
+    public Optional<Job> findById(UUID id) {
+        return jdbcTemplate.query("SELECT * FROM job WHERE id = ?", JOB_MAPPER, id).stream().findFirst();
+    }
+
+    /**
+     * Finds the jobs to resume: queued jobs, and running jobs whose worker has
+     * not reported progress since {@code staleBefore}, oldest first.
+     *
+     * @param staleBefore the heartbeat below which a running job is abandoned
+     * @param limit       the maximum number of ids to return
+     * @return the ids of the jobs to resume
+     */
+    public List<UUID> findResumable(LocalDateTime staleBefore, int limit) {
+        return jdbcTemplate.queryForList("""
+                SELECT id FROM job
+                WHERE status = 'QUEUED' OR (status = 'RUNNING' AND heartbeat_at < ?)
+                ORDER BY created_at
+                LIMIT ?
+                """, UUID.class, staleBefore, limit);
+    }
+
+    /**
+     * Atomically marks a job as running on the calling worker. Fails if the
+     * job is finished or another worker holds it with a recent heartbeat.
+     *
+     * @param id          the job id
+     * @param staleBefore the heartbeat below which a running job is abandoned
+     * @return whether the job was claimed
+     */
+    public boolean claim(UUID id, LocalDateTime staleBefore) {
+        return jdbcTemplate.update("""
+                UPDATE job
+                SET status = 'RUNNING', started_at = COALESCE(started_at, CURRENT_TIMESTAMP),
+                    heartbeat_at = CURRENT_TIMESTAMP
+                WHERE id = ? AND (status = 'QUEUED' OR (status = 'RUNNING' AND heartbeat_at < ?))
+                """, id, staleBefore) == 1;
+    }
+
+    /**
+     * Records the number of items of a job, once known.
+     *
+     * @param id         the job id
+     * @param totalItems the number of items, or {@code null} if unknown
+     */
+    public void saveTotal(UUID id, Long totalItems) {
+        jdbcTemplate.update("UPDATE job SET total_items = ? WHERE id = ?", totalItems, id);
+    }
+
+    /**
+     * Adds the outcome of a chunk to the counters of a job, moves its
+     * checkpoint and refreshes its heartbeat. Called in the transaction of
+     * the chunk.
+     *
+     * @param id         the job id
+     * @param processed  the number of items processed by the chunk
+     * @param failed     the number of items that failed in the chunk
+     * @param checkpoint the position after the chunk
+     * @param lastError  the last item error of the chunk, or {@code null} to
+     *                   keep the previous one
+     */
+    public void saveProgress(UUID id, int processed, int failed, String checkpoint, String lastError) {
+        jdbcTemplate.update("""
+                UPDATE job
+                SET processed = processed + ?, failed = failed + ?, checkpoint = ?,
+                    last_error = COALESCE(?, last_error), heartbeat_at = CURRENT_TIMESTAMP
+                WHERE id = ?
+                """, processed, failed, checkpoint, lastError, id);
+    }
+
+    /**
+     * Puts a running job back in the queue, e.g. on shutdown, so that it is
+     * resumed without waiting for its heartbeat to go stale.
+     *
+     * @param id the job id
+     */
+    public void release(UUID id) {
+        jdbcTemplate.update("UPDATE job SET status = 'QUEUED' WHERE id = ? AND status = 'RUNNING'", id);
+    }
+
+    /**
+     * Ends a job.
+     *
+     * @param id     the job id
+     * @param status {@link JobStatus#SUCCEEDED} or {@link JobStatus#FAILED}
+     * @param error  the reason of the failure, or {@code null}
+     */
+    public void finish(UUID id, JobStatus status, String error) {
+        jdbcTemplate.update("""
+                UPDATE job
+                SET status = ?, last_error = COALESCE(?, last_error), finished_at = CURRENT_TIMESTAMP
+                WHERE id = ?
+                """, status.name(), error, id);
+    }
+
+    /**
+     * A bulk job. {@code parameters} is the JSON document given at
+     * submission; {@code checkpoint} is the opaque position of the job in its
+     * input, owned by its {@code JobHandler}.
+     */
+    public record Job(
+            UUID id,
+            String type,
+            JobStatus status,
+            String parameters,
+            Long totalItems,
+            long processed,
+            long failed,
+            String checkpoint,
+            String lastError,
+            String createdBy,
+            LocalDateTime createdAt,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt) {
+    }
+}
@@ -0,0 +1,59 @@
+package ch.vaudoise.clientcontractapi.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ch.vaudoise.clientcontractapi.models.entities.OutboxEvent;
+
+/**
+ * Repository interface for {@link OutboxEvent} entity.
+ * Provides the batch operations used by the outbox relay.
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+  /**
+   * Locks the next batch of unpublished events.
+   * Rows locked by another relay are skipped, so several nodes can drain the
+   * outbox in parallel without blocking each other. Must be called inside a
+   * transaction; the locks are released when it ends.
+   *
+   * @param batchSize the maximum number of events to lock
+   * @return the locked events, oldest first
+   */
+  @Query(value = """
+          SELECT * FROM outbox_event
+          WHERE published_at IS NULL
+          ORDER BY id
+          LIMIT :batchSize
+          FOR UPDATE SKIP LOCKED
+      """, nativeQuery = true)
+  List<OutboxEvent> lockNextBatch(@Param("batchSize") int batchSize);
+
+  /**
+   * Marks the given events as published.
+   *
+   * @param ids         the identifiers of the published events
+   * @param publishedAt the publication timestamp
+   * @return the number of updated rows
+   */
+  @Modifying
+  @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt WHERE e.id IN :ids")
+  int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+  /**
+   * Deletes events published before the given timestamp.
+   *
+   * @param cutoff events published before this timestamp are deleted
+   * @return the number of deleted rows
+   */
+  @Modifying
+  @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+  int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -9,5 +9,12 @@ import ch.vaudoise.clientcontractapi.models.entities.client.Client;
 
 @Repository
 public interface ClientRepository extends JpaRepository<Client, UUID> {
-    
+
+    /**
+     * Checks if a client of any type uses the specified email address.
+     *
+     * @param email the email address to check
+     * @return {@code true} if a client with this email exists, {@code false} otherwise
+     */
+    boolean existsByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,129 @@
+package ch.vaudoise.clientcontractapi.repositories.client;
+
+import ch.vaudoise.clientcontractapi.dtos.client.ClientSearchResultDTO;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Search over client names, emails and company identifiers, backed by the
+ * {@code pg_trgm} GIN indexes created in {@code V4__client_search.sql}.
+ * <p>
+ * Two match modes share the same ranking, the best word similarity between
+ * the query and the name, email or company identifier:
+ * <ul>
+ * <li>{@link MatchMode#SUBSTRING} matches the query anywhere in the name, email
+ * or company identifier. The index only has to intersect the posting lists of
+ * the query trigrams, which keeps it cheap even for frequent trigrams.</li>
+ * <li>{@link MatchMode#FUZZY} matches names and company identifiers by word
+ * similarity and tolerates typos. The index has to merge the posting lists of
+ * all query trigrams, which is several times more expensive, so emails are
+ * left out.</li>
+ * </ul>
+ * Each branch stops after {@code maxCandidates} matches, which bounds the cost
+ * of very common names; ranking is exact among those candidates. Pages are
+ * delimited by the (score, id) of the last result of the previous page rather
+ * than by an offset.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClientSearchRepository {
+
+    /**
+     * How the query is matched against the indexed columns.
+     */
+    public enum MatchMode {
+        SUBSTRING,
+        FUZZY
+    }
+
+    private static final String SUBSTRING_CANDIDATES = """
+            (SELECT id FROM client
+             WHERE name ILIKE :pattern OR email ILIKE :pattern
+             LIMIT :maxCandidates)
+            UNION
+            (SELECT id FROM company_client
+             WHERE company_identifier ILIKE :pattern
+             LIMIT :maxCandidates)
+            """;
+
+    private static final String FUZZY_CANDIDATES = """
+            (SELECT id FROM client
+             WHERE :query <% name
+             LIMIT :maxCandidates)
+            UNION
+            (SELECT id FROM company_client
+             WHERE :query <% company_identifier
+             LIMIT :maxCandidates)
+            """;
+
+    private static final String RANKED_SQL = """
+            WITH candidates AS (
+            %s
+            ), ranked AS (
+                SELECT c.id, c.type, c.name, c.email, cc.company_identifier,
+                       GREATEST(word_similarity(:query, c.name),
+                                word_similarity(:query, c.email),
+                                COALESCE(word_similarity(:query, cc.company_identifier), 0)) AS score
+                FROM candidates m
+                JOIN client c ON c.id = m.id
+                LEFT JOIN company_client cc ON cc.id = c.id
+            )
+            SELECT id, type, name, email, company_identifier, score
+            FROM ranked
+            WHERE score < :afterScore OR (score = :afterScore AND id > :afterId)
+            ORDER BY score DESC, id
+            LIMIT :limit
+            """;
+
+    private static final String SUBSTRING_SQL = RANKED_SQL.formatted(SUBSTRING_CANDIDATES);
+    private static final String FUZZY_SQL = RANKED_SQL.formatted(FUZZY_CANDIDATES);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds the clients matching the query, best match first. Must be called
+     * inside a transaction, which scopes the similarity threshold.
+     *
+     * @param query         the normalized query
+     * @param mode          how the query is matched
+     * @param threshold     the minimum word similarity of a fuzzy match
+     * @param afterScore    the score of the last result of the previous page
+     * @param afterId       the id of the last result of the previous page
+     * @param limit         the maximum number of results
+     * @param maxCandidates the maximum number of matches ranked per branch
+     * @return the matching clients
+     */
+    public List<ClientSearchResultDTO> search(String query, MatchMode mode, double threshold, float afterScore,
+            UUID afterId, int limit, int maxCandidates) {
+        if (mode == MatchMode.FUZZY) {
+            jdbcTemplate.queryForObject("SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)",
+                    new MapSqlParameterSource("threshold", Double.toString(threshold)), String.class);
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", query)
+                .addValue("pattern", "%" + escapeLike(query) + "%")
+                .addValue("afterScore", afterScore)
+                .addValue("afterId", afterId)
+                .addValue("limit", limit)
+                .addValue("maxCandidates", maxCandidates);
+        return jdbcTemplate.query(mode == MatchMode.FUZZY ? FUZZY_SQL : SUBSTRING_SQL, parameters,
+                (rs, rowNum) -> ClientSearchResultDTO.builder()
+                        .id(rs.getString("id"))
+                        .type(ClientType.valueOf(rs.getString("type")))
+                        .name(rs.getString("name"))
+                        .email(rs.getString("email"))
+                        .companyIdentifier(rs.getString("company_identifier"))
+                        .score(rs.getFloat("score"))
+                        .build());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
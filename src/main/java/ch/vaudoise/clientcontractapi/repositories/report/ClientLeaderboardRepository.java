@@ -0,0 +1,90 @@
+package ch.vaudoise.clientcontractapi.repositories.report;
+
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Totals of active contract cost per client, as needed to seed and maintain
+ * the client leaderboard. A contract is active if its end date is null or
+ * after today, like in {@link ch.vaudoise.clientcontractapi.repositories.ContractRepository}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClientLeaderboardRepository {
+
+    private static final RowMapper<Entry> ROW_MAPPER = (rs, rowNum) -> new Entry(
+            rs.getObject("client_id", UUID.class),
+            ClientType.valueOf(rs.getString("type")),
+            rs.getString("name"),
+            Money.minorUnitsOf(rs.getBigDecimal("total")));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Computes the largest totals of each client type with a single scan of
+     * the active contracts.
+     *
+     * @param perType the number of clients to return per client type
+     * @return up to {@code perType} entries per client type, largest first
+     */
+    public List<Entry> findTopPerType(int perType) {
+        return jdbcTemplate.query("""
+                SELECT client_id, type, name, total FROM (
+                    SELECT t.client_id, cl.type, cl.name, t.total,
+                           row_number() OVER (PARTITION BY cl.type ORDER BY t.total DESC, t.client_id) AS position
+                    FROM (SELECT client_id, SUM(CAST(cost_amount AS numeric)) AS total
+                          FROM contract
+                          WHERE end_date IS NULL OR end_date > CURRENT_DATE
+                          GROUP BY client_id) t
+                    JOIN client cl ON cl.id = t.client_id
+                ) ranked
+                WHERE position <= ?
+                ORDER BY type, total DESC, client_id
+                """, ROW_MAPPER, perType);
+    }
+
+    /**
+     * Computes the total of a single client.
+     *
+     * @param clientId the id of the client
+     * @return the entry of the client, empty if the client does not exist
+     */
+    public Optional<Entry> findByClientId(UUID clientId) {
+        return jdbcTemplate.query("""
+                SELECT cl.id AS client_id, cl.type, cl.name,
+                       (SELECT COALESCE(SUM(CAST(c.cost_amount AS numeric)), 0)
+                        FROM contract c
+                        WHERE c.client_id = cl.id
+                          AND (c.end_date IS NULL OR c.end_date > CURRENT_DATE)) AS total
+                FROM client cl
+                WHERE cl.id = ?
+                """, ROW_MAPPER, clientId).stream().findFirst();
+    }
+
+    /**
+     * Total of active contract cost of a client.
+     *
+     * @param clientId   the id of the client
+     * @param clientType the type of the client
+     * @param name       the name of the client
+     * @param total      the total cost of its active contracts, in centimes
+     */
+    public record Entry(UUID clientId, ClientType clientType, String name, long total) {
+
+        /**
+         * @param newTotal the new total, in centimes
+         * @return a copy of this entry with another total
+         */
+        public Entry withTotal(long newTotal) {
+            return new Entry(clientId, clientType, name, newTotal);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package ch.vaudoise.clientcontractapi.repositories.report;
+
+import ch.vaudoise.clientcontractapi.dtos.report.MonthlyContractReportDTO;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Access to the {@code report_contract_month} materialized view created in
+ * {@code V6__contract_reporting.sql} and to its refresh metadata. Reports
+ * never touch the {@code contract} table; only {@link #refresh()} does.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ContractReportRepository {
+
+    public static final String VIEW_NAME = "report_contract_month";
+
+    private static final RowMapper<MonthlyContractReportDTO> ROW_MAPPER = (rs, rowNum) -> new MonthlyContractReportDTO(
+            ClientType.valueOf(rs.getString("client_type")),
+            YearMonth.from(rs.getObject("month", LocalDate.class)),
+            rs.getLong("started_count"),
+            rs.getBigDecimal("started_cost"),
+            rs.getLong("ended_count"),
+            rs.getBigDecimal("ended_cost"),
+            rs.getLong("active_count"),
+            rs.getBigDecimal("active_cost"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the monthly rows between two months, both inclusive.
+     *
+     * @param clientType the client type to restrict to, or {@code null} for all
+     * @param from       the first month
+     * @param to         the last month
+     * @return the rows ordered by client type and month
+     */
+    public List<MonthlyContractReportDTO> findMonthly(ClientType clientType, YearMonth from, YearMonth to) {
+        return jdbcTemplate.query("""
+                SELECT * FROM report_contract_month
+                WHERE month BETWEEN ? AND ?
+                  AND (CAST(? AS varchar) IS NULL OR client_type = ?)
+                ORDER BY client_type, month
+                """, ROW_MAPPER, from.atDay(1), to.atDay(1),
+                clientType != null ? clientType.name() : null,
+                clientType != null ? clientType.name() : null);
+    }
+
+    /**
+     * Reads the freshness of the view.
+     *
+     * @return the last refresh, empty if the view was never refreshed
+     */
+    public Optional<Refresh> findLastRefresh() {
+        return jdbcTemplate.query(
+                "SELECT refreshed_at, duration_ms FROM report_refresh WHERE view_name = ?",
+                (rs, rowNum) -> new Refresh(rs.getTimestamp("refreshed_at").toLocalDateTime(), rs.getLong("duration_ms")),
+                VIEW_NAME).stream().findFirst();
+    }
+
+    /**
+     * Tries to take the transaction-scoped lock guarding the refresh of the
+     * view, so that only one instance refreshes it at a time. Must be called
+     * within a transaction.
+     *
+     * @return {@code true} if the lock was taken
+     */
+    public boolean tryLockRefresh() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(?))", Boolean.class, VIEW_NAME));
+    }
+
+    /**
+     * Recomputes the view without blocking its readers.
+     */
+    public void refresh() {
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY " + VIEW_NAME);
+    }
+
+    /**
+     * Records the completion of a refresh.
+     *
+     * @param refreshedAt the time the refreshed data was read
+     * @param durationMs  the duration of the refresh
+     */
+    public void saveRefresh(LocalDateTime refreshedAt, long durationMs) {
+        jdbcTemplate.update("""
+                INSERT INTO report_refresh (view_name, refreshed_at, duration_ms) VALUES (?, ?, ?)
+                ON CONFLICT (view_name) DO UPDATE
+                SET refreshed_at = EXCLUDED.refreshed_at, duration_ms = EXCLUDED.duration_ms
+                """, VIEW_NAME, Timestamp.valueOf(refreshedAt), durationMs);
+    }
+
+    /**
+     * Completion time and duration of a refresh.
+     *
+     * @param refreshedAt the time the refreshed data was read
+     * @param durationMs  the duration of the refresh
+     */
+    public record Refresh(LocalDateTime refreshedAt, long durationMs) {
+    }
+}
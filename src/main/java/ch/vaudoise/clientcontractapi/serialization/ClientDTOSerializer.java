@@ -0,0 +1,77 @@
+package ch.vaudoise.clientcontractapi.serialization;
+
+import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link ClientDTO} subtype field by field, producing the same JSON
+ * as Jackson's bean serializer without its per-property reflection.
+ * <p>
+ * {@link ClientDTO} declares its type id as the existing {@code type}
+ * property, which is written like any other field, so polymorphic
+ * serialization needs no type id handling either; other inclusions go
+ * through the {@link TypeSerializer}.
+ *
+ * @param <T> the client DTO subtype
+ */
+abstract class ClientDTOSerializer<T extends ClientDTO> extends StdSerializer<T> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString PHONE = new SerializedString("phone");
+    private static final SerializedString[] TYPE_NAMES = {
+            new SerializedString(ClientType.PERSON.name()),
+            new SerializedString(ClientType.COMPANY.name())
+    };
+
+    ClientDTOSerializer(Class<T> type) {
+        super(type);
+    }
+
+    @Override
+    public void serialize(T client, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(client);
+        writeFields(client, gen, provider);
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void serializeWithType(T client, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSer)
+            throws IOException {
+        if (typeSer.getTypeInclusion() == JsonTypeInfo.As.EXISTING_PROPERTY) {
+            serialize(client, gen, provider);
+            return;
+        }
+        gen.setCurrentValue(client);
+        WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(client, JsonToken.START_OBJECT));
+        writeFields(client, gen, provider);
+        typeSer.writeTypeSuffix(gen, typeId);
+    }
+
+    private void writeFields(T client, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        DtoFields.writeString(gen, ID, client.getId());
+        DtoFields.writeString(gen, TYPE, client.getType() == null ? null : TYPE_NAMES[client.getType().ordinal()]);
+        DtoFields.writeString(gen, NAME, client.getName());
+        DtoFields.writeString(gen, EMAIL, client.getEmail());
+        DtoFields.writeString(gen, PHONE, client.getPhone());
+        writeSubtypeFields(client, gen, provider);
+    }
+
+    /**
+     * Writes the fields declared by the subtype, after the common ones.
+     */
+    protected abstract void writeSubtypeFields(T client, JsonGenerator gen, SerializerProvider provider)
+            throws IOException;
+}
@@ -0,0 +1,27 @@
+package ch.vaudoise.clientcontractapi.serialization;
+
+import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link CompanyDTO}: the common client fields, then its company
+ * identifier.
+ */
+class CompanyDTOSerializer extends ClientDTOSerializer<CompanyDTO> {
+
+    private static final SerializedString COMPANY_IDENTIFIER = new SerializedString("companyIdentifier");
+
+    CompanyDTOSerializer() {
+        super(CompanyDTO.class);
+    }
+
+    @Override
+    protected void writeSubtypeFields(CompanyDTO company, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        DtoFields.writeString(gen, COMPANY_IDENTIFIER, company.getCompanyIdentifier());
+    }
+}
@@ -0,0 +1,37 @@
+package ch.vaudoise.clientcontractapi.serialization;
+
+import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link ContractDTO} field by field, producing the same JSON as
+ * Jackson's bean serializer without its per-property reflection.
+ */
+class ContractDTOSerializer extends StdSerializer<ContractDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString CLIENT_ID = new SerializedString("clientId");
+    private static final SerializedString START_DATE = new SerializedString("startDate");
+    private static final SerializedString END_DATE = new SerializedString("endDate");
+    private static final SerializedString COST_AMOUNT = new SerializedString("costAmount");
+
+    ContractDTOSerializer() {
+        super(ContractDTO.class);
+    }
+
+    @Override
+    public void serialize(ContractDTO contract, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(contract);
+        DtoFields.writeString(gen, ID, contract.getId());
+        DtoFields.writeString(gen, CLIENT_ID, contract.getClientId());
+        DtoFields.writeDate(gen, provider, START_DATE, contract.getStartDate());
+        DtoFields.writeDate(gen, provider, END_DATE, contract.getEndDate());
+        DtoFields.writeNumber(gen, COST_AMOUNT, contract.getCostAmount());
+        gen.writeEndObject();
+    }
+}
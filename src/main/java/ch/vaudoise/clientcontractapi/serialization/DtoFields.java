@@ -0,0 +1,65 @@
+package ch.vaudoise.clientcontractapi.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Writes the fields of the hand-written DTO serializers. Like the default
+ * property inclusion, {@code null} values are written as {@code null}.
+ */
+final class DtoFields {
+
+    private static final IsoDateCache DATES = new IsoDateCache();
+
+    private DtoFields() {
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, SerializableString value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    /**
+     * Writes a date as an ISO-8601 string, or through the registered
+     * {@link LocalDate} serializer when dates are configured as timestamps.
+     */
+    static void writeDate(JsonGenerator gen, SerializerProvider provider, SerializableString name, LocalDate value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value, gen);
+        } else {
+            gen.writeString(DATES.format(value));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ch.vaudoise.clientcontractapi.serialization;
+
+import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jackson module with hand-written serializers for the DTOs returned in bulk
+ * by the list endpoints: {@link ContractDTO}, {@link PersonDTO} and
+ * {@link CompanyDTO}. Spring Boot registers it with the application
+ * {@code ObjectMapper}; deserialization is left to Jackson.
+ * <p>
+ * The serializers write the same JSON as the bean serializer, so a field
+ * added to one of these DTOs must be added to its serializer as well.
+ */
+@Component
+public class DtoSerializationModule extends SimpleModule {
+
+    public DtoSerializationModule() {
+        super("DtoSerializationModule");
+        addSerializer(ContractDTO.class, new ContractDTOSerializer());
+        addSerializer(PersonDTO.class, new PersonDTOSerializer());
+        addSerializer(CompanyDTO.class, new CompanyDTOSerializer());
+    }
+}
@@ -0,0 +1,39 @@
+package ch.vaudoise.clientcontractapi.serialization;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formats dates as ISO-8601 strings ({@code 2024-01-31}) and remembers the
+ * most recent ones, so that the few distinct dates of a response are only
+ * formatted once.
+ * <p>
+ * The cache is direct-mapped on the epoch day: a date evicts the one sharing
+ * its slot, and a lookup costs no allocation, locking or hashing. Entries are
+ * immutable, so threads racing on a slot at worst format a date again.
+ */
+final class IsoDateCache {
+
+    private static final int SIZE = 4096;
+    private static final int MASK = SIZE - 1;
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    /**
+     * @param date the date to format
+     * @return the date in {@link DateTimeFormatter#ISO_LOCAL_DATE} format
+     */
+    String format(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int slot = (int) (epochDay & MASK);
+        Entry entry = entries[slot];
+        if (entry == null || entry.epochDay != epochDay) {
+            entry = new Entry(epochDay, DateTimeFormatter.ISO_LOCAL_DATE.format(date));
+            entries[slot] = entry;
+        }
+        return entry.text;
+    }
+
+    private record Entry(long epochDay, String text) {
+    }
+}
@@ -0,0 +1,157 @@
+package ch.vaudoise.clientcontractapi.serialization;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufMapper;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads and writes {@code application/x-protobuf} with Jackson, using
+ * Protobuf schemas generated from the DTO classes themselves: one message per
+ * DTO, with its properties numbered from 1 in declaration order (inherited
+ * ones first). A list is written as a message whose only field, {@code items}
+ * (1), repeats the message of its elements; an empty list is an empty
+ * message.
+ * <p>
+ * Protobuf has no type ids, so lists are typed after their first element and
+ * abstract types, such as {@code ClientDTO}, cannot be read. Values that are
+ * not objects, such as the contract sum, are not supported and fall back to
+ * the other representations.
+ */
+public class JacksonProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final ProtobufMapper mapper;
+    private final ConcurrentHashMap<JavaType, ProtobufSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a converter writing dates as ISO-8601 strings. Schemas are
+     * derived from the bean serializers, so the mapper has none of the
+     * hand-written ones.
+     */
+    public JacksonProtobufHttpMessageConverter() {
+        this(new ProtobufMapper());
+        mapper.registerModule(new JavaTimeModule());
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    public JacksonProtobufHttpMessageConverter(ProtobufMapper mapper) {
+        super(APPLICATION_PROTOBUF);
+        this.mapper = mapper;
+    }
+
+    /**
+     * The message wrapping a list.
+     *
+     * @param items the elements of the list
+     * @param <T>   the type of the elements
+     */
+    public record Items<T>(List<T> items) {
+    }
+
+    /**
+     * @param type the type of a DTO, or of a list of DTOs
+     * @return the Protobuf schema of its messages
+     */
+    public ProtobufSchema schemaFor(JavaType type) {
+        return schemas.computeIfAbsent(type.isCollectionLikeType() ? itemsType(type.getContentType()) : type,
+                this::generateSchema);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz) || isMessage(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        if (!canRead(mediaType)) {
+            return false;
+        }
+        JavaType javaType = javaType(type, contextClass);
+        JavaType messageType = javaType.isCollectionLikeType() ? javaType.getContentType() : javaType;
+        return isMessage(messageType.getRawClass()) && messageType.isConcrete();
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        JavaType javaType = javaType(type, contextClass);
+        InputStream body = inputMessage.getBody();
+        try {
+            if (!javaType.isCollectionLikeType()) {
+                return mapper.readerFor(javaType).with(schemaFor(javaType)).readValue(body);
+            }
+            JavaType itemsType = itemsType(javaType.getContentType());
+            byte[] bytes = body.readAllBytes();
+            if (bytes.length == 0) {
+                return new ArrayList<>();
+            }
+            Items<?> items = mapper.readerFor(itemsType).with(schemaFor(javaType)).readValue(bytes);
+            return items.items() == null ? new ArrayList<>() : items.items();
+        } catch (IOException ex) {
+            throw new HttpMessageNotReadableException("Invalid Protobuf message: " + ex.getMessage(), ex,
+                    inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (value instanceof Collection<?> collection) {
+            if (collection.isEmpty()) {
+                return;
+            }
+            JavaType elementType = mapper.constructType(collection.iterator().next().getClass());
+            List<?> list = collection instanceof List<?> l ? l : new ArrayList<>(collection);
+            mapper.writer(schemaFor(itemsType(elementType))).writeValue(outputMessage.getBody(), new Items<>(list));
+        } else {
+            mapper.writer(schemaFor(mapper.constructType(value.getClass())))
+                    .writeValue(outputMessage.getBody(), value);
+        }
+    }
+
+    private JavaType javaType(Type type, @Nullable Class<?> contextClass) {
+        return mapper.constructType(GenericTypeResolver.resolveType(type, contextClass));
+    }
+
+    private JavaType itemsType(JavaType elementType) {
+        return mapper.getTypeFactory().constructParametricType(Items.class, elementType);
+    }
+
+    private ProtobufSchema generateSchema(JavaType type) {
+        try {
+            return mapper.generateSchemaFor(type);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot derive a Protobuf schema for " + type, ex);
+        }
+    }
+
+    private static boolean isMessage(Class<?> clazz) {
+        return !clazz.isPrimitive() && !clazz.isArray() && !clazz.isEnum() && !clazz.isInterface()
+                && !clazz.getName().startsWith("java.");
+    }
+}
@@ -0,0 +1,26 @@
+package ch.vaudoise.clientcontractapi.serialization;
+
+import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link PersonDTO}: the common client fields, then its birthdate.
+ */
+class PersonDTOSerializer extends ClientDTOSerializer<PersonDTO> {
+
+    private static final SerializedString BIRTHDATE = new SerializedString("birthdate");
+
+    PersonDTOSerializer() {
+        super(PersonDTO.class);
+    }
+
+    @Override
+    protected void writeSubtypeFields(PersonDTO person, JsonGenerator gen, SerializerProvider provider)
+            throws IOException {
+        DtoFields.writeDate(gen, provider, BIRTHDATE, person.getBirthdate());
+    }
+}
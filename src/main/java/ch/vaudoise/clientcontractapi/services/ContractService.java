@@ -1,16 +1,31 @@
 package ch.vaudoise.clientcontractapi.services;
 
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
+import ch.vaudoise.clientcontractapi.dtos.ActiveCostTotalDTO;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
 import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.entities.ContractCostHistory;
 import ch.vaudoise.clientcontractapi.models.entities.client.Client;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.repositories.ContractCostHistoryRepository;
 import ch.vaudoise.clientcontractapi.repositories.ContractRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,11 +35,20 @@ import java.util.UUID;
  * Provides methods for creating, updating, retrieving, and deleting contracts.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional
 public class ContractService {
 
+    static final int MAX_HISTORY_PAGE_SIZE = 500;
+    static final int MAX_TREND_DATES = 1000;
+    static final int MAX_EXPIRY_WITHIN_DAYS = 365;
+    static final int MAX_EXPIRY_PAGE_SIZE = 500;
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
     private final ContractRepository contractRepository;
+    private final ContractCostHistoryRepository costHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves a contract by its unique identifier.
@@ -40,7 +64,8 @@ public class ContractService {
     /**
      * Creates a new contract with the provided details.
      * If the start date is null, it sets the current date as the start date.
-     * Sets the current time as the last modified time.
+     * Sets the current time as the last modified time and publishes a
+     * {@link DomainEventType#CONTRACT_CREATED} event.
      *
      * @param contract the {@link Contract} entity to create
      * @return the created {@link Contract} entity
@@ -50,21 +75,29 @@ public class ContractService {
             contract.setStartDate(LocalDate.now());
         }
         contract.setLastModified(LocalDateTime.now());
-        return contractRepository.save(contract);
+        Contract saved = contractRepository.save(contract);
+        eventPublisher.publishEvent(DomainEvent.ofContract(DomainEventType.CONTRACT_CREATED, saved, null));
+        return saved;
     }
 
     /**
      * Updates the cost of an existing contract.
-     * Sets the current time as the last modified time.
+     * Sets the current time as the last modified time and publishes a
+     * {@link DomainEventType#CONTRACT_COST_CHANGED} event carrying the previous
+     * cost.
      *
      * @param contract the {@link Contract} entity to update
      * @param newCost  the new cost amount for the contract
      * @return the updated {@link Contract} entity
      */
-    public Contract updateContractCost(Contract contract, Double newCost) {
+    public Contract updateContractCost(Contract contract, Money newCost) {
+        Money previousCost = contract.getCostAmount();
         contract.setCostAmount(newCost);
         contract.setLastModified(LocalDateTime.now());
-        return contractRepository.save(contract);
+        Contract saved = contractRepository.save(contract);
+        eventPublisher.publishEvent(
+                DomainEvent.ofContract(DomainEventType.CONTRACT_COST_CHANGED, saved, previousCost));
+        return saved;
     }
 
     /**
@@ -75,6 +108,7 @@ public class ContractService {
      * @param client the {@link Client} for whom to retrieve active contracts
      * @return a list of active {@link Contract} entities for the client
      */
+    @Transactional(readOnly = true)
     public List<Contract> getActiveContracts(Client client) {
         LocalDate today = LocalDate.now();
         return contractRepository.findActiveByClient(client, today);
@@ -91,6 +125,7 @@ public class ContractService {
      *                     updated
      * @return a list of active {@link Contract} entities for the client
      */
+    @Transactional(readOnly = true)
     public List<Contract> getActiveContracts(Client client, OffsetDateTime updatedAfter) {
         LocalDate today = LocalDate.now();
         if (updatedAfter == null) {
@@ -100,29 +135,225 @@ public class ContractService {
         }
     }
 
+    /**
+     * Retrieves the contracts of a client that were active on a given date,
+     * optionally restricted to those updated after a specific timestamp.
+     * A contract is active on a date if it has started on or before it and
+     * has not ended yet. When {@code asOf} is {@code null}, this behaves like
+     * {@link #getActiveContracts(Client, OffsetDateTime)}.
+     *
+     * @param client       the {@link Client} for whom to retrieve active contracts
+     * @param updatedAfter the {@link OffsetDateTime} after which the contracts were
+     *                     updated, or {@code null}
+     * @param asOf         the date at which the contracts must be active, or
+     *                     {@code null} for today
+     * @return a list of active {@link Contract} entities for the client
+     */
+    @Transactional(readOnly = true)
+    public List<Contract> getActiveContracts(Client client, OffsetDateTime updatedAfter, LocalDate asOf) {
+        if (asOf == null) {
+            return getActiveContracts(client, updatedAfter);
+        }
+        if (updatedAfter == null) {
+            return contractRepository.findActiveAsOf(client.getId(), asOf);
+        }
+        return contractRepository.findActiveAsOfUpdatedAfter(client.getId(), asOf, updatedAfter);
+    }
+
     /**
      * Returns the total cost of all active contracts for a given client.
-     * The sum is computed at the database level using {@link BigDecimal}.
+     * The sum is computed at the database level.
      *
      * @param client the {@link Client} for whom to calculate the total cost of
      *               active contracts
      * @return the total cost of active contracts for the client
      */
-    public BigDecimal getTotalActiveContractsAmount(Client client) {
+    @Transactional(readOnly = true)
+    public Money getTotalActiveContractsAmount(Client client) {
         LocalDate today = LocalDate.now();
-        return contractRepository.sumActiveCostByClient(client, today);
+        return Money.of(contractRepository.sumActiveCostByClient(client.getId(), today));
+    }
+
+    /**
+     * Returns the total cost of the contracts of a client that were active on
+     * a given date. When {@code asOf} is {@code null}, this behaves like
+     * {@link #getTotalActiveContractsAmount(Client)}.
+     *
+     * @param client the {@link Client} for whom to calculate the total cost
+     * @param asOf   the date at which the contracts must be active, or
+     *               {@code null} for today
+     * @return the total cost of the contracts active on {@code asOf}
+     */
+    @Transactional(readOnly = true)
+    public Money getTotalActiveContractsAmount(Client client, LocalDate asOf) {
+        if (asOf == null) {
+            return getTotalActiveContractsAmount(client);
+        }
+        return Money.of(contractRepository.sumActiveCostAsOf(client.getId(), asOf));
+    }
+
+    /**
+     * Returns the total cost of the active contracts of a client at each of
+     * the given dates. The contracts overlapping the whole date window are read
+     * in a single query and swept once, so the cost does not grow with the
+     * number of database round trips per date.
+     *
+     * @param client the {@link Client} for whom to calculate the totals
+     * @param dates  the dates at which to compute the totals, at most
+     *               {@value #MAX_TREND_DATES}
+     * @return the total per date, in ascending date order without duplicates
+     * @throws CustomValidationException if no date or too many dates are given
+     */
+    @Transactional(readOnly = true)
+    public List<ActiveCostTotalDTO> getActiveCostTrend(Client client, List<LocalDate> dates) {
+        if (dates == null || dates.isEmpty() || dates.size() > MAX_TREND_DATES) {
+            throw new CustomValidationException(
+                    "Between 1 and " + MAX_TREND_DATES + " dates are required", "dates", "INVALID_TREND_DATES");
+        }
+        LocalDate[] sorted = dates.stream().distinct().sorted().toArray(LocalDate[]::new);
+        List<ContractRepository.CostPeriod> periods = contractRepository.findCostPeriodsOverlapping(
+                client.getId(), sorted[0], sorted[sorted.length - 1]);
+
+        // Each period adds its cost from the first date it contains up to the
+        // first date past its end; a prefix sum then yields every total.
+        // Amounts are added as centimes, exactly and without allocating.
+        long[] deltas = new long[sorted.length + 1];
+        for (ContractRepository.CostPeriod period : periods) {
+            int from = firstIndexNotBefore(sorted, period.getStartDate());
+            int to = period.getEndDate() == null ? sorted.length : firstIndexNotBefore(sorted, period.getEndDate());
+            if (from < to) {
+                long cost = Money.minorUnitsOf(period.getCostAmount());
+                deltas[from] += cost;
+                deltas[to] -= cost;
+            }
+        }
+        List<ActiveCostTotalDTO> totals = new ArrayList<>(sorted.length);
+        long running = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            running += deltas[i];
+            totals.add(new ActiveCostTotalDTO(sorted[i], Money.ofMinorUnits(running).toBigDecimal()));
+        }
+        return totals;
     }
 
     /**
      * Closes all active contracts for a client by setting their end date to today's
-     * date.
+     * date. A {@link DomainEventType#CONTRACT_CLOSED} event is published for each
+     * closed contract.
      *
      * @param client the {@link Client} for whom to close the contracts
      */
     public void closeContractsOnClientDeletion(Client client) {
+        closeActiveContracts(client);
+    }
+
+    /**
+     * Closes all active contracts for a client by setting their end date to today's
+     * date. A {@link DomainEventType#CONTRACT_CLOSED} event is published for each
+     * closed contract.
+     *
+     * @param client the {@link Client} for whom to close the contracts
+     * @return the number of closed contracts
+     */
+    public int closeActiveContracts(Client client) {
         LocalDate today = LocalDate.now();
         List<Contract> contracts = contractRepository.findActiveByClient(client, today);
         contracts.forEach(c -> c.setEndDate(today));
         contractRepository.saveAll(contracts);
+        contracts.forEach(c -> eventPublisher.publishEvent(
+                DomainEvent.ofContract(DomainEventType.CONTRACT_CLOSED, c, null)));
+        return contracts.size();
+    }
+
+    /**
+     * Retrieves one page of the cost history of a contract, newest change
+     * first. The page size is capped at {@value #MAX_HISTORY_PAGE_SIZE}.
+     *
+     * @param contractId the unique identifier of the contract
+     * @param page       the zero-based page index
+     * @param size       the page size
+     * @return the history entries of the requested page
+     */
+    @Transactional(readOnly = true)
+    public List<ContractCostHistory> getCostHistory(UUID contractId, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(Math.max(page, 0),
+                Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE));
+        return costHistoryRepository.findByContractIdOrderByChangedAtDescIdDesc(contractId, pageRequest);
+    }
+
+    /**
+     * Retrieves, across all clients, the contracts ending between today and
+     * {@code withinDays} days from now, in end date order. Pages are delimited
+     * by the (end date, id) of the last contract of the previous page rather
+     * than by an offset, so deep pages cost the same as the first one.
+     *
+     * @param withinDays the look-ahead in days, at most
+     *                   {@value #MAX_EXPIRY_WITHIN_DAYS}
+     * @param cursor     the cursor returned with the previous page, or
+     *                   {@code null} for the first page
+     * @param size       the page size, at most {@value #MAX_EXPIRY_PAGE_SIZE}
+     * @return the contracts of the page and the cursor of the next one
+     * @throws CustomValidationException if the look-ahead or the cursor is
+     *                                   invalid
+     */
+    @Transactional(readOnly = true)
+    public ExpiringContracts getExpiringContracts(int withinDays, String cursor, int size) {
+        if (withinDays < 0 || withinDays > MAX_EXPIRY_WITHIN_DAYS) {
+            throw new CustomValidationException(
+                    "withinDays must be between 0 and " + MAX_EXPIRY_WITHIN_DAYS, "withinDays", "INVALID_WITHIN_DAYS");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_EXPIRY_PAGE_SIZE);
+        LocalDate today = LocalDate.now();
+        // The first page starts after the last possible contract ending yesterday
+        ExpiryCursor position = cursor != null ? ExpiryCursor.decode(cursor)
+                : new ExpiryCursor(today.minusDays(1), LAST_ID);
+        LocalDate afterEndDate = position.endDate().isBefore(today) ? today.minusDays(1) : position.endDate();
+        UUID afterId = position.endDate().isBefore(today) ? LAST_ID : position.id();
+
+        List<Contract> contracts = contractRepository.findEndingAfter(
+                afterEndDate, afterId, today.plusDays(withinDays), PageRequest.of(0, pageSize + 1));
+        String nextCursor = null;
+        if (contracts.size() > pageSize) {
+            contracts = contracts.subList(0, pageSize);
+            Contract last = contracts.get(pageSize - 1);
+            nextCursor = new ExpiryCursor(last.getEndDate(), last.getId()).encode();
+        }
+        return new ExpiringContracts(contracts, nextCursor);
+    }
+
+    /**
+     * One page of contracts ending soon.
+     *
+     * @param contracts  the contracts of the page, in end date order
+     * @param nextCursor the cursor of the next page, {@code null} on the last
+     *                   page
+     */
+    public record ExpiringContracts(List<Contract> contracts, String nextCursor) {
+    }
+
+    private record ExpiryCursor(LocalDate endDate, UUID id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((endDate + ":" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static ExpiryCursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Malformed cursor");
+                }
+                return new ExpiryCursor(LocalDate.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException ex) {
+                throw new CustomValidationException("Invalid expiry cursor", "cursor", "INVALID_EXPIRY_CURSOR");
+            }
+        }
+    }
+
+    private static int firstIndexNotBefore(LocalDate[] sorted, LocalDate date) {
+        int index = Arrays.binarySearch(sorted, date);
+        return index >= 0 ? index : -index - 1;
     }
 }
@@ -1,12 +1,13 @@
 package ch.vaudoise.clientcontractapi.services.client;
 
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
 import ch.vaudoise.clientcontractapi.dtos.client.*;
 import ch.vaudoise.clientcontractapi.models.entities.client.Client;
 import ch.vaudoise.clientcontractapi.models.entities.client.Company;
 import ch.vaudoise.clientcontractapi.models.entities.client.Person;
 import ch.vaudoise.clientcontractapi.models.enums.ClientType;
-import ch.vaudoise.clientcontractapi.services.ContractService;
 import ch.vaudoise.clientcontractapi.services.handlers.ClientHandler;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -22,6 +23,7 @@ import java.util.stream.Collectors;
  * calls to the appropriate {@link ClientHandler} based on {@link ClientType}.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @Transactional
 @RequiredArgsConstructor
 public class ClientOrchestrationService {
@@ -30,7 +32,6 @@ public class ClientOrchestrationService {
     private final PersonService personService;
     private final CompanyService companyService;
     private final ClientResolverService clientResolverService;
-    private final ContractService contractService;
 
     /**
      * Constructor that collects handlers into a map by client type.
@@ -39,22 +40,19 @@ public class ClientOrchestrationService {
      * @param personService         service handling Person clients
      * @param companyService        service handling Company clients
      * @param clientResolverService service for resolving clients
-     * @param contractService       service for managing contracts
      */
     @Autowired
     public ClientOrchestrationService(
             List<ClientHandler<? extends Client, ? extends ClientDTO>> handlerList,
             PersonService personService,
             CompanyService companyService,
-            ClientResolverService clientResolverService,
-            ContractService contractService) {
+            ClientResolverService clientResolverService) {
 
         this.handlers = handlerList.stream()
                 .collect(Collectors.toMap(ClientHandler::getSupportedClientType, h -> h));
         this.personService = personService;
         this.companyService = companyService;
         this.clientResolverService = clientResolverService;
-        this.contractService = contractService;
     }
 
     /**
@@ -63,6 +61,7 @@ public class ClientOrchestrationService {
      * @param clientType the type of clients to retrieve
      * @return a list of client DTOs of the specified type
      */
+    @Transactional(readOnly = true)
     public List<? extends ClientDTO> getAllClients(ClientType clientType) {
         ClientHandler<? extends Client, ? extends ClientDTO> handler = getHandler(clientType);
         return handler.getAll();
@@ -75,6 +74,7 @@ public class ClientOrchestrationService {
      * @param id         the client's unique identifier
      * @return the client DTO matching the ID and type
      */
+    @Transactional(readOnly = true)
     public ClientDTO getClientById(ClientType clientType, String id) {
         ClientHandler<? extends Client, ? extends ClientDTO> handler = getHandler(clientType);
         return handler.getById(id);
@@ -200,6 +200,7 @@ public class ClientOrchestrationService {
      * @param id         the client ID
      * @throws IllegalArgumentException if the client does not exist
      */
+    @Transactional(readOnly = true)
     public void validateClientExists(ClientType clientType, String id) {
         UUID uuid = UUID.fromString(id);
         boolean exists = switch (clientType) {
@@ -214,7 +215,8 @@ public class ClientOrchestrationService {
 
     /**
      * Deletes a client by ID for the specified {@link ClientType}.
-     * Also closes contracts related to the client before deletion.
+     * The contracts related to the client are closed by the type-specific
+     * service before deletion.
      *
      * @param clientType the client type
      * @param id         the unique identifier of the client to delete
@@ -222,12 +224,9 @@ public class ClientOrchestrationService {
      */
     public void deleteClient(ClientType clientType, String id) {
         // Use ClientResolverService directly
-        Client client = clientResolverService.resolveClient(clientType, id)
+        clientResolverService.resolveClient(clientType, id)
                 .orElseThrow(() -> new IllegalArgumentException("Client not found"));
 
-        // Close contracts associated with the client before deletion
-        contractService.closeContractsOnClientDeletion(client);
-
         // Delete the client entity using the appropriate handler
         ClientHandler<? extends Client, ? extends ClientDTO> handler = getHandler(clientType);
         handler.delete(id);
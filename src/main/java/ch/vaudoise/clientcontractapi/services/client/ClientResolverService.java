@@ -1,7 +1,9 @@
 package ch.vaudoise.clientcontractapi.services.client;
 
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
 import ch.vaudoise.clientcontractapi.models.entities.client.Client;
 import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Optional;
@@ -14,8 +16,11 @@ import org.springframework.stereotype.Service;
  * This service uses {@link PersonService} and {@link CompanyService} to
  * retrieve
  * the appropriate client entity based on the provided {@link ClientType}.
+ * Lookups are never coalesced: the returned entity belongs to the caller,
+ * which may attach it to new contracts.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class ClientResolverService {
 
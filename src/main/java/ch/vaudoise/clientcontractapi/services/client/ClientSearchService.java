@@ -0,0 +1,115 @@
+package ch.vaudoise.clientcontractapi.services.client;
+
+import ch.vaudoise.clientcontractapi.config.ClientSearchProperties;
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientSearchPageDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientSearchResultDTO;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.repositories.client.ClientSearchRepository;
+import ch.vaudoise.clientcontractapi.repositories.client.ClientSearchRepository.MatchMode;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Service for looking clients up by partial name, email or company identifier.
+ * <p>
+ * The query is first matched as a substring; only when nothing contains it is
+ * it matched fuzzily, which finds misspelt names at a higher cost. Results are
+ * ranked by trigram similarity and paginated with an opaque cursor that also
+ * records the match mode, so that all pages of a search use the same one.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ClientSearchService {
+
+    static final int MIN_QUERY_LENGTH = 3;
+    static final int MAX_QUERY_LENGTH = 100;
+
+    private static final float FIRST_PAGE_SCORE = 2f;
+    private static final UUID FIRST_PAGE_ID = new UUID(0, 0);
+
+    private final ClientSearchRepository clientSearchRepository;
+    private final ClientSearchProperties properties;
+
+    /**
+     * Searches clients whose name, email or company identifier resembles the
+     * query.
+     *
+     * @param query  the search text, at least {@value #MIN_QUERY_LENGTH}
+     *               characters
+     * @param limit  the page size, or {@code null} for the default
+     * @param cursor the cursor returned with the previous page, or {@code null}
+     *               for the first page
+     * @return the requested page of results
+     * @throws CustomValidationException if the query or the cursor is invalid
+     */
+    public ClientSearchPageDTO search(String query, Integer limit, String cursor) {
+        String normalized = normalize(query);
+        int pageSize = limit == null ? properties.getDefaultLimit()
+                : Math.min(Math.max(limit, 1), properties.getMaxLimit());
+
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor position = Cursor.decode(cursor);
+            return page(normalized, position.mode(), position.score(), position.id(), pageSize);
+        }
+        ClientSearchPageDTO page = page(normalized, MatchMode.SUBSTRING, FIRST_PAGE_SCORE, FIRST_PAGE_ID, pageSize);
+        if (page.getResults().isEmpty()) {
+            page = page(normalized, MatchMode.FUZZY, FIRST_PAGE_SCORE, FIRST_PAGE_ID, pageSize);
+        }
+        return page;
+    }
+
+    private ClientSearchPageDTO page(String query, MatchMode mode, float afterScore, UUID afterId, int pageSize) {
+        // One extra row tells whether there is a next page
+        List<ClientSearchResultDTO> results = clientSearchRepository.search(query, mode,
+                properties.getSimilarityThreshold(), afterScore, afterId, pageSize + 1, properties.getMaxCandidates());
+        String nextCursor = null;
+        if (results.size() > pageSize) {
+            results = results.subList(0, pageSize);
+            ClientSearchResultDTO last = results.get(pageSize - 1);
+            nextCursor = new Cursor(mode, last.getScore(), UUID.fromString(last.getId())).encode();
+        }
+        return new ClientSearchPageDTO(results, nextCursor);
+    }
+
+    private String normalize(String query) {
+        String normalized = query == null ? "" : query.strip().toLowerCase(Locale.ROOT);
+        if (normalized.length() < MIN_QUERY_LENGTH || normalized.length() > MAX_QUERY_LENGTH) {
+            throw new CustomValidationException(
+                    "Search query must be between " + MIN_QUERY_LENGTH + " and " + MAX_QUERY_LENGTH + " characters",
+                    "q", "INVALID_SEARCH_QUERY");
+        }
+        return normalized;
+    }
+
+    private record Cursor(MatchMode mode, float score, UUID id) {
+
+        String encode() {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString((mode + ":" + score + ":" + id).getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                        .split(":");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Malformed cursor");
+                }
+                return new Cursor(MatchMode.valueOf(parts[0]), Float.parseFloat(parts[1]), UUID.fromString(parts[2]));
+            } catch (IllegalArgumentException ex) {
+                throw new CustomValidationException("Invalid search cursor", "cursor", "INVALID_SEARCH_CURSOR");
+            }
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package ch.vaudoise.clientcontractapi.services.client;
 
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
 import ch.vaudoise.clientcontractapi.models.entities.client.Company;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
 import ch.vaudoise.clientcontractapi.repositories.client.CompanyRepository;
 import ch.vaudoise.clientcontractapi.services.ContractService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,18 +22,21 @@ import java.util.UUID;
  * Provides methods to create, update, retrieve, and delete companies.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional
 public class CompanyService implements ClientService<Company> {
 
     private final CompanyRepository companyRepository;
     private final ContractService contractService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves a list of all companies from the repository.
      *
      * @return a list of all {@link Company} entities
      */
+    @Transactional(readOnly = true)
     public List<Company> getAllCompanies() {
         return companyRepository.findAll();
     }
@@ -39,6 +47,7 @@ public class CompanyService implements ClientService<Company> {
      * @param id the unique identifier of the company
      * @return an {@link Optional} containing the {@link Company} if found, or empty if not found
      */
+    @Transactional(readOnly = true)
     public Optional<Company> getCompanyById(UUID id) {
         return companyRepository.findById(id);
     }
@@ -49,6 +58,7 @@ public class CompanyService implements ClientService<Company> {
      * @param identifier the unique company identifier
      * @return an {@link Optional} containing the {@link Company} if found, or empty if not found
      */
+    @Transactional(readOnly = true)
     public Optional<Company> getCompanyByIdentifier(String identifier) {
         return companyRepository.findByCompanyIdentifier(identifier);
     }
@@ -65,7 +75,9 @@ public class CompanyService implements ClientService<Company> {
         if (companyRepository.existsByCompanyIdentifier(company.getCompanyIdentifier())) {
             throw new IllegalArgumentException("Company identifier already exists");
         }
-        return companyRepository.save(company);
+        Company created = companyRepository.save(company);
+        eventPublisher.publishEvent(DomainEvent.ofClient(DomainEventType.CLIENT_CREATED, created));
+        return created;
     }
 
     /**
@@ -80,7 +92,9 @@ public class CompanyService implements ClientService<Company> {
         existing.setEmail(updatedData.getEmail());
         existing.setPhone(updatedData.getPhone());
         existing.setUpdatedAt(LocalDate.now());
-        return companyRepository.save(existing);
+        Company saved = companyRepository.save(existing);
+        eventPublisher.publishEvent(DomainEvent.ofClient(DomainEventType.CLIENT_UPDATED, saved));
+        return saved;
     }
 
     /**
@@ -91,6 +105,7 @@ public class CompanyService implements ClientService<Company> {
     public void deleteCompany(Company company) {
         contractService.closeContractsOnClientDeletion(company);
         companyRepository.delete(company);
+        eventPublisher.publishEvent(DomainEvent.ofClient(DomainEventType.CLIENT_DELETED, company));
     }
 
     /**
@@ -101,6 +116,7 @@ public class CompanyService implements ClientService<Company> {
      *         if not found
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Company> getEntityById(UUID id) {
         return companyRepository.findById(id);
     }
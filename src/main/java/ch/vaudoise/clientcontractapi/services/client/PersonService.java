@@ -1,9 +1,14 @@
 package ch.vaudoise.clientcontractapi.services.client;
 
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
 import ch.vaudoise.clientcontractapi.models.entities.client.Person;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
 import ch.vaudoise.clientcontractapi.repositories.client.PersonRepository;
 import ch.vaudoise.clientcontractapi.services.ContractService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,18 +22,21 @@ import java.util.UUID;
  * Provides methods to create, update, retrieve, and delete persons.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 @Transactional
 public class PersonService implements ClientService<Person> {
 
     private final PersonRepository personRepository;
     private final ContractService contractService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Retrieves a list of all persons from the repository.
      *
      * @return a list of all {@link Person} entities
      */
+    @Transactional(readOnly = true)
     public List<Person> getAllPersons() {
         return personRepository.findAll();
     }
@@ -40,6 +48,7 @@ public class PersonService implements ClientService<Person> {
      * @return an {@link Optional} containing the {@link Person} if found, or empty
      *         if not found
      */
+    @Transactional(readOnly = true)
     public Optional<Person> getPersonById(UUID id) {
         return personRepository.findById(id);
     }
@@ -51,7 +60,9 @@ public class PersonService implements ClientService<Person> {
      * @return the created {@link Person} entity
      */
     public Person createPerson(Person person) {
-        return personRepository.save(person);
+        Person created = personRepository.save(person);
+        eventPublisher.publishEvent(DomainEvent.ofClient(DomainEventType.CLIENT_CREATED, created));
+        return created;
     }
 
     /**
@@ -66,7 +77,9 @@ public class PersonService implements ClientService<Person> {
         existing.setEmail(updatedData.getEmail());
         existing.setPhone(updatedData.getPhone());
         existing.setUpdatedAt(LocalDate.now());
-        return personRepository.save(existing);
+        Person saved = personRepository.save(existing);
+        eventPublisher.publishEvent(DomainEvent.ofClient(DomainEventType.CLIENT_UPDATED, saved));
+        return saved;
     }
 
     /**
@@ -77,6 +90,7 @@ public class PersonService implements ClientService<Person> {
     public void deletePerson(Person person) {
         contractService.closeContractsOnClientDeletion(person);
         personRepository.delete(person);
+        eventPublisher.publishEvent(DomainEvent.ofClient(DomainEventType.CLIENT_DELETED, person));
     }
 
     /**
@@ -87,6 +101,7 @@ public class PersonService implements ClientService<Person> {
      *         if not found
      */
     @Override
+    @Transactional(readOnly = true)
     public Optional<Person> getEntityById(UUID id) {
         return personRepository.findById(id);
     }
@@ -0,0 +1,165 @@
+package ch.vaudoise.clientcontractapi.services.coalescing;
+
+import ch.vaudoise.clientcontractapi.config.CoalescingProperties;
+import ch.vaudoise.clientcontractapi.datasource.ReadYourWritesContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent identical reads share one database call (single flight).
+ * <p>
+ * A caller only joins a call that has not started yet, so the result it gets
+ * was read after it arrived and is never older than its request. A caller
+ * finding a call already running queues a single follow-up call instead,
+ * which starts once the running one finishes and is shared by everyone
+ * arriving meanwhile; hot keys thus cost at most one running and one waiting
+ * call each.
+ * <p>
+ * The shared results must not be modified. Callers inside a transaction are
+ * not coalesced, as they may depend on their own uncommitted writes, and
+ * callers that must read from the primary only share calls with each other.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final boolean enabled;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<FlightKey, Flight> flights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public RequestCoalescer(CoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code loader}, or waits for the result of an identical call that
+     * has not started yet.
+     *
+     * @param operation the name of the read, from a fixed set as it tags the
+     *                  metrics
+     * @param key       the arguments of the read, compared with
+     *                  {@link Object#equals(Object)}
+     * @param loader    the read itself
+     * @param <T>       the type of the result
+     * @return the result of the read
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> loader) {
+        if (!enabled || TransactionSynchronizationManager.isSynchronizationActive()) {
+            return loader.get();
+        }
+        FlightKey flightKey = new FlightKey(operation, key, ReadYourWritesContext.isPrimaryRequired());
+        Meters operationMeters = meters.computeIfAbsent(operation, this::newMeters);
+        while (true) {
+            Flight current = flights.get(flightKey);
+            if (current == null) {
+                Flight flight = new Flight(null);
+                if (flights.putIfAbsent(flightKey, flight) == null) {
+                    return lead(flightKey, flight, loader, operationMeters);
+                }
+            } else if (!current.started) {
+                operationMeters.shared.increment();
+                return (T) current.await();
+            } else {
+                Flight next = new Flight(current);
+                if (flights.replace(flightKey, current, next)) {
+                    return lead(flightKey, next, loader, operationMeters);
+                }
+            }
+        }
+    }
+
+    private <T> T lead(FlightKey key, Flight flight, Supplier<T> loader, Meters operationMeters) {
+        operationMeters.executed.increment();
+        try {
+            if (flight.previous != null) {
+                flight.previous.awaitQuietly();
+                flight.previous = null;
+            }
+            flight.started = true;
+            T result = loader.get();
+            flight.result.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private Meters newMeters(String operation) {
+        Counter executed = Counter.builder("coalescing.calls")
+                .description("Reads that ran their own database call (executed) or shared another's (shared)")
+                .tag("operation", operation)
+                .tag("outcome", "executed")
+                .register(meterRegistry);
+        Counter shared = Counter.builder("coalescing.calls")
+                .description("Reads that ran their own database call (executed) or shared another's (shared)")
+                .tag("operation", operation)
+                .tag("outcome", "shared")
+                .register(meterRegistry);
+        Meters operationMeters = new Meters(executed, shared);
+        Gauge.builder("coalescing.ratio", operationMeters, Meters::ratio)
+                .description("Share of reads served by another read's database call since startup")
+                .tag("operation", operation)
+                .register(meterRegistry);
+        return operationMeters;
+    }
+
+    private record FlightKey(String operation, Object key, boolean primary) {
+    }
+
+    private record Meters(Counter executed, Counter shared) {
+
+        double ratio() {
+            double total = executed.count() + shared.count();
+            return total == 0 ? 0 : shared.count() / total;
+        }
+    }
+
+    /**
+     * One database call and the callers waiting for it.
+     */
+    private static final class Flight {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile boolean started;
+        private Flight previous;
+
+        private Flight(Flight previous) {
+            this.previous = previous;
+        }
+
+        Object await() {
+            try {
+                return result.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (ex.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw ex;
+            }
+        }
+
+        void awaitQuietly() {
+            try {
+                result.join();
+            } catch (CompletionException ignored) {
+                // the failure belongs to the callers of that flight
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ch.vaudoise.clientcontractapi.services.concurrency;
+
+import ch.vaudoise.clientcontractapi.config.ConcurrencyLimitProperties;
+import ch.vaudoise.clientcontractapi.config.ConcurrencyLimitProperties.Limit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits the number of requests in flight to what the database can serve
+ * without latency growing, and adjusts that limit from the latency of the
+ * completed requests.
+ * <p>
+ * The limit follows the gradient between the usual latency (averaged over
+ * {@code long-window} requests) and the current one (over
+ * {@code short-window} requests): while requests are no slower than
+ * {@code rtt-tolerance} times usual, the limit grows by about its square
+ * root; when they get slower, it shrinks in proportion, down to half per
+ * update. A request failing for lack of a database connection cuts the
+ * limit by {@code backoff-ratio}. Requests beyond the limit are rejected at
+ * once rather than queued behind the slow ones.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final int longWindow;
+    private final int shortWindow;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRtt;
+    private double shortRtt;
+
+    /**
+     * @param kind          the kind of requests limited, used as metric tag
+     * @param limit         the bounds of the limit
+     * @param properties    the settings of the algorithm
+     * @param meterRegistry the registry of the limit metrics
+     */
+    public AdaptiveConcurrencyLimiter(String kind, Limit limit, ConcurrencyLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        this.minLimit = limit.getMinLimit();
+        this.maxLimit = limit.getMaxLimit();
+        this.rttTolerance = properties.getRttTolerance();
+        this.longWindow = properties.getLongWindow();
+        this.shortWindow = properties.getShortWindow();
+        this.smoothing = properties.getSmoothing();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.estimatedLimit = limit.getInitialLimit();
+        this.limit = limit.getInitialLimit();
+        this.rejectedCounter = Counter.builder("concurrency.rejected")
+                .description("Requests rejected because the concurrency limit was reached")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Number of requests currently allowed in flight")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Number of requests in flight")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits a request if the limit allows it. An admitted request must be
+     * followed by {@link #release}.
+     *
+     * @return whether the request is admitted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejectedCounter.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request and updates the limit with its latency.
+     *
+     * @param rttNanos the time the request took, in nanoseconds
+     * @param dropped  whether the request failed for lack of a database
+     *                 connection
+     */
+    public void release(long rttNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        update(rttNanos, inFlightBefore, dropped);
+    }
+
+    /**
+     * @return the number of requests currently allowed in flight
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    private synchronized void update(long rttNanos, int inFlightBefore, boolean dropped) {
+        if (dropped) {
+            setEstimatedLimit(estimatedLimit * backoffRatio);
+            return;
+        }
+        double rtt = Math.max(1, rttNanos);
+        longRtt = longRtt == 0 ? rtt : longRtt + (rtt - longRtt) / longWindow;
+        shortRtt = shortRtt == 0 ? rtt : shortRtt + (rtt - shortRtt) / shortWindow;
+        if (longRtt / shortRtt > 2) {
+            // Latency dropped well below usual: let the usual latency catch up
+            longRtt *= 0.95;
+        }
+        if (inFlightBefore < estimatedLimit / 2) {
+            // Too few requests to tell whether a higher limit would be served
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        setEstimatedLimit(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private void setEstimatedLimit(double value) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, value));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,164 @@
+package ch.vaudoise.clientcontractapi.services.expiry;
+
+import ch.vaudoise.clientcontractapi.config.ContractExpiryProperties;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.repositories.ContractExpiryNotificationRepository;
+import ch.vaudoise.clientcontractapi.repositories.ContractRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a {@link DomainEventType#CONTRACT_EXPIRING} event for every
+ * contract entering its notice period, i.e. ending within
+ * {@code app.contract-expiry.notice-days}.
+ * <p>
+ * Every scan walks the whole notice window, from today on, in (end date, id)
+ * order and skips the contracts already recorded in
+ * {@code contract_expiry_notification} for their current end date. Each
+ * chunk is processed in one transaction that publishes the events (and
+ * thereby writes them to the outbox) and records the contracts, so every
+ * contract is reported once per end date, including those created or closed
+ * inside the window after it was scanned, and a restart simply scans again.
+ * An advisory lock is held while a chunk is processed, so only one instance
+ * reports contracts at a time. Chunks are paced to at most
+ * {@code app.contract-expiry.max-per-second} contracts per second. Contracts
+ * that already ended are forgotten at the start of each scan.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.contract-expiry", name = "scanner-enabled", havingValue = "true", matchIfMissing = true)
+public class ContractExpiryScanner {
+
+    static final String SCANNER = "contract-expiry";
+    private static final UUID LAST_ID = new UUID(-1L, -1L);
+
+    private final ContractRepository contractRepository;
+    private final ContractExpiryNotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContractExpiryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter processedCounter;
+    private final Timer chunkTimer;
+
+    public ContractExpiryScanner(ContractRepository contractRepository,
+            ContractExpiryNotificationRepository notificationRepository,
+            ApplicationEventPublisher eventPublisher,
+            ContractExpiryProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.contractRepository = contractRepository;
+        this.notificationRepository = notificationRepository;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.processedCounter = Counter.builder("contract.expiry.processed")
+                .description("Contracts reported as expiring by the expiry scanner")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("contract.expiry.chunk")
+                .description("Duration of the expiry scanner chunks")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reports every contract of the notice window not reported yet, chunk by
+     * chunk.
+     *
+     * @return the number of contracts reported
+     */
+    @Scheduled(fixedDelayString = "${app.contract-expiry.scan-interval:PT15M}")
+    public long scan() {
+        long start = System.nanoTime();
+        long processed = 0;
+        LocalDate today = LocalDate.now();
+        try {
+            notificationRepository.deleteEndedBefore(today);
+            // The scan starts after the last possible contract ending yesterday
+            LocalDate afterEndDate = today.minusDays(1);
+            UUID afterId = LAST_ID;
+            List<Contract> chunk;
+            do {
+                chunk = scanChunk(today, afterEndDate, afterId);
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                processed += chunk.size();
+                Contract last = chunk.get(chunk.size() - 1);
+                afterEndDate = last.getEndDate();
+                afterId = last.getId();
+            } while (chunk.size() == properties.getChunkSize() && throttle(start, processed));
+        } catch (DataAccessException ex) {
+            log.error("Contract expiry scan failed after {} contracts, retrying at the next scan", processed, ex);
+        }
+        return processed;
+    }
+
+    /**
+     * Reports the next chunk of contracts in its own transaction.
+     *
+     * @param today        the date of the scan
+     * @param afterEndDate the end date of the last contract seen by this scan
+     * @param afterId      the id of the last contract seen by this scan
+     * @return the contracts reported, empty if there are none left or
+     *         another instance is scanning
+     */
+    List<Contract> scanChunk(LocalDate today, LocalDate afterEndDate, UUID afterId) {
+        List<Contract> contracts = transactionTemplate.execute(status -> chunkTimer.record(() -> {
+            if (!notificationRepository.tryLock(SCANNER)) {
+                return List.<Contract>of();
+            }
+            List<Contract> chunk = contractRepository.findUnnotifiedEndingAfter(afterEndDate, afterId,
+                    today.plusDays(properties.getNoticeDays()), PageRequest.of(0, properties.getChunkSize()));
+            if (chunk.isEmpty()) {
+                return chunk;
+            }
+            chunk.forEach(contract -> eventPublisher.publishEvent(
+                    DomainEvent.ofContract(DomainEventType.CONTRACT_EXPIRING, contract, null)));
+            notificationRepository.saveAll(chunk, LocalDateTime.now());
+            return chunk;
+        }));
+        if (contracts == null) {
+            return List.of();
+        }
+        processedCounter.increment(contracts.size());
+        return contracts;
+    }
+
+    /**
+     * Sleeps as long as needed to keep the scan under the configured rate.
+     *
+     * @return {@code false} if the scan must stop because the thread was
+     *         interrupted
+     */
+    private boolean throttle(long start, long processed) {
+        long due = start + TimeUnit.SECONDS.toNanos(processed) / Math.max(properties.getMaxPerSecond(), 1);
+        long wait = due - System.nanoTime();
+        if (wait <= 0) {
+            return true;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(wait);
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
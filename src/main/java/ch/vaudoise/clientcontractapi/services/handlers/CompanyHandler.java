@@ -1,5 +1,6 @@
 package ch.vaudoise.clientcontractapi.services.handlers;
 
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
 import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.ClientUpdateDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
@@ -9,6 +10,7 @@ import ch.vaudoise.clientcontractapi.mappers.CompanyMapper;
 import ch.vaudoise.clientcontractapi.models.entities.client.Company;
 import ch.vaudoise.clientcontractapi.models.enums.ClientType;
 import ch.vaudoise.clientcontractapi.services.client.CompanyService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -25,6 +27,7 @@ import java.util.UUID;
  * DTO-entity conversion.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class CompanyHandler implements ClientHandler<Company, CompanyDTO> {
 
@@ -1,5 +1,6 @@
 package ch.vaudoise.clientcontractapi.services.handlers;
 
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
 import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.ClientUpdateDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
@@ -8,6 +9,7 @@ import ch.vaudoise.clientcontractapi.mappers.PersonMapper;
 import ch.vaudoise.clientcontractapi.models.entities.client.Person;
 import ch.vaudoise.clientcontractapi.models.enums.ClientType;
 import ch.vaudoise.clientcontractapi.services.client.PersonService;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -24,6 +26,7 @@ import java.util.UUID;
  * {@link Person} entities and {@link PersonDTO} DTOs via {@link PersonMapper}.
  */
 @Service
+@Timed(MetricsConfig.SERVICE_TIMER)
 @RequiredArgsConstructor
 public class PersonHandler implements ClientHandler<Person, PersonDTO> {
 
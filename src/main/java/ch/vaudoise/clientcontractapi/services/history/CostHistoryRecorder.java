@@ -0,0 +1,191 @@
+package ch.vaudoise.clientcontractapi.services.history;
+
+import ch.vaudoise.clientcontractapi.config.CostHistoryProperties;
+import ch.vaudoise.clientcontractapi.config.OutboxProperties;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.repositories.ContractCostHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records every {@link DomainEventType#CONTRACT_COST_CHANGED} event in the
+ * {@code contract_cost_history} table.
+ * <p>
+ * When the outbox is enabled the event is already stored durably with the
+ * cost update, so the history entry is taken off the request path: once the
+ * transaction commits it is put on a lock-free queue that a scheduled writer
+ * drains in batched inserts. Entries lost to a crash, a full queue or a failed
+ * insert are recovered from the outbox by a periodic reconciliation.
+ * When the outbox is disabled the entry is inserted within the cost update
+ * transaction instead.
+ */
+@Slf4j
+@Component
+public class CostHistoryRecorder {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO contract_cost_history (event_id, contract_id, old_cost, new_cost, changed_at, actor)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (event_id) DO NOTHING
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ContractCostHistoryRepository historyRepository;
+    private final CostHistoryProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean asynchronous;
+    private final Queue<DomainEvent> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter recoveredCounter;
+
+    public CostHistoryRecorder(JdbcTemplate jdbcTemplate,
+            ContractCostHistoryRepository historyRepository,
+            CostHistoryProperties properties,
+            OutboxProperties outboxProperties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.historyRepository = historyRepository;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.asynchronous = outboxProperties.isEnabled();
+        this.writtenCounter = Counter.builder("cost.history.written")
+                .description("Cost history entries written by the asynchronous writer")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("cost.history.dropped")
+                .description("Cost history entries dropped by the asynchronous writer, left to reconciliation")
+                .register(meterRegistry);
+        this.recoveredCounter = Counter.builder("cost.history.recovered")
+                .description("Cost history entries recovered from the outbox")
+                .register(meterRegistry);
+        Gauge.builder("cost.history.pending", pendingCount, AtomicInteger::get)
+                .description("Cost history entries waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Inserts the history entry within the cost update transaction when the
+     * outbox is disabled.
+     *
+     * @param event the published domain event
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (!asynchronous && event.getType() == DomainEventType.CONTRACT_COST_CHANGED) {
+            insert(List.of(event));
+        }
+    }
+
+    /**
+     * Queues the history entry once the cost update has committed when the
+     * outbox is enabled. Never blocks.
+     *
+     * @param event the committed domain event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void afterCommit(DomainEvent event) {
+        if (!asynchronous || event.getType() != DomainEventType.CONTRACT_COST_CHANGED) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > properties.getMaxQueueSize()) {
+            pendingCount.decrementAndGet();
+            droppedCounter.increment();
+            return;
+        }
+        pending.offer(event);
+    }
+
+    /**
+     * Writes the queued history entries in batches until the queue is empty.
+     */
+    @Scheduled(fixedDelayString = "${app.cost-history.flush-interval:PT0.2S}")
+    public void flush() {
+        List<DomainEvent> batch;
+        do {
+            batch = new ArrayList<>(properties.getBatchSize());
+            DomainEvent event;
+            while (batch.size() < properties.getBatchSize() && (event = pending.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-batch.size());
+            try {
+                List<DomainEvent> entries = batch;
+                transactionTemplate.executeWithoutResult(status -> insert(entries));
+                writtenCounter.increment(batch.size());
+            } catch (DataAccessException ex) {
+                droppedCounter.increment(batch.size());
+                log.warn("Could not write {} cost history entries, they will be recovered from the outbox: {}",
+                        batch.size(), ex.getMessage());
+                return;
+            }
+        } while (batch.size() == properties.getBatchSize());
+    }
+
+    /**
+     * Recovers the cost changes found in the outbox but missing from the
+     * history. Recent events are skipped as they may still be queued.
+     */
+    @Scheduled(fixedDelayString = "${app.cost-history.reconcile-interval:PT5M}")
+    public void reconcile() {
+        if (!asynchronous) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int recovered = transactionTemplate.execute(status -> historyRepository.recoverFromOutbox(
+                now.minus(properties.getReconcileWindow()), now.minus(properties.getReconcileGrace())));
+        if (recovered > 0) {
+            recoveredCounter.increment(recovered);
+            log.info("Recovered {} cost history entries from the outbox", recovered);
+        }
+    }
+
+    /**
+     * @return the number of history entries waiting to be written
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private void insert(List<DomainEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (statement, event) -> {
+            statement.setObject(1, event.getId());
+            statement.setObject(2, event.getContractId());
+            statement.setBigDecimal(3, event.getPreviousCostAmount() != null
+                    ? event.getPreviousCostAmount().toBigDecimal()
+                    : null);
+            statement.setBigDecimal(4, event.getCostAmount().toBigDecimal());
+            statement.setTimestamp(5, Timestamp.valueOf(event.getOccurredAt()));
+            statement.setString(6, event.getActor());
+        });
+    }
+}
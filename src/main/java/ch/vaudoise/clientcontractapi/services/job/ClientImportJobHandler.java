@@ -0,0 +1,114 @@
+package ch.vaudoise.clientcontractapi.services.job;
+
+import ch.vaudoise.clientcontractapi.config.JobProperties;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.repositories.client.ClientRepository;
+import ch.vaudoise.clientcontractapi.repositories.client.CompanyRepository;
+import ch.vaudoise.clientcontractapi.services.client.ClientOrchestrationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Creates clients in bulk:
+ *
+ * <pre>
+ * {"clients": [{"type": "PERSON", "name": "...", "email": "...", ...}, ...]}
+ * </pre>
+ *
+ * Each client has the same format and validation rules as in
+ * {@code POST /clients} and is created through
+ * {@link ClientOrchestrationService#createClient}. Invalid clients, and
+ * clients whose email or company identifier is already taken, are counted as
+ * failed and skipped; they are detected before writing so that they do not
+ * roll back the rest of the chunk. The checkpoint is the index of the next
+ * client.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientImportJobHandler implements JobHandler {
+
+    static final String JOB_TYPE = "CLIENT_IMPORT";
+
+    private final ClientOrchestrationService clientOrchestrationService;
+    private final ClientRepository clientRepository;
+    private final CompanyRepository companyRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final JobProperties properties;
+
+    @Override
+    public String getJobType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public void validate(JsonNode parameters) {
+        JsonNode clients = parameters.get("clients");
+        if (clients == null || !clients.isArray() || clients.isEmpty()
+                || clients.size() > properties.getMaxItems()) {
+            throw new CustomValidationException(
+                    "clients must be a non-empty array of at most " + properties.getMaxItems() + " clients",
+                    "parameters.clients", "INVALID_JOB_PARAMETERS");
+        }
+    }
+
+    @Override
+    public Long countItems(JsonNode parameters) {
+        return (long) parameters.get("clients").size();
+    }
+
+    @Override
+    public JobChunk processChunk(JsonNode parameters, String checkpoint, int limit) {
+        JsonNode clients = parameters.get("clients");
+        int from = checkpoint == null ? 0 : Integer.parseInt(checkpoint);
+        int to = Math.min(clients.size(), from + limit);
+        int processed = 0;
+        int failed = 0;
+        String lastError = null;
+        for (int i = from; i < to; i++) {
+            String error = importClient(clients.get(i));
+            if (error == null) {
+                processed++;
+            } else {
+                failed++;
+                lastError = "Item " + i + ": " + error;
+            }
+        }
+        return new JobChunk(processed, failed, Integer.toString(to), lastError, to == clients.size());
+    }
+
+    /**
+     * @return the reason why the client was not created, or {@code null}
+     */
+    private String importClient(JsonNode node) {
+        ClientDTO dto;
+        try {
+            dto = objectMapper.treeToValue(node, ClientDTO.class);
+        } catch (JsonProcessingException ex) {
+            return "unreadable client, " + ex.getOriginalMessage();
+        }
+        Set<ConstraintViolation<ClientDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<ClientDTO> violation = violations.iterator().next();
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+        if (clientRepository.existsByEmail(dto.getEmail())) {
+            return "email already exists";
+        }
+        if (dto instanceof CompanyDTO company
+                && companyRepository.existsByCompanyIdentifier(company.getCompanyIdentifier())) {
+            return "company identifier already exists";
+        }
+        clientOrchestrationService.createClient(dto);
+        return null;
+    }
+}
@@ -0,0 +1,95 @@
+package ch.vaudoise.clientcontractapi.services.job;
+
+import ch.vaudoise.clientcontractapi.config.JobProperties;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.models.entities.client.Client;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.services.ContractService;
+import ch.vaudoise.clientcontractapi.services.client.ClientResolverService;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Closes all active contracts of a list of clients of one type:
+ *
+ * <pre>
+ * {"clientType": "PERSON", "clientIds": ["...", "..."]}
+ * </pre>
+ *
+ * Contracts are closed through {@link ContractService#closeActiveContracts},
+ * as when a client is deleted. Each client is one item; unknown clients are
+ * counted as failed. The checkpoint is the index of the next client.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContractClosingJobHandler implements JobHandler {
+
+    static final String JOB_TYPE = "CONTRACT_CLOSING";
+
+    private final ClientResolverService clientResolverService;
+    private final ContractService contractService;
+    private final JobProperties properties;
+
+    @Override
+    public String getJobType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public void validate(JsonNode parameters) {
+        clientType(parameters);
+        JsonNode clientIds = parameters.get("clientIds");
+        if (clientIds == null || !clientIds.isArray() || clientIds.isEmpty()
+                || clientIds.size() > properties.getMaxItems()) {
+            throw new CustomValidationException(
+                    "clientIds must be a non-empty array of at most " + properties.getMaxItems() + " ids",
+                    "parameters.clientIds", "INVALID_JOB_PARAMETERS");
+        }
+    }
+
+    @Override
+    public Long countItems(JsonNode parameters) {
+        return (long) parameters.get("clientIds").size();
+    }
+
+    @Override
+    public JobChunk processChunk(JsonNode parameters, String checkpoint, int limit) {
+        ClientType clientType = clientType(parameters);
+        JsonNode clientIds = parameters.get("clientIds");
+        int from = checkpoint == null ? 0 : Integer.parseInt(checkpoint);
+        int to = Math.min(clientIds.size(), from + limit);
+        int processed = 0;
+        int failed = 0;
+        String lastError = null;
+        for (int i = from; i < to; i++) {
+            String clientId = clientIds.get(i).asText();
+            Optional<? extends Client> client;
+            try {
+                client = clientResolverService.resolveClient(clientType, clientId);
+            } catch (IllegalArgumentException ex) {
+                client = Optional.empty();
+            }
+            if (client.isEmpty()) {
+                failed++;
+                lastError = "Item " + i + ": client not found with id " + clientId + " and type " + clientType;
+                continue;
+            }
+            contractService.closeActiveContracts(client.get());
+            processed++;
+        }
+        return new JobChunk(processed, failed, Integer.toString(to), lastError, to == clientIds.size());
+    }
+
+    private static ClientType clientType(JsonNode parameters) {
+        JsonNode clientType = parameters.get("clientType");
+        try {
+            return ClientType.valueOf(clientType == null ? "" : clientType.asText());
+        } catch (IllegalArgumentException ex) {
+            throw new CustomValidationException("clientType must be PERSON or COMPANY",
+                    "parameters.clientType", "INVALID_JOB_PARAMETERS");
+        }
+    }
+}
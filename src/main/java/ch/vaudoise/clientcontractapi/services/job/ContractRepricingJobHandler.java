@@ -0,0 +1,101 @@
+package ch.vaudoise.clientcontractapi.services.job;
+
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.repositories.ContractRepository;
+import ch.vaudoise.clientcontractapi.services.ContractService;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Multiplies the cost of every active contract by a factor, optionally for
+ * one client type only:
+ *
+ * <pre>
+ * {"factor": 1.05, "clientType": "COMPANY"}
+ * </pre>
+ *
+ * Contracts are walked in id order and updated through
+ * {@link ContractService#updateContractCost}, so each change is recorded in
+ * the cost history and published like a single update. Contracts whose new
+ * cost would not fit in the database column are left unchanged and reported
+ * as failed. The checkpoint is the id of the last contract of the chunk.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContractRepricingJobHandler implements JobHandler {
+
+    static final String JOB_TYPE = "CONTRACT_REPRICING";
+    static final BigDecimal MAX_FACTOR = BigDecimal.TEN;
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final ContractRepository contractRepository;
+    private final ContractService contractService;
+
+    @Override
+    public String getJobType() {
+        return JOB_TYPE;
+    }
+
+    @Override
+    public void validate(JsonNode parameters) {
+        JsonNode factor = parameters.get("factor");
+        if (factor == null || !factor.isNumber() || factor.decimalValue().signum() <= 0
+                || factor.decimalValue().compareTo(MAX_FACTOR) > 0) {
+            throw new CustomValidationException("factor must be a number greater than 0 and at most " + MAX_FACTOR,
+                    "parameters.factor", "INVALID_JOB_PARAMETERS");
+        }
+        clientType(parameters);
+    }
+
+    @Override
+    public Long countItems(JsonNode parameters) {
+        return contractRepository.countActive(LocalDate.now(), clientType(parameters));
+    }
+
+    @Override
+    public JobChunk processChunk(JsonNode parameters, String checkpoint, int limit) {
+        BigDecimal factor = parameters.get("factor").decimalValue();
+        UUID afterId = checkpoint == null ? FIRST_ID : UUID.fromString(checkpoint);
+        List<Contract> contracts = contractRepository.findActiveAfterId(
+                LocalDate.now(), afterId, clientType(parameters), PageRequest.of(0, limit));
+        int processed = 0;
+        int failed = 0;
+        String lastError = null;
+        for (Contract contract : contracts) {
+            Money cost = contract.getCostAmount().times(factor);
+            if (cost.compareTo(Money.MAX_STORABLE) > 0) {
+                failed++;
+                lastError = "Contract " + contract.getId() + ": repriced cost " + cost + " exceeds "
+                        + Money.MAX_STORABLE;
+                continue;
+            }
+            contractService.updateContractCost(contract, cost);
+            processed++;
+        }
+        String next = contracts.isEmpty() ? checkpoint : contracts.get(contracts.size() - 1).getId().toString();
+        return new JobChunk(processed, failed, next, lastError, contracts.size() < limit);
+    }
+
+    private static ClientType clientType(JsonNode parameters) {
+        JsonNode clientType = parameters.get("clientType");
+        if (clientType == null || clientType.isNull()) {
+            return null;
+        }
+        try {
+            return ClientType.valueOf(clientType.asText());
+        } catch (IllegalArgumentException ex) {
+            throw new CustomValidationException("clientType must be PERSON or COMPANY",
+                    "parameters.clientType", "INVALID_JOB_PARAMETERS");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ch.vaudoise.clientcontractapi.services.job;
+
+/**
+ * Outcome of one chunk of a bulk job.
+ *
+ * @param processed  the number of items processed successfully
+ * @param failed     the number of items that could not be processed
+ * @param checkpoint the position after this chunk
+ * @param lastError  the reason of the last failed item, or {@code null}
+ * @param done       whether the job has no items left
+ */
+public record JobChunk(int processed, int failed, String checkpoint, String lastError, boolean done) {
+}
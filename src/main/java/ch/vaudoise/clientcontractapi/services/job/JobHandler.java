@@ -0,0 +1,53 @@
+package ch.vaudoise.clientcontractapi.services.job;
+
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Implementation of one type of bulk job.
+ * <p>
+ * This interface follows the Strategy pattern: {@link JobService} collects
+ * every handler bean by {@link #getJobType()}, so a new job type only needs a
+ * new implementation. A job walks its input chunk by chunk from an opaque
+ * checkpoint owned by the handler. Each call to {@link #processChunk} runs in
+ * a transaction that also saves the returned checkpoint, so a handler must
+ * not catch and swallow database errors: items that cannot be processed must
+ * be detected before writing and reported as failed.
+ */
+public interface JobHandler {
+
+    /**
+     * Returns the job type implemented by this handler, as given in
+     * {@code POST /jobs}.
+     *
+     * @return the job type
+     */
+    String getJobType();
+
+    /**
+     * Validates the parameters of a job before it is queued.
+     *
+     * @param parameters the job parameters
+     * @throws CustomValidationException if the parameters are invalid
+     */
+    void validate(JsonNode parameters);
+
+    /**
+     * Counts the items of a job when it starts, for progress reporting.
+     *
+     * @param parameters the job parameters
+     * @return the number of items, or {@code null} if unknown
+     */
+    Long countItems(JsonNode parameters);
+
+    /**
+     * Processes the next items of a job.
+     *
+     * @param parameters the job parameters
+     * @param checkpoint the position after the last committed chunk, or
+     *                   {@code null} for the first chunk
+     * @param limit      the maximum number of items to process
+     * @return the outcome of the chunk and the new checkpoint
+     */
+    JobChunk processChunk(JsonNode parameters, String checkpoint, int limit);
+}
@@ -0,0 +1,265 @@
+package ch.vaudoise.clientcontractapi.services.job;
+
+import ch.vaudoise.clientcontractapi.config.JobProperties;
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
+import ch.vaudoise.clientcontractapi.dtos.job.JobDTO;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.exceptions.JobQueueFullException;
+import ch.vaudoise.clientcontractapi.models.enums.JobStatus;
+import ch.vaudoise.clientcontractapi.repositories.JobRepository;
+import ch.vaudoise.clientcontractapi.repositories.JobRepository.Job;
+import ch.vaudoise.clientcontractapi.utils.RequestActor;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs bulk jobs in the background.
+ * <p>
+ * Submitted jobs are stored as {@link JobStatus#QUEUED} and handed to a
+ * bounded pool of {@code app.jobs.workers} threads with a queue of
+ * {@code app.jobs.queue-capacity} jobs; when the queue is full the
+ * submission is rejected with {@link JobQueueFullException} instead of
+ * piling up work. A worker claims the job in the database and processes it
+ * with its {@link JobHandler} chunk by chunk, each chunk committing together
+ * with the progress and checkpoint of the job.
+ * <p>
+ * Jobs left queued or running by a stopped instance are resumed from their
+ * checkpoint by a periodic scan: running jobs are released on shutdown, and
+ * those of a crashed instance are taken over once their heartbeat is older
+ * than {@code app.jobs.stale-after}.
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class JobService {
+
+    private final Map<String, JobHandler> handlers;
+    private final JobRepository jobRepository;
+    private final JobProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter rejectedCounter;
+    private volatile boolean stopping;
+
+    public JobService(List<JobHandler> handlerList,
+            JobRepository jobRepository,
+            JobProperties properties,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.handlers = handlerList.stream()
+                .collect(Collectors.toMap(JobHandler::getJobType, h -> h));
+        this.jobRepository = jobRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()), runnable -> {
+                    Thread thread = new Thread(runnable, "job-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.rejectedCounter = Counter.builder("jobs.rejected")
+                .description("Job submissions rejected because the job queue was full")
+                .register(meterRegistry);
+        Gauge.builder("jobs.queued", executor, e -> e.getQueue().size())
+                .description("Jobs waiting for a worker on this instance")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validates and queues a job.
+     *
+     * @param type       the job type
+     * @param parameters the parameters of the job
+     * @return the queued job
+     * @throws CustomValidationException if the type is unknown or the
+     *                                   parameters are invalid
+     * @throws JobQueueFullException     if the job queue is full
+     */
+    public JobDTO submit(String type, JsonNode parameters) {
+        JobHandler handler = handlers.get(type);
+        if (handler == null) {
+            throw new CustomValidationException(
+                    "Unknown job type, expected one of " + handlers.keySet(), "type", "INVALID_JOB_TYPE");
+        }
+        if (parameters == null || !parameters.isObject()) {
+            throw new CustomValidationException(
+                    "Job parameters must be a JSON object", "parameters", "INVALID_JOB_PARAMETERS");
+        }
+        handler.validate(parameters);
+
+        Job job = new Job(UUID.randomUUID(), type, JobStatus.QUEUED, parameters.toString(), null, 0, 0, null,
+                null, RequestActor.current(), LocalDateTime.now(), null, null);
+        jobRepository.insert(job);
+        if (!enqueue(job.id())) {
+            jobRepository.delete(job.id());
+            rejectedCounter.increment();
+            throw new JobQueueFullException("Too many jobs are queued, please retry later");
+        }
+        return toDTO(job);
+    }
+
+    /**
+     * Retrieves the state and progress of a job.
+     *
+     * @param id the job id
+     * @return the job, if it exists
+     */
+    public Optional<JobDTO> getJob(UUID id) {
+        return jobRepository.findById(id).map(this::toDTO);
+    }
+
+    /**
+     * Queues the jobs that no worker is processing: jobs that could not be
+     * queued earlier and jobs of stopped instances.
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.resume-interval:PT30S}")
+    public void resumeJobs() {
+        int room = properties.getQueueCapacity() - executor.getQueue().size();
+        if (stopping || room <= 0) {
+            return;
+        }
+        for (UUID id : jobRepository.findResumable(staleBefore(), room + inFlight.size())) {
+            if (!inFlight.contains(id) && !enqueue(id)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Lets the workers finish their current chunk and release their jobs.
+     * Runs before any bean is destroyed, so that the listeners of the last
+     * chunks still receive their events.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Bulk jobs still running at shutdown will resume once their heartbeat is stale");
+        }
+    }
+
+    private boolean enqueue(UUID id) {
+        if (!inFlight.add(id)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> run(id));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(id);
+            return false;
+        }
+    }
+
+    void run(UUID id) {
+        try {
+            if (stopping || !jobRepository.claim(id, staleBefore())) {
+                return;
+            }
+            Optional<Job> job = jobRepository.findById(id);
+            if (job.isPresent()) {
+                execute(job.get());
+            }
+        } catch (Exception ex) {
+            log.error("Job {} failed", id, ex);
+            jobRepository.finish(id, JobStatus.FAILED, ex.getMessage());
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    private void execute(Job job) throws JsonProcessingException {
+        JobHandler handler = handlers.get(job.type());
+        if (handler == null) {
+            jobRepository.finish(job.id(), JobStatus.FAILED, "Unknown job type " + job.type());
+            return;
+        }
+        JsonNode parameters = objectMapper.readTree(job.parameters());
+        if (job.totalItems() == null) {
+            jobRepository.saveTotal(job.id(), handler.countItems(parameters));
+        }
+        Counter processedCounter = meterRegistry.counter("jobs.items", "type", job.type(), "outcome", "processed");
+        Counter failedCounter = meterRegistry.counter("jobs.items", "type", job.type(), "outcome", "failed");
+
+        String checkpoint = job.checkpoint();
+        while (!stopping) {
+            String from = checkpoint;
+            JobChunk chunk = transactionTemplate.execute(status -> {
+                JobChunk result = handler.processChunk(parameters, from, properties.getChunkSize());
+                jobRepository.saveProgress(job.id(), result.processed(), result.failed(), result.checkpoint(),
+                        result.lastError());
+                return result;
+            });
+            processedCounter.increment(chunk.processed());
+            failedCounter.increment(chunk.failed());
+            if (chunk.done()) {
+                jobRepository.finish(job.id(), JobStatus.SUCCEEDED, null);
+                return;
+            }
+            checkpoint = chunk.checkpoint();
+        }
+        jobRepository.release(job.id());
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minus(properties.getStaleAfter());
+    }
+
+    private JobDTO toDTO(Job job) {
+        double rowsPerSecond = 0;
+        if (job.startedAt() != null) {
+            LocalDateTime end = job.finishedAt() != null ? job.finishedAt() : LocalDateTime.now();
+            long millis = Duration.between(job.startedAt(), end).toMillis();
+            rowsPerSecond = millis > 0 ? (job.processed() + job.failed()) * 1000.0 / millis : 0;
+        }
+        return JobDTO.builder()
+                .id(job.id().toString())
+                .type(job.type())
+                .status(job.status())
+                .totalItems(job.totalItems())
+                .processed(job.processed())
+                .failed(job.failed())
+                .rowsPerSecond(rowsPerSecond)
+                .lastError(job.lastError())
+                .createdBy(job.createdBy())
+                .createdAt(job.createdAt())
+                .startedAt(job.startedAt())
+                .finishedAt(job.finishedAt())
+                .build();
+    }
+}
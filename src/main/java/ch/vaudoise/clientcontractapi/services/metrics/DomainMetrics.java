@@ -0,0 +1,90 @@
+package ch.vaudoise.clientcontractapi.services.metrics;
+
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.repositories.ContractRepository;
+import ch.vaudoise.clientcontractapi.repositories.client.CompanyRepository;
+import ch.vaudoise.clientcontractapi.repositories.client.PersonRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gauges of the business state: {@code clients} and {@code contracts.active},
+ * both tagged with the client type only.
+ * <p>
+ * Counting scans the tables, so the counts are refreshed periodically in a
+ * read-only transaction (served by the replica when there is one) and
+ * scrapes read the last values.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.metrics", name = "gauges-enabled", havingValue = "true", matchIfMissing = true)
+public class DomainMetrics {
+
+    private final PersonRepository personRepository;
+    private final CompanyRepository companyRepository;
+    private final ContractRepository contractRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<ClientType, AtomicLong> clients = new EnumMap<>(ClientType.class);
+    private final Map<ClientType, AtomicLong> activeContracts = new EnumMap<>(ClientType.class);
+
+    public DomainMetrics(PersonRepository personRepository, CompanyRepository companyRepository,
+            ContractRepository contractRepository, PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.personRepository = personRepository;
+        this.companyRepository = companyRepository;
+        this.contractRepository = contractRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        for (ClientType type : ClientType.values()) {
+            clients.put(type, new AtomicLong());
+            activeContracts.put(type, new AtomicLong());
+            Gauge.builder("clients", clients.get(type), AtomicLong::get)
+                    .description("Clients, as of the last count")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+            Gauge.builder("contracts.active", activeContracts.get(type), AtomicLong::get)
+                    .description("Contracts not ended, as of the last count")
+                    .tag("type", type.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Counts the clients and active contracts of each type. The gauges keep
+     * their previous values if any count fails.
+     */
+    @Scheduled(fixedDelayString = "${app.metrics.gauge-refresh-interval:PT1M}")
+    public void refresh() {
+        Map<ClientType, long[]> counts;
+        try {
+            counts = transactionTemplate.execute(status -> {
+                LocalDate today = LocalDate.now();
+                Map<ClientType, long[]> byType = new EnumMap<>(ClientType.class);
+                byType.put(ClientType.PERSON, new long[]{personRepository.count(),
+                        contractRepository.countActive(today, ClientType.PERSON)});
+                byType.put(ClientType.COMPANY, new long[]{companyRepository.count(),
+                        contractRepository.countActive(today, ClientType.COMPANY)});
+                return byType;
+            });
+        } catch (DataAccessException ex) {
+            log.warn("Could not refresh the domain gauges", ex);
+            return;
+        }
+        counts.forEach((type, count) -> {
+            clients.get(type).set(count[0]);
+            activeContracts.get(type).set(count[1]);
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package ch.vaudoise.clientcontractapi.services.outbox;
+
+import ch.vaudoise.clientcontractapi.models.entities.OutboxEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * {@link OutboxSink} collecting events in memory, intended for tests.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final List<OutboxEvent> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        published.addAll(events);
+    }
+
+    /**
+     * @return a snapshot of the events published so far
+     */
+    public List<OutboxEvent> getPublished() {
+        return new ArrayList<>(published);
+    }
+
+    /**
+     * Forgets the events published so far.
+     */
+    public void clear() {
+        published.clear();
+    }
+}
@@ -0,0 +1,21 @@
+package ch.vaudoise.clientcontractapi.services.outbox;
+
+import ch.vaudoise.clientcontractapi.models.entities.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * Default {@link OutboxSink} writing every event to the application log.
+ */
+@Slf4j
+public class LoggingOutboxSink implements OutboxSink {
+
+    @Override
+    public void publish(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.info("Outbox event {} {} {}: {}", event.getId(), event.getEventType(), event.getAggregateId(),
+                    event.getPayload());
+        }
+    }
+}
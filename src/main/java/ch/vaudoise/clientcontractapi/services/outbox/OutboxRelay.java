@@ -0,0 +1,135 @@
+package ch.vaudoise.clientcontractapi.services.outbox;
+
+import ch.vaudoise.clientcontractapi.config.OutboxProperties;
+import ch.vaudoise.clientcontractapi.models.entities.OutboxEvent;
+import ch.vaudoise.clientcontractapi.repositories.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Relays outbox events to the configured {@link OutboxSink}.
+ * <p>
+ * Each batch is locked with {@code FOR UPDATE SKIP LOCKED}, published and
+ * marked as published in a single transaction, so that several nodes can
+ * drain the outbox concurrently and a failed publication leaves the batch
+ * for the next attempt. Ordering is only guaranteed within one relay.
+ * <p>
+ * Metrics: {@code outbox.relay.published} (throughput),
+ * {@code outbox.relay.lag} (time from commit to publication) and
+ * {@code outbox.relay.batch} (batch duration).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "relay-enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer lagTimer;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+            OutboxSink outboxSink,
+            OutboxProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches the sink failed to publish")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("outbox.relay.lag")
+                .description("Delay between an outbox event being written and published")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("outbox.relay.batch")
+                .description("Duration of one relay transaction")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the outbox until a batch comes back smaller than the batch size.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void relay() {
+        int relayed;
+        do {
+            relayed = relayBatch();
+        } while (relayed == properties.getBatchSize());
+    }
+
+    /**
+     * Publishes one batch of unpublished events.
+     *
+     * @return the number of published events, {@code 0} if none were pending or
+     *         the sink failed
+     */
+    public int relayBatch() {
+        try {
+            Integer relayed = batchTimer.record(() -> transactionTemplate.execute(status -> {
+                List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(properties.getBatchSize());
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                publish(batch);
+                LocalDateTime publishedAt = LocalDateTime.now();
+                outboxEventRepository.markPublished(batch.stream().map(OutboxEvent::getId).toList(), publishedAt);
+                for (OutboxEvent event : batch) {
+                    lagTimer.record(Duration.between(event.getCreatedAt(), publishedAt));
+                }
+                publishedCounter.increment(batch.size());
+                return batch.size();
+            }));
+            return relayed == null ? 0 : relayed;
+        } catch (OutboxPublishException ex) {
+            failureCounter.increment();
+            log.warn("Outbox sink failed, batch will be retried: {}", ex.getCause().getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Deletes published events older than the configured retention.
+     */
+    @Scheduled(cron = "${app.outbox.purge-cron:0 0 * * * *}")
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        if (deleted > 0) {
+            log.info("Purged {} published outbox events", deleted);
+        }
+    }
+
+    private void publish(List<OutboxEvent> batch) {
+        try {
+            outboxSink.publish(batch);
+        } catch (Exception ex) {
+            throw new OutboxPublishException(ex);
+        }
+    }
+
+    private static class OutboxPublishException extends RuntimeException {
+        OutboxPublishException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ch.vaudoise.clientcontractapi.services.outbox;
+
+import ch.vaudoise.clientcontractapi.models.entities.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Destination the {@link OutboxRelay} hands outbox events to (message broker,
+ * log, file, ...).
+ * <p>
+ * Delivery is at-least-once: a batch is only marked as published once
+ * {@link #publish(List)} returns, so implementations must tolerate
+ * redelivery after a failure.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes a batch of events, oldest first.
+     *
+     * @param events the events to publish
+     * @throws Exception if the batch could not be published; it will be retried
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
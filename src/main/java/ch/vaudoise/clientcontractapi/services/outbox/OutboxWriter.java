@@ -0,0 +1,57 @@
+package ch.vaudoise.clientcontractapi.services.outbox;
+
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.entities.OutboxEvent;
+import ch.vaudoise.clientcontractapi.repositories.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes every {@link DomainEvent} to the outbox table.
+ * <p>
+ * The listener runs synchronously on the publishing thread and joins the
+ * transaction of the publishing service ({@code ContractService},
+ * {@code PersonService}, {@code CompanyService}), so the event is committed or
+ * rolled back together with the change itself. Publishing outside a
+ * transaction is rejected.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Appends the event to the outbox within the current transaction.
+     *
+     * @param event the published domain event
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onDomainEvent(DomainEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+    }
+
+    private OutboxEvent toOutboxEvent(DomainEvent event) {
+        boolean contractEvent = event.getContractId() != null;
+        try {
+            return OutboxEvent.builder()
+                    .eventType(event.getType().name())
+                    .aggregateType(contractEvent ? OutboxEvent.AggregateType.CONTRACT : OutboxEvent.AggregateType.CLIENT)
+                    .aggregateId(contractEvent ? event.getContractId() : event.getClientId())
+                    .payload(objectMapper.writeValueAsString(event))
+                    .createdAt(event.getOccurredAt())
+                    .build();
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize " + event.getType() + " for the outbox", ex);
+        }
+    }
+}
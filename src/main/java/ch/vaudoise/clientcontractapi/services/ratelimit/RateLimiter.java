@@ -0,0 +1,188 @@
+package ch.vaudoise.clientcontractapi.services.ratelimit;
+
+import ch.vaudoise.clientcontractapi.config.RateLimitProperties;
+import ch.vaudoise.clientcontractapi.config.RateLimitProperties.EndpointLimit;
+import ch.vaudoise.clientcontractapi.config.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-caller token buckets for the limits of {@link RateLimitProperties}.
+ * <p>
+ * Each limit keeps one {@link TokenBucket} per caller in a
+ * {@link ConcurrentHashMap}; an existing bucket is found without locking and
+ * a request allocates nothing unless its caller is new. Buckets that have
+ * been full for {@code app.rate-limit.idle-after} are dropped periodically,
+ * so the maps only hold recently active callers.
+ * <p>
+ * Endpoint paths are matched segment by segment on the request path itself:
+ * parsing it into a {@code PathContainer} for Spring's {@code PathPattern}
+ * would cost more than everything else the limiter does.
+ */
+public class RateLimiter {
+
+    private static final String DEFAULT_LIMIT = "default";
+
+    private final List<Rule> rules;
+    private final Rule defaultRule;
+    private final int maxKeys;
+    private final long idleNanos;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.rules = properties.getEndpoints().stream()
+                .map(endpoint -> new Rule(endpoint, meterRegistry))
+                .toList();
+        this.defaultRule = new Rule(DEFAULT_LIMIT, null, null, properties.getDefaultLimit(), meterRegistry);
+        this.maxKeys = properties.getMaxKeys();
+        this.idleNanos = properties.getIdleAfter().toNanos();
+        Gauge.builder("ratelimit.callers", this, RateLimiter::callerCount)
+                .description("Callers with a token bucket in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from the bucket of the caller for the limit matching the
+     * request.
+     *
+     * @param method  the HTTP method of the request
+     * @param path    the path of the request
+     * @param apiKey  the API key of the caller, may be {@code null}
+     * @param address the IP address of the caller
+     * @return 0 if the request is accepted, otherwise the number of
+     *         nanoseconds until the caller may retry
+     */
+    public long acquire(String method, String path, String apiKey, String address) {
+        Rule rule = resolve(method, path);
+        String key = apiKey != null ? apiKey : address;
+        long now = System.nanoTime();
+        TokenBucket bucket = rule.buckets.get(key);
+        if (bucket == null) {
+            if (apiKey != null && rule.buckets.size() >= maxKeys) {
+                key = address;
+            }
+            bucket = rule.buckets.computeIfAbsent(key, k -> rule.newBucket(now));
+        }
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            rule.rejected.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * Drops the buckets of callers idle for longer than
+     * {@code app.rate-limit.idle-after}. A caller racing with the eviction
+     * may see its bucket replaced by a full one, which only errs in its
+     * favour.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval:PT1M}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        defaultRule.buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        for (Rule rule : rules) {
+            rule.buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        }
+    }
+
+    /**
+     * @return the number of buckets held across all limits
+     */
+    public int callerCount() {
+        int count = defaultRule.buckets.size();
+        for (Rule rule : rules) {
+            count += rule.buckets.size();
+        }
+        return count;
+    }
+
+    private Rule resolve(String method, String path) {
+        if (rules.isEmpty()) {
+            return defaultRule;
+        }
+        for (Rule rule : rules) {
+            if ((rule.method == null || rule.method.equalsIgnoreCase(method)) && rule.path.matches(path)) {
+                return rule;
+            }
+        }
+        return defaultRule;
+    }
+
+    private static final class Rule {
+
+        private final String method;
+        private final PathTemplate path;
+        private final int capacity;
+        private final double refillPerSecond;
+        private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final Counter rejected;
+
+        private Rule(EndpointLimit endpoint, MeterRegistry meterRegistry) {
+            this(endpoint.getName(), endpoint.getMethod(), new PathTemplate(endpoint.getPath()),
+                    endpoint, meterRegistry);
+        }
+
+        private Rule(String name, String method, PathTemplate path, Limit limit, MeterRegistry meterRegistry) {
+            this.method = method;
+            this.path = path;
+            this.capacity = limit.getCapacity();
+            this.refillPerSecond = limit.getRefillPerSecond();
+            this.rejected = Counter.builder("ratelimit.rejected")
+                    .description("Requests rejected because their caller exceeded its limit")
+                    .tag("limit", name)
+                    .register(meterRegistry);
+        }
+
+        private TokenBucket newBucket(long now) {
+            return new TokenBucket(capacity, refillPerSecond, now);
+        }
+    }
+
+    /**
+     * A path pattern whose segments are literals, {@code *} or
+     * {@code {variable}} (any single segment), optionally ending with
+     * {@code **} (any remaining segments).
+     */
+    private static final class PathTemplate {
+
+        private final String[] segments;
+        private final boolean anyRemainder;
+
+        private PathTemplate(String pattern) {
+            List<String> parts = Arrays.stream(pattern.split("/"))
+                    .filter(part -> !part.isEmpty())
+                    .toList();
+            this.anyRemainder = !parts.isEmpty() && parts.get(parts.size() - 1).equals("**");
+            this.segments = parts.stream()
+                    .limit(anyRemainder ? parts.size() - 1 : parts.size())
+                    .map(part -> part.equals("*") || part.startsWith("{") ? null : part)
+                    .toArray(String[]::new);
+        }
+
+        private boolean matches(String path) {
+            int length = path.length();
+            int position = 0;
+            for (String segment : segments) {
+                if (position >= length || path.charAt(position) != '/') {
+                    return false;
+                }
+                position++;
+                int end = path.indexOf('/', position);
+                if (end < 0) {
+                    end = length;
+                }
+                if (segment == null ? end == position
+                        : end - position != segment.length() || !path.startsWith(segment, position)) {
+                    return false;
+                }
+                position = end;
+            }
+            return anyRemainder || position == length || (position == length - 1 && path.charAt(position) == '/');
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ch.vaudoise.clientcontractapi.services.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * Instead of a token count and a refill timestamp, the bucket keeps a single
+ * "theoretical arrival time" (the generic cell rate algorithm): each accepted
+ * request pushes it {@code 1 / refillPerSecond} further, and a request is
+ * rejected while it lies more than {@code capacity - 1} intervals ahead of
+ * now. The whole state fits in one {@link AtomicLong}, so concurrent callers
+ * only ever compare-and-set, and a bucket costs no allocation per request.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * @param capacity        maximum number of requests accepted at once
+     * @param refillPerSecond sustained number of requests accepted per second
+     * @param now             the current {@link System#nanoTime()}
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long now) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("A token bucket needs a positive capacity and refill rate");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = (capacity - 1) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return 0 if the request is accepted, otherwise the number of
+     *         nanoseconds until a token is available
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = arrival - now > 0 ? arrival : now;
+            long wait = start - burstNanos - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param now       the current {@link System#nanoTime()}
+     * @param idleNanos the idle time
+     * @return whether the bucket has been full for at least {@code idleNanos}
+     */
+    public boolean isIdle(long now, long idleNanos) {
+        return now - theoreticalArrival.get() >= idleNanos;
+    }
+}
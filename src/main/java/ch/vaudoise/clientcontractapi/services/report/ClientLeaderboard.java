@@ -0,0 +1,115 @@
+package ch.vaudoise.clientcontractapi.services.report;
+
+import ch.vaudoise.clientcontractapi.repositories.report.ClientLeaderboardRepository.Entry;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * Bounded ranking of the clients of one type by total active contract cost.
+ * <p>
+ * Only the {@code capacity} largest clients are kept. The board maintains a
+ * floor such that every client outside of it has a total of at most the
+ * floor: it starts at the smallest seeded total (zero if fewer clients than
+ * the capacity were seeded), and rises to the total of any entry evicted for
+ * lack of room. Members falling below the floor are evicted, so every member
+ * ranks above every outsider and the board can answer any top-N query up to
+ * its size. Clients outside of the board whose total grows must be looked up
+ * and {@link #offer offered}, since their previous total is unknown.
+ * <p>
+ * Writes are serialized; reads only dereference an immutable snapshot and
+ * never wait.
+ */
+class ClientLeaderboard {
+
+    static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::total).reversed()
+            .thenComparing(Entry::clientId);
+
+    private final int capacity;
+    private final Map<UUID, Entry> members = new HashMap<>();
+    private final TreeSet<Entry> ranking = new TreeSet<>(RANKING);
+    private long floor;
+    private volatile List<Entry> snapshot = List.of();
+
+    /**
+     * Creates a board from the largest totals of its client type.
+     *
+     * @param capacity the maximum number of members
+     * @param seed     the largest totals, at most {@code capacity}
+     */
+    ClientLeaderboard(int capacity, List<Entry> seed) {
+        this.capacity = capacity;
+        seed.forEach(this::add);
+        this.floor = seed.size() < capacity ? 0 : ranking.last().total();
+        publish();
+    }
+
+    /**
+     * @return the members, largest first
+     */
+    List<Entry> snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Applies a change of the total of a client.
+     *
+     * @param clientId the id of the client
+     * @param delta    the change of its total, in centimes
+     * @return {@code false} if the client is not a member and its total grew,
+     *         in which case its new total must be looked up and offered
+     */
+    synchronized boolean apply(UUID clientId, long delta) {
+        Entry member = members.get(clientId);
+        if (member == null) {
+            return delta <= 0;
+        }
+        remove(member);
+        long total = member.total() + delta;
+        if (total > 0 && total >= floor) {
+            add(member.withTotal(total));
+        }
+        publish();
+        return true;
+    }
+
+    /**
+     * Offers the current total of a client, which joins the board if it ranks
+     * above the floor.
+     *
+     * @param entry the current total of the client
+     */
+    synchronized void offer(Entry entry) {
+        Entry member = members.get(entry.clientId());
+        if (member != null) {
+            remove(member);
+        }
+        if (entry.total() > 0 && entry.total() > floor) {
+            add(entry);
+            if (ranking.size() > capacity) {
+                Entry evicted = ranking.last();
+                remove(evicted);
+                floor = Math.max(floor, evicted.total());
+            }
+        }
+        publish();
+    }
+
+    private void add(Entry entry) {
+        members.put(entry.clientId(), entry);
+        ranking.add(entry);
+    }
+
+    private void remove(Entry entry) {
+        members.remove(entry.clientId());
+        ranking.remove(entry);
+    }
+
+    private void publish() {
+        snapshot = List.copyOf(ranking);
+    }
+}
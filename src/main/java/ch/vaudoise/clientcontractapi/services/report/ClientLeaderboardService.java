@@ -0,0 +1,188 @@
+package ch.vaudoise.clientcontractapi.services.report;
+
+import ch.vaudoise.clientcontractapi.config.LeaderboardProperties;
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
+import ch.vaudoise.clientcontractapi.dtos.report.ClientLeaderboardEntryDTO;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.repositories.report.ClientLeaderboardRepository;
+import ch.vaudoise.clientcontractapi.repositories.report.ClientLeaderboardRepository.Entry;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ranks clients by the total cost of their active contracts, overall and per
+ * {@link ClientType}, without touching the database on reads.
+ * <p>
+ * One {@link ClientLeaderboard} per client type is seeded from a single
+ * GROUP BY and then kept up to date from the committed contract events.
+ * Contracts expiring with the passage of time publish no event, and events
+ * racing with a rebuild may be missed, so the boards are periodically rebuilt
+ * from the database; the number of entries corrected by a rebuild is counted
+ * in {@code leaderboard.reconcile.corrections}.
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ClientLeaderboardService {
+
+    private final ClientLeaderboardRepository leaderboardRepository;
+    private final LeaderboardProperties properties;
+    private final Counter correctionsCounter;
+    private volatile Map<ClientType, ClientLeaderboard> boards;
+    private boolean seeded;
+
+    public ClientLeaderboardService(ClientLeaderboardRepository leaderboardRepository,
+            LeaderboardProperties properties,
+            MeterRegistry meterRegistry) {
+        this.leaderboardRepository = leaderboardRepository;
+        this.properties = properties;
+        this.correctionsCounter = Counter.builder("leaderboard.reconcile.corrections")
+                .description("Leaderboard entries added, removed or changed by a rebuild")
+                .register(meterRegistry);
+        this.boards = buildBoards(List.of());
+    }
+
+    /**
+     * Returns the clients with the largest total active contract cost.
+     *
+     * @param clientType the client type to rank, or {@code null} for all clients
+     * @param size       the number of clients, at most
+     *                   {@code app.leaderboard.max-size}
+     * @return the largest clients, largest first
+     * @throws CustomValidationException if the size is out of range
+     */
+    public List<ClientLeaderboardEntryDTO> getTopClients(ClientType clientType, int size) {
+        if (size < 1 || size > properties.getMaxSize()) {
+            throw new CustomValidationException(
+                    "The size must be between 1 and " + properties.getMaxSize(), "size", "INVALID_LEADERBOARD_SIZE");
+        }
+        Map<ClientType, ClientLeaderboard> current = boards;
+        List<Entry> top = clientType != null
+                ? current.get(clientType).snapshot()
+                : merge(current.values(), size);
+        List<ClientLeaderboardEntryDTO> dtos = new ArrayList<>(Math.min(size, top.size()));
+        for (int i = 0; i < size && i < top.size(); i++) {
+            Entry entry = top.get(i);
+            dtos.add(new ClientLeaderboardEntryDTO(i + 1, entry.clientId().toString(), entry.clientType(),
+                    entry.name(), Money.ofMinorUnits(entry.total()).toBigDecimal()));
+        }
+        return dtos;
+    }
+
+    /**
+     * Applies a committed contract event to the leaderboard of its client
+     * type. A client entering the board is looked up in the database.
+     *
+     * @param event the committed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        long delta = delta(event);
+        if (delta == 0 || event.getClientId() == null || event.getClientType() == null) {
+            return;
+        }
+        ClientLeaderboard board = boards.get(event.getClientType());
+        if (board.apply(event.getClientId(), delta)) {
+            return;
+        }
+        try {
+            leaderboardRepository.findByClientId(event.getClientId()).ifPresent(board::offer);
+        } catch (DataAccessException ex) {
+            log.warn("Could not look up client {} for the leaderboard, left to reconciliation", event.getClientId(), ex);
+        }
+    }
+
+    /**
+     * Rebuilds the leaderboards from the database. The first run seeds them
+     * at startup.
+     */
+    @Scheduled(fixedDelayString = "${app.leaderboard.reconcile-interval:PT10M}")
+    public void reconcile() {
+        List<Entry> seed;
+        try {
+            seed = leaderboardRepository.findTopPerType(properties.getCapacity());
+        } catch (DataAccessException ex) {
+            log.error("Could not rebuild the client leaderboard", ex);
+            return;
+        }
+        Map<ClientType, ClientLeaderboard> rebuilt = buildBoards(seed);
+        if (seeded) {
+            correctionsCounter.increment(corrections(boards, rebuilt));
+        }
+        boards = rebuilt;
+        seeded = true;
+    }
+
+    private Map<ClientType, ClientLeaderboard> buildBoards(List<Entry> seed) {
+        Map<ClientType, ClientLeaderboard> built = new EnumMap<>(ClientType.class);
+        for (ClientType type : ClientType.values()) {
+            built.put(type, new ClientLeaderboard(properties.getCapacity(),
+                    seed.stream().filter(entry -> entry.clientType() == type).toList()));
+        }
+        return built;
+    }
+
+    /**
+     * Contribution of a contract event to the total of its client. Only
+     * contracts that are active, or were until the event, count.
+     *
+     * @return the change of the total of the client, in centimes
+     */
+    private static long delta(DomainEvent event) {
+        if (event.getCostAmount() == null) {
+            return 0;
+        }
+        long cost = event.getCostAmount().minorUnits();
+        boolean active = event.getEndDate() == null || event.getEndDate().isAfter(LocalDate.now());
+        return switch (event.getType()) {
+            case CONTRACT_CREATED -> active ? cost : 0;
+            case CONTRACT_COST_CHANGED -> active && event.getPreviousCostAmount() != null
+                    ? cost - event.getPreviousCostAmount().minorUnits()
+                    : 0;
+            case CONTRACT_CLOSED -> -cost;
+            default -> 0;
+        };
+    }
+
+    private static List<Entry> merge(Iterable<ClientLeaderboard> boards, int size) {
+        List<Entry> merged = new ArrayList<>();
+        for (ClientLeaderboard board : boards) {
+            List<Entry> snapshot = board.snapshot();
+            merged.addAll(snapshot.subList(0, Math.min(size, snapshot.size())));
+        }
+        merged.sort(ClientLeaderboard.RANKING);
+        return merged;
+    }
+
+    private static long corrections(Map<ClientType, ClientLeaderboard> before, Map<ClientType, ClientLeaderboard> after) {
+        Map<UUID, Long> previous = new HashMap<>();
+        before.values().forEach(board -> board.snapshot().forEach(entry -> previous.put(entry.clientId(), entry.total())));
+        long corrections = 0;
+        for (ClientLeaderboard board : after.values()) {
+            for (Entry entry : board.snapshot()) {
+                Long total = previous.remove(entry.clientId());
+                if (total == null || total != entry.total()) {
+                    corrections++;
+                }
+            }
+        }
+        return corrections + previous.size();
+    }
+}
@@ -0,0 +1,72 @@
+package ch.vaudoise.clientcontractapi.services.report;
+
+import ch.vaudoise.clientcontractapi.repositories.report.ContractReportRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically refreshes the contract reporting view.
+ * <p>
+ * The view is refreshed concurrently, so reports keep being served from the
+ * previous contents while it is recomputed. Instances race for an advisory
+ * lock and the losers skip the round. The duration of each refresh is
+ * recorded in the {@code reporting.refresh.duration} timer.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.reporting", name = "refresh-enabled", havingValue = "true", matchIfMissing = true)
+public class ContractReportRefresher {
+
+    private final ContractReportRepository reportRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer refreshTimer;
+
+    public ContractReportRefresher(ContractReportRepository reportRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.reportRepository = reportRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.refreshTimer = Timer.builder("reporting.refresh.duration")
+                .description("Duration of the refreshes of the reporting views")
+                .tag("view", ContractReportRepository.VIEW_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Refreshes the view unless another instance is already doing it.
+     *
+     * @return {@code true} if this call refreshed the view
+     */
+    @Scheduled(fixedDelayString = "${app.reporting.refresh-interval:PT15M}")
+    public boolean refresh() {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!reportRepository.tryLockRefresh()) {
+                    return false;
+                }
+                LocalDateTime refreshedAt = LocalDateTime.now();
+                long start = System.nanoTime();
+                reportRepository.refresh();
+                long duration = System.nanoTime() - start;
+                refreshTimer.record(duration, TimeUnit.NANOSECONDS);
+                reportRepository.saveRefresh(refreshedAt, TimeUnit.NANOSECONDS.toMillis(duration));
+                log.debug("Refreshed {} in {} ms", ContractReportRepository.VIEW_NAME,
+                        TimeUnit.NANOSECONDS.toMillis(duration));
+                return true;
+            }));
+        } catch (DataAccessException ex) {
+            log.error("Could not refresh {}", ContractReportRepository.VIEW_NAME, ex);
+            return false;
+        }
+    }
+}
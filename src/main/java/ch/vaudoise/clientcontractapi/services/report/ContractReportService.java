@@ -0,0 +1,75 @@
+package ch.vaudoise.clientcontractapi.services.report;
+
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
+import ch.vaudoise.clientcontractapi.config.ReportingProperties;
+import ch.vaudoise.clientcontractapi.dtos.report.MonthlyContractReportDTO;
+import ch.vaudoise.clientcontractapi.dtos.report.ReportDTO;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.repositories.report.ContractReportRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Serves contract reports from the precomputed reporting views, never from
+ * the live tables, and tells callers how fresh the numbers are.
+ */
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ContractReportService {
+
+    private final ContractReportRepository reportRepository;
+    private final ReportingProperties properties;
+
+    /**
+     * Returns, per client type and month, the contracts started and ended in
+     * the month and the contracts active at its end.
+     *
+     * @param clientType the client type to restrict to, or {@code null} for all
+     * @param from       the first month, defaults to eleven months before
+     *                   {@code to}
+     * @param to         the last month, defaults to the current month
+     * @return the report rows with their freshness
+     * @throws CustomValidationException if {@code from} is after {@code to} or
+     *                                   the range is too long
+     */
+    public ReportDTO<MonthlyContractReportDTO> getMonthlyReport(ClientType clientType, YearMonth from, YearMonth to) {
+        YearMonth last = to != null ? to : YearMonth.now();
+        YearMonth first = from != null ? from : last.minusMonths(11);
+        if (first.isAfter(last) || ChronoUnit.MONTHS.between(first, last) >= properties.getMaxMonths()) {
+            throw new CustomValidationException(
+                    "The report must span between 1 and " + properties.getMaxMonths() + " months",
+                    "from", "INVALID_REPORT_RANGE");
+        }
+        return withFreshness(reportRepository.findMonthly(clientType, first, last));
+    }
+
+    /**
+     * Returns, per client type, the figures of the current month.
+     *
+     * @return one row per client type, with their freshness
+     */
+    public ReportDTO<MonthlyContractReportDTO> getCurrentSummary() {
+        YearMonth current = YearMonth.now();
+        return withFreshness(reportRepository.findMonthly(null, current, current));
+    }
+
+    private <T> ReportDTO<T> withFreshness(List<T> rows) {
+        Optional<ContractReportRepository.Refresh> refresh = reportRepository.findLastRefresh();
+        LocalDateTime refreshedAt = refresh.map(ContractReportRepository.Refresh::refreshedAt).orElse(null);
+        boolean stale = refreshedAt == null
+                || refreshedAt.isBefore(LocalDateTime.now().minus(properties.getStaleAfter()));
+        return new ReportDTO<>(refreshedAt, refresh.map(ContractReportRepository.Refresh::durationMs).orElse(0L),
+                stale, rows);
+    }
+}
@@ -0,0 +1,47 @@
+package ch.vaudoise.clientcontractapi.services.slowquery;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A statement that ran longer than the slow query threshold. The SQL is
+ * normalized and only the types of the bind parameters are kept, never their
+ * values. The plan is filled in later, once sampled.
+ */
+@Getter
+@RequiredArgsConstructor
+public class SlowQuery {
+
+    /**
+     * Outcome of the plan sampling of a slow statement.
+     */
+    public enum ExplainStatus {
+        /** Waiting for the background EXPLAIN. */
+        PENDING,
+        /** The plan has been sampled. */
+        SAMPLED,
+        /** The statement is not a read-only query, failed or was batched. */
+        SKIPPED,
+        /** The sampling budget was exhausted. */
+        RATE_LIMITED,
+        /** The EXPLAIN failed; the plan holds the error. */
+        FAILED
+    }
+
+    private final Instant capturedAt;
+    private final long elapsedMillis;
+    private final String sql;
+    private final List<String> parameterTypes;
+    private final int batchSize;
+
+    private volatile ExplainStatus explainStatus = ExplainStatus.SKIPPED;
+    private volatile String plan;
+
+    void explained(ExplainStatus status, String plan) {
+        this.plan = plan;
+        this.explainStatus = status;
+    }
+}
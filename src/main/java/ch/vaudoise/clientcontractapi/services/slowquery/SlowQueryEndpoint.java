@@ -0,0 +1,33 @@
+package ch.vaudoise.clientcontractapi.services.slowquery;
+
+import ch.vaudoise.clientcontractapi.dtos.SlowQueryDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * Admin endpoint listing the last slow statements and their sampled plans,
+ * on {@code /actuator/slowqueries}.
+ */
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SlowQueryLog slowQueryLog;
+
+    /**
+     * Get the last slow statements.
+     *
+     * @param limit optional maximum number of statements, 20 by default
+     * @return the statements, most recent first
+     */
+    @ReadOperation
+    public List<SlowQueryDTO> slowQueries(@Nullable Integer limit) {
+        return slowQueryLog.recent(limit == null ? DEFAULT_LIMIT : limit);
+    }
+}
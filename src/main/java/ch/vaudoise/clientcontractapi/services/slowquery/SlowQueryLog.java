@@ -0,0 +1,133 @@
+package ch.vaudoise.clientcontractapi.services.slowquery;
+
+import ch.vaudoise.clientcontractapi.config.SlowQueryProperties;
+import ch.vaudoise.clientcontractapi.dtos.SlowQueryDTO;
+import ch.vaudoise.clientcontractapi.services.ratelimit.TokenBucket;
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQuery.ExplainStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last slow statements and samples their plans.
+ * <p>
+ * The statements are kept in a lock-free ring buffer of
+ * {@code app.slow-query.capacity} entries. Plans are sampled one at a time
+ * on a dedicated background thread, at most
+ * {@code app.slow-query.explains-per-minute} times per minute; statements
+ * over that budget are recorded without a plan, and a budget of zero
+ * disables sampling. Recording never blocks the thread that ran the
+ * statement.
+ */
+@Slf4j
+public class SlowQueryLog {
+
+    private static final int EXPLAIN_QUEUE_CAPACITY = 4;
+
+    private final AtomicReferenceArray<SlowQuery> entries;
+    private final AtomicLong recorded = new AtomicLong();
+    private final TokenBucket explainBudget; // null when no plan is sampled
+    private final ThreadPoolExecutor explainExecutor;
+    private final Counter recordedCounter;
+    private final MeterRegistry meterRegistry;
+
+    public SlowQueryLog(SlowQueryProperties properties, MeterRegistry meterRegistry) {
+        this.entries = new AtomicReferenceArray<>(Math.max(properties.getCapacity(), 1));
+        this.explainBudget = properties.getExplainsPerMinute() > 0
+                ? new TokenBucket(1, properties.getExplainsPerMinute() / 60.0, System.nanoTime())
+                : null;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "slow-query-explain");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.recordedCounter = Counter.builder("db.slow.statements")
+                .description("Statements that ran longer than the slow query threshold")
+                .register(meterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Records a slow statement and, within the sampling budget, samples its
+     * plan in the background.
+     *
+     * @param query   the slow statement
+     * @param explain returns the plan of the statement, or {@code null} if
+     *                the statement must not be explained
+     */
+    public void record(SlowQuery query, Callable<String> explain) {
+        entries.set((int) (recorded.getAndIncrement() % entries.length()), query);
+        recordedCounter.increment();
+        if (explain == null || explainBudget == null) {
+            return;
+        }
+        if (explainBudget.tryAcquire(System.nanoTime()) > 0) {
+            explained(query, ExplainStatus.RATE_LIMITED, null);
+            return;
+        }
+        query.explained(ExplainStatus.PENDING, null);
+        try {
+            explainExecutor.execute(() -> {
+                try {
+                    explained(query, ExplainStatus.SAMPLED, explain.call());
+                } catch (Exception ex) {
+                    log.warn("Could not explain slow statement {}", query.getSql(), ex);
+                    explained(query, ExplainStatus.FAILED, ex.toString());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            explained(query, ExplainStatus.RATE_LIMITED, null);
+        }
+    }
+
+    /**
+     * Get the last slow statements.
+     *
+     * @param limit the maximum number of statements, bounded by the capacity;
+     *              none if negative
+     * @return the statements, most recent first
+     */
+    public List<SlowQueryDTO> recent(int limit) {
+        long last = recorded.get();
+        long first = Math.max(0, last - Math.max(0, Math.min(limit, entries.length())));
+        List<SlowQueryDTO> result = new ArrayList<>((int) (last - first));
+        for (long i = last - 1; i >= first; i--) {
+            SlowQuery query = entries.get((int) (i % entries.length()));
+            if (query != null) {
+                result.add(SlowQueryDTO.builder()
+                        .capturedAt(query.getCapturedAt())
+                        .elapsedMillis(query.getElapsedMillis())
+                        .sql(query.getSql())
+                        .parameterTypes(query.getParameterTypes())
+                        .batchSize(query.getBatchSize())
+                        .explainStatus(query.getExplainStatus())
+                        .plan(query.getPlan())
+                        .build());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stops sampling plans; called by Spring on shutdown.
+     */
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    private void explained(SlowQuery query, ExplainStatus status, String plan) {
+        query.explained(status, plan);
+        meterRegistry.counter("db.slow.explains", "outcome", status.name().toLowerCase()).increment();
+    }
+}
@@ -0,0 +1,36 @@
+package ch.vaudoise.clientcontractapi.services.stream;
+
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+
+import java.io.IOException;
+
+/**
+ * Destination of the events delivered to a single change stream subscriber.
+ * <p>
+ * The production implementation writes to an SSE connection
+ * ({@link SseEventSink}); tests and benchmarks can plug in their own.
+ */
+public interface ChangeEventSink {
+
+    /**
+     * Delivers an event to the subscriber.
+     *
+     * @param id   the stream-wide sequence number of the event
+     * @param type the type of the event
+     * @param json the event serialized once for all subscribers
+     * @throws IOException if the subscriber connection is broken
+     */
+    void send(long id, DomainEventType type, String json) throws IOException;
+
+    /**
+     * Sends a keep-alive signal to the subscriber.
+     *
+     * @throws IOException if the subscriber connection is broken
+     */
+    void heartbeat() throws IOException;
+
+    /**
+     * Closes the subscriber connection.
+     */
+    void close();
+}
@@ -0,0 +1,30 @@
+package ch.vaudoise.clientcontractapi.services.stream;
+
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Subscriber-side filter of the change stream. A {@code null} criterion
+ * matches every event.
+ */
+@Value
+public class ChangeStreamFilter {
+
+    ClientType clientType;
+
+    UUID clientId;
+
+    /**
+     * Checks whether the given event should be delivered to the subscriber.
+     *
+     * @param event the published event
+     * @return {@code true} if the event matches every non-null criterion
+     */
+    public boolean matches(DomainEvent event) {
+        return (clientType == null || clientType == event.getClientType())
+                && (clientId == null || clientId.equals(event.getClientId()));
+    }
+}
@@ -0,0 +1,187 @@
+package ch.vaudoise.clientcontractapi.services.stream;
+
+import ch.vaudoise.clientcontractapi.config.ChangeStreamProperties;
+import ch.vaudoise.clientcontractapi.config.MetricsConfig;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes {@link DomainEvent}s to Server-Sent Events subscribers once the
+ * publishing transaction has committed.
+ * <p>
+ * Each subscriber owns a bounded buffer. Publishing serializes the event once
+ * and only enqueues it into the buffers of matching subscribers; a small
+ * shared pool of dispatcher threads
+ * writes to the connections, so idle subscribers cost no thread and no CPU.
+ * A subscriber whose buffer overflows is disconnected rather than allowed to
+ * slow down the others; SSE clients reconnect on their own.
+ */
+@Slf4j
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ChangeStreamService {
+
+    private final ChangeStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, ChangeSubscription> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicLong subscriptionIds = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicLong slowConsumerDisconnects = new AtomicLong();
+    private final ExecutorService dispatcher;
+
+    public ChangeStreamService(ChangeStreamProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(properties.getDispatchThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens an SSE connection receiving the events that match the given filter.
+     *
+     * @param filter the subscriber filter
+     * @return the emitter bound to the HTTP response
+     */
+    public SseEmitter subscribe(ChangeStreamFilter filter) {
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        ChangeSubscription subscription = register(filter, new SseEventSink(emitter));
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(ex -> unsubscribe(subscription));
+        return emitter;
+    }
+
+    /**
+     * Registers a subscriber writing to an arbitrary sink.
+     *
+     * @param filter the subscriber filter
+     * @param sink   the destination of the events
+     * @return the created subscription
+     */
+    public ChangeSubscription register(ChangeStreamFilter filter, ChangeEventSink sink) {
+        ChangeSubscription subscription = new ChangeSubscription(
+                subscriptionIds.incrementAndGet(), filter, sink, properties.getSubscriberBufferSize());
+        subscriptions.put(subscription.getId(), subscription);
+        return subscription;
+    }
+
+    /**
+     * Removes a subscriber and closes its connection.
+     *
+     * @param subscription the subscription to remove
+     */
+    public void unsubscribe(ChangeSubscription subscription) {
+        subscriptions.remove(subscription.getId());
+        subscription.close();
+    }
+
+    /**
+     * Fans a committed event out to every matching subscriber. Runs on the
+     * publishing thread and never blocks on subscriber I/O.
+     *
+     * @param event the committed event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDomainEvent(DomainEvent event) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException ex) {
+            log.error("Could not serialize {} for the change stream", event.getType(), ex);
+            return;
+        }
+        long eventId = eventIds.incrementAndGet();
+        for (ChangeSubscription subscription : subscriptions.values()) {
+            if (!subscription.getFilter().matches(event)) {
+                continue;
+            }
+            if (subscription.offer(eventId, event.getType(), json)) {
+                schedule(subscription);
+            } else {
+                slowConsumerDisconnects.incrementAndGet();
+                log.warn("Disconnecting slow change stream subscriber {}", subscription.getId());
+                unsubscribe(subscription);
+            }
+        }
+    }
+
+    /**
+     * Sends a heartbeat to every subscriber so that dead connections are
+     * detected and removed.
+     */
+    @Scheduled(fixedDelayString = "${app.change-stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (ChangeSubscription subscription : subscriptions.values()) {
+            if (subscription.offerHeartbeat()) {
+                schedule(subscription);
+            }
+        }
+    }
+
+    /**
+     * @return the number of connected subscribers
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return the number of subscribers disconnected because their buffer
+     *         overflowed
+     */
+    public long getSlowConsumerDisconnects() {
+        return slowConsumerDisconnects.get();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscriptions.values().forEach(this::unsubscribe);
+        dispatcher.shutdownNow();
+    }
+
+    private void schedule(ChangeSubscription subscription) {
+        if (!subscription.trySchedule()) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> drain(subscription));
+        } catch (RejectedExecutionException ex) {
+            unsubscribe(subscription);
+        }
+    }
+
+    private void drain(ChangeSubscription subscription) {
+        try {
+            if (subscription.drain()) {
+                dispatcher.execute(() -> drain(subscription));
+            }
+        } catch (IOException | IllegalStateException | RejectedExecutionException ex) {
+            log.debug("Change stream subscriber {} disconnected: {}", subscription.getId(), ex.getMessage());
+            unsubscribe(subscription);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package ch.vaudoise.clientcontractapi.services.stream;
+
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A single change stream subscriber: its filter, its bounded buffer of
+ * pending events and the sink they are written to.
+ * <p>
+ * Publishers only enqueue; the buffer is drained by at most one dispatcher
+ * thread at a time, guarded by {@link #scheduled}. Heartbeats are enqueued as
+ * entries without a type so they never overtake pending events.
+ */
+public class ChangeSubscription {
+
+    @Getter
+    private final long id;
+
+    @Getter
+    private final ChangeStreamFilter filter;
+
+    private final ChangeEventSink sink;
+    private final Queue<Entry> buffer;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    ChangeSubscription(long id, ChangeStreamFilter filter, ChangeEventSink sink, int bufferSize) {
+        this.id = id;
+        this.filter = filter;
+        this.sink = sink;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * Buffers an event for delivery.
+     *
+     * @return {@code false} if the buffer is full
+     */
+    boolean offer(long eventId, DomainEventType type, String json) {
+        return buffer.offer(new Entry(eventId, type, json));
+    }
+
+    /**
+     * Buffers a heartbeat unless events are already pending, in which case the
+     * next event write serves the same purpose.
+     */
+    boolean offerHeartbeat() {
+        return !buffer.isEmpty() || buffer.offer(new Entry(0, null, null));
+    }
+
+    /**
+     * Claims the right to drain the buffer.
+     *
+     * @return {@code true} if the caller must schedule {@link #drain()}
+     */
+    boolean trySchedule() {
+        return !closed.get() && scheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Writes every buffered entry to the sink.
+     *
+     * @return {@code true} if entries arrived while releasing the claim and the
+     *         caller must schedule another drain
+     * @throws IOException if the sink is broken
+     */
+    boolean drain() throws IOException {
+        try {
+            Entry entry;
+            while (!closed.get() && (entry = buffer.poll()) != null) {
+                if (entry.type == null) {
+                    sink.heartbeat();
+                } else {
+                    sink.send(entry.id, entry.type, entry.json);
+                }
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        return !buffer.isEmpty() && trySchedule();
+    }
+
+    /**
+     * Closes the subscription and its sink. Idempotent.
+     *
+     * @return {@code true} if this call closed the subscription
+     */
+    boolean close() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        buffer.clear();
+        sink.close();
+        return true;
+    }
+
+    private record Entry(long id, DomainEventType type, String json) {
+    }
+}
@@ -0,0 +1,37 @@
+package ch.vaudoise.clientcontractapi.services.stream;
+
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * {@link ChangeEventSink} writing events to an {@link SseEmitter}.
+ * The event name is the {@link DomainEventType} and the data is the JSON
+ * representation of the {@link ch.vaudoise.clientcontractapi.events.DomainEvent}.
+ */
+@RequiredArgsConstructor
+public class SseEventSink implements ChangeEventSink {
+
+    private final SseEmitter emitter;
+
+    @Override
+    public void send(long id, DomainEventType type, String json) throws IOException {
+        emitter.send(SseEmitter.event()
+                .id(Long.toString(id))
+                .name(type.name())
+                .data(json, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws IOException {
+        emitter.send(SseEmitter.event().comment("heartbeat"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
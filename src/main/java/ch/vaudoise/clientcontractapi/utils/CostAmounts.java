@@ -0,0 +1,44 @@
+package ch.vaudoise.clientcontractapi.utils;
+
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+
+/**
+ * Converts the cost amounts received in requests to {@link Money}.
+ * <p>
+ * Amounts that are not finite or do not fit in the cost column are rejected
+ * as invalid input, instead of failing the conversion or the insert with an
+ * internal error.
+ */
+public final class CostAmounts {
+
+    private CostAmounts() {
+    }
+
+    /**
+     * @param amount an amount in francs, or {@code null}
+     * @param field  the request field holding the amount, reported in the
+     *               error
+     * @return the amount rounded to the centime, or {@code null}
+     * @throws CustomValidationException if the amount is NaN, infinite or
+     *                                   beyond {@link Money#MAX_STORABLE}
+     */
+    public static Money of(Double amount, String field) {
+        Money money;
+        try {
+            money = Money.of(amount);
+        } catch (IllegalArgumentException | ArithmeticException ex) {
+            throw invalid(field);
+        }
+        long max = Money.MAX_STORABLE.minorUnits();
+        if (money != null && (money.minorUnits() > max || money.minorUnits() < -max)) {
+            throw invalid(field);
+        }
+        return money;
+    }
+
+    private static CustomValidationException invalid(String field) {
+        return new CustomValidationException(
+                "Amount must be a finite number of at most " + Money.MAX_STORABLE, field, "INVALID_AMOUNT");
+    }
+}
@@ -0,0 +1,42 @@
+package ch.vaudoise.clientcontractapi.utils;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Resolves who is performing the current change.
+ * <p>
+ * The API has no authentication yet, so the actor is taken from the
+ * {@value #HEADER} request header. Changes made outside of an HTTP request, or
+ * without the header, are attributed to {@value #SYSTEM}.
+ */
+public final class RequestActor {
+
+    public static final String HEADER = "X-Actor";
+    public static final String SYSTEM = "system";
+
+    private static final int MAX_LENGTH = 255;
+
+    private RequestActor() {
+    }
+
+    /**
+     * @return the actor of the current request, or {@value #SYSTEM}
+     */
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return SYSTEM;
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        String actor = request.getHeader(HEADER);
+        if (!StringUtils.hasText(actor)) {
+            return SYSTEM;
+        }
+        actor = actor.strip();
+        return actor.length() > MAX_LENGTH ? actor.substring(0, MAX_LENGTH) : actor;
+    }
+}
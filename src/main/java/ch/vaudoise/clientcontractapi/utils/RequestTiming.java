@@ -0,0 +1,128 @@
+package ch.vaudoise.clientcontractapi.utils;
+
+/**
+ * Accumulates, per thread, the time the current request spends in each
+ * {@link Phase}.
+ * <p>
+ * Timing is only active between {@link #begin()} and {@link #end()}, when a
+ * caller asked for it; otherwise {@link #enter(Phase)} and
+ * {@link #exit(Phase)} cost a thread-local lookup and a branch, and nothing
+ * is allocated. A timed request gets one instance holding primitive arrays,
+ * so recording a phase never allocates. Nested entries into the same phase, such as a mapper mapping
+ * the elements of a list, are counted once, and a phase still open at
+ * {@link #end()} is closed there. Work handed to other threads is not
+ * counted.
+ */
+public final class RequestTiming {
+
+    /**
+     * The phases of a request that are timed, with their
+     * {@code Server-Timing} metric names.
+     */
+    public enum Phase {
+        DB("db"),
+        MAPPING("map"),
+        VALIDATION("val"),
+        SERIALIZATION("ser");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long[] totals = new long[PHASES.length];
+    private final long[] enteredAt = new long[PHASES.length];
+    private final int[] depths = new int[PHASES.length];
+    private long begunAt;
+    private long endedAt;
+
+    private RequestTiming() {
+    }
+
+    /**
+     * Starts timing the request of the current thread.
+     *
+     * @return the timing of the request, to read once ended
+     */
+    public static RequestTiming begin() {
+        RequestTiming timing = new RequestTiming();
+        timing.begunAt = System.nanoTime();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    /**
+     * Marks the start of a phase.
+     *
+     * @param phase the phase
+     */
+    public static void enter(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        if (timing.depths[phase.ordinal()]++ == 0) {
+            timing.enteredAt[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the end of a phase started by {@link #enter(Phase)}.
+     *
+     * @param phase the phase
+     */
+    public static void exit(Phase phase) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        int i = phase.ordinal();
+        if (timing.depths[i] > 0 && --timing.depths[i] == 0) {
+            timing.totals[i] += System.nanoTime() - timing.enteredAt[i];
+        }
+    }
+
+    /**
+     * Stops timing the request of the current thread, closing the phases
+     * still open.
+     */
+    public static void end() {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return;
+        }
+        CURRENT.remove();
+        timing.endedAt = System.nanoTime();
+        for (int i = 0; i < PHASES.length; i++) {
+            if (timing.depths[i] > 0) {
+                timing.totals[i] += timing.endedAt - timing.enteredAt[i];
+                timing.depths[i] = 0;
+            }
+        }
+    }
+
+    /**
+     * @param phase the phase
+     * @return the time spent in the phase, in nanoseconds
+     */
+    public long nanos(Phase phase) {
+        return totals[phase.ordinal()];
+    }
+
+    /**
+     * @return the time between {@link #begin()} and {@link #end()}, in
+     *         nanoseconds
+     */
+    public long totalNanos() {
+        return endedAt - begunAt;
+    }
+}
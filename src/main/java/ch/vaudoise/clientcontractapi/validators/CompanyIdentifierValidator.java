@@ -3,6 +3,8 @@ package ch.vaudoise.clientcontractapi.validators;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 
+import java.util.regex.Pattern;
+
 /**
  * Validator for the {@link ValidCompanyIdentifier} annotation.
  * This ensures that the company identifier is in the correct format: 'aaa-123',
@@ -10,7 +12,8 @@ import jakarta.validation.ConstraintValidatorContext;
  */
 public class CompanyIdentifierValidator implements ConstraintValidator<ValidCompanyIdentifier, String> {
 
-    private static final String COMPANY_IDENTIFIER_PATTERN = "^[a-zA-Z]{3}-\\d{3}$";  // Matches aaa-123
+    // Compiled once: String.matches would compile the regex on every call
+    private static final Pattern COMPANY_IDENTIFIER_PATTERN = Pattern.compile("^[a-zA-Z]{3}-\\d{3}$");  // Matches aaa-123
 
     /**
      * Initializes the validator.
@@ -35,6 +38,6 @@ public class CompanyIdentifierValidator implements ConstraintValidator<ValidComp
             return true;  // Let other validation annotations (like @NotNull) handle null checks
         }
 
-        return companyIdentifier.matches(COMPANY_IDENTIFIER_PATTERN);
+        return COMPANY_IDENTIFIER_PATTERN.matcher(companyIdentifier).matches();
     }
 }
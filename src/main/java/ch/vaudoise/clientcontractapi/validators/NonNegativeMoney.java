@@ -0,0 +1,43 @@
+package ch.vaudoise.clientcontractapi.validators;
+
+import jakarta.validation.Constraint;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Custom annotation to validate that an amount of
+ * {@link ch.vaudoise.clientcontractapi.models.values.Money} is not negative,
+ * the equivalent of {@code @DecimalMin("0.0")} for decimal amounts.
+ * A {@code null} amount is considered valid.
+ * The actual validation logic is implemented in the
+ * {@link NonNegativeMoneyValidator} class.
+ */
+@Constraint(validatedBy = NonNegativeMoneyValidator.class)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NonNegativeMoney {
+
+    /**
+     * The error message to be displayed when the validation fails.
+     * 
+     * @return the error message
+     */
+    String message() default "Amount must not be negative";
+
+    /**
+     * Allows for the grouping of constraints. Can be used to specify validation
+     * groups when performing validations.
+     * 
+     * @return the groups associated with the constraint
+     */
+    Class<?>[] groups() default {};
+
+    /**
+     * Carries additional data that can be used by the validation logic.
+     * 
+     * @return the payload associated with the constraint
+     */
+    Class<? extends jakarta.validation.Payload>[] payload() default {};
+}
@@ -0,0 +1,24 @@
+package ch.vaudoise.clientcontractapi.validators;
+
+import ch.vaudoise.clientcontractapi.models.values.Money;
+
+/**
+ * Validator class for {@link NonNegativeMoney} annotation.
+ * This class ensures that an amount of money is zero or positive.
+ */
+public class NonNegativeMoneyValidator implements jakarta.validation.ConstraintValidator<NonNegativeMoney, Money> {
+
+    /**
+     * Validates that the given amount is not negative.
+     *
+     * @param amount  the amount to be validated
+     * @param context the context in which the constraint is being evaluated
+     * @return true if the amount is {@code null}, zero or positive; false
+     *         otherwise
+     */
+    @Override
+    public boolean isValid(Money amount, jakarta.validation.ConstraintValidatorContext context) {
+        // A null amount is left to @NotNull
+        return amount == null || amount.signum() >= 0;
+    }
+}
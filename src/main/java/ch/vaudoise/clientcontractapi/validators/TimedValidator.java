@@ -0,0 +1,54 @@
+package ch.vaudoise.clientcontractapi.validators;
+
+import ch.vaudoise.clientcontractapi.utils.RequestTiming;
+import ch.vaudoise.clientcontractapi.utils.RequestTiming.Phase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Validator of the request bodies adding the validation time to the
+ * {@link Phase#VALIDATION} phase of the {@link RequestTiming} of the
+ * request.
+ */
+@RequiredArgsConstructor
+public class TimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        RequestTiming.enter(Phase.VALIDATION);
+        try {
+            delegate.validate(target, errors);
+        } finally {
+            RequestTiming.exit(Phase.VALIDATION);
+        }
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        RequestTiming.enter(Phase.VALIDATION);
+        try {
+            delegate.validate(target, errors, validationHints);
+        } finally {
+            RequestTiming.exit(Phase.VALIDATION);
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+            Object... validationHints) {
+        RequestTiming.enter(Phase.VALIDATION);
+        try {
+            delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+        } finally {
+            RequestTiming.exit(Phase.VALIDATION);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+-- ==============================
+-- TRANSACTIONAL OUTBOX
+-- ==============================
+
+-- Domain events written in the same transaction as the change that caused them.
+-- Rows are relayed to the configured sink and marked as published; published rows
+-- are purged after a retention period.
+CREATE SEQUENCE outbox_event_id_seq INCREMENT BY 50;
+
+CREATE TABLE outbox_event (
+    id BIGINT PRIMARY KEY DEFAULT nextval('outbox_event_id_seq'),
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_type VARCHAR(20) NOT NULL CHECK (aggregate_type IN ('CLIENT', 'CONTRACT')),
+    aggregate_id UUID NOT NULL,
+    payload JSONB NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+
+ALTER SEQUENCE outbox_event_id_seq OWNED BY outbox_event.id;
+
+-- Index used by the relay to fetch the next batch of unpublished events
+CREATE INDEX idx_outbox_event_unpublished ON outbox_event(id) WHERE published_at IS NULL;
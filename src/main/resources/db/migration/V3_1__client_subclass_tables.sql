@@ -0,0 +1,18 @@
+-- ==============================
+-- CLIENT SUBCLASS TABLES
+-- ==============================
+
+-- Tables of the Person and Company subclasses of Client (joined inheritance).
+-- They were so far only created by Hibernate (ddl-auto), after Flyway had run;
+-- creating them here lets later migrations index them. The name of the unique
+-- constraint is declared on the Company entity as well.
+CREATE TABLE person_client (
+    id UUID PRIMARY KEY REFERENCES client(id),
+    birthdate DATE
+);
+
+CREATE TABLE company_client (
+    id UUID PRIMARY KEY REFERENCES client(id),
+    company_identifier VARCHAR(255) NOT NULL,
+    CONSTRAINT uk_company_client_identifier UNIQUE (company_identifier)
+);
@@ -0,0 +1,39 @@
+-- ==============================
+-- CONTRACT COST HISTORY
+-- ==============================
+
+-- Append-only audit of contract cost changes. event_id is the id of the
+-- CONTRACT_COST_CHANGED domain event, so that a change written both by the
+-- asynchronous writer and by the outbox reconciliation is only stored once.
+-- No foreign key to contract: the history must outlive the contract.
+CREATE TABLE contract_cost_history (
+    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    event_id UUID NOT NULL UNIQUE,
+    contract_id UUID NOT NULL,
+    old_cost NUMERIC(10,2),
+    new_cost NUMERIC(10,2) NOT NULL,
+    changed_at TIMESTAMP NOT NULL,
+    actor VARCHAR(255) NOT NULL
+);
+
+-- Index serving the paginated history of one contract, newest first
+CREATE INDEX idx_contract_cost_history_contract
+    ON contract_cost_history(contract_id, changed_at DESC, id DESC);
+
+-- Index serving the periodic recovery of the history, which reads the
+-- CONTRACT_COST_CHANGED events of a recent created_at window from the outbox.
+-- Without it every run scans the whole outbox.
+CREATE INDEX idx_outbox_event_type_created_at ON outbox_event(event_type, created_at);
+
+-- Reject updates and deletes
+CREATE OR REPLACE FUNCTION reject_contract_cost_history_change()
+RETURNS TRIGGER AS $$
+BEGIN
+    RAISE EXCEPTION 'contract_cost_history is append-only';
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_contract_cost_history_append_only
+BEFORE UPDATE OR DELETE ON contract_cost_history
+FOR EACH ROW
+EXECUTE FUNCTION reject_contract_cost_history_change();
@@ -0,0 +1,10 @@
+-- ==============================
+-- CLIENT FUZZY SEARCH
+-- ==============================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram indexes serving the word similarity operator (<%) of the search
+CREATE INDEX idx_client_name_trgm ON client USING gin (name gin_trgm_ops);
+CREATE INDEX idx_client_email_trgm ON client USING gin (email gin_trgm_ops);
+CREATE INDEX idx_company_client_identifier_trgm ON company_client USING gin (company_identifier gin_trgm_ops);
@@ -0,0 +1,19 @@
+-- ==============================
+-- POINT-IN-TIME CONTRACT QUERIES
+-- ==============================
+
+-- btree_gist lets the uuid client_id share a GiST index with the range
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Validity period of a contract: active from start_date (inclusive) until
+-- end_date (exclusive), unbounded when end_date is null. A contract closed
+-- before it started gets an empty period and is never active.
+ALTER TABLE contract ADD COLUMN period DATERANGE GENERATED ALWAYS AS (
+    CASE
+        WHEN end_date IS NULL THEN daterange(start_date, NULL, '[)')
+        ELSE daterange(start_date, GREATEST(end_date, start_date), '[)')
+    END
+) STORED;
+
+-- Index serving "contracts of a client active on date X" for any date
+CREATE INDEX idx_contract_client_period ON contract USING GIST (client_id, period);
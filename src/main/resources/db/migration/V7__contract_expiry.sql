@@ -0,0 +1,18 @@
+-- ==============================
+-- CONTRACT EXPIRY
+-- ==============================
+
+-- Index serving the keyset-paginated scan of contracts by end date. Open-ended
+-- contracts never expire and are left out.
+CREATE INDEX idx_contract_end_date ON contract(end_date, id) WHERE end_date IS NOT NULL;
+
+-- Contracts reported by the expiry scanner, with the end date they were
+-- reported for. The scanner rescans its whole notice window on every run and
+-- skips the contracts found here, so that contracts created or closed inside
+-- the window are reported too, and again if their end date changes. Rows of
+-- ended contracts are purged by the scanner.
+CREATE TABLE contract_expiry_notification (
+    contract_id UUID PRIMARY KEY REFERENCES contract(id) ON DELETE CASCADE,
+    end_date DATE NOT NULL,
+    notified_at TIMESTAMP NOT NULL
+);
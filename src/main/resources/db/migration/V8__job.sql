@@ -0,0 +1,28 @@
+-- ==============================
+-- BULK JOBS
+-- ==============================
+
+-- Long-running bulk operations submitted through POST /jobs. Work is done in
+-- chunks; each chunk commits together with the progress counters and the
+-- checkpoint of the job, so a job interrupted by a restart resumes after its
+-- last committed chunk. A running job refreshes heartbeat_at after every
+-- chunk, which tells other instances whether it is still alive.
+CREATE TABLE job (
+    id UUID PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'SUCCEEDED', 'FAILED')),
+    parameters JSONB NOT NULL,
+    total_items BIGINT,
+    processed BIGINT NOT NULL DEFAULT 0,
+    failed BIGINT NOT NULL DEFAULT 0,
+    checkpoint TEXT,
+    last_error TEXT,
+    created_by VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    started_at TIMESTAMP,
+    heartbeat_at TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+-- Jobs to resume, scanned periodically
+CREATE INDEX idx_job_unfinished ON job(created_at) WHERE status IN ('QUEUED', 'RUNNING');
@@ -0,0 +1,131 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import ch.vaudoise.clientcontractapi.services.stream.ChangeStreamService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test of the SSE change stream: opens {@code subscribers} concurrent
+ * connections, measures process CPU while they are idle, then pushes
+ * {@code events} contract cost updates and measures the CPU spent until every
+ * subscriber has received every event.
+ * <p>
+ * The subscribers run in the same JVM, so the reported CPU is an upper bound
+ * for the server side.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.ChangeStreamLoadTest \
+ *     -Dperf.args="subscribers=1000 events=200 idleSeconds=10"
+ * </pre>
+ */
+public final class ChangeStreamLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        int subscribers = PerfSupport.intOption(options, "subscribers", 1000);
+        int events = PerfSupport.intOption(options, "events", 200);
+        int idleSeconds = PerfSupport.intOption(options, "idleSeconds", 10);
+
+        try (ConfigurableApplicationContext context = PerfSupport.startApplication(args,
+                "--app.change-stream.subscriber-buffer-size=" + Math.max(256, events * 2))) {
+            String baseUrl = PerfSupport.baseUrl(context);
+            ChangeStreamService streamService = context.getBean(ChangeStreamService.class);
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newFixedThreadPool(4))
+                    .build();
+
+            AtomicLong received = new AtomicLong();
+            for (int i = 0; i < subscribers; i++) {
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/events/stream")).GET().build();
+                http.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new CountingSubscriber(received)));
+            }
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            while (streamService.getSubscriberCount() < subscribers && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            System.out.printf("connected subscribers: %d%n", streamService.getSubscriberCount());
+
+            long idleCpu = PerfSupport.processCpuNanos();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(idleSeconds));
+            idleCpu = PerfSupport.processCpuNanos() - idleCpu;
+
+            String clientId = PerfSupport.postForId(http, baseUrl + "/clients", """
+                    {"type":"PERSON","name":"Stream Load","email":"stream-%s@perf.local","birthdate":"1980-01-01"}
+                    """.formatted(UUID.randomUUID()));
+            String contractId = PerfSupport.postForId(http,
+                    baseUrl + "/contracts/" + clientId + "?clientType=PERSON", """
+                    {"clientId":"%s","costAmount":100.0}
+                    """.formatted(clientId));
+
+            long baseline = received.get();
+            long expected = baseline + (long) events * subscribers;
+            long burstCpu = PerfSupport.processCpuNanos();
+            long burstStart = System.nanoTime();
+            for (int i = 0; i < events; i++) {
+                HttpRequest update = HttpRequest.newBuilder(
+                                URI.create(baseUrl + "/contracts/" + contractId + "/cost?cost=" + (100 + i)))
+                        .PUT(HttpRequest.BodyPublishers.noBody())
+                        .build();
+                http.send(update, HttpResponse.BodyHandlers.discarding());
+            }
+            deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(120);
+            while (received.get() < expected && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            long burstNanos = System.nanoTime() - burstStart;
+            burstCpu = PerfSupport.processCpuNanos() - burstCpu;
+            long delivered = received.get() - baseline;
+
+            System.out.printf("idle:  %d subscribers, %.1f ms CPU per second (%.2f%% of one core)%n",
+                    subscribers, idleCpu / 1e6 / idleSeconds, idleCpu / 1e7 / idleSeconds);
+            System.out.printf("burst: %d events x %d subscribers, delivered %d/%d in %.2f s%n",
+                    events, subscribers, delivered, (long) events * subscribers, burstNanos / 1e9);
+            System.out.printf("burst: %.1f ms CPU total, %.2f us CPU per delivered event (includes HTTP writes)%n",
+                    burstCpu / 1e6, delivered == 0 ? 0 : burstCpu / 1e3 / delivered);
+            System.out.printf("slow consumer disconnects: %d%n", streamService.getSlowConsumerDisconnects());
+            // exit without closing the context while a thousand connections are still open
+            System.exit(0);
+        }
+    }
+
+    private static final class CountingSubscriber implements Flow.Subscriber<String> {
+
+        private final AtomicLong received;
+
+        CountingSubscriber(AtomicLong received) {
+            this.received = received;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("event:CONTRACT_COST_CHANGED")) {
+                received.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
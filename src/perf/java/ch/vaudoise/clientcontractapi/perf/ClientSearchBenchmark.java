@@ -0,0 +1,205 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Latency benchmark of {@code GET /clients/search}.
+ * <p>
+ * Seeds the database up to {@code clients} synthetic clients (see
+ * {@code perf/client-search-dataset.sql}; the trigram indexes are dropped
+ * during the load and rebuilt afterwards), derives {@code requests} queries
+ * from random existing clients (surname prefixes, misspelt names, email
+ * fragments and company identifier prefixes), replays them from
+ * {@code threads} concurrent callers and reports latency percentiles overall
+ * and per kind of query, and the plan of a typical query.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.ClientSearchBenchmark \
+ *     -Dperf.args="clients=5000000 requests=2000 threads=4"
+ * </pre>
+ */
+public final class ClientSearchBenchmark {
+
+    private static final int SEED_CHUNK = 250_000;
+    private static final List<String> KINDS = List.of("surname prefix", "misspelt name", "email fragment",
+            "company identifier");
+
+    private record Query(String kind, String text) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        int clients = PerfSupport.intOption(options, "clients", 1_000_000);
+        int requests = PerfSupport.intOption(options, "requests", 2000);
+        int threads = PerfSupport.intOption(options, "threads", 4);
+        int warmup = PerfSupport.intOption(options, "warmup", 200);
+
+        try (ConfigurableApplicationContext context = PerfSupport.startApplication(args)) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            seed(jdbc, clients);
+            List<Query> queries = queries(jdbc, requests + warmup, new Random(42));
+            String sample = queries.get(0).text();
+            System.out.println("plan of '" + sample + "':");
+            jdbc.queryForList("""
+                    EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+                    SELECT id FROM client WHERE name ILIKE ? OR email ILIKE ? LIMIT 200
+                    """, String.class, "%" + sample + "%", "%" + sample + "%")
+                    .forEach(line -> System.out.println("  " + line));
+
+            String baseUrl = PerfSupport.baseUrl(context);
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            run(http, baseUrl, queries.subList(0, warmup), threads);
+            List<Query> measured = queries.subList(warmup, queries.size());
+            long[] latencies = run(http, baseUrl, measured, threads);
+            long clientCount = jdbc.queryForObject("SELECT count(*) FROM client", Long.class);
+            System.out.printf("%d searches over %d clients, %d threads%n", latencies.length, clientCount, threads);
+            report("all", latencies);
+            for (String kind : KINDS) {
+                report(kind, IntStream.range(0, measured.size())
+                        .filter(i -> measured.get(i).kind().equals(kind))
+                        .mapToLong(i -> latencies[i])
+                        .toArray());
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void seed(JdbcTemplate jdbc, int clients) throws Exception {
+        long existing = jdbc.queryForObject("SELECT count(*) FROM client", Long.class);
+        if (existing >= clients) {
+            return;
+        }
+        String script = new ClassPathResource("perf/client-search-dataset.sql")
+                .getContentAsString(StandardCharsets.UTF_8);
+        List<Map<String, Object>> indexes = jdbc.queryForList(
+                "SELECT indexname, indexdef FROM pg_indexes WHERE indexname LIKE '%\\_trgm'");
+        indexes.forEach(index -> jdbc.execute("DROP INDEX " + index.get("indexname")));
+        long start = System.nanoTime();
+        long loaded;
+        try {
+            for (long from = existing + 1; from <= clients; from += SEED_CHUNK) {
+                long to = Math.min(from + SEED_CHUNK - 1, clients);
+                jdbc.execute(script.replace("${from}", Long.toString(from)).replace("${to}", Long.toString(to)));
+                System.out.printf("seeded clients up to %d%n", to);
+            }
+        } finally {
+            loaded = System.nanoTime();
+            indexes.forEach(index -> jdbc.execute((String) index.get("indexdef")));
+        }
+        jdbc.execute("ANALYZE client");
+        jdbc.execute("ANALYZE company_client");
+        System.out.printf("seeding took %.0f s, index build %.0f s%n",
+                (loaded - start) / 1e9, (System.nanoTime() - loaded) / 1e9);
+    }
+
+    private static List<Query> queries(JdbcTemplate jdbc, int count, Random random) {
+        List<Map<String, Object>> samples = jdbc.queryForList("""
+                SELECT c.name, c.email, cc.company_identifier
+                FROM client c TABLESAMPLE SYSTEM (1)
+                LEFT JOIN company_client cc ON cc.id = c.id
+                LIMIT ?
+                """, count);
+        List<Query> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> sample = samples.get(i % samples.size());
+            String name = (String) sample.get("name");
+            String email = (String) sample.get("email");
+            String identifier = (String) sample.get("company_identifier");
+            String surname = identifier != null ? name.substring(0, name.indexOf(' '))
+                    : name.substring(name.lastIndexOf(' ') + 1);
+            int kind = random.nextInt(KINDS.size());
+            String text = switch (kind) {
+                case 0 -> surname.substring(0, Math.min(surname.length(), 4 + random.nextInt(3)));
+                case 1 -> misspell(name, random);
+                case 2 -> email.substring(0, Math.min(email.indexOf('@'), 5 + random.nextInt(6)));
+                default -> identifier != null ? identifier.substring(0, 5) : surname;
+            };
+            queries.add(new Query(KINDS.get(kind), text));
+        }
+        return queries;
+    }
+
+    private static String misspell(String text, Random random) {
+        char[] chars = text.toCharArray();
+        int i = 1 + random.nextInt(chars.length - 2);
+        char swapped = chars[i];
+        chars[i] = chars[i + 1];
+        chars[i + 1] = swapped;
+        return new String(chars);
+    }
+
+    private static long[] run(HttpClient http, String baseUrl, List<Query> queries, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<String> share = new ArrayList<>();
+                for (int i = t; i < queries.size(); i += threads) {
+                    share.add(queries.get(i).text());
+                }
+                futures.add(pool.submit(() -> search(http, baseUrl, share)));
+            }
+            // Thread t handled queries t, t + threads, t + 2 * threads...
+            long[] latencies = new long[queries.size()];
+            for (int t = 0; t < threads; t++) {
+                long[] part = futures.get(t).get();
+                for (int j = 0; j < part.length; j++) {
+                    latencies[t + j * threads] = part[j];
+                }
+            }
+            return latencies;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long[] search(HttpClient http, String baseUrl, List<String> queries) throws Exception {
+        long[] latencies = new long[queries.size()];
+        for (int i = 0; i < queries.size(); i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/clients/search?q="
+                    + URLEncoder.encode(queries.get(i), StandardCharsets.UTF_8))).GET().build();
+            long start = System.nanoTime();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            latencies[i] = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Search for '" + queries.get(i) + "' failed with status "
+                        + response.statusCode());
+            }
+        }
+        return latencies;
+    }
+
+    private static void report(String label, long[] latencies) {
+        if (latencies.length == 0) {
+            return;
+        }
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        System.out.printf("  %-20s %5d  p50 %6.1f ms  p95 %6.1f ms  p99 %6.1f ms  max %6.1f ms%n",
+                label, sorted.length, percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * percentile))] / 1e6;
+    }
+}
@@ -0,0 +1,236 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shows how the adaptive concurrency limit behaves when the database slows
+ * down: boots the application once with {@code app.concurrency-limit.enabled=false}
+ * and once with {@code true}, seeds {@code clients} persons with three
+ * contracts each, and has {@code callers} concurrent callers read active
+ * contracts and sums (80%) and update contract costs (20%) for
+ * {@code seconds} seconds. Every {@code spikeEvery} seconds a separate
+ * connection locks the {@code contract} table for {@code spikeMillis}
+ * milliseconds ({@code LOCK TABLE ... ; SELECT pg_sleep(...)}), stalling
+ * every query on it.
+ * <p>
+ * Reports, outside and during the spikes, the throughput and latency of the
+ * successful requests and the number and latency of the 503 responses, as
+ * well as the lowest read and write limits seen.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.ConcurrencyLimitLoadTest \
+ *     -Dperf.args="callers=400 seconds=60 spikeEvery=10 spikeMillis=2000"
+ * </pre>
+ */
+public final class ConcurrencyLimitLoadTest {
+
+    private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.]+)");
+
+    private record Sample(long start, long latency, int status) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        int callers = PerfSupport.intOption(options, "callers", 400);
+        int clients = PerfSupport.intOption(options, "clients", 200);
+        int seconds = PerfSupport.intOption(options, "seconds", 60);
+        int spikeEvery = PerfSupport.intOption(options, "spikeEvery", 10);
+        int spikeMillis = PerfSupport.intOption(options, "spikeMillis", 2000);
+
+        List<String> results = new ArrayList<>();
+        for (boolean limited : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = PerfSupport.startApplication(args,
+                    "--app.concurrency-limit.enabled=" + limited,
+                    "--app.contract-expiry.scanner-enabled=false",
+                    "--app.reporting.refresh-enabled=false")) {
+                String baseUrl = PerfSupport.baseUrl(context);
+                HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                List<String[]> seeded = seed(http, baseUrl, clients);
+                String label = limited ? "limited  " : "unlimited";
+                results.addAll(run(context, http, baseUrl, seeded, callers, seconds, spikeEvery, spikeMillis, label,
+                        limited));
+            }
+        }
+        System.out.printf("%d callers, %d ms spike every %d s%n", callers, spikeMillis, spikeEvery);
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    /**
+     * @return pairs of client id and contract id
+     */
+    private static List<String[]> seed(HttpClient http, String baseUrl, int clients) throws Exception {
+        List<String[]> seeded = new ArrayList<>(clients * 3);
+        for (int i = 0; i < clients; i++) {
+            String clientId = PerfSupport.postForId(http, baseUrl + "/clients", """
+                    {"type":"PERSON","name":"Limit Bench","email":"limit-%s@perf.local","birthdate":"1980-01-01"}
+                    """.formatted(UUID.randomUUID()));
+            for (int c = 0; c < 3; c++) {
+                String contractId = PerfSupport.postForId(http,
+                        baseUrl + "/contracts/" + clientId + "?clientType=PERSON", """
+                                {"clientId":"%s","costAmount":%d.0}
+                                """.formatted(clientId, 100 + c));
+                seeded.add(new String[] {clientId, contractId});
+            }
+        }
+        return seeded;
+    }
+
+    private static List<String> run(ConfigurableApplicationContext context, HttpClient http, String baseUrl,
+            List<String[]> seeded, int callers, int seconds, int spikeEvery, int spikeMillis, String label,
+            boolean limited) throws Exception {
+        long origin = System.nanoTime();
+        long deadline = origin + TimeUnit.SECONDS.toNanos(seconds);
+        List<long[]> spikes = new ArrayList<>();
+        double[] lowestLimits = {Double.MAX_VALUE, Double.MAX_VALUE};
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> injector = pool.submit(() -> injectSpikes(context.getEnvironment(), origin, deadline,
+                    spikeEvery, spikeMillis, spikes));
+            Future<?> sampler = limited
+                    ? pool.submit(() -> sampleLimits(http, baseUrl, deadline, lowestLimits))
+                    : null;
+            List<Future<List<Sample>>> futures = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                futures.add(pool.submit(() -> callLoop(http, baseUrl, seeded, origin, deadline)));
+            }
+            List<Sample> samples = new ArrayList<>();
+            for (Future<List<Sample>> future : futures) {
+                samples.addAll(future.get());
+            }
+            injector.get();
+            if (sampler != null) {
+                sampler.get();
+            }
+
+            long spikeNanos = spikes.stream().mapToLong(spike -> spike[1] - spike[0]).sum();
+            long steadyNanos = deadline - origin - spikeNanos;
+            List<Sample> duringSpikes = samples.stream().filter(sample -> inSpike(sample, spikes)).toList();
+            List<Sample> outsideSpikes = samples.stream().filter(sample -> !inSpike(sample, spikes)).toList();
+            List<String> lines = new ArrayList<>();
+            lines.add(report(label + " steady", outsideSpikes, steadyNanos));
+            lines.add(report(label + " spike ", duringSpikes, spikeNanos));
+            if (limited) {
+                lines.add(String.format("%s lowest limits: read %.0f, write %.0f", label, lowestLimits[0],
+                        lowestLimits[1]));
+            }
+            return lines;
+        }
+    }
+
+    private static List<Sample> callLoop(HttpClient http, String baseUrl, List<String[]> seeded, long origin,
+            long deadline) {
+        List<Sample> samples = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String[] pick = seeded.get(random.nextInt(seeded.size()));
+            int kind = random.nextInt(10);
+            HttpRequest.Builder request = kind < 8
+                    ? HttpRequest.newBuilder(URI.create(baseUrl + "/contracts/" + pick[0]
+                            + (kind < 4 ? "" : "/sum") + "?clientType=PERSON")).GET()
+                    : HttpRequest.newBuilder(URI.create(baseUrl + "/contracts/" + pick[1] + "/cost?cost="
+                            + (100 + random.nextInt(100)))).PUT(HttpRequest.BodyPublishers.noBody());
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception ex) {
+                status = -1;
+            }
+            samples.add(new Sample(start - origin, System.nanoTime() - start, status));
+        }
+        return samples;
+    }
+
+    /**
+     * Locks the contract table for {@code spikeMillis} every
+     * {@code spikeEvery} seconds, recording each spike relative to
+     * {@code origin}.
+     */
+    private static Void injectSpikes(Environment environment, long origin, long deadline, int spikeEvery,
+            int spikeMillis, List<long[]> spikes) throws Exception {
+        try (Connection connection = DriverManager.getConnection(environment.getProperty("spring.datasource.url"),
+                environment.getProperty("spring.datasource.username"),
+                environment.getProperty("spring.datasource.password"))) {
+            connection.setAutoCommit(false);
+            long next = origin + TimeUnit.SECONDS.toNanos(spikeEvery) / 2;
+            while (next + TimeUnit.MILLISECONDS.toNanos(spikeMillis) < deadline) {
+                TimeUnit.NANOSECONDS.sleep(next - System.nanoTime());
+                try (Statement statement = connection.createStatement()) {
+                    long start = System.nanoTime();
+                    statement.execute("LOCK TABLE contract IN ACCESS EXCLUSIVE MODE");
+                    statement.execute("SELECT pg_sleep(" + spikeMillis / 1000.0 + ")");
+                    connection.commit();
+                    spikes.add(new long[] {start - origin, System.nanoTime() - origin});
+                }
+                next += TimeUnit.SECONDS.toNanos(spikeEvery);
+            }
+        }
+        return null;
+    }
+
+    private static Void sampleLimits(HttpClient http, String baseUrl, long deadline, double[] lowestLimits)
+            throws Exception {
+        String metrics = baseUrl.replace("/api/v1", "/actuator/metrics/concurrency.limit?tag=kind:");
+        while (System.nanoTime() < deadline) {
+            for (int k = 0; k < 2; k++) {
+                String body = http.send(HttpRequest.newBuilder(URI.create(metrics + (k == 0 ? "read" : "write")))
+                        .build(), HttpResponse.BodyHandlers.ofString()).body();
+                Matcher matcher = VALUE.matcher(body);
+                if (matcher.find()) {
+                    lowestLimits[k] = Math.min(lowestLimits[k], Double.parseDouble(matcher.group(1)));
+                }
+            }
+            Thread.sleep(200);
+        }
+        return null;
+    }
+
+    private static boolean inSpike(Sample sample, List<long[]> spikes) {
+        for (long[] spike : spikes) {
+            if (sample.start() >= spike[0] && sample.start() < spike[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String report(String label, List<Sample> samples, long nanos) {
+        long[] ok = samples.stream().filter(s -> s.status() == 200).mapToLong(Sample::latency).sorted().toArray();
+        long[] shed = samples.stream().filter(s -> s.status() == 503).mapToLong(Sample::latency).sorted().toArray();
+        long others = samples.size() - ok.length - shed.length;
+        double seconds = nanos / 1e9;
+        return String.format("%s: %6.0f ok/s, p50 %7.1f ms, p99 %8.1f ms | %6.0f 503/s, p99 %7.1f ms | %d other",
+                label, ok.length / seconds, percentile(ok, 0.50), percentile(ok, 0.99),
+                shed.length / seconds, percentile(shed, 0.99), others);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+}
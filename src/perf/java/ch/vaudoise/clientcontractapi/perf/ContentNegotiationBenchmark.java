@@ -0,0 +1,181 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import ch.vaudoise.clientcontractapi.serialization.DtoSerializationModule;
+import ch.vaudoise.clientcontractapi.serialization.JacksonProtobufHttpMessageConverter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the representations negotiated by
+ * {@code ContentNegotiationConfig} on a list of {@value #ITEMS} contracts:
+ * JSON, CBOR, Smile and Protobuf, encoded and decoded with the same mappers
+ * and converter as the API. The payload size of each format is printed before
+ * the run.
+ * <p>
+ * Arguments are passed to JMH, e.g. {@code -f 1 -wi 3 -i 5 -p format=json,protobuf}.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.ContentNegotiationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentNegotiationBenchmark {
+
+    static final int ITEMS = 10_000;
+
+    private static final TypeReference<List<ContractDTO>> CONTRACT_LIST = new TypeReference<>() {
+    };
+
+    @Param({"json", "cbor", "smile", "protobuf"})
+    public String format;
+
+    private List<ContractDTO> contracts;
+    private Codec codec;
+    private byte[] payload;
+
+    public static void main(String[] args) throws Exception {
+        List<ContractDTO> contracts = contracts();
+        for (String format : new String[]{"json", "cbor", "smile", "protobuf"}) {
+            System.out.printf("%-9s %,10d bytes%n", format, codec(format).encode(contracts).length);
+        }
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ContentNegotiationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        contracts = contracts();
+        codec = codec(format);
+        payload = codec.encode(contracts);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(contracts);
+    }
+
+    @Benchmark
+    public List<ContractDTO> decode() throws IOException {
+        return codec.decode(payload);
+    }
+
+    private static List<ContractDTO> contracts() {
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.of(2022, 1, 1);
+        List<ContractDTO> contracts = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            LocalDate start = origin.plusDays(random.nextInt(1000));
+            contracts.add(new ContractDTO(UUID.randomUUID().toString(), UUID.randomUUID().toString(), start,
+                    i % 3 == 0 ? start.plusYears(5) : null, 100 + random.nextInt(100_000) / 100.0));
+        }
+        return contracts;
+    }
+
+    private static Codec codec(String format) {
+        return switch (format) {
+            case "json" -> jackson(new JsonFactory());
+            case "cbor" -> jackson(new CBORFactory());
+            case "smile" -> jackson(new SmileFactory());
+            case "protobuf" -> protobuf();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+    }
+
+    private static Codec jackson(JsonFactory factory) {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .modulesToInstall(new DtoSerializationModule())
+                .build();
+        var writer = mapper.writerFor(CONTRACT_LIST);
+        var reader = mapper.readerFor(CONTRACT_LIST);
+        return new Codec() {
+            @Override
+            public byte[] encode(List<ContractDTO> contracts) throws IOException {
+                return writer.writeValueAsBytes(contracts);
+            }
+
+            @Override
+            public List<ContractDTO> decode(byte[] payload) throws IOException {
+                return reader.readValue(payload);
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Codec protobuf() {
+        JacksonProtobufHttpMessageConverter converter = new JacksonProtobufHttpMessageConverter();
+        JavaType listType = Jackson2ObjectMapperBuilder.json().build().getTypeFactory().constructType(CONTRACT_LIST);
+        return new Codec() {
+            @Override
+            public byte[] encode(List<ContractDTO> contracts) throws IOException {
+                ByteArrayOutputStream body = new ByteArrayOutputStream();
+                converter.write(contracts, listType, null, new BodyMessage(body));
+                return body.toByteArray();
+            }
+
+            @Override
+            public List<ContractDTO> decode(byte[] payload) throws IOException {
+                return (List<ContractDTO>) converter.read(listType, null, new MockHttpInputMessage(payload));
+            }
+        };
+    }
+
+    private interface Codec {
+
+        byte[] encode(List<ContractDTO> contracts) throws IOException;
+
+        List<ContractDTO> decode(byte[] payload) throws IOException;
+    }
+
+    /**
+     * An output message without the overhead of a mock: a body and headers.
+     */
+    private record BodyMessage(OutputStream getBody, HttpHeaders getHeaders) implements HttpOutputMessage {
+
+        BodyMessage(OutputStream body) {
+            this(body, new HttpHeaders());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.serialization.DtoSerializationModule;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark comparing Jackson's bean serializers with the hand-written
+ * serializers of {@link DtoSerializationModule} on a list response of
+ * {@value #ITEMS} contracts or clients (half persons, half companies), as
+ * written by the list endpoints. Scores are per serialized item; the
+ * {@code gc.alloc.rate.norm} lines of the GC profiler give the bytes
+ * allocated per item.
+ * <p>
+ * Arguments are passed to JMH, e.g. {@code -f 1 -wi 3 -i 5}.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.DtoSerializationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+    static final int ITEMS = 100;
+
+    private static final TypeReference<List<ContractDTO>> CONTRACT_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<ClientDTO>> CLIENT_LIST = new TypeReference<>() {
+    };
+
+    private final OutputStream sink = new DiscardingOutputStream();
+    private List<ContractDTO> contracts;
+    private List<ClientDTO> clients;
+    private ObjectWriter beanContracts;
+    private ObjectWriter beanClients;
+    private ObjectWriter moduleContracts;
+    private ObjectWriter moduleClients;
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(DtoSerializationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.of(2022, 1, 1);
+        contracts = new ArrayList<>(ITEMS);
+        clients = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            String clientId = UUID.randomUUID().toString();
+            LocalDate start = origin.plusDays(random.nextInt(1000));
+            contracts.add(new ContractDTO(UUID.randomUUID().toString(), clientId, start,
+                    i % 3 == 0 ? start.plusYears(5) : null, 100 + random.nextInt(100_000) / 100.0));
+
+            ClientDTO client = i % 2 == 0
+                    ? new PersonDTO(LocalDate.of(1950, 1, 1).plusDays(random.nextInt(20_000)))
+                    : new CompanyDTO("abc-" + (100 + i));
+            client.setId(clientId);
+            client.setType(i % 2 == 0 ? ClientType.PERSON : ClientType.COMPANY);
+            client.setName("Client " + i);
+            client.setEmail("client-" + i + "@example.ch");
+            client.setPhone(i % 4 == 0 ? null : "+41 21 123 45 " + (10 + i % 90));
+            clients.add(client);
+        }
+
+        var bean = Jackson2ObjectMapperBuilder.json().build();
+        var module = Jackson2ObjectMapperBuilder.json().modulesToInstall(new DtoSerializationModule()).build();
+        beanContracts = bean.writerFor(CONTRACT_LIST);
+        beanClients = bean.writerFor(CLIENT_LIST);
+        moduleContracts = module.writerFor(CONTRACT_LIST);
+        moduleClients = module.writerFor(CLIENT_LIST);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void contractsBean() throws IOException {
+        beanContracts.writeValue(sink, contracts);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void contractsModule() throws IOException {
+        moduleContracts.writeValue(sink, contracts);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void clientsBean() throws IOException {
+        beanClients.writeValue(sink, clients);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void clientsModule() throws IOException {
+        moduleClients.writeValue(sink, clients);
+    }
+
+    /**
+     * Discards the output, and stays usable after Jackson closes it.
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
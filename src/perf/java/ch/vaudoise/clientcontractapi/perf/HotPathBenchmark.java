@@ -0,0 +1,279 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientUpdateDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
+import ch.vaudoise.clientcontractapi.mappers.CompanyMapper;
+import ch.vaudoise.clientcontractapi.mappers.CompanyMapperImpl;
+import ch.vaudoise.clientcontractapi.mappers.ContractMapper;
+import ch.vaudoise.clientcontractapi.mappers.ContractMapperImpl;
+import ch.vaudoise.clientcontractapi.mappers.PersonMapper;
+import ch.vaudoise.clientcontractapi.mappers.PersonMapperImpl;
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.entities.client.Company;
+import ch.vaudoise.clientcontractapi.models.entities.client.Person;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.serialization.DtoSerializationModule;
+import ch.vaudoise.clientcontractapi.services.client.ClientOrchestrationService;
+import ch.vaudoise.clientcontractapi.services.handlers.CompanyHandler;
+import ch.vaudoise.clientcontractapi.services.handlers.PersonHandler;
+import ch.vaudoise.clientcontractapi.validators.CompanyIdentifierValidator;
+import ch.vaudoise.clientcontractapi.validators.EndDateValidator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH suite of the CPU-bound request paths that do not touch the database:
+ * MapStruct conversions, the merge of a partial client update, the
+ * validators, and polymorphic {@code ClientDTO} deserialization.
+ * <p>
+ * Results are written as JSON to {@value #RESULT_FILE}, to be checked against
+ * the committed baseline with {@link JmhBaselineComparison}. Arguments are
+ * passed to JMH, e.g. {@code -wi 3 -i 5 HotPathBenchmark.merge}; a result file or format
+ * given there replaces the default.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.HotPathBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotPathBenchmark {
+
+    static final String RESULT_FILE = "target/jmh/hot-paths.json";
+
+    private static final String PERSON_JSON = """
+            {"type":"PERSON","name":"Jane Doe","email":"jane.doe@example.ch",\
+            "phone":"+41 21 123 45 67","birthdate":"1980-02-29"}""";
+    private static final String COMPANY_JSON = """
+            {"type":"COMPANY","name":"Vaudoise Assurances","email":"contact@vaudoise.ch",\
+            "phone":"+41 21 618 80 80","companyIdentifier":"abc-123"}""";
+
+    private final PersonMapper personMapper = new PersonMapperImpl();
+    private final CompanyMapper companyMapper = new CompanyMapperImpl();
+    private final ContractMapper contractMapper = new ContractMapperImpl();
+    private final CompanyIdentifierValidator companyIdentifierValidator = new CompanyIdentifierValidator();
+    private final EndDateValidator endDateValidator = new EndDateValidator();
+
+    private Person person;
+    private Company company;
+    private Contract contract;
+    private ContractDTO contractDto;
+    private ContractDTO invalidContractDto;
+    private ClientUpdateDTO update;
+    private ClientOrchestrationService orchestrationService;
+    private Validator validator;
+    private AutoCloseable validatorFactory;
+    private ObjectReader clientReader;
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getIncludes().isEmpty()) {
+            options.include(HotPathBenchmark.class.getSimpleName());
+        }
+        if (!commandLine.getResult().hasValue()) {
+            Files.createDirectories(Path.of(RESULT_FILE).getParent());
+            options.result(RESULT_FILE);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(options.build()).run();
+    }
+
+    @Setup
+    public void setUp() {
+        person = new Person();
+        person.setId(UUID.randomUUID());
+        person.setType(ClientType.PERSON);
+        person.setName("Jane Doe");
+        person.setEmail("jane.doe@example.ch");
+        person.setPhone("+41 21 123 45 67");
+        person.setBirthdate(LocalDate.of(1980, 2, 29));
+
+        company = new Company();
+        company.setId(UUID.randomUUID());
+        company.setType(ClientType.COMPANY);
+        company.setName("Vaudoise Assurances");
+        company.setEmail("contact@vaudoise.ch");
+        company.setPhone("+41 21 618 80 80");
+        company.setCompanyIdentifier("abc-123");
+
+        LocalDate start = LocalDate.now().minusYears(1);
+        contract = Contract.builder()
+                .id(UUID.randomUUID())
+                .client(person)
+                .startDate(start)
+                .costAmount(Money.of(1234.5))
+                .lastModified(LocalDateTime.now())
+                .build();
+        contractDto = new ContractDTO(null, person.getId().toString(), start, start.plusYears(5), 1234.5);
+        invalidContractDto = new ContractDTO(null, person.getId().toString(), start, start.minusDays(1), 1234.5);
+
+        update = new ClientUpdateDTO();
+        update.setEmail("jane@example.ch");
+        orchestrationService = new ClientOrchestrationService(
+                List.of(new InMemoryPersonHandler(personMapper.toDTO(person)),
+                        new InMemoryCompanyHandler(companyMapper.toDTO(company))),
+                null, null, null);
+
+        var factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        validatorFactory = factory;
+        clientReader = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new DtoSerializationModule())
+                .build()
+                .readerFor(ClientDTO.class);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public PersonDTO mapPersonToDto() {
+        return personMapper.toDTO(person);
+    }
+
+    @Benchmark
+    public Company mapCompanyToEntity() {
+        return companyMapper.toEntity(companyMapper.toDTO(company));
+    }
+
+    @Benchmark
+    public ContractDTO mapContractToDto() {
+        return contractMapper.toDTO(contract);
+    }
+
+    @Benchmark
+    public Contract mapContractToEntity() {
+        return contractMapper.toEntity(contractDto);
+    }
+
+    @Benchmark
+    public ClientDTO mergePersonUpdate() {
+        return orchestrationService.updateClient(ClientType.PERSON, person.getId().toString(), update);
+    }
+
+    @Benchmark
+    public ClientDTO mergeCompanyUpdate() {
+        return orchestrationService.updateClient(ClientType.COMPANY, company.getId().toString(), update);
+    }
+
+    @Benchmark
+    public boolean companyIdentifierValid() {
+        return companyIdentifierValidator.isValid("abc-123", null);
+    }
+
+    @Benchmark
+    public boolean companyIdentifierInvalid() {
+        return companyIdentifierValidator.isValid("abcd-12", null);
+    }
+
+    @Benchmark
+    public boolean endDateValid() {
+        return endDateValidator.isValid(contractDto, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ContractDTO>> validateInvalidContract() {
+        return validator.validate(invalidContractDto);
+    }
+
+    @Benchmark
+    public ClientDTO deserializePerson() throws IOException {
+        return clientReader.readValue(PERSON_JSON);
+    }
+
+    @Benchmark
+    public ClientDTO deserializeCompany() throws IOException {
+        return clientReader.readValue(COMPANY_JSON);
+    }
+
+    /**
+     * Serves a single person from memory, so that an update only costs the
+     * orchestration itself.
+     */
+    private static final class InMemoryPersonHandler extends PersonHandler {
+
+        private final PersonDTO existing;
+
+        InMemoryPersonHandler(PersonDTO existing) {
+            super(null, null);
+            this.existing = existing;
+        }
+
+        @Override
+        public PersonDTO getById(String id) {
+            return existing;
+        }
+
+        @Override
+        public PersonDTO update(String id, PersonDTO personDTO) {
+            return personDTO;
+        }
+    }
+
+    /**
+     * Serves a single company from memory, so that an update only costs the
+     * orchestration itself.
+     */
+    private static final class InMemoryCompanyHandler extends CompanyHandler {
+
+        private final CompanyDTO existing;
+
+        InMemoryCompanyHandler(CompanyDTO existing) {
+            super(null, null);
+            this.existing = existing;
+        }
+
+        @Override
+        public CompanyDTO getById(String id) {
+            return existing;
+        }
+
+        @Override
+        public CompanyDTO update(String id, CompanyDTO companyDTO) {
+            return companyDTO;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with a committed baseline and fails when a
+ * benchmark regressed, so that regressions show up in review.
+ * <p>
+ * A benchmark, identified by its name and parameters, regressed when its
+ * score is worse than the baseline by more than {@code threshold} (a
+ * fraction, {@code 0.2} by default) and lies outside of the error interval
+ * of the baseline. Lower is better for time modes, higher for throughput. The process
+ * exits with status 1 if any benchmark regressed, and 2 if a baseline
+ * benchmark is missing from the results.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.JmhBaselineComparison \
+ *     -Dperf.args="baseline=src/perf/resources/jmh/hot-paths-baseline.json result=target/jmh/hot-paths.json"
+ * </pre>
+ *
+ * A new baseline is recorded by copying the result file over it.
+ */
+public final class JmhBaselineComparison {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JmhBaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = PerfSupport.options(args);
+        Path baselineFile = Path.of(options.getOrDefault("baseline", "src/perf/resources/jmh/hot-paths-baseline.json"));
+        Path resultFile = Path.of(options.getOrDefault("result", HotPathBenchmark.RESULT_FILE));
+        double threshold = Double.parseDouble(options.getOrDefault("threshold", "0.2"));
+
+        Map<String, JsonNode> baseline = read(baselineFile);
+        Map<String, JsonNode> results = read(resultFile);
+        int regressions = 0;
+        int missing = 0;
+        System.out.printf("%-60s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : baseline.entrySet()) {
+            JsonNode before = entry.getValue();
+            JsonNode after = results.get(entry.getKey());
+            if (after == null) {
+                System.out.printf("%-60s %14s %14s %9s  MISSING%n", entry.getKey(), format(before), "-", "-");
+                missing++;
+                continue;
+            }
+            boolean lowerIsBetter = !"thrpt".equals(before.path("mode").asText());
+            double base = score(before);
+            double current = score(after);
+            double change = (current - base) / base;
+            double worsening = lowerIsBetter ? change : -change;
+            boolean withinError = lowerIsBetter ? current <= base + error(before) : current >= base - error(before);
+            boolean regressed = worsening > threshold && !withinError;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-60s %14s %14s %+8.1f%%%s%n", entry.getKey(), format(before), format(after),
+                    change * 100, regressed ? "  REGRESSION" : "");
+        }
+        results.keySet().stream()
+                .filter(key -> !baseline.containsKey(key))
+                .forEach(key -> System.out.printf("%-60s %14s %14s %9s  NEW%n", key, "-", format(results.get(key)), "-"));
+        System.out.printf("%d regression(s) beyond %.0f%%, %d missing%n", regressions, threshold * 100, missing);
+        if (regressions > 0 || missing > 0) {
+            System.exit(regressions > 0 ? 1 : 2);
+        }
+    }
+
+    /**
+     * @return the runs of a result file by benchmark name and parameters
+     */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> runs = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText().replaceFirst("^.*\\.perf\\.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(key.indexOf("(") < 0 ? " (" : ", ").append(param.getKey()).append('=')
+                        .append(param.getValue().asText());
+            }
+            runs.put(key.indexOf("(") < 0 ? key.toString() : key.append(')').toString(), run);
+        }
+        return runs;
+    }
+
+    private static double score(JsonNode run) {
+        return run.path("primaryMetric").path("score").asDouble();
+    }
+
+    private static double error(JsonNode run) {
+        double error = run.path("primaryMetric").path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String format(JsonNode run) {
+        return String.format("%.3f %s", score(run), run.path("primaryMetric").path("scoreUnit").asText());
+    }
+}
@@ -0,0 +1,124 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of summing {@value #ITEMS} contract costs held the ways the
+ * application has held them: as centimes in a {@code long[]}, as
+ * {@link Money} values, as boxed {@code Double}s and as {@link BigDecimal}s.
+ * Scores are per summed amount; the {@code gc.alloc.rate.norm} lines of the
+ * GC profiler give the bytes allocated per amount. The Double sum is also
+ * inexact: it is printed next to the exact total before the run.
+ * <p>
+ * Arguments are passed to JMH, e.g. {@code -f 1 -wi 3 -i 5}.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.MoneySummationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneySummationBenchmark {
+
+    static final int ITEMS = 10_000;
+
+    private long[] minorUnits;
+    private List<Money> money;
+    private List<Double> doubles;
+    private List<BigDecimal> decimals;
+
+    public static void main(String[] args) throws Exception {
+        MoneySummationBenchmark amounts = new MoneySummationBenchmark();
+        amounts.setUp();
+        System.out.printf("exact %s, double %s%n", Money.ofMinorUnits(amounts.sumMinorUnits()),
+                BigDecimal.valueOf(amounts.sumDoubles()).toPlainString());
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(MoneySummationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        minorUnits = new long[ITEMS];
+        money = new ArrayList<>(ITEMS);
+        doubles = new ArrayList<>(ITEMS);
+        decimals = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            long cents = 10_000 + random.nextInt(10_000_000);
+            minorUnits[i] = cents;
+            money.add(Money.ofMinorUnits(cents));
+            doubles.add(cents / 100.0);
+            decimals.add(BigDecimal.valueOf(cents, Money.SCALE));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long sumMinorUnits() {
+        long total = 0;
+        for (long amount : minorUnits) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public long sumMoney() {
+        long total = 0;
+        for (Money amount : money) {
+            total += amount.minorUnits();
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public double sumDoubles() {
+        Double total = 0.0;
+        for (Double amount : doubles) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public BigDecimal sumBigDecimals() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+}
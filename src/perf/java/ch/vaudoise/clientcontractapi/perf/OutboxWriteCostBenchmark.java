@@ -0,0 +1,104 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures what the transactional outbox adds to a write: boots the
+ * application once with {@code app.outbox.enabled=false} and once with
+ * {@code true}, and times {@code updates} contract cost updates per thread
+ * over HTTP in each mode. Every thread updates its own contract so that row
+ * locks do not skew the comparison.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.OutboxWriteCostBenchmark \
+ *     -Dperf.args="threads=4 updates=2000 warmup=500"
+ * </pre>
+ */
+public final class OutboxWriteCostBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        int threads = PerfSupport.intOption(options, "threads", 4);
+        int updates = PerfSupport.intOption(options, "updates", 2000);
+        int warmup = PerfSupport.intOption(options, "warmup", 500);
+
+        for (boolean outbox : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = PerfSupport.startApplication(args,
+                    "--app.outbox.enabled=" + outbox)) {
+                long[] latencies = run(PerfSupport.baseUrl(context), threads, updates, warmup);
+                report(outbox ? "outbox on " : "outbox off", latencies, threads);
+            }
+        }
+        System.exit(0);
+    }
+
+    private static long[] run(String baseUrl, int threads, int updates, int warmup) throws Exception {
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String clientId = PerfSupport.postForId(http, baseUrl + "/clients", """
+                {"type":"PERSON","name":"Outbox Bench","email":"outbox-%s@perf.local","birthdate":"1980-01-01"}
+                """.formatted(UUID.randomUUID()));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String contractId = PerfSupport.postForId(http,
+                        baseUrl + "/contracts/" + clientId + "?clientType=PERSON", """
+                                {"clientId":"%s","costAmount":100.0}
+                                """.formatted(clientId));
+                futures.add(pool.submit(() -> updateLoop(http, baseUrl, contractId, updates, warmup)));
+            }
+            long[] latencies = new long[threads * updates];
+            for (int t = 0; t < threads; t++) {
+                System.arraycopy(futures.get(t).get(), 0, latencies, t * updates, updates);
+            }
+            return latencies;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static long[] updateLoop(HttpClient http, String baseUrl, String contractId, int updates, int warmup)
+            throws Exception {
+        long[] latencies = new long[updates];
+        for (int i = -warmup; i < updates; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/contracts/" + contractId + "/cost?cost=" + (100 + (i & 1023))))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            long start = System.nanoTime();
+            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+            long elapsed = System.nanoTime() - start;
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Cost update failed with status " + response.statusCode());
+            }
+            if (i >= 0) {
+                latencies[i] = elapsed;
+            }
+        }
+        return latencies;
+    }
+
+    private static void report(String label, long[] latencies, int threads) {
+        Arrays.sort(latencies);
+        double mean = Arrays.stream(latencies).average().orElse(0) / 1e3;
+        System.out.printf("%s: %d updates, %d threads, mean %.0f us, p50 %.0f us, p99 %.0f us, %.0f updates/s%n",
+                label, latencies.length, threads, mean,
+                latencies[latencies.length / 2] / 1e3,
+                latencies[(int) (latencies.length * 0.99)] / 1e3,
+                threads * 1e6 / mean);
+    }
+}
@@ -0,0 +1,117 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import ch.vaudoise.clientcontractapi.ClientContractApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Shared helpers for the in-process load tests: command line parsing and
+ * booting the application on a random port against the configured Postgres.
+ * <p>
+ * Arguments of the form {@code key=value} are harness options; arguments
+ * starting with {@code --} are passed to Spring (e.g.
+ * {@code --spring.datasource.url=jdbc:postgresql://localhost:5432/perf}).
+ */
+final class PerfSupport {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([^\"]+)\"");
+
+    private PerfSupport() {
+    }
+
+    static Map<String, String> options(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") && eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    static int intOption(Map<String, String> options, String key, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(key, Integer.toString(defaultValue)));
+    }
+
+    static ConfigurableApplicationContext startApplication(String[] args, String... defaults) {
+        return SpringApplication.run(ClientContractApiApplication.class, springArgs(args, defaults));
+    }
+
+    /**
+     * Builds the Spring arguments of an in-process application: a random port,
+     * quiet logging and no request limiting, then {@code defaults}, then the
+     * {@code --} arguments of the command line. A later argument replaces an
+     * earlier one for the same property.
+     */
+    static String[] springArgs(String[] args, String... defaults) {
+        // devtools would restart the application and re-run the harness main method
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> springArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql=WARN",
+                "--logging.level.ch.vaudoise.clientcontractapi.services.outbox=WARN",
+                // thread leak warnings when an in-process application is closed
+                "--logging.level.org.apache.catalina.loader=ERROR",
+                // every load test calls from the same address, and most measure saturation
+                "--app.rate-limit.enabled=false",
+                "--app.concurrency-limit.enabled=false"));
+        springArgs.addAll(List.of(defaults));
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                springArgs.add(arg);
+            }
+        }
+        Map<String, String> byProperty = new LinkedHashMap<>();
+        for (String arg : springArgs) {
+            int eq = arg.indexOf('=');
+            byProperty.put(eq > 0 ? arg.substring(0, eq) : arg, arg);
+        }
+        return byProperty.values().toArray(String[]::new);
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+    }
+
+    /**
+     * @return the CPU time consumed by this JVM so far, in nanoseconds
+     */
+    static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    /**
+     * Posts a JSON body and extracts the {@code id} of the created resource.
+     */
+    static String postForId(HttpClient http, String url, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        String body = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = ID.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("No id in response: " + body);
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,121 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import ch.vaudoise.clientcontractapi.config.RateLimitProperties;
+import ch.vaudoise.clientcontractapi.config.RateLimitProperties.EndpointLimit;
+import ch.vaudoise.clientcontractapi.filters.RateLimitFilter;
+import ch.vaudoise.clientcontractapi.services.ratelimit.RateLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures what the rate limit filter adds to a request: runs
+ * {@code iterations} requests per thread through the filter with the
+ * endpoint limits of {@code application.yml}, spread over {@code callers}
+ * API keys and a mix of client, contract and sum paths, and compares with
+ * the same requests sent straight to the filter chain. Limits are set high
+ * enough for every request to be accepted, which is the path every request
+ * pays for.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.RateLimitFilterBenchmark \
+ *     -Dperf.args="threads=4 callers=10000 iterations=5000000"
+ * </pre>
+ */
+public final class RateLimitFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> {
+    };
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        int threads = PerfSupport.intOption(options, "threads", 4);
+        int callers = PerfSupport.intOption(options, "callers", 10_000);
+        int iterations = PerfSupport.intOption(options, "iterations", 5_000_000);
+        int rounds = PerfSupport.intOption(options, "rounds", 5);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(Integer.MAX_VALUE);
+        properties.getDefaultLimit().setRefillPerSecond(1e9);
+        EndpointLimit sum = new EndpointLimit();
+        sum.setName("contract-sum");
+        sum.setMethod("GET");
+        sum.setPath("/api/v1/contracts/{clientId}/sum");
+        sum.setCapacity(Integer.MAX_VALUE);
+        sum.setRefillPerSecond(1e9);
+        properties.setEndpoints(List.of(sum));
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties, new SimpleMeterRegistry()),
+                new ObjectMapper(), properties.getKeyHeader());
+        MockHttpServletRequest[] requests = requests(callers, properties.getKeyHeader());
+
+        for (int round = 1; round <= rounds; round++) {
+            double direct = run(requests, threads, iterations, null);
+            double filtered = run(requests, threads, iterations, filter);
+            System.out.printf("round %d: direct %6.1f ns/request, filtered %6.1f ns/request, filter %6.1f ns%n",
+                    round, direct, filtered, filtered - direct);
+        }
+        System.exit(0);
+    }
+
+    private static MockHttpServletRequest[] requests(int callers, String keyHeader) {
+        String[] paths = {"/api/v1/contracts/%s", "/api/v1/contracts/%s/sum", "/api/v1/clients/%s"};
+        MockHttpServletRequest[] requests = new MockHttpServletRequest[callers * paths.length];
+        for (int c = 0; c < callers; c++) {
+            String key = "partner-" + c;
+            String id = UUID.randomUUID().toString();
+            for (int p = 0; p < paths.length; p++) {
+                MockHttpServletRequest request = new MockHttpServletRequest("GET", paths[p].formatted(id));
+                request.setServletPath(request.getRequestURI());
+                request.addHeader(keyHeader, key);
+                request.setRemoteAddr("10.0." + (c >> 8 & 255) + "." + (c & 255));
+                requests[c * paths.length + p] = request;
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * @return the average time per request, in nanoseconds
+     */
+    private static double run(MockHttpServletRequest[] requests, int threads, int iterations, RateLimitFilter filter)
+            throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t * 7919;
+                futures.add(pool.submit(() -> {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    long start = System.nanoTime();
+                    for (int i = 0; i < iterations; i++) {
+                        MockHttpServletRequest request = requests[(offset + i) % requests.length];
+                        if (filter == null) {
+                            CHAIN.doFilter(request, response);
+                        } else {
+                            filter.doFilter(request, response, CHAIN);
+                        }
+                    }
+                    return System.nanoTime() - start;
+                }));
+            }
+            long total = 0;
+            for (Future<Long> future : futures) {
+                total += future.get();
+            }
+            return (double) total / threads / iterations;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
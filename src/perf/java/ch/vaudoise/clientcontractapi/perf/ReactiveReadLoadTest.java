@@ -0,0 +1,183 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the MVC application with the reactive read API (WebFlux on R2DBC)
+ * under many concurrent connections: seeds {@code clients} persons with
+ * three contracts each through the MVC application, then has
+ * {@code connections} concurrent callers, each on its own keep-alive
+ * connection, read active contracts (40%), active sums (30%) and clients
+ * (30%) in a closed loop for {@code seconds} seconds after {@code warmup}
+ * seconds, first against MVC and then against the reactive application.
+ * Reports throughput, latency percentiles and errors per application.
+ * <p>
+ * {@code virtual=true} runs the MVC application on virtual threads;
+ * {@code poolSize} sets both the Hikari and the R2DBC pool size. Requires
+ * both profiles:
+ *
+ * <pre>
+ * ./mvnw -Pperf,reactive test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.ReactiveReadLoadTest \
+ *     -Dperf.args="connections=5000 seconds=30 poolSize=20"
+ * </pre>
+ */
+public final class ReactiveReadLoadTest {
+
+    private static final String REACTIVE_APPLICATION =
+            "ch.vaudoise.clientcontractapi.reactive.ReactiveReadApiApplication";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        int connections = PerfSupport.intOption(options, "connections", 5000);
+        int clients = PerfSupport.intOption(options, "clients", 200);
+        int seconds = PerfSupport.intOption(options, "seconds", 30);
+        int warmup = PerfSupport.intOption(options, "warmup", 10);
+        int poolSize = PerfSupport.intOption(options, "poolSize", 20);
+        boolean virtual = Boolean.parseBoolean(options.getOrDefault("virtual", "false"));
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        List<String> results = new ArrayList<>();
+        List<String> clientIds;
+        try (ConfigurableApplicationContext context = PerfSupport.startApplication(args,
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.max-connections=" + (connections + 1000),
+                "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                "--app.contract-expiry.scanner-enabled=false",
+                "--app.reporting.refresh-enabled=false",
+                // R2DBC is on the classpath for the reactive application only
+                "--spring.autoconfigure.exclude="
+                        + "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration")) {
+            String baseUrl = PerfSupport.baseUrl(context);
+            clientIds = seed(http, baseUrl, clients);
+            run(http, baseUrl, clientIds, connections, warmup);
+            results.add(report(virtual ? "mvc (virtual)" : "mvc          ",
+                    run(http, baseUrl, clientIds, connections, seconds), seconds));
+        }
+        try (ConfigurableApplicationContext context = startReactiveApplication(args, poolSize)) {
+            String baseUrl = PerfSupport.baseUrl(context);
+            run(http, baseUrl, clientIds, connections, warmup);
+            results.add(report("reactive     ", run(http, baseUrl, clientIds, connections, seconds), seconds));
+        }
+        System.out.printf("%d connections, %d database connections%n", connections, poolSize);
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startReactiveApplication(String[] args, int poolSize) {
+        Class<?> application;
+        try {
+            application = Class.forName(REACTIVE_APPLICATION);
+        } catch (ClassNotFoundException ex) {
+            throw new IllegalStateException("The reactive application is not on the classpath, run with -Pperf,reactive");
+        }
+        return new SpringApplicationBuilder(application)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reactive")
+                .run(PerfSupport.springArgs(args,
+                        "--spring.r2dbc.pool.initial-size=" + poolSize,
+                        "--spring.r2dbc.pool.max-size=" + poolSize));
+    }
+
+    private static List<String> seed(HttpClient http, String baseUrl, int clients) throws Exception {
+        List<String> clientIds = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            String clientId = PerfSupport.postForId(http, baseUrl + "/clients", """
+                    {"type":"PERSON","name":"Reactive Bench","email":"reactive-%s@perf.local","birthdate":"1980-01-01"}
+                    """.formatted(UUID.randomUUID()));
+            for (int c = 0; c < 3; c++) {
+                PerfSupport.postForId(http, baseUrl + "/contracts/" + clientId + "?clientType=PERSON", """
+                        {"clientId":"%s","costAmount":%d.0}
+                        """.formatted(clientId, 100 + c));
+            }
+            clientIds.add(clientId);
+        }
+        return clientIds;
+    }
+
+    /**
+     * @return per-request latencies in nanoseconds, negative for failed
+     *         requests
+     */
+    private static long[] run(HttpClient http, String baseUrl, List<String> clientIds, int connections, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < connections; c++) {
+                futures.add(pool.submit(() -> callLoop(http, baseUrl, clientIds, deadline)));
+            }
+            List<long[]> parts = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                parts.add(future.get());
+            }
+            return parts.stream().flatMapToLong(Arrays::stream).toArray();
+        }
+    }
+
+    private static long[] callLoop(HttpClient http, String baseUrl, List<String> clientIds, long deadline) {
+        long[] latencies = new long[256];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String clientId = clientIds.get(random.nextInt(clientIds.size()));
+            int pick = random.nextInt(10);
+            String path = pick < 4 ? "/contracts/" + clientId + "?clientType=PERSON"
+                    : pick < 7 ? "/contracts/" + clientId + "/sum?clientType=PERSON"
+                    : "/clients/" + clientId + "?clientType=PERSON";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            int status;
+            try {
+                status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (Exception ex) {
+                status = -1;
+            }
+            long latency = Math.max(1, System.nanoTime() - start);
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = status == 200 ? latency : -latency;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static String report(String label, long[] latencies, int seconds) {
+        long errors = Arrays.stream(latencies).filter(latency -> latency < 0).count();
+        long[] sorted = Arrays.stream(latencies).map(Math::abs).sorted().toArray();
+        return String.format("%s: %7.0f req/s, p50 %7.1f ms, p99 %8.1f ms, max %8.1f ms, %d errors",
+                label, (double) latencies.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6, errors);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,399 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Generates a synthetic dataset of persons, companies and their contracts,
+ * for performance work on multi-million-row tables.
+ * <p>
+ * Client {@code n} (from {@code first}, 1 by default, to
+ * {@code first + clients - 1}) and its contracts are derived from {@code n}
+ * and {@code seed} only, so a dataset is reproducible and can be extended by
+ * a later run starting after its last client. {@code companyPercent} of the
+ * clients are companies. Emails carry the client number and company
+ * identifiers ({@code aaa-123}, as accepted by
+ * {@code CompanyIdentifierValidator}) are a permutation of the company
+ * number, so both are unique for the first 17,576,000 companies.
+ * <p>
+ * The number of contracts of a client follows a geometric distribution of
+ * mean {@code contracts}. A contract starts between {@code startFrom} and
+ * {@code startTo}; {@code openPercent} of them have no end date, the others
+ * run for {@code minYears} to {@code maxYears} years. Costs are log-uniform
+ * between {@code costMin} and {@code costMax}, to the centime.
+ * <p>
+ * With {@code output=copy}, the default, the rows are streamed with
+ * {@code COPY} into the database of the application (migrated by Flyway, and
+ * configured with the {@code --spring.datasource.*} arguments), by chunks of
+ * {@code chunk} clients, the next chunk being generated while the current one
+ * is copied. The secondary indexes of the tables are dropped during the load
+ * and rebuilt afterwards, unless {@code keepIndexes=true}. With
+ * {@code output=csv}, the rows are written to one CSV file per table in
+ * {@code dir}, to be loaded with {@code \copy} in the order printed.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.SyntheticDatasetGenerator \
+ *     -Dperf.args="clients=5000000 contracts=10 seed=42 --spring.datasource.url=jdbc:postgresql://localhost:5432/perf"
+ * </pre>
+ */
+public final class SyntheticDatasetGenerator {
+
+    /**
+     * The tables of the dataset, in loading order, with their CSV columns.
+     */
+    enum Table {
+        CLIENT("client", "id,type,name,email,phone,created_at,updated_at"),
+        PERSON("person_client", "id,birthdate"),
+        COMPANY("company_client", "id,company_identifier"),
+        CONTRACT("contract", "id,client_id,start_date,end_date,cost_amount,last_modified,created_at");
+
+        final String name;
+        final String columns;
+
+        Table(String name, String columns) {
+            this.name = name;
+            this.columns = columns;
+        }
+
+        String copyCommand() {
+            return "COPY " + name + " (" + columns + ") FROM STDIN (FORMAT csv)";
+        }
+    }
+
+    private static final int IDENTIFIERS = 26 * 26 * 26 * 1000;
+    // Coprime with 26^3 * 1000, so company number -> identifier is a permutation
+    private static final long IDENTIFIER_STRIDE = 7_919;
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L;
+
+    private static final String[] FIRST_NAMES = {"Anna", "Luca", "Marie", "Noah", "Sophie", "Léon", "Emma", "David",
+            "Laura", "Julien", "Chiara", "Marco", "Léa", "Nicolas", "Elena", "Thomas", "Sarah", "Simon", "Camille",
+            "Matteo", "Nina", "Samuel", "Alice", "Gabriel", "Lara", "Luis", "Mia", "Jonas", "Zoé", "Fabio", "Julia",
+            "Pierre", "Lena", "Daniel", "Giulia", "Yannick", "Clara", "Martin", "Eva", "Patrick", "Andreas",
+            "Béatrice", "Cédric", "Dominique", "Elias", "Flavia", "Gaël", "Hannah", "Ivan", "Jasmin"};
+    private static final String[] COMMON_SURNAMES = {"Müller", "Meier", "Schmid", "Keller", "Weber", "Huber",
+            "Schneider", "Meyer", "Steiner", "Fischer", "Gerber", "Brunner", "Favre", "Rochat", "Bonvin", "Perret",
+            "Jaquet", "Girard", "Blanc", "Rey", "Rossi", "Bernasconi", "Ferrari", "Colombo", "Bianchi"};
+    private static final String[] STARTS = {"b", "br", "ch", "d", "f", "fr", "g", "gr", "h", "k", "kr", "l", "m",
+            "n", "p", "pf", "r", "s", "sch", "st", "t", "tr", "v", "w", "z", "bl", "cl", "fl", "gl", "pl"};
+    private static final String[] MIDDLES = {"a", "e", "i", "o", "u", "ä", "ü", "ö", "au", "ei", "ie", "ue", "ai",
+            "ou", "an", "en", "in", "on", "ar", "er", "ir", "or", "ur", "al", "el", "il", "ol", "ul"};
+    private static final String[] ENDS = {"mann", "er", "li", "ler", "ner", "i", "et", "at", "in", "oz", "ard",
+            "aud", "ey", "az", "egger", "berg", "hofer", "bach", "thal", "wald", "ini", "etti", "oni", "elli", "ano",
+            "ier", "ot", "ex", "ens", "ig", "ser", "ter", "ker", "rich", "hart", "stein", "feld"};
+    private static final String[] COMPANY_SUFFIXES = {"AG", "SA", "GmbH", "Sàrl", "Holding", "Immobilien",
+            "Transports", "Consulting", "Bau", "Garage"};
+    private static final String[] DOMAINS = {"bluewin.ch", "gmail.com", "vaudoise.ch", "sunrise.ch", "outlook.com",
+            "hispeed.ch", "gmx.ch", "yahoo.com", "protonmail.ch", "icloud.com"};
+
+    // Email forms of the names, computed once
+    private static final String[] FIRST_NAME_EMAILS = ascii(FIRST_NAMES);
+    private static final String[] COMMON_SURNAME_EMAILS = ascii(COMMON_SURNAMES);
+    private static final String[] STARTS_EMAILS = ascii(STARTS);
+    private static final String[] MIDDLES_EMAILS = ascii(MIDDLES);
+    private static final String[] ENDS_EMAILS = ascii(ENDS);
+
+    private final long seed;
+    private final int companyPercent;
+    private final double contractsPerClient;
+    private final long startFrom;
+    private final int startDays;
+    private final int openPercent;
+    private final int minYears;
+    private final int maxYears;
+    private final double logCostMin;
+    private final double logCostRange;
+    private final String createdAt = LocalDate.now().toString();
+
+    /**
+     * The CSV rows of a chunk of clients, per table.
+     */
+    private record Chunk(StringBuilder[] rows, long contracts) {
+
+        byte[] bytes(Table table) {
+            return rows[table.ordinal()].toString().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private SyntheticDatasetGenerator(Map<String, String> options) {
+        this.seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        this.companyPercent = PerfSupport.intOption(options, "companyPercent", 20);
+        this.contractsPerClient = Double.parseDouble(options.getOrDefault("contracts", "10"));
+        LocalDate from = LocalDate.parse(options.getOrDefault("startFrom", "2010-01-01"));
+        LocalDate to = LocalDate.parse(options.getOrDefault("startTo", LocalDate.now().toString()));
+        this.startFrom = from.toEpochDay();
+        this.startDays = (int) (to.toEpochDay() - startFrom) + 1;
+        this.openPercent = PerfSupport.intOption(options, "openPercent", 60);
+        this.minYears = PerfSupport.intOption(options, "minYears", 1);
+        this.maxYears = PerfSupport.intOption(options, "maxYears", 10);
+        double costMin = Double.parseDouble(options.getOrDefault("costMin", "100"));
+        double costMax = Double.parseDouble(options.getOrDefault("costMax", "20000"));
+        this.logCostMin = Math.log(costMin);
+        this.logCostRange = Math.log(costMax) - logCostMin;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        long first = Long.parseLong(options.getOrDefault("first", "1"));
+        long clients = Long.parseLong(options.getOrDefault("clients", "5000000"));
+        int chunk = PerfSupport.intOption(options, "chunk", 10_000);
+        String output = options.getOrDefault("output", "copy");
+        SyntheticDatasetGenerator generator = new SyntheticDatasetGenerator(options);
+        if ((first + clients) * generator.companyPercent / 100 > IDENTIFIERS) {
+            throw new IllegalArgumentException("Company identifiers are unique for " + IDENTIFIERS + " companies");
+        }
+
+        if (output.equals("csv")) {
+            Path dir = Path.of(options.getOrDefault("dir", "target/dataset"));
+            generator.writeCsv(dir, first, clients, chunk);
+        } else {
+            try (ConfigurableApplicationContext context = PerfSupport.startApplication(args,
+                    "--spring.main.web-application-type=none",
+                    "--app.contract-expiry.scanner-enabled=false",
+                    "--app.reporting.refresh-enabled=false")) {
+                boolean keepIndexes = Boolean.parseBoolean(options.getOrDefault("keepIndexes", "false"));
+                generator.copy(context.getBean(DataSource.class), first, clients, chunk, keepIndexes);
+            }
+        }
+        System.exit(0);
+    }
+
+    private void copy(DataSource dataSource, long first, long clients, int chunk, boolean keepIndexes)
+            throws Exception {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        // Indexes backing a constraint (primary keys, unique columns) stay
+        List<Map<String, Object>> indexes = keepIndexes ? List.of() : jdbc.queryForList("""
+                SELECT i.indexname, i.indexdef FROM pg_indexes i
+                WHERE i.schemaname = current_schema() AND i.tablename IN (?, ?, ?, ?)
+                  AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conname = i.indexname)
+                """, Table.CLIENT.name, Table.PERSON.name, Table.COMPANY.name, Table.CONTRACT.name);
+        indexes.forEach(index -> jdbc.execute("DROP INDEX " + index.get("indexname")));
+        long start = System.nanoTime();
+        long loaded;
+        long rows;
+        try (Connection connection = dataSource.getConnection()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            rows = generate(first, clients, chunk, data -> {
+                for (Table table : Table.values()) {
+                    copy.copyIn(table.copyCommand(), new ByteArrayInputStream(data.bytes(table)));
+                }
+            });
+        } finally {
+            loaded = System.nanoTime();
+            indexes.forEach(index -> jdbc.execute((String) index.get("indexdef")));
+        }
+        long indexed = System.nanoTime();
+        for (Table table : Table.values()) {
+            jdbc.execute("ANALYZE " + table.name);
+        }
+        System.out.printf("%d rows copied in %.0f s (%.0f rows/min), %d indexes rebuilt in %.0f s%n", rows,
+                (loaded - start) / 1e9, rows * 60e9 / (loaded - start), indexes.size(), (indexed - loaded) / 1e9);
+        System.out.println("The reporting views and the leaderboard are refreshed by the application");
+    }
+
+    private void writeCsv(Path dir, long first, long clients, int chunk) throws Exception {
+        Files.createDirectories(dir);
+        OutputStream[] files = new OutputStream[Table.values().length];
+        long start = System.nanoTime();
+        long rows;
+        try {
+            for (Table table : Table.values()) {
+                files[table.ordinal()] = Files.newOutputStream(dir.resolve(table.name + ".csv"),
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            rows = generate(first, clients, chunk, data -> {
+                for (Table table : Table.values()) {
+                    files[table.ordinal()].write(data.bytes(table));
+                }
+            });
+        } finally {
+            for (OutputStream file : files) {
+                if (file != null) {
+                    file.close();
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%d rows written to %s in %.0f s (%.0f rows/min); load them with:%n", rows,
+                dir.toAbsolutePath(), elapsed / 1e9, rows * 60e9 / elapsed);
+        for (Table table : Table.values()) {
+            System.out.printf("  \\copy %s (%s) FROM '%s' (FORMAT csv)%n", table.name, table.columns,
+                    dir.resolve(table.name + ".csv").toAbsolutePath());
+        }
+    }
+
+    /**
+     * A consumer of chunks that may fail.
+     */
+    @FunctionalInterface
+    private interface ChunkSink {
+        void accept(Chunk chunk) throws Exception;
+    }
+
+    /**
+     * Generates the clients from {@code first} by chunks, the next chunk
+     * while the sink consumes the current one.
+     *
+     * @return the number of rows generated
+     */
+    private long generate(long first, long clients, int chunk, ChunkSink sink) throws Exception {
+        long end = first + clients;
+        long rows = 0;
+        long reported = System.nanoTime();
+        ExecutorService producer = Executors.newSingleThreadExecutor();
+        try {
+            long from = first;
+            CompletableFuture<Chunk> next = generateAsync(producer, from, Math.min(from + chunk, end));
+            while (from < end) {
+                Chunk current = next.get();
+                long to = Math.min(from + chunk, end);
+                if (to < end) {
+                    long nextFrom = to;
+                    next = generateAsync(producer, nextFrom, Math.min(nextFrom + chunk, end));
+                }
+                sink.accept(current);
+                rows += 2 * (to - from) + current.contracts();
+                from = to;
+                if (System.nanoTime() - reported > 10_000_000_000L || from == end) {
+                    reported = System.nanoTime();
+                    System.out.printf("clients up to %d, %d rows%n", from - 1, rows);
+                }
+            }
+        } finally {
+            producer.shutdownNow();
+        }
+        return rows;
+    }
+
+    private CompletableFuture<Chunk> generateAsync(ExecutorService producer, long from, long to) {
+        return CompletableFuture.supplyAsync(() -> generate(from, to), producer);
+    }
+
+    /**
+     * @return the rows of clients {@code from} (inclusive) to {@code to}
+     * (exclusive) and of their contracts
+     */
+    private Chunk generate(long from, long to) {
+        int count = (int) (to - from);
+        StringBuilder[] rows = {
+                new StringBuilder(count * 120),
+                new StringBuilder(count * 50),
+                new StringBuilder(count * 20 * companyPercent / 100),
+                new StringBuilder((int) (count * (contractsPerClient + 1) * 110))};
+        long contracts = 0;
+        for (long n = from; n < to; n++) {
+            contracts += client(n, rows);
+        }
+        return new Chunk(rows, contracts);
+    }
+
+    /**
+     * Appends the rows of client {@code n} and of its contracts.
+     *
+     * @return the number of contracts of the client
+     */
+    private int client(long n, StringBuilder[] rows) {
+        SplittableRandom random = new SplittableRandom(seed * SEED_MIX + n);
+        UUID id = uuid(random);
+        // the company number of a company client: how many companies precede it
+        long companies = n * companyPercent / 100;
+        boolean company = (n + 1) * companyPercent / 100 > companies;
+        String domain = DOMAINS[random.nextInt(DOMAINS.length)];
+
+        int surname = random.nextInt(10) == 0 ? -1 : random.nextInt(STARTS.length * MIDDLES.length * ENDS.length);
+        int common = random.nextInt(COMMON_SURNAMES.length);
+        String lastName = surname < 0 ? COMMON_SURNAMES[common] : syllables(surname, STARTS, MIDDLES, ENDS, false);
+        String lastNameEmail = surname < 0 ? COMMON_SURNAME_EMAILS[common]
+                : syllables(surname, STARTS_EMAILS, MIDDLES_EMAILS, ENDS_EMAILS, true);
+
+        StringBuilder client = rows[Table.CLIENT.ordinal()];
+        client.append(id).append(company ? ",COMPANY," : ",PERSON,");
+        if (company) {
+            client.append(lastName).append(' ').append(COMPANY_SUFFIXES[random.nextInt(COMPANY_SUFFIXES.length)])
+                    .append(",contact.").append(lastNameEmail);
+        } else {
+            int firstName = random.nextInt(FIRST_NAMES.length);
+            client.append(FIRST_NAMES[firstName]).append(' ').append(lastName)
+                    .append(',').append(FIRST_NAME_EMAILS[firstName]).append('.').append(lastNameEmail);
+        }
+        client.append(n).append('@').append(domain).append(',');
+        if (random.nextInt(10) < 7) {
+            client.append("+417").append(random.nextInt(5, 10)).append(1_000_000 + random.nextInt(9_000_000));
+        }
+        client.append(',').append(createdAt).append(',').append(createdAt).append('\n');
+
+        if (company) {
+            long identifier = Math.floorMod(companies * IDENTIFIER_STRIDE + seed, IDENTIFIERS);
+            int letters = (int) (identifier / 1000);
+            rows[Table.COMPANY.ordinal()].append(id).append(',')
+                    .append((char) ('a' + letters / 676)).append((char) ('a' + letters / 26 % 26))
+                    .append((char) ('a' + letters % 26)).append('-')
+                    .append((char) ('0' + identifier / 100 % 10)).append((char) ('0' + identifier / 10 % 10))
+                    .append((char) ('0' + identifier % 10)).append('\n');
+        } else {
+            rows[Table.PERSON.ordinal()].append(id).append(',')
+                    .append(LocalDate.ofEpochDay(LocalDate.of(1940, 1, 1).toEpochDay() + random.nextInt(25_000)))
+                    .append('\n');
+        }
+
+        // Geometric distribution of mean contractsPerClient
+        int contracts = (int) (Math.log(1 - random.nextDouble()) / Math.log(contractsPerClient
+                / (contractsPerClient + 1)));
+        StringBuilder contract = rows[Table.CONTRACT.ordinal()];
+        for (int c = 0; c < contracts; c++) {
+            LocalDate startDate = LocalDate.ofEpochDay(startFrom + random.nextInt(startDays));
+            String start = startDate.toString();
+            long cents = Math.round(Math.exp(logCostMin + random.nextDouble() * logCostRange) * 100);
+            contract.append(uuid(random)).append(',').append(id).append(',').append(start).append(',');
+            if (random.nextInt(100) >= openPercent) {
+                contract.append(startDate.plusYears(random.nextInt(minYears, maxYears + 1)));
+            }
+            contract.append(',').append(cents / 100).append('.')
+                    .append((char) ('0' + cents / 10 % 10)).append((char) ('0' + cents % 10))
+                    .append(',').append(start).append(',').append(start).append('\n');
+        }
+        return contracts;
+    }
+
+    private static String syllables(int surname, String[] starts, String[] middles, String[] ends, boolean email) {
+        String start = starts[surname % starts.length];
+        String name = start + middles[surname / starts.length % middles.length]
+                + ends[surname / starts.length / middles.length];
+        return email ? name : Character.toUpperCase(start.charAt(0)) + name.substring(1);
+    }
+
+    private static UUID uuid(SplittableRandom random) {
+        // version 4, IETF variant
+        long msb = random.nextLong() & 0xFFFFFFFFFFFF0FFFL | 0x0000000000004000L;
+        long lsb = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private static String[] ascii(String[] names) {
+        String[] ascii = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            ascii[i] = Normalizer.normalize(names[i], Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase();
+        }
+        return ascii;
+    }
+}
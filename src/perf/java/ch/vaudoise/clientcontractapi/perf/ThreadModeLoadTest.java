@@ -0,0 +1,139 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares request handling on platform threads and on virtual threads:
+ * boots the application once with {@code spring.threads.virtual.enabled=false}
+ * and once with {@code true}, seeds {@code clients} persons with three
+ * contracts each, and has {@code callers} concurrent callers read active
+ * contracts (60%) and active sums (40%) of random clients in a closed loop
+ * for {@code seconds} seconds after {@code warmup} seconds. Reports
+ * throughput, latency percentiles and errors per mode.
+ * <p>
+ * {@code tomcatThreads} sets the platform pool size and {@code poolSize} the
+ * Hikari pool shared by both modes.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.ThreadModeLoadTest \
+ *     -Dperf.args="callers=400 seconds=20 tomcatThreads=200 poolSize=20"
+ * </pre>
+ */
+public final class ThreadModeLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        int callers = PerfSupport.intOption(options, "callers", 400);
+        int clients = PerfSupport.intOption(options, "clients", 200);
+        int seconds = PerfSupport.intOption(options, "seconds", 20);
+        int warmup = PerfSupport.intOption(options, "warmup", 5);
+        int tomcatThreads = PerfSupport.intOption(options, "tomcatThreads", 200);
+        int poolSize = PerfSupport.intOption(options, "poolSize", 20);
+
+        List<String> results = new ArrayList<>();
+        for (boolean virtual : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext context = PerfSupport.startApplication(args,
+                    "--spring.threads.virtual.enabled=" + virtual,
+                    "--server.tomcat.threads.max=" + tomcatThreads,
+                    "--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                    "--app.contract-expiry.scanner-enabled=false",
+                    "--app.reporting.refresh-enabled=false")) {
+                String baseUrl = PerfSupport.baseUrl(context);
+                HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+                List<String> clientIds = seed(http, baseUrl, clients);
+                run(http, baseUrl, clientIds, callers, warmup);
+                results.add(report(virtual ? "virtual " : "platform", run(http, baseUrl, clientIds, callers, seconds),
+                        seconds));
+            }
+        }
+        System.out.printf("%d callers, %d tomcat threads, %d connections%n", callers, tomcatThreads, poolSize);
+        results.forEach(System.out::println);
+        System.exit(0);
+    }
+
+    private static List<String> seed(HttpClient http, String baseUrl, int clients) throws Exception {
+        List<String> clientIds = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            String clientId = PerfSupport.postForId(http, baseUrl + "/clients", """
+                    {"type":"PERSON","name":"Thread Bench","email":"threads-%s@perf.local","birthdate":"1980-01-01"}
+                    """.formatted(UUID.randomUUID()));
+            for (int c = 0; c < 3; c++) {
+                PerfSupport.postForId(http, baseUrl + "/contracts/" + clientId + "?clientType=PERSON", """
+                        {"clientId":"%s","costAmount":%d.0}
+                        """.formatted(clientId, 100 + c));
+            }
+            clientIds.add(clientId);
+        }
+        return clientIds;
+    }
+
+    /**
+     * @return per-request latencies in nanoseconds, negative for failed
+     *         requests
+     */
+    private static long[] run(HttpClient http, String baseUrl, List<String> clientIds, int callers, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                futures.add(pool.submit(() -> callLoop(http, baseUrl, clientIds, deadline)));
+            }
+            List<long[]> parts = new ArrayList<>();
+            for (Future<long[]> future : futures) {
+                parts.add(future.get());
+            }
+            return parts.stream().flatMapToLong(Arrays::stream).toArray();
+        }
+    }
+
+    private static long[] callLoop(HttpClient http, String baseUrl, List<String> clientIds, long deadline)
+            throws Exception {
+        long[] latencies = new long[1024];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String clientId = clientIds.get(random.nextInt(clientIds.size()));
+            String path = random.nextInt(10) < 6
+                    ? "/contracts/" + clientId + "?clientType=PERSON"
+                    : "/contracts/" + clientId + "/sum?clientType=PERSON";
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+            long start = System.nanoTime();
+            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            long latency = System.nanoTime() - start;
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = status == 200 ? latency : -latency;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static String report(String label, long[] latencies, int seconds) {
+        long errors = Arrays.stream(latencies).filter(latency -> latency < 0).count();
+        long[] sorted = Arrays.stream(latencies).map(Math::abs).sorted().toArray();
+        return String.format("%s: %7.0f req/s, p50 %6.1f ms, p99 %7.1f ms, max %7.1f ms, %d errors",
+                label, (double) latencies.length / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1e6, errors);
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+}
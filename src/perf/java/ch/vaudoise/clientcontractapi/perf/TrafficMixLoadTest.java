@@ -0,0 +1,375 @@
+package ch.vaudoise.clientcontractapi.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load test replaying a weighted mix of the client and contract
+ * endpoints, to compare releases before deploying them.
+ * <p>
+ * Boots the application against the configured Postgres, or targets a
+ * running one given as {@code baseUrl=http://host:8080/api/v1}, and seeds
+ * {@code clients} clients (one in five a company) with {@code contracts}
+ * contracts each through the API. Then {@code callers} virtual threads each
+ * send requests in a closed loop for {@code seconds} seconds after
+ * {@code warmup} seconds, picking every request from the mix. The default mix
+ * can be changed with {@code mix=client.get:25,contract.list:30,...}; a
+ * deletion only removes a client created during the run, and falls back to
+ * a creation when there is none.
+ * <p>
+ * Reports the throughput, errors and HdrHistogram latency percentiles of each
+ * endpoint, and writes each histogram as a percentile distribution
+ * ({@code .hgrm}) to {@code output}. Latency budgets in milliseconds, such as
+ * {@code budget.contract.sum.p99=50} or {@code budget.all.p999=200}, turn the
+ * run into a gate: it exits with status 1 if a budget is exceeded or more
+ * than {@code maxErrorRate} of the requests failed.
+ *
+ * <pre>
+ * ./mvnw -Pperf test-compile exec:exec \
+ *     -Dperf.main=ch.vaudoise.clientcontractapi.perf.TrafficMixLoadTest \
+ *     -Dperf.args="callers=50 seconds=60 budget.all.p99=100"
+ * </pre>
+ */
+public final class TrafficMixLoadTest {
+
+    private static final Pattern BUDGET = Pattern.compile("budget\\.(.+)\\.p(\\d+)");
+    private static final long MAX_LATENCY = TimeUnit.MINUTES.toNanos(1);
+    private static final String ALL = "all";
+
+    /**
+     * The endpoints of the mix and their default weights.
+     */
+    enum Endpoint {
+        CLIENT_GET("client.get", 25),
+        CLIENT_CREATE("client.create", 5),
+        CLIENT_UPDATE("client.update", 5),
+        CLIENT_DELETE("client.delete", 2),
+        CONTRACT_LIST("contract.list", 30),
+        CONTRACT_CREATE("contract.create", 8),
+        CONTRACT_COST("contract.cost", 10),
+        CONTRACT_SUM("contract.sum", 15);
+
+        final String label;
+        final int defaultWeight;
+
+        Endpoint(String label, int defaultWeight) {
+            this.label = label;
+            this.defaultWeight = defaultWeight;
+        }
+    }
+
+    private record SeededClient(String id, String type) {
+    }
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+    private final Endpoint[] wheel;
+    private final Map<Endpoint, Recorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, AtomicLong> errors = new EnumMap<>(Endpoint.class);
+    private final List<SeededClient> clients = new ArrayList<>();
+    private final List<String> contracts = new ArrayList<>();
+    private final ConcurrentLinkedQueue<SeededClient> created = new ConcurrentLinkedQueue<>();
+
+    private TrafficMixLoadTest(String baseUrl, Map<Endpoint, Integer> weights) {
+        this.baseUrl = baseUrl;
+        List<Endpoint> slots = new ArrayList<>();
+        weights.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        });
+        this.wheel = slots.toArray(Endpoint[]::new);
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new Recorder(MAX_LATENCY, 3));
+            errors.put(endpoint, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PerfSupport.options(args);
+        int callers = PerfSupport.intOption(options, "callers", 50);
+        int seconds = PerfSupport.intOption(options, "seconds", 60);
+        int warmup = PerfSupport.intOption(options, "warmup", 10);
+        int clientCount = PerfSupport.intOption(options, "clients", 500);
+        int contractCount = PerfSupport.intOption(options, "contracts", 4);
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("maxErrorRate", "0.001"));
+        Path output = Path.of(options.getOrDefault("output", "target/traffic-mix"));
+        Map<Endpoint, Integer> weights = weights(options.get("mix"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = options.get("baseUrl");
+        if (baseUrl == null) {
+            context = PerfSupport.startApplication(args,
+                    "--app.contract-expiry.scanner-enabled=false",
+                    "--app.reporting.refresh-enabled=false");
+            baseUrl = PerfSupport.baseUrl(context);
+        }
+        boolean passed;
+        try {
+            TrafficMixLoadTest test = new TrafficMixLoadTest(baseUrl, weights);
+            test.seed(clientCount, contractCount);
+            test.run(callers, warmup);
+            test.reset();
+            test.run(callers, seconds);
+            Map<String, Histogram> histograms = test.histograms();
+            test.report(histograms, seconds, output);
+            passed = test.gate(histograms, options, maxErrorRate);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static Map<Endpoint, Integer> weights(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        if (mix == null) {
+            for (Endpoint endpoint : Endpoint.values()) {
+                weights.put(endpoint, endpoint.defaultWeight);
+            }
+            return weights;
+        }
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split(":");
+            Endpoint endpoint = byLabel(parts[0].trim());
+            weights.put(endpoint, Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static Endpoint byLabel(String label) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (endpoint.label.equals(label)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint " + label);
+    }
+
+    private void seed(int clientCount, int contractCount) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < clientCount; i++) {
+            SeededClient client = createClient(i % 5 == 4 ? "COMPANY" : "PERSON");
+            clients.add(client);
+            for (int c = 0; c < contractCount; c++) {
+                contracts.add(createContract(client));
+            }
+        }
+        System.out.printf("Seeded %d clients and %d contracts in %.1f s%n", clients.size(), contracts.size(),
+                (System.nanoTime() - start) / 1e9);
+    }
+
+    private void run(int callers, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < callers; c++) {
+                futures.add(pool.submit(() -> callLoop(deadline)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+    }
+
+    private void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(count -> count.set(0));
+    }
+
+    private Void callLoop(long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Endpoint endpoint = wheel[random.nextInt(wheel.length)];
+            SeededClient deleted = endpoint == Endpoint.CLIENT_DELETE ? created.poll() : null;
+            if (endpoint == Endpoint.CLIENT_DELETE && deleted == null) {
+                endpoint = Endpoint.CLIENT_CREATE;
+            }
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                ok = call(endpoint, deleted, random);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (Exception ex) {
+                ok = false;
+            }
+            recorders.get(endpoint).recordValue(Math.min(System.nanoTime() - start, MAX_LATENCY));
+            if (!ok) {
+                errors.get(endpoint).incrementAndGet();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends one request of the given endpoint.
+     *
+     * @return {@code true} if it succeeded
+     */
+    private boolean call(Endpoint endpoint, SeededClient deleted, ThreadLocalRandom random) throws Exception {
+        SeededClient client = clients.get(random.nextInt(clients.size()));
+        String contract = contracts.get(random.nextInt(contracts.size()));
+        return switch (endpoint) {
+            case CLIENT_GET -> send(get("/clients/" + client.id() + "?clientType=" + client.type()));
+            case CLIENT_CREATE -> {
+                created.add(createClient(random.nextInt(5) == 4 ? "COMPANY" : "PERSON"));
+                yield true;
+            }
+            case CLIENT_UPDATE -> send(HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/clients/" + client.id() + "?clientType=" + client.type()))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString("""
+                            {"phone":"+4179%07d"}""".formatted(random.nextInt(10_000_000)))));
+            case CLIENT_DELETE -> send(HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/clients/" + deleted.id() + "?clientType=" + deleted.type())).DELETE());
+            case CONTRACT_LIST -> send(get("/contracts/" + client.id() + "?clientType=" + client.type()));
+            case CONTRACT_CREATE -> {
+                createContract(client);
+                yield true;
+            }
+            case CONTRACT_COST -> send(HttpRequest.newBuilder(URI.create(baseUrl + "/contracts/" + contract
+                    + "/cost?cost=" + (100 + random.nextInt(10_000)) + ".50"))
+                    .PUT(HttpRequest.BodyPublishers.noBody()));
+            case CONTRACT_SUM -> send(get("/contracts/" + client.id() + "/sum?clientType=" + client.type()));
+        };
+    }
+
+    private SeededClient createClient(String type) throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = type.equals("PERSON")
+                ? """
+                {"type":"PERSON","name":"Load Person","email":"load-%s@perf.local",\
+                "birthdate":"1980-01-01"}""".formatted(key)
+                : """
+                {"type":"COMPANY","name":"Load Company","email":"load-%s@perf.local",\
+                "companyIdentifier":"%s"}""".formatted(key, companyIdentifier());
+        return new SeededClient(PerfSupport.postForId(http, baseUrl + "/clients", body), type);
+    }
+
+    private String createContract(SeededClient client) throws Exception {
+        return PerfSupport.postForId(http, baseUrl + "/contracts/" + client.id() + "?clientType=" + client.type(), """
+                {"clientId":"%s","costAmount":%d.25}""".formatted(client.id(),
+                100 + ThreadLocalRandom.current().nextInt(10_000)));
+    }
+
+    private static String companyIdentifier() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "" + (char) ('a' + random.nextInt(26)) + (char) ('a' + random.nextInt(26))
+                + (char) ('a' + random.nextInt(26)) + "-" + (100 + random.nextInt(900));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private boolean send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        int status = http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        return status / 100 == 2;
+    }
+
+    /**
+     * @return the histogram of each endpoint of the mix, then of all of them
+     */
+    private Map<String, Histogram> histograms() {
+        Map<String, Histogram> histograms = new LinkedHashMap<>();
+        Histogram all = new Histogram(MAX_LATENCY, 3);
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = recorders.get(endpoint).getIntervalHistogram();
+            if (histogram.getTotalCount() > 0) {
+                histograms.put(endpoint.label, histogram);
+                all.add(histogram);
+            }
+        }
+        histograms.put(ALL, all);
+        return histograms;
+    }
+
+    private long errorCount(String label) {
+        return label.equals(ALL)
+                ? errors.values().stream().mapToLong(AtomicLong::get).sum()
+                : errors.get(byLabel(label)).get();
+    }
+
+    private void report(Map<String, Histogram> histograms, int seconds, Path output) throws IOException {
+        Files.createDirectories(output);
+        System.out.printf("%-16s %9s %8s %8s %8s %8s %8s %8s %8s%n",
+                "endpoint", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "count");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            System.out.printf("%-16s %9.1f %8d %8.2f %8.2f %8.2f %8.2f %8.2f %8d%n",
+                    entry.getKey(), (double) histogram.getTotalCount() / seconds, errorCount(entry.getKey()),
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1e6, histogram.getTotalCount());
+            try (PrintStream out = new PrintStream(output.resolve(entry.getKey() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(out, 1e6);
+            }
+        }
+        System.out.println("Percentile distributions written to " + output.toAbsolutePath());
+    }
+
+    /**
+     * Checks the {@code budget.<endpoint>.p<digits>} options, where the
+     * digits are the decimals of the percentile ({@code p99}, {@code p999}).
+     *
+     * @return {@code true} if every budget and the error rate are met
+     */
+    private boolean gate(Map<String, Histogram> histograms, Map<String, String> options, double maxErrorRate) {
+        boolean passed = true;
+        boolean gated = false;
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            Matcher matcher = BUDGET.matcher(option.getKey());
+            if (!matcher.matches()) {
+                continue;
+            }
+            gated = true;
+            Histogram histogram = histograms.get(matcher.group(1));
+            double percentile = Double.parseDouble("0." + matcher.group(2)) * 100;
+            double budget = Double.parseDouble(option.getValue());
+            double actual = histogram == null ? 0 : millis(histogram, percentile);
+            boolean met = actual <= budget;
+            passed &= met;
+            System.out.printf("%s %-16s p%-5s %8.2f ms (budget %.2f ms)%n", met ? "PASS" : "FAIL",
+                    matcher.group(1), matcher.group(2), actual, budget);
+        }
+        if (gated) {
+            long requests = histograms.get(ALL).getTotalCount();
+            double errorRate = requests == 0 ? 0 : (double) errorCount(ALL) / requests;
+            boolean met = errorRate <= maxErrorRate;
+            passed &= met;
+            System.out.printf("%s error rate %.4f (budget %.4f)%n", met ? "PASS" : "FAIL", errorRate, maxErrorRate);
+        }
+        return passed;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1e6;
+    }
+}
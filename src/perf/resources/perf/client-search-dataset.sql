@@ -0,0 +1,81 @@
+-- Synthetic clients for ClientSearchBenchmark: rows ${from} to ${to}.
+-- Every fifth client is a company. One client in ten carries one of the most
+-- common Swiss surnames; the others get a surname built from syllables, which
+-- yields about 100k distinct surnames with realistic trigram statistics.
+-- Values are derived from md5 hashes of the row number, so the script is
+-- deterministic and can be re-run and extended without duplicates.
+WITH dictionary AS (
+    SELECT ARRAY['Anna', 'Luca', 'Marie', 'Noah', 'Sophie', 'Leon', 'Emma', 'David', 'Laura', 'Julien',
+                 'Chiara', 'Marco', 'Lea', 'Nicolas', 'Elena', 'Thomas', 'Sarah', 'Simon', 'Camille', 'Matteo',
+                 'Nina', 'Samuel', 'Alice', 'Gabriel', 'Lara', 'Luis', 'Mia', 'Jonas', 'Zoé', 'Fabio',
+                 'Julia', 'Pierre', 'Lena', 'Daniel', 'Giulia', 'Yannick', 'Clara', 'Martin', 'Eva', 'Patrick',
+                 'Andreas', 'Beatrice', 'Cédric', 'Dominique', 'Elias', 'Flavia', 'Gaël', 'Hannah', 'Ivan', 'Jasmin',
+                 'Kevin', 'Livia', 'Manon', 'Nathalie', 'Olivier', 'Petra', 'Quentin', 'Rebecca', 'Stefan', 'Tamara',
+                 'Ursula', 'Valentin', 'Walter', 'Xavier', 'Yasmin', 'Zoran', 'Aline', 'Benoît', 'Céline', 'Diego',
+                 'Estelle', 'Florian', 'Gilles', 'Hélène', 'Irene', 'Jérôme', 'Karin', 'Loïc', 'Michèle', 'Nadia']
+               AS first_names,
+           ARRAY['Müller', 'Meier', 'Schmid', 'Keller', 'Weber', 'Huber', 'Schneider', 'Meyer', 'Steiner', 'Fischer',
+                 'Gerber', 'Brunner', 'Baumann', 'Frei', 'Zimmermann', 'Moser', 'Widmer', 'Wyss', 'Graf', 'Roth',
+                 'Favre', 'Rochat', 'Bonvin', 'Perret', 'Jaquet', 'Girard', 'Blanc', 'Rey', 'Mercier', 'Dubois',
+                 'Rossi', 'Bernasconi', 'Ferrari', 'Colombo', 'Bianchi', 'Galli', 'Ricci', 'Conti', 'Lombardi', 'Fontana']
+               AS common_surnames,
+           ARRAY['b', 'br', 'ch', 'd', 'f', 'fr', 'g', 'gr', 'h', 'k', 'kr', 'l', 'm', 'n', 'p', 'pf', 'r', 's',
+                 'sch', 'st', 't', 'tr', 'v', 'w', 'z', 'bl', 'cl', 'fl', 'gl', 'pl', 'sp', 'j', 'qu', 'th', 'dr',
+                 'gu', 'ro', 'ma', 'be', 'ca'] AS starts,
+           ARRAY['a', 'e', 'i', 'o', 'u', 'ä', 'ü', 'ö', 'au', 'ei', 'ie', 'ue', 'ai', 'ou', 'an', 'en', 'in',
+                 'on', 'ar', 'er', 'ir', 'or', 'ur', 'al', 'el', 'il', 'ol', 'ul', 'am', 'em', 'im', 'om', 'ab',
+                 'eb', 'ib', 'ob', 'ag', 'eg', 'ig', 'og'] AS middles,
+           ARRAY['mann', 'er', 'li', 'ler', 'ner', 'i', 'et', 'at', 'in', 'oz', 'ard', 'aud', 'ey', 'az',
+                 'egger', 'berg', 'hofer', 'bach', 'thal', 'wald', 'ini', 'etti', 'oni', 'elli', 'ano', 'ino',
+                 'ier', 'ot', 'ex', 'ens', 'ig', 'ing', 'mann', 'ser', 'ter', 'ker', 'rich', 'hart', 'stein', 'feld',
+                 'ow', 'os', 'us', 'as', 'is', 'ay', 'oy', 'uz', 'ic', 'ac', 'eck', 'ock', 'uch', 'ach', 'ich',
+                 'ede', 'ude', 'ode', 'ade', 'ide', 'iger', 'inger', 'ather', 'ether', 'uther', 'oli', 'ali',
+                 'eli', 'uli'] AS ends,
+           ARRAY['AG', 'SA', 'GmbH', 'Sàrl', 'Holding', 'Immobilien', 'Transports', 'Consulting', 'Bau', 'Garage']
+               AS company_suffixes,
+           ARRAY['bluewin.ch', 'gmail.com', 'vaudoise.ch', 'sunrise.ch', 'outlook.com', 'hispeed.ch', 'gmx.ch',
+                 'yahoo.com', 'protonmail.ch', 'icloud.com'] AS domains
+), hashes AS (
+    SELECT g.i,
+           ('x' || substr(md5(g.i::text), 1, 7))::bit(28)::int AS h1,
+           ('x' || substr(md5(g.i::text), 8, 7))::bit(28)::int AS h2,
+           ('x' || substr(md5(g.i::text), 15, 7))::bit(28)::int AS h3,
+           ('x' || substr(md5(g.i::text), 22, 7))::bit(28)::int AS h4
+    FROM generate_series(${from}, ${to}) g(i)
+), rows AS (
+    SELECT h.i,
+           d.first_names[1 + h.h1 % array_length(d.first_names, 1)] AS first_name,
+           CASE WHEN h.h2 % 10 = 0
+                THEN d.common_surnames[1 + h.h3 % array_length(d.common_surnames, 1)]
+                ELSE initcap(d.starts[1 + h.h3 % array_length(d.starts, 1)]
+                             || d.middles[1 + h.h4 % array_length(d.middles, 1)]
+                             || d.ends[1 + (h.h2 / 10) % array_length(d.ends, 1)])
+           END AS last_name,
+           d.company_suffixes[1 + h.h1 % array_length(d.company_suffixes, 1)] AS suffix,
+           d.domains[1 + h.h4 % array_length(d.domains, 1)] AS domain
+    FROM hashes h, dictionary d
+)
+INSERT INTO client (id, type, name, email, phone, created_at, updated_at)
+SELECT md5('search-bench-' || i)::uuid,
+       CASE WHEN i % 5 = 0 THEN 'COMPANY' ELSE 'PERSON' END,
+       CASE WHEN i % 5 = 0 THEN last_name || ' ' || suffix ELSE first_name || ' ' || last_name END,
+       lower(CASE WHEN i % 5 = 0 THEN 'info.' || last_name ELSE first_name || '.' || last_name END)
+           || '.' || i || '@' || domain,
+       NULL, CURRENT_DATE, CURRENT_DATE
+FROM rows
+ON CONFLICT DO NOTHING;
+
+INSERT INTO person_client (id, birthdate)
+SELECT md5('search-bench-' || i)::uuid, DATE '1940-01-01' + (i % 25000)
+FROM generate_series(${from}, ${to}) i
+WHERE i % 5 <> 0
+ON CONFLICT DO NOTHING;
+
+-- Company identifiers (aaa-123) are unique for the first 17.5 million companies
+INSERT INTO company_client (id, company_identifier)
+SELECT md5('search-bench-' || i)::uuid,
+       chr(97 + (i / 5 / 1000 / 676) % 26) || chr(97 + (i / 5 / 1000 / 26) % 26) || chr(97 + (i / 5 / 1000) % 26)
+           || '-' || lpad(((i / 5) % 1000)::text, 3, '0')
+FROM generate_series(${from}, ${to}) i
+WHERE i % 5 = 0
+ON CONFLICT DO NOTHING;
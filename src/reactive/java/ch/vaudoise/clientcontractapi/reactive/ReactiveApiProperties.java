@@ -0,0 +1,19 @@
+package ch.vaudoise.clientcontractapi.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the reactive read API, bound from {@code app.reactive.*}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveApiProperties {
+
+    /**
+     * Number of rows fetched from Postgres per round trip when streaming a
+     * list. Further rows are only requested once the response has consumed
+     * the previous ones, so a slow reader never buffers a whole result set.
+     */
+    private int fetchSize = 256;
+}
@@ -0,0 +1,97 @@
+package ch.vaudoise.clientcontractapi.reactive;
+
+import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Reads clients over R2DBC and maps them straight to the API DTOs.
+ * <p>
+ * Clients are stored with joined inheritance: the common columns live in
+ * {@code client}, the type-specific ones in {@code person_client} and
+ * {@code company_client}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveClientRepository {
+
+    private static final String FIND_PERSON = """
+            SELECT c.id, c.name, c.email, c.phone, p.birthdate
+            FROM client c
+            JOIN person_client p ON p.id = c.id
+            WHERE c.id = :id
+            """;
+
+    private static final String FIND_COMPANY = """
+            SELECT c.id, c.name, c.email, c.phone, co.company_identifier
+            FROM client c
+            JOIN company_client co ON co.id = c.id
+            WHERE c.id = :id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Finds a client of the given type.
+     *
+     * @param type the client type
+     * @param id   the client id
+     * @return the client, or an empty {@link Mono} if there is no client of
+     *         this type with this id
+     */
+    public Mono<ClientDTO> findById(ClientType type, UUID id) {
+        return switch (type) {
+            case PERSON -> databaseClient.sql(FIND_PERSON)
+                    .bind("id", id)
+                    .map(ReactiveClientRepository::toPerson)
+                    .one();
+            case COMPANY -> databaseClient.sql(FIND_COMPANY)
+                    .bind("id", id)
+                    .map(ReactiveClientRepository::toCompany)
+                    .one();
+        };
+    }
+
+    /**
+     * @param type the client type
+     * @param id   the client id
+     * @return whether a client of the given type exists
+     */
+    public Mono<Boolean> exists(ClientType type, UUID id) {
+        String table = type == ClientType.PERSON ? "person_client" : "company_client";
+        return databaseClient.sql("SELECT 1 FROM " + table + " WHERE id = :id")
+                .bind("id", id)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    private static ClientDTO toPerson(Readable row) {
+        PersonDTO dto = new PersonDTO(row.get("birthdate", LocalDate.class));
+        fillCommon(dto, ClientType.PERSON, row);
+        return dto;
+    }
+
+    private static ClientDTO toCompany(Readable row) {
+        CompanyDTO dto = new CompanyDTO(row.get("company_identifier", String.class));
+        fillCommon(dto, ClientType.COMPANY, row);
+        return dto;
+    }
+
+    private static void fillCommon(ClientDTO dto, ClientType type, Readable row) {
+        dto.setId(row.get("id", UUID.class).toString());
+        dto.setType(type);
+        dto.setName(row.get("name", String.class));
+        dto.setEmail(row.get("email", String.class));
+        dto.setPhone(row.get("phone", String.class));
+    }
+}
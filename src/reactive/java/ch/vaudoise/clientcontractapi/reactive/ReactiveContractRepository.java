@@ -0,0 +1,96 @@
+package ch.vaudoise.clientcontractapi.reactive;
+
+import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Reads active contracts over R2DBC with the same definitions of "active" as
+ * {@code ContractRepository}: ending after today, or, for a point-in-time
+ * read, whose period contains the given date.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveContractRepository {
+
+    private static final String ACTIVE_TODAY = "(end_date IS NULL OR end_date > :today)";
+
+    private static final String ACTIVE_AS_OF = "period @> CAST(:asOf AS date)";
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveApiProperties properties;
+
+    /**
+     * Streams the active contracts of a client. Rows are fetched in chunks of
+     * {@link ReactiveApiProperties#getFetchSize()} as the subscriber requests
+     * them.
+     *
+     * @param clientId     the client id
+     * @param updatedAfter only return contracts modified after this instant,
+     *                     or {@code null}
+     * @param asOf         the date at which the contracts must be active, or
+     *                     {@code null} for today
+     * @return the active contracts
+     */
+    public Flux<ContractDTO> findActive(UUID clientId, OffsetDateTime updatedAfter, LocalDate asOf) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT id, client_id, start_date, end_date, CAST(cost_amount AS double precision) AS cost_amount
+                FROM contract
+                WHERE client_id = :clientId AND\s""");
+        sql.append(asOf == null ? ACTIVE_TODAY : ACTIVE_AS_OF);
+        if (updatedAfter != null) {
+            sql.append(" AND last_modified > :updatedAfter");
+        }
+        DatabaseClient.GenericExecuteSpec spec = bindActive(databaseClient.sql(sql.toString()), clientId, asOf);
+        if (updatedAfter != null) {
+            // last_modified is a timestamp without time zone in the server's zone
+            spec = spec.bind("updatedAfter",
+                    updatedAfter.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime());
+        }
+        return spec.filter(statement -> statement.fetchSize(properties.getFetchSize()))
+                .map(ReactiveContractRepository::toContract)
+                .all();
+    }
+
+    /**
+     * Sums the cost of the active contracts of a client in the database.
+     *
+     * @param clientId the client id
+     * @param asOf     the date at which the contracts must be active, or
+     *                 {@code null} for today
+     * @return the total cost, zero if there is no active contract
+     */
+    public Mono<BigDecimal> sumActiveCost(UUID clientId, LocalDate asOf) {
+        String sql = "SELECT COALESCE(SUM(CAST(cost_amount AS numeric)), 0) AS total FROM contract"
+                + " WHERE client_id = :clientId AND " + (asOf == null ? ACTIVE_TODAY : ACTIVE_AS_OF);
+        return bindActive(databaseClient.sql(sql), clientId, asOf)
+                .map(row -> row.get("total", BigDecimal.class))
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindActive(
+            DatabaseClient.GenericExecuteSpec spec, UUID clientId, LocalDate asOf) {
+        spec = spec.bind("clientId", clientId);
+        return asOf == null ? spec.bind("today", LocalDate.now()) : spec.bind("asOf", asOf);
+    }
+
+    private static ContractDTO toContract(Readable row) {
+        return ContractDTO.builder()
+                .id(row.get("id", UUID.class).toString())
+                .clientId(row.get("client_id", UUID.class).toString())
+                .startDate(row.get("start_date", LocalDate.class))
+                .endDate(row.get("end_date", LocalDate.class))
+                .costAmount(row.get("cost_amount", Double.class))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package ch.vaudoise.clientcontractapi.reactive;
+
+import ch.vaudoise.clientcontractapi.dtos.ErrorResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+/**
+ * Maps errors of the reactive API to the same {@link ErrorResponseDTO} bodies
+ * as {@code GlobalExceptionHandler} does for the MVC application.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles malformed identifiers and request parameters.
+     *
+     * @param ex the exception that was thrown
+     * @return a {@link ResponseEntity} containing the error response
+     */
+    @ExceptionHandler({ IllegalArgumentException.class, ServerWebInputException.class })
+    public ResponseEntity<ErrorResponseDTO> handleInvalidRequest(Exception ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "VALIDATION_FAILED",
+                "Validation failed for the provided data",
+                ex.getMessage(),
+                null,
+                "INVALID_REQUEST");
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles requests that could not get a connection from the R2DBC pool
+     * within {@code spring.r2dbc.pool.max-acquire-time}. Netty accepts every
+     * request, so under overload they queue here rather than in front of a
+     * thread pool. Returns 503 so that callers back off and retry.
+     *
+     * @param ex the exception that was thrown
+     * @return a {@link ResponseEntity} containing the error response
+     */
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleConnectionUnavailable(Exception ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "SERVICE_UNAVAILABLE",
+                "The service is overloaded, please retry later",
+                "No database connection available",
+                null,
+                "DATABASE_BUSY");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles any other exception, e.g. the database being unreachable.
+     *
+     * @param ex the exception that was thrown
+     * @return a {@link ResponseEntity} containing the error response
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponseDTO> handleGenericException(Exception ex) {
+        log.error("Unexpected error in the reactive read API", ex);
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+                "INTERNAL_SERVER_ERROR",
+                "An unexpected error occurred",
+                ex.getMessage(),
+                null,
+                null);
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+}
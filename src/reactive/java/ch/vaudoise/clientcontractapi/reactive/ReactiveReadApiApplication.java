@@ -0,0 +1,48 @@
+package ch.vaudoise.clientcontractapi.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Non-blocking, read-only variant of the API for read-heavy partner
+ * integrations: WebFlux on Netty with R2DBC, serving client lookup, active
+ * contracts and active sums with the same paths and DTOs as the MVC
+ * application.
+ * <p>
+ * It only scans its own package and reads {@code reactive.yml}, so none of
+ * the JPA, Flyway or scheduling infrastructure of the main application is
+ * started. The schema is owned by the main application.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class
+})
+@ConfigurationPropertiesScan
+public class ReactiveReadApiApplication {
+
+    public static void main(String[] args) {
+        start(args);
+    }
+
+    /**
+     * Starts the reactive application.
+     *
+     * @param args the command line arguments
+     * @return the running application context
+     */
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(ReactiveReadApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reactive")
+                .run(args);
+    }
+}
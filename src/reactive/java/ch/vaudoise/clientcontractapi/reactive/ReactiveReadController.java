@@ -0,0 +1,96 @@
+package ch.vaudoise.clientcontractapi.reactive;
+
+import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only endpoints of the reactive API. Paths, parameters and payloads
+ * match {@code ClientController} and {@code ContractController}, so a
+ * partner can switch between the two applications by changing the host.
+ * <p>
+ * Contract lists are written as a JSON array, or one JSON document per line
+ * when {@code application/x-ndjson} is requested, while rows are still
+ * arriving from the database.
+ */
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class ReactiveReadController {
+
+    private final ReactiveClientRepository clientRepository;
+    private final ReactiveContractRepository contractRepository;
+
+    /**
+     * Retrieves a client by ID for a given {@link ClientType}.
+     *
+     * @param clientType the type of client
+     * @param id         the ID of the client
+     * @return the client DTO, or 404 Not Found
+     */
+    @GetMapping("/clients/{id}")
+    public Mono<ResponseEntity<ClientDTO>> getClientById(@RequestParam ClientType clientType, @PathVariable String id) {
+        return clientRepository.findById(clientType, UUID.fromString(id))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Streams the active contracts of a client.
+     *
+     * @param clientId     the ID of the client
+     * @param clientType   the type of client (PERSON or COMPANY)
+     * @param updatedAfter optional filter for contracts updated after this date
+     * @param asOf         optional date at which the contracts must be active
+     *                     (defaults to today)
+     * @return the active contracts, or 404 Not Found if the client does not
+     *         exist
+     */
+    @GetMapping(value = "/contracts/{clientId}",
+            produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public Mono<ResponseEntity<Flux<ContractDTO>>> getActiveContracts(
+            @PathVariable String clientId,
+            @RequestParam ClientType clientType,
+            @RequestParam(required = false) OffsetDateTime updatedAfter,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        UUID id = UUID.fromString(clientId);
+        return clientRepository.exists(clientType, id)
+                .map(exists -> exists
+                        ? ResponseEntity.ok(contractRepository.findActive(id, updatedAfter, asOf))
+                        : ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get total sum of active contracts for a client.
+     *
+     * @param clientId   the ID of the client
+     * @param clientType the type of client
+     * @param asOf       optional date at which the contracts must be active
+     *                   (defaults to today)
+     * @return total cost of active contracts, or 404 Not Found
+     */
+    @GetMapping("/contracts/{clientId}/sum")
+    public Mono<ResponseEntity<BigDecimal>> getTotalActiveContractsAmount(
+            @PathVariable String clientId,
+            @RequestParam ClientType clientType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        UUID id = UUID.fromString(clientId);
+        return clientRepository.exists(clientType, id)
+                .flatMap(exists -> exists
+                        ? contractRepository.sumActiveCost(id, asOf).map(total -> ResponseEntity.ok(Money.of(total).toBigDecimal()))
+                        : Mono.just(ResponseEntity.notFound().<BigDecimal>build()));
+    }
+}
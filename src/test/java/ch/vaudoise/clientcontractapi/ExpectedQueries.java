@@ -0,0 +1,36 @@
+package ch.vaudoise.clientcontractapi;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Asserts the exact number of SQL statements a test method executes on the
+ * test thread, by kind. Kinds left out are expected not to run at all, so
+ * an extra lazy load or a repeated lookup fails the test.
+ * <p>
+ * Requires the data source to be proxied by {@link QueryCountConfiguration}.
+ * Statements of {@code @BeforeEach} methods and of other threads (schedulers,
+ * asynchronous writers) are not counted.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(ExpectedQueriesExtension.class)
+public @interface ExpectedQueries {
+
+    int select() default 0;
+
+    int insert() default 0;
+
+    int update() default 0;
+
+    int delete() default 0;
+
+    /**
+     * Statements of any other kind, such as locks or {@code WITH} queries.
+     */
+    int other() default 0;
+}
@@ -0,0 +1,56 @@
+package ch.vaudoise.clientcontractapi;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the {@link ExpectedQueries} of a test method against the statements
+ * counted by datasource-proxy on the test thread while the method ran. The
+ * failure message lists the statements, to find the unexpected one.
+ */
+public class ExpectedQueriesExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Records the statements of an execution, called by the data source proxy.
+     */
+    static void record(List<QueryInfo> queries) {
+        queries.forEach(query -> STATEMENTS.get().add(query.getQuery()));
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        QueryCountHolder.clear();
+        STATEMENTS.get().clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        ExpectedQueries expected = context.getRequiredTestMethod().getAnnotation(ExpectedQueries.class);
+        if (expected == null) {
+            // A method of a class using the extension, without expectations
+            QueryCountHolder.clear();
+            STATEMENTS.get().clear();
+            return;
+        }
+        QueryCount actual = QueryCountHolder.getGrandTotal();
+        String statements = "statements:\n  " + String.join("\n  ", STATEMENTS.get());
+        QueryCountHolder.clear();
+        STATEMENTS.get().clear();
+        assertEquals(
+                List.of(expected.select(), expected.insert(), expected.update(), expected.delete(), expected.other()),
+                List.of((int) actual.getSelect(), (int) actual.getInsert(), (int) actual.getUpdate(),
+                        (int) actual.getDelete(), (int) actual.getOther()),
+                () -> "[select, insert, update, delete, other] " + statements);
+    }
+}
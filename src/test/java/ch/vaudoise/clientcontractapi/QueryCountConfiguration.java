@@ -0,0 +1,33 @@
+package ch.vaudoise.clientcontractapi;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Proxies the application data source with datasource-proxy, which counts
+ * the statements per thread for {@link ExpectedQueries}.
+ */
+@TestConfiguration
+public class QueryCountConfiguration {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .countQuery()
+                            .afterQuery((execution, queries) -> ExpectedQueriesExtension.record(queries))
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package ch.vaudoise.clientcontractapi.controllers;
+
+import ch.vaudoise.clientcontractapi.ExpectedQueries;
+import ch.vaudoise.clientcontractapi.QueryCountConfiguration;
+import ch.vaudoise.clientcontractapi.TestcontainersConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SQL statement counts of the {@link ClientController} endpoints, against a
+ * PostgreSQL container. Each test fails when an endpoint runs more or fewer
+ * statements than expected, e.g. after an accidental N+1.
+ */
+@SpringBootTest(properties = {
+        "app.contract-expiry.scanner-enabled=false",
+        "app.reporting.refresh-enabled=false",
+        "app.metrics.gauges-enabled=false",
+        "app.rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+@Import({TestcontainersConfiguration.class, QueryCountConfiguration.class})
+@Testcontainers(disabledWithoutDocker = true)
+class ClientControllerQueryCountTest {
+
+    private static final String CLIENTS = BaseController.API_V1 + "/clients";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String personId;
+    private String companyId;
+
+    /**
+     * Creates two persons, one with two contracts, and a company.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        personId = createdId(CLIENTS, """
+                {"type":"PERSON","name":"Anna Keller","email":"anna.keller@example.ch","birthdate":"1980-01-01"}""");
+        createdId(CLIENTS, """
+                {"type":"PERSON","name":"Luca Keller","email":"luca.keller@example.ch","birthdate":"1985-06-15"}""");
+        companyId = createdId(CLIENTS, """
+                {"type":"COMPANY","name":"Keller Bau AG","email":"info@keller-bau.ch","companyIdentifier":"kel-123"}""");
+        for (int i = 0; i < 2; i++) {
+            createdId(BaseController.API_V1 + "/contracts/" + personId + "?clientType=PERSON", """
+                    {"clientId":"%s","costAmount":120.50}""".formatted(personId));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM contract");
+        jdbcTemplate.update("DELETE FROM person_client");
+        jdbcTemplate.update("DELETE FROM company_client");
+        jdbcTemplate.update("DELETE FROM client");
+    }
+
+    /**
+     * Test to verify that listing the persons loads them in one query,
+     * whatever their number, without loading their contracts.
+     */
+    @Test
+    @ExpectedQueries(select = 1)
+    void getAll_loadsClientsInOneQuery() throws Exception {
+        mockMvc.perform(get(CLIENTS).param("clientType", "PERSON"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    /**
+     * Test to verify that a client search runs as a single statement; it is
+     * a {@code WITH} query, which datasource-proxy counts as "other".
+     */
+    @Test
+    @ExpectedQueries(other = 1)
+    void search_runsOneQuery() throws Exception {
+        mockMvc.perform(get(CLIENTS + "/search").param("q", "keller"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(3));
+    }
+
+    /**
+     * Test to verify the statements of reading a client by id. The client is
+     * loaded twice: once by the existence check and once by the read itself,
+     * each in its own transaction.
+     */
+    @Test
+    @ExpectedQueries(select = 2)
+    void getById_loadsClientTwice() throws Exception {
+        mockMvc.perform(get(CLIENTS + "/" + personId).param("clientType", "PERSON"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Anna Keller"));
+    }
+
+    /**
+     * Test to verify the statements of creating a company: the identifier
+     * uniqueness check, the two rows of the joined hierarchy and the outbox
+     * event.
+     */
+    @Test
+    @ExpectedQueries(select = 1, insert = 3)
+    void create_insertsClient() throws Exception {
+        mockMvc.perform(post(CLIENTS).contentType(MediaType.APPLICATION_JSON).content("""
+                        {"type":"COMPANY","name":"Favre SA","email":"info@favre.ch","companyIdentifier":"fav-456"}"""))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test to verify the statements of updating a client: the existence check
+     * and the load for the update, the update itself and the outbox event.
+     */
+    @Test
+    @ExpectedQueries(select = 2, insert = 1, update = 1)
+    void update_updatesClient() throws Exception {
+        mockMvc.perform(put(CLIENTS + "/" + companyId).param("clientType", "COMPANY")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name":"Keller Holding AG"}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Keller Holding AG"));
+    }
+
+    /**
+     * Test to verify the statements of deleting a person with contracts. The
+     * active contracts are selected once to be closed; the contract deletes
+     * are sent as a single batch.
+     */
+    @Test
+    @ExpectedQueries(select = 4, insert = 1, delete = 3)
+    void delete_deletesClientAndClosesContracts() throws Exception {
+        mockMvc.perform(delete(CLIENTS + "/" + personId).param("clientType", "PERSON"))
+                .andExpect(status().isNoContent());
+    }
+
+    private String createdId(String url, String json) throws Exception {
+        String body = mockMvc.perform(post(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
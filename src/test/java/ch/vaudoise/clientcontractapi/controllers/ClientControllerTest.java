@@ -1,11 +1,14 @@
 package ch.vaudoise.clientcontractapi.controllers;
 
 import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientSearchPageDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientSearchResultDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
 import ch.vaudoise.clientcontractapi.dtos.client.ClientUpdateDTO;
 import ch.vaudoise.clientcontractapi.models.enums.ClientType;
 import ch.vaudoise.clientcontractapi.services.client.ClientOrchestrationService;
+import ch.vaudoise.clientcontractapi.services.client.ClientSearchService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -39,6 +42,9 @@ class ClientControllerTest {
     @MockBean
     private ClientOrchestrationService clientOrchestrationService;
 
+    @MockBean
+    private ClientSearchService clientSearchService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -254,4 +260,25 @@ class ClientControllerTest {
         // Verify the service method was called
         verify(clientOrchestrationService).deleteClient(ClientType.COMPANY, sampleId.toString());
     }
+
+    /**
+     * Test to verify that the search endpoint returns the ranked page from the
+     * search service, including the next cursor.
+     *
+     * @throws Exception if the request fails
+     */
+    @Test
+    void search_returnsRankedPage() throws Exception {
+        ClientSearchResultDTO hit = new ClientSearchResultDTO(sampleId.toString(), ClientType.COMPANY, "Acme Ltd",
+                "hello@acme.com", "acm-123", 0.8f);
+        when(clientSearchService.search("acme", 10, null)).thenReturn(new ClientSearchPageDTO(List.of(hit), "next"));
+
+        mockMvc.perform(get("/api/v1/clients/search")
+                .param("q", "acme")
+                .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].name").value("Acme Ltd"))
+                .andExpect(jsonPath("$.results[0].companyIdentifier").value("acm-123"))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
 }
@@ -0,0 +1,128 @@
+package ch.vaudoise.clientcontractapi.controllers;
+
+import ch.vaudoise.clientcontractapi.TestcontainersConfiguration;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Point-in-time reads of the {@link ContractController}, against a
+ * PostgreSQL container.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestcontainersConfiguration.class)
+@Testcontainers(disabledWithoutDocker = true)
+class ContractControllerAsOfTest {
+
+    private static final String CONTRACTS = BaseController.API_V1 + "/contracts";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String personId;
+
+    /**
+     * Creates a person with a running contract, one ending in 100 days, one
+     * starting in 10 days and one that ended yesterday.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        LocalDate today = LocalDate.now();
+        personId = createdId(BaseController.API_V1 + "/clients", """
+                {"type":"PERSON","name":"Anna Keller","email":"anna.keller@example.ch","birthdate":"1980-01-01"}""");
+        createContract("""
+                {"clientId":"%s","costAmount":120.50}""".formatted(personId));
+        createContract("""
+                {"clientId":"%s","costAmount":99.95,"endDate":"%s"}""".formatted(personId, today.plusDays(100)));
+        createContract("""
+                {"clientId":"%s","costAmount":80.25,"startDate":"%s"}""".formatted(personId, today.plusDays(10)));
+        String ended = createContract("""
+                {"clientId":"%s","costAmount":40.00}""".formatted(personId));
+        jdbcTemplate.update("UPDATE contract SET start_date = ?, end_date = ? WHERE id = ?",
+                today.minusDays(30), today.minusDays(1), UUID.fromString(ended));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM contract");
+        jdbcTemplate.update("DELETE FROM person_client");
+        jdbcTemplate.update("DELETE FROM client");
+    }
+
+    /**
+     * Test to verify that reading the active contracts and their sum without
+     * a date keeps the contracts that have not ended, including those starting
+     * in the future, while reading them as of today only keeps the contracts
+     * whose period contains today.
+     */
+    @Test
+    void activeContracts_asOfTodayLeavesOutContractsNotStarted() throws Exception {
+        String today = LocalDate.now().toString();
+
+        Set<String> active = contractIds(get(CONTRACTS + "/" + personId).param("clientType", "PERSON"));
+        Set<String> activeToday = contractIds(get(CONTRACTS + "/" + personId).param("clientType", "PERSON")
+                .param("asOf", today));
+        assertEquals(3, active.size());
+        assertEquals(2, activeToday.size());
+        assertTrue(active.containsAll(activeToday));
+
+        mockMvc.perform(get(CONTRACTS + "/" + personId + "/sum").param("clientType", "PERSON"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("300.70"));
+        mockMvc.perform(get(CONTRACTS + "/" + personId + "/sum").param("clientType", "PERSON")
+                        .param("asOf", today))
+                .andExpect(status().isOk())
+                .andExpect(content().string("220.45"));
+    }
+
+    private Set<String> contractIds(MockHttpServletRequestBuilder request) throws Exception {
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Set<String> ids = new TreeSet<>();
+        for (JsonNode contract : objectMapper.readTree(body)) {
+            ids.add(contract.get("id").asText());
+        }
+        return ids;
+    }
+
+    private String createContract(String json) throws Exception {
+        return createdId(CONTRACTS + "/" + personId + "?clientType=PERSON", json);
+    }
+
+    private String createdId(String url, String json) throws Exception {
+        String body = mockMvc.perform(post(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
@@ -0,0 +1,171 @@
+package ch.vaudoise.clientcontractapi.controllers;
+
+import ch.vaudoise.clientcontractapi.ExpectedQueries;
+import ch.vaudoise.clientcontractapi.QueryCountConfiguration;
+import ch.vaudoise.clientcontractapi.TestcontainersConfiguration;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * SQL statement counts of the {@link ContractController} endpoints, against a
+ * PostgreSQL container. Each test fails when an endpoint runs more or fewer
+ * statements than expected, e.g. after an accidental N+1.
+ */
+@SpringBootTest(properties = {
+        "app.contract-expiry.scanner-enabled=false",
+        "app.reporting.refresh-enabled=false",
+        "app.metrics.gauges-enabled=false",
+        "app.rate-limit.enabled=false"})
+@AutoConfigureMockMvc
+@Import({TestcontainersConfiguration.class, QueryCountConfiguration.class})
+@Testcontainers(disabledWithoutDocker = true)
+class ContractControllerQueryCountTest {
+
+    private static final String CONTRACTS = BaseController.API_V1 + "/contracts";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String personId;
+    private String contractId;
+
+    /**
+     * Creates a person with three contracts, one of them ending in 100 days.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        personId = createdId(BaseController.API_V1 + "/clients", """
+                {"type":"PERSON","name":"Anna Keller","email":"anna.keller@example.ch","birthdate":"1980-01-01"}""");
+        contractId = createdId(CONTRACTS + "/" + personId + "?clientType=PERSON", """
+                {"clientId":"%s","costAmount":120.50}""".formatted(personId));
+        createdId(CONTRACTS + "/" + personId + "?clientType=PERSON", """
+                {"clientId":"%s","costAmount":80.25}""".formatted(personId));
+        createdId(CONTRACTS + "/" + personId + "?clientType=PERSON", """
+                {"clientId":"%s","costAmount":99.95,"endDate":"%s"}""".formatted(personId,
+                LocalDate.now().plusDays(100)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM contract");
+        jdbcTemplate.update("DELETE FROM person_client");
+        jdbcTemplate.update("DELETE FROM client");
+    }
+
+    /**
+     * Test to verify that the active contracts of a client are loaded in one
+     * query after the client, whatever their number.
+     */
+    @Test
+    @ExpectedQueries(select = 2)
+    void getActiveContracts_loadsContractsInOneQuery() throws Exception {
+        mockMvc.perform(get(CONTRACTS + "/" + personId).param("clientType", "PERSON"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    /**
+     * Test to verify the statements of a page of expiring contracts.
+     */
+    @Test
+    @ExpectedQueries(select = 1)
+    void getExpiringContracts_loadsPageInOneQuery() throws Exception {
+        mockMvc.perform(get(CONTRACTS + "/expiring").param("withinDays", "365"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contracts.length()").value(1));
+    }
+
+    /**
+     * Test to verify the statements of creating a contract, including its
+     * outbox event.
+     */
+    @Test
+    @ExpectedQueries(select = 1, insert = 2)
+    void createContract_insertsContractAndEvent() throws Exception {
+        mockMvc.perform(post(CONTRACTS + "/" + personId).param("clientType", "PERSON")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"clientId":"%s","costAmount":45.00}""".formatted(personId)))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test to verify the statements of a cost update: the contract is read by
+     * the controller, read again when merged and its client is loaded for the
+     * outbox event.
+     */
+    @Test
+    @ExpectedQueries(select = 3, insert = 1, update = 1)
+    void updateContractCost_updatesContractAndInsertsEvent() throws Exception {
+        mockMvc.perform(put(CONTRACTS + "/" + contractId + "/cost").param("cost", "150.75"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.costAmount").value(150.75));
+    }
+
+    /**
+     * Test to verify the statements of a page of cost history.
+     */
+    @Test
+    @ExpectedQueries(select = 2)
+    void getCostHistory_checksContractAndLoadsPage() throws Exception {
+        mockMvc.perform(get(CONTRACTS + "/" + contractId + "/cost-history"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test to verify that the sum of the active contracts is computed by the
+     * database, without loading the contracts.
+     */
+    @Test
+    @ExpectedQueries(select = 2)
+    void getTotalActiveContractsAmount_sumsInDatabase() throws Exception {
+        mockMvc.perform(get(CONTRACTS + "/" + personId + "/sum").param("clientType", "PERSON"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("300.7"));
+    }
+
+    /**
+     * Test to verify that a cost trend loads the contracts of the window once,
+     * whatever the number of dates.
+     */
+    @Test
+    @ExpectedQueries(select = 2)
+    void getActiveCostTrend_loadsContractsOnce() throws Exception {
+        LocalDate today = LocalDate.now();
+        mockMvc.perform(get(CONTRACTS + "/" + personId + "/sum/trend").param("clientType", "PERSON")
+                        .param("dates", today.toString(), today.plusDays(50).toString(),
+                                today.plusDays(200).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    private String createdId(String url, String json) throws Exception {
+        String body = mockMvc.perform(post(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asText();
+    }
+}
@@ -1,25 +1,41 @@
 package ch.vaudoise.clientcontractapi.controllers;
 
+import ch.vaudoise.clientcontractapi.dtos.ContractCostHistoryDTO;
 import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
 import ch.vaudoise.clientcontractapi.mappers.ContractMapper;
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.entities.ContractCostHistory;
 import ch.vaudoise.clientcontractapi.models.entities.client.Person;
 import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.serialization.JacksonProtobufHttpMessageConverter;
 import ch.vaudoise.clientcontractapi.services.ContractService;
 import ch.vaudoise.clientcontractapi.services.client.ClientResolverService;
+import ch.vaudoise.clientcontractapi.services.coalescing.RequestCoalescer;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpInputMessage;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -27,8 +43,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 /**
  * Unit tests for {@link ContractController}.
- * Controller is exercised with mocked ContractService, ContractMapper, and
- * ClientResolverService.
+ * Controller is exercised with mocked ContractService, ContractMapper,
+ * ClientResolverService, and a RequestCoalescer running every read directly.
  */
 @WebMvcTest(controllers = ContractController.class)
 class ContractControllerTest {
@@ -45,6 +61,9 @@ class ContractControllerTest {
     @MockBean
     private ClientResolverService clientResolverService;
 
+    @MockBean
+    private RequestCoalescer requestCoalescer;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -57,6 +76,9 @@ class ContractControllerTest {
      */
     @BeforeEach
     void setUp() {
+        when(requestCoalescer.execute(anyString(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+
         clientUuid = UUID.randomUUID();
 
         personEntity = new Person();
@@ -80,7 +102,7 @@ class ContractControllerTest {
                 .resolveClient(ClientType.PERSON, clientUuid.toString());
 
         // ContractService returns domain contracts; mapper converts to DTOs.
-        when(contractService.getActiveContracts(eq(personEntity), any(OffsetDateTime.class)))
+        when(contractService.getActiveContracts(eq(personEntity), any(OffsetDateTime.class), any(LocalDate.class)))
                 .thenReturn(List.of());
         
         // Perform the GET request and ensure OK status
@@ -89,11 +111,56 @@ class ContractControllerTest {
                 .andExpect(status().isOk());
 
         verify(clientResolverService).resolveClient(ClientType.PERSON, clientUuid.toString());
-        verify(contractService).getActiveContracts(personEntity, null);
+        verify(contractService).getActiveContracts(personEntity, null, null);
     }
 
     /**
-     * Test to ensure that the endpoint for creating a contract correctly creates and returns a contract DTO.
+     * Test to ensure that active contracts are returned as JSON by default,
+     * and as CBOR, Smile or Protobuf on request, each decoding to the same DTOs.
+     *
+     * @throws Exception if there is an error during the request execution
+     */
+    @Test
+    void getActiveContracts_negotiatesBinaryRepresentations() throws Exception {
+        doReturn(Optional.of(personEntity))
+                .when(clientResolverService)
+                .resolveClient(ClientType.PERSON, clientUuid.toString());
+        Contract contract = new Contract();
+        when(contractService.getActiveContracts(personEntity, null, null)).thenReturn(List.of(contract));
+        sampleDto.setStartDate(LocalDate.of(2024, 1, 31));
+        when(contractMapper.toDTO(contract)).thenReturn(sampleDto);
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, ContractDTO.class);
+
+        mockMvc.perform(get("/api/v1/contracts/{clientId}", clientUuid.toString())
+                .param("clientType", "PERSON"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].startDate").value("2024-01-31"));
+
+        ObjectMapper cbor = JsonMapper.builder(new CBORFactory()).addModule(new JavaTimeModule()).build();
+        assertEquals(List.of(sampleDto), cbor.readValue(getContracts(MediaType.APPLICATION_CBOR), listType));
+
+        ObjectMapper smile = JsonMapper.builder(new SmileFactory()).addModule(new JavaTimeModule()).build();
+        assertEquals(List.of(sampleDto),
+                smile.readValue(getContracts(new MediaType("application", "x-jackson-smile")), listType));
+
+        JacksonProtobufHttpMessageConverter protobuf = new JacksonProtobufHttpMessageConverter();
+        byte[] message = getContracts(JacksonProtobufHttpMessageConverter.APPLICATION_PROTOBUF);
+        assertEquals(List.of(sampleDto), protobuf.read(listType, null, new MockHttpInputMessage(message)));
+    }
+
+    private byte[] getContracts(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get("/api/v1/contracts/{clientId}", clientUuid.toString())
+                .param("clientType", "PERSON")
+                .accept(mediaType))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(mediaType))
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+
+    /**
+     * Test to ensure that the endpoint for creating a contract correctly creates and returns a contract DTO,
+     * looking the client up without sharing it with other requests.
      * 
      * @throws Exception if there is an error during the request execution
      */
@@ -105,10 +172,10 @@ class ContractControllerTest {
 
         // map DTO->entity and entity->dto flow
         when(contractMapper.toEntity(any(ContractDTO.class)))
-                .thenReturn(new ch.vaudoise.clientcontractapi.models.entities.Contract());
-        when(contractService.createContract(any(ch.vaudoise.clientcontractapi.models.entities.Contract.class)))
-                .thenReturn(new ch.vaudoise.clientcontractapi.models.entities.Contract());
-        when(contractMapper.toDTO(any(ch.vaudoise.clientcontractapi.models.entities.Contract.class)))
+                .thenReturn(new Contract());
+        when(contractService.createContract(any(Contract.class)))
+                .thenReturn(new Contract());
+        when(contractMapper.toDTO(any(Contract.class)))
                 .thenReturn(sampleDto);
 
         mockMvc.perform(post("/api/v1/contracts/{clientId}", clientUuid.toString())
@@ -119,6 +186,7 @@ class ContractControllerTest {
                 .andExpect(jsonPath("$.clientId").value(clientUuid.toString()));
 
         verify(contractService).createContract(any());
+        verifyNoInteractions(requestCoalescer);
     }
 
     /**
@@ -129,13 +197,13 @@ class ContractControllerTest {
     @Test
     void updateContractCost_updatesAndReturns() throws Exception {
         UUID contractUuid = UUID.randomUUID();
-        ch.vaudoise.clientcontractapi.models.entities.Contract entity = new ch.vaudoise.clientcontractapi.models.entities.Contract();
+        Contract entity = new Contract();
 
         // contractMapper.map(contractId) should convert String->UUID in your mapper - mock it
         when(contractMapper.map(eq(contractUuid.toString()))).thenReturn(contractUuid);
 
         when(contractService.findById(contractUuid)).thenReturn(Optional.of(entity));
-        when(contractService.updateContractCost(eq(entity), eq(200.0))).thenReturn(entity);
+        when(contractService.updateContractCost(eq(entity), eq(Money.of(200.0)))).thenReturn(entity);
         when(contractMapper.toDTO(entity)).thenReturn(sampleDto);
 
         mockMvc.perform(put("/api/v1/contracts/{contractId}/cost", contractUuid.toString())
@@ -143,7 +211,49 @@ class ContractControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(sampleDto.getId()));
 
-        verify(contractService).updateContractCost(entity, 200.0);
+        verify(contractService).updateContractCost(entity, Money.of(200.0));
+    }
+
+    /**
+     * Test to ensure that a cost that is not a finite number is rejected with 400.
+     * 
+     * @throws Exception if there is an error during the request execution
+     */
+    @Test
+    void updateContractCost_rejectsNonFiniteCost() throws Exception {
+        UUID contractUuid = UUID.randomUUID();
+        when(contractMapper.map(eq(contractUuid.toString()))).thenReturn(contractUuid);
+        when(contractService.findById(contractUuid)).thenReturn(Optional.of(new Contract()));
+
+        mockMvc.perform(put("/api/v1/contracts/{contractId}/cost", contractUuid.toString())
+                .param("cost", "NaN"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_AMOUNT"));
+
+        verify(contractService, never()).updateContractCost(any(), any());
+    }
+
+    /**
+     * Test to ensure that a finite cost too large for the cost column is
+     * rejected with 400 rather than failing the conversion or the update.
+     * 
+     * @throws Exception if there is an error during the request execution
+     */
+    @Test
+    void updateContractCost_rejectsOutOfRangeCost() throws Exception {
+        UUID contractUuid = UUID.randomUUID();
+        when(contractMapper.map(eq(contractUuid.toString()))).thenReturn(contractUuid);
+        when(contractService.findById(contractUuid)).thenReturn(Optional.of(new Contract()));
+
+        for (String cost : new String[] { "1e300", "1e20", "-1e20", "1e10" }) {
+            mockMvc.perform(put("/api/v1/contracts/{contractId}/cost", contractUuid.toString())
+                    .param("cost", cost))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errorCode").value("INVALID_AMOUNT"))
+                    .andExpect(jsonPath("$.field").value("cost"));
+        }
+
+        verify(contractService, never()).updateContractCost(any(), any());
     }
 
     /**
@@ -158,7 +268,7 @@ class ContractControllerTest {
                 .resolveClient(ClientType.PERSON, clientUuid.toString());
 
         when(contractService.getTotalActiveContractsAmount(personEntity))
-                .thenReturn(java.math.BigDecimal.valueOf(777.77));
+                .thenReturn(Money.ofMinorUnits(77777));
 
         mockMvc.perform(get("/api/v1/contracts/{clientId}/sum", clientUuid.toString())
                 .param("clientType", "PERSON"))
@@ -167,4 +277,80 @@ class ContractControllerTest {
 
         verify(contractService).getTotalActiveContractsAmount(personEntity);
     }
+
+    /**
+     * Test to ensure that the total active contract amount is computed at the
+     * requested date.
+     * 
+     * @throws Exception if there is an error during the request execution
+     */
+    @Test
+    void getTotalActiveContractsAmount_passesAsOf() throws Exception {
+        doReturn(Optional.of(personEntity))
+                .when(clientResolverService)
+                .resolveClient(ClientType.PERSON, clientUuid.toString());
+
+        LocalDate asOf = LocalDate.of(2024, 6, 30);
+        when(contractService.getTotalActiveContractsAmount(personEntity, asOf))
+                .thenReturn(Money.ofMinorUnits(77777));
+
+        mockMvc.perform(get("/api/v1/contracts/{clientId}/sum", clientUuid.toString())
+                .param("clientType", "PERSON")
+                .param("asOf", "2024-06-30"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("777.77"));
+
+        verify(contractService).getTotalActiveContractsAmount(personEntity, asOf);
+    }
+
+    /**
+     * Test to ensure that the endpoint for retrieving a contract's cost history
+     * returns the requested page.
+     *
+     * @throws Exception if there is an error during the request execution
+     */
+    @Test
+    void getCostHistory_returnsPage() throws Exception {
+        UUID contractUuid = UUID.randomUUID();
+        ContractCostHistory entry = new ContractCostHistory();
+        ContractCostHistoryDTO entryDto = new ContractCostHistoryDTO(100.0, 200.0, LocalDateTime.now(), "auditor");
+
+        when(contractMapper.map(eq(contractUuid.toString()))).thenReturn(contractUuid);
+        when(contractService.findById(contractUuid))
+                .thenReturn(Optional.of(new Contract()));
+        when(contractService.getCostHistory(contractUuid, 1, 20)).thenReturn(List.of(entry));
+        when(contractMapper.toDTO(entry)).thenReturn(entryDto);
+
+        mockMvc.perform(get("/api/v1/contracts/{contractId}/cost-history", contractUuid.toString())
+                .param("page", "1")
+                .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].newCost").value(200.0))
+                .andExpect(jsonPath("$[0].actor").value("auditor"));
+
+        verify(contractService).getCostHistory(contractUuid, 1, 20);
+    }
+
+    /**
+     * Test to ensure that the expiring contracts endpoint is not mistaken for a
+     * client id and returns the page with its cursor.
+     *
+     * @throws Exception if there is an error during the request execution
+     */
+    @Test
+    void getExpiringContracts_returnsPageWithCursor() throws Exception {
+        Contract entity = new Contract();
+        when(contractService.getExpiringContracts(30, null, 100))
+                .thenReturn(new ContractService.ExpiringContracts(List.of(entity), "next"));
+        when(contractMapper.toDTO(entity)).thenReturn(sampleDto);
+
+        mockMvc.perform(get("/api/v1/contracts/expiring")
+                .param("withinDays", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contracts[0].id").value(sampleDto.getId()))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        verify(contractService).getExpiringContracts(30, null, 100);
+        verifyNoInteractions(clientResolverService);
+    }
 }
@@ -0,0 +1,127 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.ConcurrencyLimitProperties;
+import ch.vaudoise.clientcontractapi.services.concurrency.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter}.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConcurrencyLimitProperties properties;
+
+    /**
+     * Starts with a limit of 10 requests, between 2 and 50.
+     */
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.getRead().setInitialLimit(10);
+        properties.getRead().setMinLimit(2);
+        properties.getRead().setMaxLimit(50);
+    }
+
+    /**
+     * Test to verify that requests beyond the limit are rejected and counted,
+     * and admitted again once a request is released.
+     */
+    @Test
+    void tryAcquire_rejectsBeyondLimit() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter();
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        limiter.release(10 * MILLIS, false);
+        assertTrue(limiter.tryAcquire());
+
+        assertEquals(1.0, meterRegistry.get("concurrency.rejected").tag("kind", "read").counter().count());
+    }
+
+    /**
+     * Test to verify that the limit grows while the limit is used and latency
+     * is stable, then shrinks when latency rises well above usual.
+     */
+    @Test
+    void release_adjustsLimitToLatency() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter();
+
+        runAtLimit(limiter, 10 * MILLIS, 200);
+        int grown = limiter.getLimit();
+        assertTrue(grown > 10, "limit should grow, was " + grown);
+
+        runAtLimit(limiter, 200 * MILLIS, 50);
+        assertTrue(limiter.getLimit() < grown / 2, "limit should shrink, was " + limiter.getLimit());
+        assertEquals(limiter.getLimit(), meterRegistry.get("concurrency.limit").tag("kind", "read").gauge().value());
+    }
+
+    /**
+     * Test to verify that the limit does not grow while far fewer requests
+     * than the limit are in flight.
+     */
+    @Test
+    void release_keepsLimitWhenUnderused() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter();
+
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(10 * MILLIS, false);
+        }
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    /**
+     * Test to verify that a request dropped for lack of a database connection
+     * cuts the limit by the backoff ratio, down to the minimum.
+     */
+    @Test
+    void release_backsOffOnDrop() {
+        AdaptiveConcurrencyLimiter limiter = newLimiter();
+
+        assertTrue(limiter.tryAcquire());
+        limiter.release(10 * MILLIS, true);
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(10 * MILLIS, true);
+        }
+        assertEquals(2, limiter.getLimit());
+    }
+
+    private AdaptiveConcurrencyLimiter newLimiter() {
+        return new AdaptiveConcurrencyLimiter("read", properties.getRead(), properties, meterRegistry);
+    }
+
+    /**
+     * Fills the limit then releases one request at a time with the given
+     * latency, admitting a new one each time, {@code requests} times.
+     */
+    private static void runAtLimit(AdaptiveConcurrencyLimiter limiter, long rttNanos, int requests) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < requests; i++) {
+            limiter.release(rttNanos, false);
+            admitted--;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+        }
+        for (; admitted > 0; admitted--) {
+            limiter.release(rttNanos, false);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.ChangeStreamProperties;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.services.stream.ChangeEventSink;
+import ch.vaudoise.clientcontractapi.services.stream.ChangeStreamFilter;
+import ch.vaudoise.clientcontractapi.services.stream.ChangeStreamService;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link ChangeStreamService}.
+ * Subscribers are registered with in-memory sinks instead of SSE connections.
+ */
+class ChangeStreamServiceTest {
+
+    private ChangeStreamService changeStreamService;
+
+    /**
+     * Creates a service with a small per-subscriber buffer so that the
+     * slow-consumer policy can be exercised.
+     */
+    @BeforeEach
+    void setUp() {
+        ChangeStreamProperties properties = new ChangeStreamProperties();
+        properties.setSubscriberBufferSize(2);
+        properties.setDispatchThreads(1);
+        changeStreamService = new ChangeStreamService(properties, new ObjectMapper().findAndRegisterModules());
+    }
+
+    /**
+     * Test to verify that events are only delivered to subscribers whose filter
+     * matches the client type and client id of the event.
+     */
+    @Test
+    void onDomainEvent_deliversOnlyToMatchingSubscribers() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        RecordingSink byClient = new RecordingSink(1);
+        RecordingSink byCompany = new RecordingSink(0);
+        RecordingSink all = new RecordingSink(1);
+        changeStreamService.register(new ChangeStreamFilter(null, clientId), byClient);
+        changeStreamService.register(new ChangeStreamFilter(ClientType.COMPANY, null), byCompany);
+        changeStreamService.register(new ChangeStreamFilter(null, null), all);
+
+        changeStreamService.onDomainEvent(event(ClientType.PERSON, clientId));
+
+        assertTrue(byClient.await());
+        assertTrue(all.await());
+        assertEquals(1, byClient.events.size());
+        assertTrue(byClient.events.get(0).contains(clientId.toString()));
+        assertTrue(byCompany.events.isEmpty());
+    }
+
+    /**
+     * Test to verify that a subscriber whose buffer overflows is disconnected
+     * without affecting the other subscribers.
+     */
+    @Test
+    void onDomainEvent_disconnectsSlowConsumer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink blocked = new RecordingSink(0) {
+            @Override
+            public void send(long id, DomainEventType type, String json) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        changeStreamService.register(new ChangeStreamFilter(null, null), blocked);
+
+        // One event is held by the blocked dispatcher, two fill the buffer, the fourth overflows it.
+        for (int i = 0; i < 4; i++) {
+            changeStreamService.onDomainEvent(event(ClientType.PERSON, UUID.randomUUID()));
+        }
+        release.countDown();
+
+        assertTrue(blocked.closed);
+        assertEquals(0, changeStreamService.getSubscriberCount());
+        assertEquals(1, changeStreamService.getSlowConsumerDisconnects());
+    }
+
+    private static DomainEvent event(ClientType clientType, UUID clientId) {
+        return DomainEvent.builder()
+                .type(DomainEventType.CONTRACT_CREATED)
+                .clientType(clientType)
+                .clientId(clientId)
+                .contractId(UUID.randomUUID())
+                .costAmount(Money.of(100.0))
+                .build();
+    }
+
+    private static class RecordingSink implements ChangeEventSink {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch received;
+        volatile boolean closed;
+
+        RecordingSink(int expected) {
+            this.received = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void send(long id, DomainEventType type, String json) {
+            events.add(json);
+            received.countDown();
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+
+        boolean await() throws InterruptedException {
+            return received.await(5, TimeUnit.SECONDS);
+        }
+    }
+}
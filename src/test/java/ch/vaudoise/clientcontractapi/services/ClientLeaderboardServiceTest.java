@@ -0,0 +1,109 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.LeaderboardProperties;
+import ch.vaudoise.clientcontractapi.dtos.report.ClientLeaderboardEntryDTO;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.repositories.report.ClientLeaderboardRepository;
+import ch.vaudoise.clientcontractapi.repositories.report.ClientLeaderboardRepository.Entry;
+import ch.vaudoise.clientcontractapi.services.report.ClientLeaderboardService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ClientLeaderboardService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClientLeaderboardServiceTest {
+
+    @Mock
+    private ClientLeaderboardRepository leaderboardRepository;
+
+    private ClientLeaderboardService leaderboardService;
+
+    private final Entry alice = entry(ClientType.PERSON, "Alice", "300");
+    private final Entry bob = entry(ClientType.PERSON, "Bob", "200");
+    private final Entry acme = entry(ClientType.COMPANY, "Acme SA", "250");
+
+    /**
+     * Seeds boards of two clients per type: Alice and Bob for persons, Acme
+     * alone for companies.
+     */
+    @BeforeEach
+    void setUp() {
+        LeaderboardProperties properties = new LeaderboardProperties();
+        properties.setCapacity(2);
+        leaderboardService = new ClientLeaderboardService(leaderboardRepository, properties, new SimpleMeterRegistry());
+        when(leaderboardRepository.findTopPerType(2)).thenReturn(List.of(alice, bob, acme));
+        leaderboardService.reconcile();
+    }
+
+    /**
+     * Test to verify that the overall ranking merges the client types and that
+     * contract events of members are applied without querying the database.
+     */
+    @Test
+    void getTopClients_appliesEventsOfMembers() {
+        assertEquals(List.of("Alice", "Acme SA", "Bob"), names(leaderboardService.getTopClients(null, 3)));
+
+        leaderboardService.onDomainEvent(event(DomainEventType.CONTRACT_CREATED, bob, 150.0, null));
+        leaderboardService.onDomainEvent(event(DomainEventType.CONTRACT_COST_CHANGED, alice, 40.0, 100.0));
+
+        List<ClientLeaderboardEntryDTO> top = leaderboardService.getTopClients(null, 3);
+        assertEquals(List.of("Bob", "Acme SA", "Alice"), names(top));
+        assertEquals(0, new BigDecimal("350").compareTo(top.get(0).getTotalActiveCost()));
+        assertEquals(0, new BigDecimal("240").compareTo(top.get(2).getTotalActiveCost()));
+        verify(leaderboardRepository, never()).findByClientId(any());
+    }
+
+    /**
+     * Test to verify that a client outside of a full board is looked up when
+     * its total grows and that members dropping below the floor are evicted.
+     */
+    @Test
+    void onDomainEvent_admitsGrowingOutsiderAndEvictsFallingMember() {
+        Entry carol = entry(ClientType.PERSON, "Carol", "260");
+        when(leaderboardRepository.findByClientId(carol.clientId())).thenReturn(Optional.of(carol));
+
+        leaderboardService.onDomainEvent(event(DomainEventType.CONTRACT_CREATED, carol, 100.0, null));
+        // Carol enters, Bob is evicted and the floor rises to 200
+        assertEquals(List.of("Alice", "Carol"), names(leaderboardService.getTopClients(ClientType.PERSON, 10)));
+
+        leaderboardService.onDomainEvent(event(DomainEventType.CONTRACT_CLOSED, alice, 150.0, null));
+        // Alice falls to 150, below the floor, and could be outranked by Bob
+        assertEquals(List.of("Carol"), names(leaderboardService.getTopClients(ClientType.PERSON, 10)));
+    }
+
+    private static Entry entry(ClientType type, String name, String total) {
+        return new Entry(UUID.randomUUID(), type, name, Money.minorUnitsOf(new BigDecimal(total)));
+    }
+
+    private static DomainEvent event(DomainEventType type, Entry client, Double cost, Double previousCost) {
+        return DomainEvent.builder()
+                .type(type)
+                .clientId(client.clientId())
+                .clientType(client.clientType())
+                .contractId(UUID.randomUUID())
+                .costAmount(Money.of(cost))
+                .previousCostAmount(Money.of(previousCost))
+                .build();
+    }
+
+    private static List<String> names(List<ClientLeaderboardEntryDTO> entries) {
+        return entries.stream().map(ClientLeaderboardEntryDTO::getName).toList();
+    }
+}
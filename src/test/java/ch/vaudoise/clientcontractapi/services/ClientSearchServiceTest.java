@@ -0,0 +1,95 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.ClientSearchProperties;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientSearchPageDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientSearchResultDTO;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.repositories.client.ClientSearchRepository;
+import ch.vaudoise.clientcontractapi.repositories.client.ClientSearchRepository.MatchMode;
+import ch.vaudoise.clientcontractapi.services.client.ClientSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ClientSearchService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClientSearchServiceTest {
+
+    @Mock
+    private ClientSearchRepository clientSearchRepository;
+
+    private ClientSearchService clientSearchService;
+
+    @BeforeEach
+    void setUp() {
+        clientSearchService = new ClientSearchService(clientSearchRepository, new ClientSearchProperties());
+    }
+
+    /**
+     * Test to verify that the cursor returned with a full page resumes the
+     * search right after the last result of that page, in the same match mode.
+     */
+    @Test
+    void search_cursorResumesAfterLastResult() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(clientSearchRepository.search(eq("müller"), eq(MatchMode.SUBSTRING), anyDouble(), eq(2f),
+                any(UUID.class), eq(2), anyInt()))
+                .thenReturn(List.of(result(first, 0.9f), result(second, 0.8f)));
+
+        ClientSearchPageDTO page = clientSearchService.search("  Müller ", 1, null);
+
+        assertEquals(1, page.getResults().size());
+        assertNotNull(page.getNextCursor());
+
+        clientSearchService.search("müller", 1, page.getNextCursor());
+
+        verify(clientSearchRepository).search("müller", MatchMode.SUBSTRING, 0.5, 0.9f, first, 2, 200);
+    }
+
+    /**
+     * Test to verify that a query contained in no client falls back to fuzzy
+     * matching, and that the last page carries no cursor.
+     */
+    @Test
+    void search_fallsBackToFuzzyMatching() {
+        when(clientSearchRepository.search(anyString(), eq(MatchMode.SUBSTRING), anyDouble(), anyFloat(),
+                any(UUID.class), anyInt(), anyInt()))
+                .thenReturn(List.of());
+        when(clientSearchRepository.search(anyString(), eq(MatchMode.FUZZY), anyDouble(), anyFloat(),
+                any(UUID.class), eq(21), anyInt()))
+                .thenReturn(List.of(result(UUID.randomUUID(), 0.7f)));
+
+        ClientSearchPageDTO page = clientSearchService.search("muelelr", null, null);
+
+        assertEquals(1, page.getResults().size());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Test to verify that too short queries and forged cursors are rejected.
+     */
+    @Test
+    void search_rejectsInvalidInput() {
+        assertThrows(CustomValidationException.class, () -> clientSearchService.search("ab", null, null));
+        assertThrows(CustomValidationException.class, () -> clientSearchService.search("acme", null, "not-a-cursor"));
+        verifyNoInteractions(clientSearchRepository);
+    }
+
+    private static ClientSearchResultDTO result(UUID id, float score) {
+        return new ClientSearchResultDTO(id.toString(), ClientType.PERSON, "Anna Müller", "anna@example.com", null,
+                score);
+    }
+}
@@ -1,6 +1,8 @@
 package ch.vaudoise.clientcontractapi.services;
 
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
 import ch.vaudoise.clientcontractapi.models.entities.client.Company;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
 import ch.vaudoise.clientcontractapi.repositories.client.CompanyRepository;
 import ch.vaudoise.clientcontractapi.services.client.CompanyService;
 
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -30,6 +33,9 @@ class CompanyServiceTest {
     @Mock
     private ContractService contractService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CompanyService companyService;
 
@@ -138,6 +144,20 @@ class CompanyServiceTest {
         verify(companyRepository).delete(company);
     }
 
+    /**
+     * Test to verify that deleting a company publishes a
+     * {@link DomainEventType#CLIENT_DELETED} event once the entity is removed.
+     */
+    @Test
+    void deleteCompany_publishesDeletedEvent() {
+        companyService.deleteCompany(company);
+
+        ArgumentCaptor<DomainEvent> captor = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(DomainEventType.CLIENT_DELETED, captor.getValue().getType());
+        assertEquals(company.getId(), captor.getValue().getClientId());
+    }
+
     /**
      * Test to verify that retrieving a company by ID returns the correct result.
      * This test checks if the company is retrieved from the repository correctly
@@ -0,0 +1,135 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.ContractExpiryProperties;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.entities.client.Person;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.repositories.ContractExpiryNotificationRepository;
+import ch.vaudoise.clientcontractapi.repositories.ContractRepository;
+import ch.vaudoise.clientcontractapi.services.expiry.ContractExpiryScanner;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ContractExpiryScanner}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractExpiryScannerTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private ContractExpiryNotificationRepository notificationRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ContractExpiryScanner scanner;
+
+    private final LocalDate today = LocalDate.now();
+    private final LocalDate windowStart = today.minusDays(1);
+    private final UUID lastId = new UUID(-1L, -1L);
+
+    @BeforeEach
+    void setUp() {
+        ContractExpiryProperties properties = new ContractExpiryProperties();
+        properties.setChunkSize(2);
+        properties.setMaxPerSecond(1_000_000);
+        scanner = new ContractExpiryScanner(contractRepository, notificationRepository, eventPublisher, properties,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    /**
+     * Test to verify that the scan walks the notice window chunk by chunk,
+     * records the reported contracts after each chunk and forgets the ended
+     * ones.
+     */
+    @Test
+    void scan_reportsWindowChunkByChunk() {
+        Contract a = contract(today.plusDays(2));
+        Contract b = contract(today.plusDays(2));
+        Contract c = contract(today.plusDays(5));
+        when(notificationRepository.tryLock(anyString())).thenReturn(true);
+        when(contractRepository.findUnnotifiedEndingAfter(windowStart, lastId, today.plusDays(30),
+                PageRequest.of(0, 2))).thenReturn(List.of(a, b));
+        when(contractRepository.findUnnotifiedEndingAfter(b.getEndDate(), b.getId(), today.plusDays(30),
+                PageRequest.of(0, 2))).thenReturn(List.of(c));
+
+        assertEquals(3, scanner.scan());
+
+        ArgumentCaptor<DomainEvent> events = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher, times(3)).publishEvent(events.capture());
+        assertTrue(events.getAllValues().stream().allMatch(e -> e.getType() == DomainEventType.CONTRACT_EXPIRING));
+        verify(notificationRepository).saveAll(eq(List.of(a, b)), any());
+        verify(notificationRepository).saveAll(eq(List.of(c)), any());
+        verify(notificationRepository).deleteEndedBefore(today);
+    }
+
+    /**
+     * Test to verify that every scan starts over at the beginning of the
+     * window, so that a contract created or closed with an end date before
+     * the contracts already reported is reported by the next scan.
+     */
+    @Test
+    void scan_reportsContractsEndingBeforeThoseAlreadyReported() {
+        Contract reported = contract(today.plusDays(20));
+        Contract closedEarly = contract(today.plusDays(3));
+        when(notificationRepository.tryLock(anyString())).thenReturn(true);
+        when(contractRepository.findUnnotifiedEndingAfter(windowStart, lastId, today.plusDays(30),
+                PageRequest.of(0, 2))).thenReturn(List.of(reported)).thenReturn(List.of(closedEarly));
+
+        assertEquals(1, scanner.scan());
+        assertEquals(1, scanner.scan());
+
+        ArgumentCaptor<DomainEvent> events = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(reported.getId(), closedEarly.getId()),
+                events.getAllValues().stream().map(DomainEvent::getContractId).toList());
+        verify(notificationRepository).saveAll(eq(List.of(closedEarly)), any());
+    }
+
+    /**
+     * Test to verify that nothing is reported while another instance holds
+     * the scanner lock.
+     */
+    @Test
+    void scan_skipsWhenScannerIsLocked() {
+        when(notificationRepository.tryLock(anyString())).thenReturn(false);
+
+        assertEquals(0, scanner.scan());
+
+        verifyNoInteractions(contractRepository, eventPublisher);
+        verify(notificationRepository, never()).saveAll(any(), any());
+    }
+
+    private static Contract contract(LocalDate endDate) {
+        Contract contract = new Contract();
+        contract.setId(UUID.randomUUID());
+        contract.setClient(new Person());
+        contract.setCostAmount(Money.of(100.0));
+        contract.setEndDate(endDate);
+        return contract;
+    }
+}
@@ -0,0 +1,77 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.ReportingProperties;
+import ch.vaudoise.clientcontractapi.dtos.report.MonthlyContractReportDTO;
+import ch.vaudoise.clientcontractapi.dtos.report.ReportDTO;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.repositories.report.ContractReportRepository;
+import ch.vaudoise.clientcontractapi.services.report.ContractReportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ContractReportService}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractReportServiceTest {
+
+    @Mock
+    private ContractReportRepository reportRepository;
+
+    private ReportingProperties properties;
+    private ContractReportService contractReportService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ReportingProperties();
+        contractReportService = new ContractReportService(reportRepository, properties);
+    }
+
+    /**
+     * Test to verify that the monthly report defaults to the last twelve months
+     * and flags the rows as stale when the last refresh is too old.
+     */
+    @Test
+    void getMonthlyReport_defaultsRangeAndReportsFreshness() {
+        YearMonth current = YearMonth.now();
+        LocalDateTime refreshedAt = LocalDateTime.now().minus(properties.getStaleAfter()).minusMinutes(1);
+        when(reportRepository.findMonthly(ClientType.PERSON, current.minusMonths(11), current))
+                .thenReturn(List.of(new MonthlyContractReportDTO()));
+        when(reportRepository.findLastRefresh())
+                .thenReturn(Optional.of(new ContractReportRepository.Refresh(refreshedAt, 42)));
+
+        ReportDTO<MonthlyContractReportDTO> report = contractReportService.getMonthlyReport(ClientType.PERSON, null, null);
+
+        assertEquals(1, report.getRows().size());
+        assertEquals(refreshedAt, report.getRefreshedAt());
+        assertEquals(42, report.getRefreshDurationMs());
+        assertTrue(report.isStale());
+    }
+
+    /**
+     * Test to verify that inverted or too long ranges are rejected without
+     * reading the view.
+     */
+    @Test
+    void getMonthlyReport_rejectsInvalidRange() {
+        YearMonth month = YearMonth.of(2024, 6);
+
+        assertThrows(CustomValidationException.class,
+                () -> contractReportService.getMonthlyReport(null, month, month.minusMonths(1)));
+        assertThrows(CustomValidationException.class,
+                () -> contractReportService.getMonthlyReport(null, month.minusMonths(properties.getMaxMonths()), month));
+        verifyNoInteractions(reportRepository);
+    }
+}
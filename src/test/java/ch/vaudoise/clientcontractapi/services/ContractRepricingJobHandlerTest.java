@@ -0,0 +1,69 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.repositories.ContractRepository;
+import ch.vaudoise.clientcontractapi.services.job.ContractRepricingJobHandler;
+import ch.vaudoise.clientcontractapi.services.job.JobChunk;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link ContractRepricingJobHandler}.
+ */
+@ExtendWith(MockitoExtension.class)
+class ContractRepricingJobHandlerTest {
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private ContractService contractService;
+
+    @InjectMocks
+    private ContractRepricingJobHandler handler;
+
+    /**
+     * Test to verify that a contract whose repriced cost would overflow the
+     * database column is reported as failed while the rest of the chunk is
+     * repriced.
+     */
+    @Test
+    void processChunk_reportsOverflowingContractsAsFailed() throws Exception {
+        Contract small = contract(Money.of(100.0));
+        Contract large = contract(Money.of(20_000_000.0));
+        when(contractRepository.findActiveAfterId(any(LocalDate.class), any(UUID.class), isNull(), any()))
+                .thenReturn(List.of(small, large));
+        JsonNode parameters = new ObjectMapper().readTree("{\"factor\": 5}");
+
+        JobChunk chunk = handler.processChunk(parameters, null, 10);
+
+        assertEquals(1, chunk.processed());
+        assertEquals(1, chunk.failed());
+        assertEquals(large.getId().toString(), chunk.checkpoint());
+        assertTrue(chunk.lastError().contains(large.getId().toString()));
+        assertTrue(chunk.done());
+        verify(contractService).updateContractCost(small, Money.of(500.0));
+        verify(contractService, never()).updateContractCost(eq(large), any(Money.class));
+    }
+
+    private static Contract contract(Money cost) {
+        Contract contract = new Contract();
+        contract.setId(UUID.randomUUID());
+        contract.setCostAmount(cost);
+        return contract;
+    }
+}
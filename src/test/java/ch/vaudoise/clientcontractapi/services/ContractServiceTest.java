@@ -1,15 +1,23 @@
 package ch.vaudoise.clientcontractapi.services;
 
+import ch.vaudoise.clientcontractapi.dtos.ActiveCostTotalDTO;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
 import ch.vaudoise.clientcontractapi.models.entities.Contract;
 import ch.vaudoise.clientcontractapi.models.entities.client.Person;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.repositories.ContractCostHistoryRepository;
 import ch.vaudoise.clientcontractapi.repositories.ContractRepository;
 import ch.vaudoise.clientcontractapi.services.client.CompanyService;
 import ch.vaudoise.clientcontractapi.services.client.PersonService;
+import ch.vaudoise.clientcontractapi.models.values.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.*;
@@ -31,12 +39,18 @@ class ContractServiceTest {
     @Mock
     private ContractRepository contractRepository;
 
+    @Mock
+    private ContractCostHistoryRepository costHistoryRepository;
+
     @Mock
     private PersonService personService;
 
     @Mock
     private CompanyService companyService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ContractService contractService;
 
@@ -56,7 +70,7 @@ class ContractServiceTest {
         contract = new Contract();
         contract.setId(UUID.randomUUID());
         contract.setClient(person);
-        contract.setCostAmount(100.0);
+        contract.setCostAmount(Money.of(100.0));
         contract.setStartDate(LocalDate.of(2025, 1, 1));
         contract.setEndDate(null); // active
         contract.setLastModified(LocalDateTime.now().minusDays(1));
@@ -71,7 +85,7 @@ class ContractServiceTest {
         Contract toCreate = new Contract();
         toCreate.setId(UUID.randomUUID());
         toCreate.setClient(person);
-        toCreate.setCostAmount(250.0);
+        toCreate.setCostAmount(Money.of(250.0));
         toCreate.setStartDate(null); // should be set by service
 
         // Mocking the save method to return the contract with an auto-generated ID
@@ -99,14 +113,35 @@ class ContractServiceTest {
         // Mocking the save method to return the contract with updated cost
         when(contractRepository.save(any(Contract.class))).thenAnswer(inv -> inv.getArgument(0));
 
-        Contract updated = contractService.updateContractCost(contract, 500.0);
+        Contract updated = contractService.updateContractCost(contract, Money.of(500.0));
 
         // Assertions to verify the updated cost and the last modified time
-        assertEquals(500.0, updated.getCostAmount());
+        assertEquals(Money.of(500.0), updated.getCostAmount());
         assertTrue(updated.getLastModified().isAfter(LocalDateTime.now().minusSeconds(5)));
         verify(contractRepository).save(contract);
     }
 
+    /**
+     * Test to verify that a cost update publishes a
+     * {@link DomainEventType#CONTRACT_COST_CHANGED} event carrying both the
+     * previous and the new cost.
+     */
+    @Test
+    void updateContractCost_publishesCostChangedEvent() {
+        when(contractRepository.save(any(Contract.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        contractService.updateContractCost(contract, Money.of(500.0));
+
+        ArgumentCaptor<DomainEvent> captor = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        DomainEvent event = captor.getValue();
+        assertEquals(DomainEventType.CONTRACT_COST_CHANGED, event.getType());
+        assertEquals(contract.getId(), event.getContractId());
+        assertEquals(person.getId(), event.getClientId());
+        assertEquals(Money.of(100.0), event.getPreviousCostAmount());
+        assertEquals(Money.of(500.0), event.getCostAmount());
+    }
+
     /**
      * Test to verify retrieval of active contracts for a client.
      * This test ensures that the {@link ContractService#getActiveContracts(Person)} method 
@@ -151,13 +186,62 @@ class ContractServiceTest {
     @Test
     void getTotalActiveContractsAmount_returnsSumFromRepository() {
         LocalDate today = LocalDate.now();
-        when(contractRepository.sumActiveCostByClient(person, today)).thenReturn(BigDecimal.valueOf(1234.56));
+        when(contractRepository.sumActiveCostByClient(person.getId(), today)).thenReturn(BigDecimal.valueOf(1234.56));
 
-        BigDecimal total = contractService.getTotalActiveContractsAmount(person);
+        Money total = contractService.getTotalActiveContractsAmount(person);
 
         // Assertions to verify that the total sum is returned correctly
-        assertEquals(BigDecimal.valueOf(1234.56), total);
-        verify(contractRepository).sumActiveCostByClient(person, today);
+        assertEquals(123456, total.minorUnits());
+        verify(contractRepository).sumActiveCostByClient(person.getId(), today);
+    }
+
+    /**
+     * Test to verify that the active cost trend counts each contract at the
+     * dates within its period, start inclusive and end exclusive.
+     */
+    @Test
+    void getActiveCostTrend_sweepsPeriodsOnce() {
+        LocalDate jan = LocalDate.of(2024, 1, 1);
+        LocalDate feb = LocalDate.of(2024, 2, 1);
+        LocalDate mar = LocalDate.of(2024, 3, 1);
+        when(contractRepository.findCostPeriodsOverlapping(person.getId(), jan, mar)).thenReturn(List.of(
+                period(jan, feb, "100.00"),
+                period(LocalDate.of(2023, 6, 1), null, "50.00"),
+                period(LocalDate.of(2024, 1, 15), mar, "20.00")));
+
+        List<ActiveCostTotalDTO> trend = contractService.getActiveCostTrend(person, List.of(mar, jan, feb, jan));
+
+        // Dates are sorted and deduplicated, each contract is counted in [start, end)
+        assertEquals(List.of(jan, feb, mar), trend.stream().map(ActiveCostTotalDTO::getAsOf).toList());
+        assertEquals(0, new BigDecimal("150.00").compareTo(trend.get(0).getTotal()));
+        assertEquals(0, new BigDecimal("70.00").compareTo(trend.get(1).getTotal()));
+        assertEquals(0, new BigDecimal("50.00").compareTo(trend.get(2).getTotal()));
+        verify(contractRepository).findCostPeriodsOverlapping(person.getId(), jan, mar);
+    }
+
+    /**
+     * Test to verify that expiring contracts are paged by (end date, id) and
+     * that the cursor of a page resumes right after its last contract.
+     */
+    @Test
+    void getExpiringContracts_resumesAfterCursor() {
+        LocalDate today = LocalDate.now();
+        Contract first = new Contract();
+        first.setId(UUID.randomUUID());
+        first.setEndDate(today.plusDays(3));
+        when(contractRepository.findEndingAfter(eq(today.minusDays(1)), any(UUID.class), eq(today.plusDays(30)),
+                eq(PageRequest.of(0, 2)))).thenReturn(List.of(first, contract));
+
+        ContractService.ExpiringContracts page = contractService.getExpiringContracts(30, null, 1);
+
+        assertEquals(List.of(first), page.contracts());
+        assertNotNull(page.nextCursor());
+
+        contractService.getExpiringContracts(30, page.nextCursor(), 1);
+
+        verify(contractRepository).findEndingAfter(first.getEndDate(), first.getId(), today.plusDays(30),
+                PageRequest.of(0, 2));
+        assertThrows(CustomValidationException.class, () -> contractService.getExpiringContracts(30, "bogus", 1));
     }
 
     /**
@@ -182,4 +266,37 @@ class ContractServiceTest {
         verify(contractRepository).findActiveByClient(person, LocalDate.now());
         verify(contractRepository).saveAll(anyList());
     }
+
+    /**
+     * Test to verify that the cost history is read newest first and that the
+     * requested page size is capped.
+     */
+    @Test
+    void getCostHistory_capsPageSize() {
+        UUID contractId = UUID.randomUUID();
+
+        contractService.getCostHistory(contractId, 2, 10_000);
+
+        verify(costHistoryRepository).findByContractIdOrderByChangedAtDescIdDesc(
+                contractId, PageRequest.of(2, ContractService.MAX_HISTORY_PAGE_SIZE));
+    }
+
+    private static ContractRepository.CostPeriod period(LocalDate start, LocalDate end, String cost) {
+        return new ContractRepository.CostPeriod() {
+            @Override
+            public LocalDate getStartDate() {
+                return start;
+            }
+
+            @Override
+            public LocalDate getEndDate() {
+                return end;
+            }
+
+            @Override
+            public BigDecimal getCostAmount() {
+                return new BigDecimal(cost);
+            }
+        };
+    }
 }
@@ -0,0 +1,102 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.CostHistoryProperties;
+import ch.vaudoise.clientcontractapi.config.OutboxProperties;
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
+import ch.vaudoise.clientcontractapi.repositories.ContractCostHistoryRepository;
+import ch.vaudoise.clientcontractapi.services.history.CostHistoryRecorder;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link CostHistoryRecorder}.
+ */
+@ExtendWith(MockitoExtension.class)
+class CostHistoryRecorderTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ContractCostHistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Captor
+    private ArgumentCaptor<Collection<DomainEvent>> batches;
+
+    /**
+     * Test to verify that with the outbox enabled, cost changes are queued after
+     * commit and written in batches of the configured size.
+     */
+    @Test
+    void flush_writesQueuedChangesInBatches() {
+        CostHistoryRecorder recorder = recorder(true);
+        for (int i = 0; i < 5; i++) {
+            recorder.onDomainEvent(costChanged());
+            recorder.afterCommit(costChanged());
+        }
+        recorder.afterCommit(DomainEvent.builder().type(DomainEventType.CONTRACT_CREATED).build());
+        assertEquals(5, recorder.getPendingCount());
+
+        recorder.flush();
+
+        verify(jdbcTemplate, times(3)).batchUpdate(anyString(), batches.capture(), anyInt(),
+                ArgumentMatchers.<ParameterizedPreparedStatementSetter<DomainEvent>>any());
+        assertEquals(java.util.List.of(2, 2, 1), batches.getAllValues().stream().map(Collection::size).toList());
+        assertEquals(0, recorder.getPendingCount());
+    }
+
+    /**
+     * Test to verify that with the outbox disabled, cost changes are written
+     * immediately, within the publishing transaction.
+     */
+    @Test
+    void onDomainEvent_writesSynchronouslyWithoutOutbox() {
+        CostHistoryRecorder recorder = recorder(false);
+
+        recorder.afterCommit(costChanged());
+        recorder.onDomainEvent(costChanged());
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), eq(1),
+                ArgumentMatchers.<ParameterizedPreparedStatementSetter<DomainEvent>>any());
+        assertEquals(0, recorder.getPendingCount());
+    }
+
+    private CostHistoryRecorder recorder(boolean outboxEnabled) {
+        CostHistoryProperties properties = new CostHistoryProperties();
+        properties.setBatchSize(2);
+        OutboxProperties outboxProperties = new OutboxProperties();
+        outboxProperties.setEnabled(outboxEnabled);
+        return new CostHistoryRecorder(jdbcTemplate, historyRepository, properties, outboxProperties,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    private static DomainEvent costChanged() {
+        return DomainEvent.builder()
+                .type(DomainEventType.CONTRACT_COST_CHANGED)
+                .contractId(UUID.randomUUID())
+                .previousCostAmount(Money.of(100.0))
+                .costAmount(Money.of(120.0))
+                .build();
+    }
+}
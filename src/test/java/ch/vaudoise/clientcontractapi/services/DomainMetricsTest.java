@@ -0,0 +1,96 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.repositories.ContractRepository;
+import ch.vaudoise.clientcontractapi.repositories.client.CompanyRepository;
+import ch.vaudoise.clientcontractapi.repositories.client.PersonRepository;
+import ch.vaudoise.clientcontractapi.services.metrics.DomainMetrics;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link DomainMetrics}.
+ */
+@ExtendWith(MockitoExtension.class)
+class DomainMetricsTest {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    @Mock
+    private CompanyRepository companyRepository;
+
+    @Mock
+    private ContractRepository contractRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private DomainMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new DomainMetrics(personRepository, companyRepository, contractRepository, transactionManager,
+                meterRegistry);
+    }
+
+    /**
+     * Test to verify that a refresh publishes the counts per client type, and
+     * that the gauges are tagged with the client type only.
+     */
+    @Test
+    void refresh_publishesCountsPerClientType() {
+        when(personRepository.count()).thenReturn(80L);
+        when(companyRepository.count()).thenReturn(20L);
+        when(contractRepository.countActive(LocalDate.now(), ClientType.PERSON)).thenReturn(300L);
+        when(contractRepository.countActive(LocalDate.now(), ClientType.COMPANY)).thenReturn(150L);
+
+        metrics.refresh();
+
+        assertEquals(80, meterRegistry.get("clients").tag("type", "PERSON").gauge().value());
+        assertEquals(20, meterRegistry.get("clients").tag("type", "COMPANY").gauge().value());
+        assertEquals(300, meterRegistry.get("contracts.active").tag("type", "PERSON").gauge().value());
+        assertEquals(150, meterRegistry.get("contracts.active").tag("type", "COMPANY").gauge().value());
+        Set<String> tagKeys = meterRegistry.getMeters().stream()
+                .flatMap(meter -> meter.getId().getTags().stream())
+                .map(tag -> tag.getKey())
+                .collect(Collectors.toSet());
+        assertEquals(Set.of("type"), tagKeys);
+        assertEquals(4, meterRegistry.getMeters().stream().map(Meter::getId).distinct().count());
+    }
+
+    /**
+     * Test to verify that a failed count keeps all the previous values,
+     * including the counts that succeeded in the same refresh.
+     */
+    @Test
+    void refresh_keepsPreviousCountsOnFailure() {
+        when(personRepository.count()).thenReturn(80L, 0L);
+        when(companyRepository.count()).thenReturn(20L);
+        when(contractRepository.countActive(any(), any())).thenReturn(10L, 10L)
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        metrics.refresh();
+        metrics.refresh();
+
+        assertEquals(80, meterRegistry.get("clients").tag("type", "PERSON").gauge().value());
+        assertEquals(10, meterRegistry.get("contracts.active").tag("type", "PERSON").gauge().value());
+    }
+}
@@ -0,0 +1,101 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.dtos.ContractDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.ClientDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.CompanyDTO;
+import ch.vaudoise.clientcontractapi.dtos.client.PersonDTO;
+import ch.vaudoise.clientcontractapi.models.enums.ClientType;
+import ch.vaudoise.clientcontractapi.serialization.DtoSerializationModule;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link DtoSerializationModule}, comparing its output with
+ * that of Jackson's bean serializers. Every field of the DTOs is set in at
+ * least one sample, so a field missing from a serializer fails the tests.
+ */
+class DtoSerializationModuleTest {
+
+    private static final TypeReference<List<ClientDTO>> CLIENT_LIST = new TypeReference<>() {
+    };
+    private static final TypeReference<List<ContractDTO>> CONTRACT_LIST = new TypeReference<>() {
+    };
+
+    private final List<ContractDTO> contracts = List.of(
+            new ContractDTO("c-1", "p-1", LocalDate.of(2024, 1, 31), LocalDate.of(2030, 12, 1), 1234.5),
+            new ContractDTO("c-2", "p-1", LocalDate.of(-1, 1, 1), null, null),
+            new ContractDTO());
+
+    private final List<ClientDTO> clients = List.of(
+            person("p-1", "Jane \"JD\" Doe", "+41 21 123 45 67", LocalDate.of(1980, 2, 29)),
+            person(null, null, null, null),
+            company("k-1", "Vaudoise Assurances", "abc-123"),
+            company("k-2", "Ünïcode ✓", null));
+
+    /**
+     * Test to verify that contracts and clients, in lists or alone, are
+     * written exactly as by the bean serializers.
+     */
+    @Test
+    void serializers_writeSameJsonAsBeanSerializers() throws Exception {
+        ObjectMapper reference = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper module = Jackson2ObjectMapperBuilder.json().modulesToInstall(new DtoSerializationModule()).build();
+
+        assertEquals("ContractDTOSerializer", module.getSerializerProviderInstance()
+                .findValueSerializer(ContractDTO.class).getClass().getSimpleName());
+        assertSameJson(reference, module);
+        assertEquals(reference.writeValueAsString(clients.get(0)), module.writeValueAsString(clients.get(0)));
+        assertEquals(reference.writeValueAsString(contracts.get(0)), module.writeValueAsString(contracts.get(0)));
+    }
+
+    /**
+     * Test to verify that dates still follow the mapper configuration when it
+     * writes them as timestamps.
+     */
+    @Test
+    void serializers_honourDatesAsTimestamps() throws Exception {
+        ObjectMapper reference = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper module = Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(new DtoSerializationModule())
+                .build();
+
+        assertSameJson(reference, module);
+    }
+
+    private void assertSameJson(ObjectMapper reference, ObjectMapper module) throws Exception {
+        assertEquals(reference.writerFor(CONTRACT_LIST).writeValueAsString(contracts),
+                module.writerFor(CONTRACT_LIST).writeValueAsString(contracts));
+        assertEquals(reference.writerFor(CLIENT_LIST).writeValueAsString(clients),
+                module.writerFor(CLIENT_LIST).writeValueAsString(clients));
+    }
+
+    private static PersonDTO person(String id, String name, String phone, LocalDate birthdate) {
+        PersonDTO person = new PersonDTO(birthdate);
+        person.setId(id);
+        person.setType(ClientType.PERSON);
+        person.setName(name);
+        person.setEmail(id == null ? null : id + "@example.ch");
+        person.setPhone(phone);
+        return person;
+    }
+
+    private static CompanyDTO company(String id, String name, String companyIdentifier) {
+        CompanyDTO company = new CompanyDTO(companyIdentifier);
+        company.setId(id);
+        company.setType(id == null ? null : ClientType.COMPANY);
+        company.setName(name);
+        company.setEmail(id + "@example.ch");
+        return company;
+    }
+}
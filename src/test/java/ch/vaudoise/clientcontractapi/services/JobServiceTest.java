@@ -0,0 +1,148 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.JobProperties;
+import ch.vaudoise.clientcontractapi.dtos.job.JobDTO;
+import ch.vaudoise.clientcontractapi.exceptions.CustomValidationException;
+import ch.vaudoise.clientcontractapi.exceptions.JobQueueFullException;
+import ch.vaudoise.clientcontractapi.models.enums.JobStatus;
+import ch.vaudoise.clientcontractapi.repositories.JobRepository;
+import ch.vaudoise.clientcontractapi.repositories.JobRepository.Job;
+import ch.vaudoise.clientcontractapi.services.job.JobChunk;
+import ch.vaudoise.clientcontractapi.services.job.JobHandler;
+import ch.vaudoise.clientcontractapi.services.job.JobService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link JobService}. Jobs run on the real bounded executor;
+ * the repository and the job handler are mocked.
+ */
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class JobServiceTest {
+
+    private static final String TYPE = "TEST_JOB";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobHandler handler;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JobService jobService;
+
+    /**
+     * Creates a service with one worker and room for one queued job. The
+     * repository hands out every job it is asked for.
+     */
+    @BeforeEach
+    void setUp() {
+        JobProperties properties = new JobProperties();
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        properties.setChunkSize(2);
+        when(handler.getJobType()).thenReturn(TYPE);
+        when(jobRepository.claim(any(), any())).thenReturn(true);
+        when(jobRepository.findById(any())).thenAnswer(invocation -> Optional.of(new Job(
+                invocation.getArgument(0), TYPE, JobStatus.RUNNING, "{}", null, 0, 0, null, null, "system",
+                LocalDateTime.now(), LocalDateTime.now(), null)));
+        jobService = new JobService(List.of(handler), jobRepository, properties, objectMapper,
+                transactionManager, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobService.shutdown();
+    }
+
+    /**
+     * Test to verify that a job is processed chunk by chunk from the
+     * checkpoint returned by the previous chunk, that the progress of each
+     * chunk is saved, and that the job ends as succeeded.
+     */
+    @Test
+    void submit_processesChunksAndSavesProgress() {
+        when(handler.countItems(any())).thenReturn(4L);
+        when(handler.processChunk(any(), isNull(), eq(2))).thenReturn(new JobChunk(2, 0, "2", null, false));
+        when(handler.processChunk(any(), eq("2"), eq(2))).thenReturn(new JobChunk(1, 1, "4", "Item 3: bad", true));
+
+        JobDTO job = jobService.submit(TYPE, parameters());
+        UUID id = UUID.fromString(job.getId());
+
+        verify(jobRepository, timeout(5000)).finish(id, JobStatus.SUCCEEDED, null);
+        assertEquals(JobStatus.QUEUED, job.getStatus());
+        verify(jobRepository).insert(any());
+        verify(jobRepository).saveTotal(id, 4L);
+        verify(jobRepository).saveProgress(id, 2, 0, "2", null);
+        verify(jobRepository).saveProgress(id, 1, 1, "4", "Item 3: bad");
+    }
+
+    /**
+     * Test to verify that a submission is rejected, and its job deleted, when
+     * the worker is busy and the queue is full.
+     */
+    @Test
+    void submit_rejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(handler.processChunk(any(), any(), anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new JobChunk(1, 0, "1", null, true);
+        });
+
+        jobService.submit(TYPE, parameters());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        jobService.submit(TYPE, parameters());
+
+        assertThrows(JobQueueFullException.class, () -> jobService.submit(TYPE, parameters()));
+        ArgumentCaptor<Job> inserted = ArgumentCaptor.forClass(Job.class);
+        verify(jobRepository, times(3)).insert(inserted.capture());
+        verify(jobRepository).delete(inserted.getAllValues().get(2).id());
+        release.countDown();
+    }
+
+    /**
+     * Test to verify that a job of an unknown type is rejected before being
+     * stored.
+     */
+    @Test
+    void submit_rejectsUnknownType() {
+        CustomValidationException ex = assertThrows(CustomValidationException.class,
+                () -> jobService.submit("UNKNOWN", parameters()));
+
+        assertEquals("INVALID_JOB_TYPE", ex.getErrorCode());
+        verify(jobRepository, never()).insert(any());
+    }
+
+    private ObjectNode parameters() {
+        return objectMapper.createObjectNode().put("factor", 1.1);
+    }
+}
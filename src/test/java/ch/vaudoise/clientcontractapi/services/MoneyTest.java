@@ -0,0 +1,93 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
+import ch.vaudoise.clientcontractapi.models.entities.Contract;
+import ch.vaudoise.clientcontractapi.models.entities.client.Person;
+import ch.vaudoise.clientcontractapi.models.values.Money;
+import ch.vaudoise.clientcontractapi.utils.MoneyConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Money}, its database and JSON representations and
+ * its validation.
+ */
+class MoneyTest {
+
+    /**
+     * Test to verify that decimal amounts are rounded half up to the centime
+     * and that arithmetic on them is exact.
+     */
+    @Test
+    void of_roundsToCentimesAndAddsExactly() {
+        assertEquals(101, Money.of(1.005).minorUnits());
+        assertEquals(-101, Money.of(new BigDecimal("-1.005")).minorUnits());
+        assertEquals(Money.of(0.3), Money.of(0.1).plus(Money.of(0.2)));
+        assertEquals(Money.of(new BigDecimal("107.10")), Money.of(102.0).times(new BigDecimal("1.05")));
+        assertEquals(1234.5, Money.of(1234.5).toDouble());
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("1e20")));
+    }
+
+    /**
+     * Test to verify that NaN and infinite amounts are rejected instead of
+     * being converted.
+     */
+    @Test
+    void of_rejectsNonFiniteAmounts() {
+        for (double amount : new double[] {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY}) {
+            assertThrows(IllegalArgumentException.class, () -> Money.of(amount));
+        }
+    }
+
+    /**
+     * Test to verify that a contract with a negative cost is rejected, while a
+     * zero cost is accepted.
+     */
+    @Test
+    void contractCost_rejectsNegativeAmounts() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            Contract contract = new Contract();
+            contract.setClient(new Person());
+            contract.setStartDate(LocalDate.now());
+
+            contract.setCostAmount(Money.of(-0.01));
+            Set<ConstraintViolation<Contract>> violations = validator.validate(contract);
+            assertEquals(1, violations.size());
+            assertEquals("costAmount", violations.iterator().next().getPropertyPath().toString());
+
+            contract.setCostAmount(Money.ZERO);
+            assertTrue(validator.validate(contract).isEmpty());
+        }
+    }
+
+    /**
+     * Test to verify that amounts are stored as two-decimal numerics and
+     * written in JSON as plain numbers.
+     */
+    @Test
+    void representations_roundTrip() throws Exception {
+        MoneyConverter converter = new MoneyConverter();
+        assertEquals(new BigDecimal("1234.50"), converter.convertToDatabaseColumn(Money.of(1234.5)));
+        assertEquals(Money.of(1234.5), converter.convertToEntityAttribute(new BigDecimal("1234.5")));
+        assertNull(converter.convertToEntityAttribute(null));
+
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        DomainEvent event = DomainEvent.builder().costAmount(Money.of(1234.5)).build();
+        String json = mapper.writeValueAsString(event);
+        assertTrue(json.contains("\"costAmount\":1234.50"), json);
+        assertTrue(json.contains("\"previousCostAmount\":null"), json);
+        assertEquals(Money.of(0.1), mapper.readValue("0.1", Money.class));
+    }
+}
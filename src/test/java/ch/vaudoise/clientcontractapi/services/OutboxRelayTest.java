@@ -0,0 +1,104 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.OutboxProperties;
+import ch.vaudoise.clientcontractapi.models.entities.OutboxEvent;
+import ch.vaudoise.clientcontractapi.repositories.OutboxEventRepository;
+import ch.vaudoise.clientcontractapi.services.outbox.InMemoryOutboxSink;
+import ch.vaudoise.clientcontractapi.services.outbox.OutboxRelay;
+import ch.vaudoise.clientcontractapi.services.outbox.OutboxSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link OutboxRelay}.
+ */
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxProperties properties;
+    private InMemoryOutboxSink sink;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        properties.setBatchSize(2);
+        sink = new InMemoryOutboxSink();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    /**
+     * Test to verify that a locked batch is handed to the sink, then marked as
+     * published, and that the relay keeps going while batches are full.
+     */
+    @Test
+    void relay_publishesAndMarksUntilOutboxIsDrained() {
+        when(outboxEventRepository.lockNextBatch(2))
+                .thenReturn(events(1, 2)).thenReturn(events(3));
+
+        relay(sink).relay();
+
+        assertEquals(List.of(1L, 2L, 3L), sink.getPublished().stream().map(OutboxEvent::getId).toList());
+        verify(outboxEventRepository).markPublished(eq(List.of(1L, 2L)), any(LocalDateTime.class));
+        verify(outboxEventRepository).markPublished(eq(List.of(3L)), any(LocalDateTime.class));
+        assertEquals(3.0, meterRegistry.get("outbox.relay.published").counter().count());
+        assertEquals(3, meterRegistry.get("outbox.relay.lag").timer().count());
+    }
+
+    /**
+     * Test to verify that a sink failure leaves the batch unpublished so that it
+     * is retried by the next relay run.
+     */
+    @Test
+    void relayBatch_sinkFailureLeavesEventsUnpublished() {
+        when(outboxEventRepository.lockNextBatch(2)).thenReturn(events(1, 2));
+        OutboxSink failingSink = events -> {
+            throw new IOException("broker unavailable");
+        };
+
+        int relayed = relay(failingSink).relayBatch();
+
+        assertEquals(0, relayed);
+        verify(outboxEventRepository, never()).markPublished(anyList(), any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1.0, meterRegistry.get("outbox.relay.failures").counter().count());
+    }
+
+    private OutboxRelay relay(OutboxSink outboxSink) {
+        return new OutboxRelay(outboxEventRepository, outboxSink, properties, transactionManager, meterRegistry);
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> OutboxEvent.builder()
+                        .id(id)
+                        .eventType("CONTRACT_CREATED")
+                        .aggregateType(OutboxEvent.AggregateType.CONTRACT)
+                        .aggregateId(UUID.randomUUID())
+                        .payload("{}")
+                        .createdAt(LocalDateTime.now().minusSeconds(1))
+                        .build())
+                .toList();
+    }
+}
@@ -1,6 +1,8 @@
 package ch.vaudoise.clientcontractapi.services;
 
+import ch.vaudoise.clientcontractapi.events.DomainEvent;
 import ch.vaudoise.clientcontractapi.models.entities.client.Person;
+import ch.vaudoise.clientcontractapi.models.enums.DomainEventType;
 import ch.vaudoise.clientcontractapi.repositories.client.PersonRepository;
 import ch.vaudoise.clientcontractapi.services.client.PersonService;
 
@@ -9,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -32,6 +35,9 @@ class PersonServiceTest {
     @Mock
     private ContractService contractService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PersonService personService;
 
@@ -68,6 +74,22 @@ class PersonServiceTest {
         verify(personRepository, times(1)).save(person);
     }
 
+    /**
+     * Test to verify that creating a person publishes a
+     * {@link DomainEventType#CLIENT_CREATED} event for the saved entity.
+     */
+    @Test
+    void createPerson_publishesCreatedEvent() {
+        when(personRepository.save(any(Person.class))).thenReturn(person);
+
+        personService.createPerson(person);
+
+        ArgumentCaptor<DomainEvent> captor = ArgumentCaptor.forClass(DomainEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(DomainEventType.CLIENT_CREATED, captor.getValue().getType());
+        assertEquals(person.getId(), captor.getValue().getClientId());
+    }
+
     /**
      * Test to verify retrieval of all persons.
      * This test ensures that the {@link PersonService#getAllPersons()} method correctly calls the 
@@ -0,0 +1,117 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.RateLimitProperties;
+import ch.vaudoise.clientcontractapi.config.RateLimitProperties.EndpointLimit;
+import ch.vaudoise.clientcontractapi.services.ratelimit.RateLimiter;
+import ch.vaudoise.clientcontractapi.services.ratelimit.TokenBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link TokenBucket} and {@link RateLimiter}.
+ */
+class RateLimiterTest {
+
+    private static final String SUM_PATH = "/api/v1/contracts/6f1f8a3e-0000-0000-0000-000000000001/sum";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitProperties properties;
+
+    /**
+     * Allows 3 requests at once then 1 per second per caller on the sum
+     * endpoint, and 5 at once elsewhere.
+     */
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getDefaultLimit().setCapacity(5);
+        properties.getDefaultLimit().setRefillPerSecond(1);
+        EndpointLimit sum = new EndpointLimit();
+        sum.setName("contract-sum");
+        sum.setMethod("GET");
+        sum.setPath("/api/v1/contracts/{clientId}/sum");
+        sum.setCapacity(3);
+        sum.setRefillPerSecond(1);
+        properties.setEndpoints(List.of(sum));
+    }
+
+    /**
+     * Test to verify that a bucket accepts a burst of its capacity, then one
+     * request per refill interval, and reports the wait until the next token.
+     */
+    @Test
+    void tokenBucket_acceptsBurstThenRefillRate() {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        TokenBucket bucket = new TokenBucket(2, 2, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(second / 2, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(second / 2));
+        assertTrue(bucket.tryAcquire(second / 2) > 0);
+        assertFalse(bucket.isIdle(second / 2, 0));
+        assertTrue(bucket.isIdle(2 * second, second / 2));
+    }
+
+    /**
+     * Test to verify that the endpoint limit applies to its own requests only,
+     * and that callers are limited independently of each other.
+     */
+    @Test
+    void acquire_appliesEndpointLimitPerCaller() {
+        RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.acquire("GET", SUM_PATH, "partner-a", "10.0.0.1"));
+        }
+        assertTrue(rateLimiter.acquire("GET", SUM_PATH, "partner-a", "10.0.0.1") > 0);
+        assertEquals(0, rateLimiter.acquire("GET", SUM_PATH, "partner-b", "10.0.0.1"));
+        assertEquals(0, rateLimiter.acquire("GET", SUM_PATH, null, "10.0.0.1"));
+        assertEquals(0, rateLimiter.acquire("GET", "/api/v1/contracts/x", "partner-a", "10.0.0.1"));
+        assertEquals(1.0, meterRegistry.get("ratelimit.rejected").tag("limit", "contract-sum").counter().count());
+    }
+
+    /**
+     * Test to verify that new API keys beyond the maximum number of tracked
+     * callers share the bucket of their IP address.
+     */
+    @Test
+    void acquire_fallsBackToAddressBeyondMaxKeys() {
+        properties.setMaxKeys(1);
+        RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+
+        assertEquals(0, rateLimiter.acquire("GET", SUM_PATH, "partner-a", "10.0.0.1"));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, rateLimiter.acquire("GET", SUM_PATH, "random-" + i, "10.0.0.2"));
+        }
+        assertTrue(rateLimiter.acquire("GET", SUM_PATH, "random-3", "10.0.0.2") > 0);
+        assertEquals(2, rateLimiter.callerCount());
+    }
+
+    /**
+     * Test to verify that the buckets of idle callers are evicted.
+     */
+    @Test
+    void evictIdle_dropsIdleBuckets() throws InterruptedException {
+        properties.getDefaultLimit().setRefillPerSecond(1000);
+        properties.setIdleAfter(Duration.ofMillis(10));
+        RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+        rateLimiter.acquire("GET", "/api/v1/clients", null, "10.0.0.1");
+        rateLimiter.acquire("GET", SUM_PATH, null, "10.0.0.1");
+
+        rateLimiter.evictIdle();
+        assertEquals(2, rateLimiter.callerCount());
+
+        Thread.sleep(1100);
+        rateLimiter.evictIdle();
+        assertEquals(0, rateLimiter.callerCount());
+    }
+}
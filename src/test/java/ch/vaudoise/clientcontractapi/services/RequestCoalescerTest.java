@@ -0,0 +1,135 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.CoalescingProperties;
+import ch.vaudoise.clientcontractapi.services.coalescing.RequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RequestCoalescer}.
+ */
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RequestCoalescer coalescer = new RequestCoalescer(new CoalescingProperties(), meterRegistry);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch firstCallRunning = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstCall = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test to verify that callers arriving while a call runs do not get its
+     * result, which may predate them, but all share the single call that
+     * follows it.
+     */
+    @Test
+    void execute_sharesNextCallAmongCallersArrivingDuringRunningCall() throws Exception {
+        Supplier<Integer> loader = () -> {
+            int call = calls.incrementAndGet();
+            if (call == 1) {
+                firstCallRunning.countDown();
+                await(releaseFirstCall);
+            }
+            return call;
+        };
+        CompletableFuture<Integer> first = submit(loader);
+        assertTrue(firstCallRunning.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Integer> second = submit(loader);
+        waitForCount("executed", 2);
+        CompletableFuture<Integer> third = submit(loader);
+        waitForCount("shared", 1);
+        releaseFirstCall.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, third.get(5, TimeUnit.SECONDS));
+        assertEquals(2, calls.get());
+        assertEquals(1.0 / 3, meterRegistry.get("coalescing.ratio").tag("operation", "op").gauge().value(), 1e-9);
+        assertEquals(3, coalescer.execute("op", "key", loader));
+    }
+
+    /**
+     * Test to verify that the failure of a shared call reaches every caller
+     * sharing it.
+     */
+    @Test
+    void execute_propagatesFailureToCallersSharingCall() throws Exception {
+        Supplier<Integer> loader = () -> {
+            int call = calls.incrementAndGet();
+            if (call == 1) {
+                firstCallRunning.countDown();
+                await(releaseFirstCall);
+                return call;
+            }
+            throw new IllegalStateException("database unavailable");
+        };
+        CompletableFuture<Integer> first = submit(loader);
+        assertTrue(firstCallRunning.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> second = submit(loader);
+        waitForCount("executed", 2);
+        CompletableFuture<Integer> third = submit(loader);
+        waitForCount("shared", 1);
+        releaseFirstCall.countDown();
+
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+        ExecutionException thirdFailure = assertThrows(ExecutionException.class, () -> third.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, secondFailure.getCause());
+        assertSame(secondFailure.getCause(), thirdFailure.getCause());
+    }
+
+    /**
+     * Test to verify that callers inside a transaction always run their own
+     * call.
+     */
+    @Test
+    void execute_doesNotCoalesceInsideTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertEquals(1, coalescer.execute("op", "key", calls::incrementAndGet));
+        assertEquals(2, coalescer.execute("op", "key", calls::incrementAndGet));
+        assertTrue(meterRegistry.find("coalescing.calls").counters().isEmpty());
+    }
+
+    private CompletableFuture<Integer> submit(Supplier<Integer> loader) {
+        return CompletableFuture.supplyAsync(() -> coalescer.execute("op", "key", loader), executor);
+    }
+
+    private void waitForCount(String outcome, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("coalescing.calls").tag("outcome", outcome).counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "timed out waiting for " + outcome + " calls");
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
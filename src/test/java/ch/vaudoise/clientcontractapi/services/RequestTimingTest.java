@@ -0,0 +1,124 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.filters.ServerTimingFilter;
+import ch.vaudoise.clientcontractapi.serialization.SerializationTimingAdvice;
+import ch.vaudoise.clientcontractapi.utils.RequestTiming;
+import ch.vaudoise.clientcontractapi.utils.RequestTiming.Phase;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link RequestTiming}, {@link ServerTimingFilter} and
+ * {@link SerializationTimingAdvice}.
+ */
+class RequestTimingTest {
+
+    private static final String HEADER = "X-Request-Timing";
+
+    /**
+     * Test to verify that phases are only timed between begin and end, that
+     * nested entries are counted once and that open phases are closed at the
+     * end.
+     */
+    @Test
+    void timing_countsNestedPhasesOnceAndClosesOpenPhases() throws Exception {
+        RequestTiming.enter(Phase.DB);
+        RequestTiming.exit(Phase.DB);
+
+        RequestTiming timing = RequestTiming.begin();
+        RequestTiming.enter(Phase.MAPPING);
+        RequestTiming.enter(Phase.MAPPING);
+        sleep(5);
+        RequestTiming.exit(Phase.MAPPING);
+        sleep(5);
+        RequestTiming.exit(Phase.MAPPING);
+        RequestTiming.enter(Phase.SERIALIZATION);
+        sleep(5);
+        RequestTiming.end();
+
+        long mapping = timing.nanos(Phase.MAPPING);
+        assertTrue(mapping >= TimeUnit.MILLISECONDS.toNanos(10), "mapping: " + mapping);
+        assertTrue(timing.nanos(Phase.SERIALIZATION) >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertEquals(0, timing.nanos(Phase.DB));
+        assertTrue(timing.totalNanos() >= mapping + timing.nanos(Phase.SERIALIZATION));
+
+        RequestTiming.enter(Phase.DB);
+        RequestTiming.exit(Phase.DB);
+        assertEquals(0, timing.nanos(Phase.DB));
+    }
+
+    /**
+     * Test to verify that the serialization phase ends when the handler
+     * completes, not when the request ends.
+     */
+    @Test
+    void serializationAdvice_closesPhaseOnCompletion() throws Exception {
+        SerializationTimingAdvice advice = new SerializationTimingAdvice();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/clients");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        RequestTiming timing = RequestTiming.begin();
+        advice.beforeBodyWrite("[]", null, null, null, new ServletServerHttpRequest(request),
+                new ServletServerHttpResponse(response));
+        sleep(5);
+        advice.afterCompletion(request, response, new Object(), null);
+        sleep(50);
+        RequestTiming.end();
+
+        long serialization = timing.nanos(Phase.SERIALIZATION);
+        assertTrue(serialization >= TimeUnit.MILLISECONDS.toNanos(5), "ser: " + serialization);
+        assertTrue(serialization < TimeUnit.MILLISECONDS.toNanos(50), "ser: " + serialization);
+    }
+
+    /**
+     * Test to verify that a request carrying the header gets a Server-Timing
+     * header with every phase and its full body.
+     */
+    @Test
+    void filter_addsServerTimingWhenRequested() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/clients");
+        request.addHeader(HEADER, "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(HEADER).doFilter(request, response, (req, res) -> {
+            RequestTiming.enter(Phase.DB);
+            RequestTiming.exit(Phase.DB);
+            RequestTiming.enter(Phase.SERIALIZATION);
+            res.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+        });
+
+        String serverTiming = response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER);
+        assertNotNull(serverTiming);
+        assertTrue(serverTiming.matches(
+                "db;dur=[0-9.]+, map;dur=[0-9.]+, val;dur=[0-9.]+, ser;dur=[0-9.]+, total;dur=[0-9.]+"),
+                serverTiming);
+        assertEquals("[]", response.getContentAsString());
+    }
+
+    /**
+     * Test to verify that a request without the header is neither timed nor
+     * buffered.
+     */
+    @Test
+    void filter_leavesOtherRequestsUntouched() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/clients");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new ServerTimingFilter(HEADER).doFilter(request, response,
+                (req, res) -> assertSame(response, res));
+
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING_HEADER));
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        Thread.sleep(millis);
+    }
+}
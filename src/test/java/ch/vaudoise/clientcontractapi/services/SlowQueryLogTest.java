@@ -0,0 +1,225 @@
+package ch.vaudoise.clientcontractapi.services;
+
+import ch.vaudoise.clientcontractapi.config.SlowQueryProperties;
+import ch.vaudoise.clientcontractapi.datasource.SlowQueryListener;
+import ch.vaudoise.clientcontractapi.dtos.SlowQueryDTO;
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQuery;
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQuery.ExplainStatus;
+import ch.vaudoise.clientcontractapi.services.slowquery.SlowQueryLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link SlowQueryListener} and {@link SlowQueryLog}.
+ */
+@ExtendWith(MockitoExtension.class)
+class SlowQueryLogTest {
+
+    @Mock
+    private SlowQueryLog slowQueryLog;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Captor
+    private ArgumentCaptor<Callable<String>> explainer;
+
+    private SlowQueryListener listener;
+
+    private SlowQueryLog log;
+
+    @BeforeEach
+    void setUp() {
+        listener = new SlowQueryListener(slowQueryLog, dataSource, Duration.ofMillis(200), true,
+                Duration.ofSeconds(30));
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setCapacity(2);
+        properties.setExplainsPerMinute(1);
+        log = new SlowQueryLog(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        log.shutdown();
+    }
+
+    /**
+     * Test to verify that a statement under the threshold is neither recorded
+     * nor explained.
+     */
+    @Test
+    void afterQuery_ignoresStatementsUnderThreshold() {
+        listener.afterQuery(execution(199), List.of(new QueryInfo("select * from contract")));
+
+        verifyNoInteractions(slowQueryLog, dataSource);
+    }
+
+    /**
+     * Test to verify that a slow query is recorded with its normalized SQL and
+     * parameter types, and explained with its original parameters in a
+     * read-only transaction that is rolled back, their values being redacted
+     * from the plan.
+     */
+    @Test
+    void afterQuery_recordsSlowQueryAndExplainsItWithItsParameters() throws Exception {
+        UUID clientId = UUID.randomUUID();
+        QueryInfo query = new QueryInfo("""
+                select * from contract c
+                where c.client_id = ? and c.cost_amount > 100 and c.id in (?, ?) and c.note = 'a b'""");
+        query.getParametersList().add(List.of(
+                parameter("setString", String.class, 3, "x"),
+                parameter("setObject", Object.class, 1, clientId),
+                parameter("setString", String.class, 2, "y")));
+
+        Connection connection = mock(Connection.class);
+        PreparedStatement explain = mock(PreparedStatement.class);
+        ResultSet plan = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(mock(Statement.class));
+        when(connection.prepareStatement(startsWith("EXPLAIN (ANALYZE, BUFFERS) select"))).thenReturn(explain);
+        when(explain.executeQuery()).thenReturn(plan);
+        when(plan.next()).thenReturn(true, true, true, true, false);
+        when(plan.getString(1)).thenReturn(
+                "Index Scan using contract_pkey on contract c  (cost=0.29..8.31 rows=1 width=64)",
+                "  Index Cond: (client_id = '%s'::uuid)".formatted(clientId),
+                "  Filter: ((cost_amount > 100.00) AND ((note)::text = 'a b'::text))",
+                "  Rows Removed by Filter: 12");
+
+        listener.afterQuery(execution(250), List.of(query));
+
+        ArgumentCaptor<SlowQuery> recorded = ArgumentCaptor.forClass(SlowQuery.class);
+        verify(slowQueryLog).record(recorded.capture(), explainer.capture());
+        assertEquals("select * from contract c where c.client_id = ? and c.cost_amount > ? "
+                + "and c.id in (?, ...) and c.note = ?", recorded.getValue().getSql());
+        assertEquals(List.of("UUID", "String", "String"), recorded.getValue().getParameterTypes());
+        assertEquals(250, recorded.getValue().getElapsedMillis());
+
+        assertEquals("""
+                Index Scan using contract_pkey on contract c  (cost=0.29..8.31 rows=1 width=64)
+                  Index Cond: (client_id = ?::uuid)
+                  Filter: ((cost_amount > ?) AND ((note)::text = ?::text))
+                  Rows Removed by Filter: 12""", explainer.getValue().call());
+        verify(connection).setReadOnly(true);
+        verify(explain).setObject(1, clientId);
+        verify(explain).setString(3, "x");
+        verify(connection).rollback();
+    }
+
+    /**
+     * Test to verify that writes and locking reads are recorded but never
+     * explained, since EXPLAIN ANALYZE runs the statement.
+     */
+    @Test
+    void afterQuery_neverExplainsWritesOrLockingReads() {
+        listener.afterQuery(execution(300), List.of(new QueryInfo("update contract set cost_amount = ?")));
+        listener.afterQuery(execution(300), List.of(new QueryInfo("select * from outbox_event for update skip locked")));
+
+        verify(slowQueryLog, times(2)).record(any(SlowQuery.class), isNull());
+        verifyNoInteractions(dataSource);
+    }
+
+    /**
+     * Test to verify that the log keeps the last statements, most recent
+     * first, and samples plans within its budget only.
+     */
+    @Test
+    void record_keepsLastStatementsAndRateLimitsExplains() throws Exception {
+        SlowQuery first = slowQuery("select 1");
+        SlowQuery second = slowQuery("select 2");
+        SlowQuery third = slowQuery("select 3");
+
+        log.record(first, () -> "plan 1");
+        log.record(second, () -> "plan 2");
+        log.record(third, null);
+
+        List<SlowQueryDTO> recent = log.recent(10);
+        assertEquals(List.of("select 3", "select 2"), recent.stream().map(SlowQueryDTO::getSql).toList());
+        assertEquals(ExplainStatus.RATE_LIMITED, second.getExplainStatus());
+        assertEquals(ExplainStatus.SKIPPED, third.getExplainStatus());
+        for (int i = 0; i < 500 && first.getExplainStatus() == ExplainStatus.PENDING; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(ExplainStatus.SAMPLED, first.getExplainStatus());
+        assertEquals("plan 1", first.getPlan());
+    }
+
+    /**
+     * Test to verify that the number of statements listed is bounded by the
+     * capacity and that a negative limit lists none.
+     */
+    @Test
+    void recent_boundsLimit() {
+        log.record(slowQuery("select 1"), null);
+        log.record(slowQuery("select 2"), null);
+        log.record(slowQuery("select 3"), null);
+
+        assertEquals(2, log.recent(Integer.MAX_VALUE).size());
+        assertEquals(List.of(), log.recent(0));
+        assertEquals(List.of(), log.recent(-1));
+    }
+
+    /**
+     * Test to verify that a budget of zero plans per minute disables the
+     * sampling instead of failing.
+     */
+    @Test
+    void record_samplesNoPlanWithZeroBudget() {
+        SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setExplainsPerMinute(0);
+        SlowQueryLog unsampled = new SlowQueryLog(properties, new SimpleMeterRegistry());
+        try {
+            SlowQuery query = slowQuery("select 1");
+
+            unsampled.record(query, () -> "plan 1");
+
+            assertEquals(ExplainStatus.SKIPPED, query.getExplainStatus());
+            assertEquals(1, unsampled.recent(10).size());
+        } finally {
+            unsampled.shutdown();
+        }
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setSuccess(true);
+        execution.setStatementType(StatementType.PREPARED);
+        return execution;
+    }
+
+    private static ParameterSetOperation parameter(String method, Class<?> type, int index, Object value)
+            throws NoSuchMethodException {
+        return new ParameterSetOperation(PreparedStatement.class.getMethod(method, int.class, type),
+                new Object[]{index, value});
+    }
+
+    private static SlowQuery slowQuery(String sql) {
+        return new SlowQuery(Instant.now(), 300, sql, List.of(), 1);
+    }
+}